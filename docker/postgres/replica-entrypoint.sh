@@ -0,0 +1,12 @@
+#!/bin/sh
+# Clones the primary on first start, then runs as a hot standby.
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    until pg_basebackup -h "$PRIMARY_HOST" -U "$PRIMARY_USER" -D "$PGDATA" -R -X stream -c fast; do
+        echo "Waiting for primary $PRIMARY_HOST"
+        rm -rf "${PGDATA:?}"/*
+        sleep 2
+    done
+    chmod 700 "$PGDATA"
+fi
+exec postgres
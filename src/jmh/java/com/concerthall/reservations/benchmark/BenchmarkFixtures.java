@@ -0,0 +1,128 @@
+package com.concerthall.reservations.benchmark;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.domain.enums.VenueSource;
+import com.concerthall.reservations.dto.response.EventResponse;
+import com.concerthall.reservations.external.model.ExternalEventResponse;
+import com.concerthall.reservations.external.model.ExternalVenueResponse;
+import com.concerthall.reservations.external.model.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Representative in-memory domain objects shared by the JMH suites
+ */
+public final class BenchmarkFixtures {
+
+    private static final LocalDateTime EVENT_DATE = LocalDateTime.of(2026, 11, 1, 20, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Venue venue() {
+        return Venue.builder()
+                .id(UUID.randomUUID())
+                .name("Main Hall")
+                .address("1 Concert Square")
+                .description("Principal auditorium")
+                .capacity(1200)
+                .source(VenueSource.INTERNAL)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static Event event(Venue venue) {
+        return Event.builder()
+                .id(UUID.randomUUID())
+                .name("Symphony No. 9")
+                .description("An evening with the philharmonic")
+                .eventDateTime(EVENT_DATE)
+                .capacity(1200)
+                .price(new BigDecimal("79.00"))
+                .status(EventStatus.PUBLISHED)
+                .venue(venue)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    public static User customer() {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .email("customer@example.com")
+                .password("$2a$10$hash")
+                .role(UserRole.CUSTOMER)
+                .build();
+    }
+
+    public static Ticket ticket(Event event, User user) {
+        return Ticket.builder()
+                .id(UUID.randomUUID())
+                .ticketNumber("TKT-20261101-1A2B3C4D")
+                .user(user)
+                .event(event)
+                .price(event.getPrice())
+                .status(TicketStatus.PENDING_PAYMENT)
+                .reservedAt(LocalDateTime.now())
+                .paymentExpiresAt(LocalDateTime.now().plusMinutes(15))
+                .build();
+    }
+
+    public static ExternalEventResponse externalEvent(int index) {
+        return ExternalEventResponse.builder()
+                .id("evt-" + index)
+                .venueId("ven-" + (index % 20))
+                .venueName("Hall " + (index % 20))
+                .name("Concert " + index)
+                .description("Chamber music evening")
+                .eventDateTime(EVENT_DATE.plusDays(index % 90))
+                .duration(120)
+                .category("CLASSICAL")
+                .performers(List.of("Quartet A", "Soloist B"))
+                .price(Money.builder().amount(new BigDecimal("49.90")).currency("USD").build())
+                .capacity(800)
+                .availableTickets(312L)
+                .status("AVAILABLE")
+                .build();
+    }
+
+    public static ExternalVenueResponse externalVenue(int index) {
+        return ExternalVenueResponse.builder()
+                .id("ven-" + index)
+                .name("Hall " + index)
+                .address(index + " Harbour Road")
+                .city("Springfield")
+                .country("US")
+                .description("Partner venue")
+                .capacity(800)
+                .build();
+    }
+
+    public static List<EventResponse> eventResponses(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> EventResponse.builder()
+                        .id(UUID.randomUUID())
+                        .name("Concert " + i)
+                        .description("Chamber music evening")
+                        .eventDateTime(EVENT_DATE.plusDays(i % 90))
+                        .capacity(800)
+                        .price(new BigDecimal("49.90"))
+                        .status("PUBLISHED")
+                        .availableTickets(312L)
+                        .venueId(UUID.randomUUID())
+                        .venueName("Hall " + (i % 20))
+                        .createdAt(LocalDateTime.now())
+                        .build())
+                .collect(Collectors.toList());
+    }
+}
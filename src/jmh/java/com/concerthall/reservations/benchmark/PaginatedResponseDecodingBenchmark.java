@@ -0,0 +1,79 @@
+package com.concerthall.reservations.benchmark;
+
+import com.concerthall.reservations.external.client.PaginatedResponseReader;
+import com.concerthall.reservations.external.model.ExternalEventResponse;
+import com.concerthall.reservations.external.model.PaginatedResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Buffered page decoding (what RestTemplate did with a buffering request factory and
+ * PaginatedResponse&lt;T&gt;) against item-by-item streaming with PaginatedResponseReader.
+ * Run with -prof gc and compare gc.alloc.rate.norm; the buffered path also copies the body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginatedResponseDecodingBenchmark {
+
+    @Param({"100", "5000"})
+    int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PaginatedResponseReader reader;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        reader = new PaginatedResponseReader(objectMapper);
+
+        final StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < pageSize; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("""
+                    {"id":"evt-%d","venueId":"ven-%d","venueName":"Hall %d","name":"Concert %d",
+                     "description":"An evening of chamber music with a long description to resemble real payloads",
+                     "eventDateTime":"2026-11-01T20:00:00","duration":120,"category":"CLASSICAL",
+                     "performers":["Quartet A","Soloist B"],"price":{"amount":49.90,"currency":"USD"},
+                     "capacity":800,"availableTickets":312,"status":"AVAILABLE",
+                     "tags":["strings","evening"],"seatingInfo":"Reserved seating"}
+                    """.formatted(i, i % 20, i % 20, i));
+        }
+        json.append("],\"pagination\":{\"page\":1,\"pageSize\":").append(pageSize).append("}}");
+        body = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void bufferedPage(Blackhole bh) throws IOException {
+        // Buffering request factory keeps a full copy of the body before conversion
+        final byte[] buffered = new ByteArrayInputStream(body).readAllBytes();
+        final PaginatedResponse<ExternalEventResponse> page = objectMapper.readValue(
+                buffered, new TypeReference<PaginatedResponse<ExternalEventResponse>>() {
+                });
+        page.getData().forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void streamedPage(Blackhole bh) throws IOException {
+        final InputStream in = new ByteArrayInputStream(body);
+        try (Stream<ExternalEventResponse> events = reader.streamData(in, ExternalEventResponse.class)) {
+            events.forEach(bh::consume);
+        }
+    }
+}
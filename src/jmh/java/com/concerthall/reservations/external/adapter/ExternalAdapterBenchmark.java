@@ -0,0 +1,58 @@
+package com.concerthall.reservations.external.adapter;
+
+import com.concerthall.reservations.benchmark.BenchmarkFixtures;
+import com.concerthall.reservations.dto.response.EventResponse;
+import com.concerthall.reservations.dto.response.VenueResponse;
+import com.concerthall.reservations.external.model.ExternalEventResponse;
+import com.concerthall.reservations.external.model.ExternalVenueResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Provider model to DTO conversion, dominated by deterministic name-based UUID generation.
+ * Scoped variants are what secondary providers go through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExternalAdapterBenchmark {
+
+    private ExternalEventAdapter eventAdapter;
+    private ExternalVenueAdapter venueAdapter;
+    private ExternalEventResponse externalEvent;
+    private ExternalVenueResponse externalVenue;
+    private VenueResponse venue;
+
+    @Setup
+    public void setUp() {
+        eventAdapter = new ExternalEventAdapter();
+        venueAdapter = new ExternalVenueAdapter();
+        externalEvent = BenchmarkFixtures.externalEvent(42);
+        externalVenue = BenchmarkFixtures.externalVenue(2);
+        venue = venueAdapter.toVenueResponse(externalVenue);
+    }
+
+    @Benchmark
+    public EventResponse eventToResponse() {
+        return eventAdapter.toEventResponse(externalEvent, venue);
+    }
+
+    @Benchmark
+    public EventResponse eventToResponseScoped() {
+        return eventAdapter.toEventResponse(externalEvent, venue, "PartnerTickets");
+    }
+
+    @Benchmark
+    public VenueResponse venueToResponse() {
+        return venueAdapter.toVenueResponse(externalVenue);
+    }
+
+    @Benchmark
+    public VenueResponse venueToResponseScoped() {
+        return venueAdapter.toVenueResponse(externalVenue, "PartnerTickets");
+    }
+}
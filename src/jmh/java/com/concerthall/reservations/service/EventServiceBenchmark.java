@@ -0,0 +1,44 @@
+package com.concerthall.reservations.service;
+
+import com.concerthall.reservations.benchmark.BenchmarkFixtures;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.dto.response.EventResponse;
+import com.concerthall.reservations.store.TicketStore;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+
+/**
+ * EventService entity to DTO mapping.
+ * The sold-ticket count is stubbed, so this measures mapping cost plus a constant
+ * Mockito dispatch, not the per-event count query itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmark {
+
+    private EventService eventService;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        final TicketStore ticketStore = Mockito.mock(TicketStore.class);
+        Mockito.when(ticketStore.countByEvent(any(), anyList())).thenReturn(400L);
+
+        eventService = new EventService(null, ticketStore, null, null, null, null);
+        event = BenchmarkFixtures.event(BenchmarkFixtures.venue());
+    }
+
+    @Benchmark
+    public EventResponse toResponse() {
+        return eventService.toResponse(event);
+    }
+}
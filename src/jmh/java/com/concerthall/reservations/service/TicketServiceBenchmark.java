@@ -0,0 +1,43 @@
+package com.concerthall.reservations.service;
+
+import com.concerthall.reservations.benchmark.BenchmarkFixtures;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.dto.response.TicketResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-reservation CPU work in TicketService: ticket number generation and DTO mapping
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketServiceBenchmark {
+
+    private TicketService ticketService;
+    private Event event;
+    private Ticket ticket;
+
+    @Setup
+    public void setUp() {
+        // Neither method touches a repository
+        ticketService = new TicketService(null, null, null, null, null, null, null, null, null, null);
+        event = BenchmarkFixtures.event(BenchmarkFixtures.venue());
+        ticket = BenchmarkFixtures.ticket(event, BenchmarkFixtures.customer());
+    }
+
+    @Benchmark
+    public String generateTicketNumber() {
+        return ticketService.generateTicketNumber(event);
+    }
+
+    @Benchmark
+    public TicketResponse toResponse() {
+        return ticketService.toResponse(ticket);
+    }
+}
@@ -0,0 +1,17 @@
+package com.concerthall.reservations.admission;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What an admission code vouches for: the ticket, its event, its admission index at the
+ * event, and when the door may accept it
+ */
+public record AdmissionCode(
+        UUID ticketId,
+        UUID eventId,
+        int admissionIndex,
+        LocalDateTime validFrom,
+        LocalDateTime validUntil
+) {
+}
@@ -0,0 +1,118 @@
+package com.concerthall.reservations.admission;
+
+import com.concerthall.reservations.domain.Ticket;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Signs and verifies admission codes. A code is the ticket's AdmissionCode in 53 bytes plus
+ * a truncated HMAC-SHA256 of them, base64url-encoded: 92 characters, small enough for a QR
+ * code. Verifying needs only the key, so the door checks a code without the database.
+ * <p>
+ * Layout: version byte, ticket id, event id, int admission index, long valid-from and
+ * valid-until in epoch seconds (UTC), then the first 16 bytes of the MAC.
+ */
+@Component
+public class AdmissionCodeSigner {
+
+    private static final byte VERSION = 1;
+    private static final int BODY_BYTES = 1 + 16 + 16 + 4 + 8 + 8;
+    private static final int MAC_BYTES = 16;
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final AdmissionProperties properties;
+    private final Mac prototype;
+
+    public AdmissionCodeSigner(final AdmissionProperties properties) throws GeneralSecurityException {
+        final byte[] key = properties.getSecret().getBytes(StandardCharsets.UTF_8);
+        if (key.length < 32) {
+            throw new IllegalStateException("tickets.admission.secret must be at least 32 bytes");
+        }
+        this.properties = properties;
+        this.prototype = Mac.getInstance(ALGORITHM);
+        this.prototype.init(new SecretKeySpec(key, ALGORITHM));
+    }
+
+    /**
+     * The code of a ticket with an admission index, valid around its event's date
+     */
+    public AdmissionCode codeFor(final Ticket ticket) {
+        final LocalDateTime eventDateTime = ticket.getEventDateTime();
+        return new AdmissionCode(
+                ticket.getId(),
+                ticket.getEvent().getId(),
+                ticket.getAdmissionIndex(),
+                eventDateTime.minusHours(properties.getValidBeforeHours()),
+                eventDateTime.plusHours(properties.getValidAfterHours()));
+    }
+
+    public String sign(final AdmissionCode code) {
+        final ByteBuffer bytes = ByteBuffer.allocate(BODY_BYTES + MAC_BYTES);
+        bytes.put(VERSION);
+        putUuid(bytes, code.ticketId());
+        putUuid(bytes, code.eventId());
+        bytes.putInt(code.admissionIndex());
+        bytes.putLong(code.validFrom().toEpochSecond(ZoneOffset.UTC));
+        bytes.putLong(code.validUntil().toEpochSecond(ZoneOffset.UTC));
+        bytes.put(mac(bytes.array()), 0, MAC_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    /**
+     * The code's content, or null when it is malformed or its signature does not match
+     */
+    public AdmissionCode verify(final String code) {
+        final byte[] raw;
+        try {
+            raw = Base64.getUrlDecoder().decode(code);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (raw.length != BODY_BYTES + MAC_BYTES || raw[0] != VERSION) {
+            return null;
+        }
+        final byte[] expected = new byte[MAC_BYTES];
+        System.arraycopy(mac(raw), 0, expected, 0, MAC_BYTES);
+        final byte[] actual = new byte[MAC_BYTES];
+        System.arraycopy(raw, BODY_BYTES, actual, 0, MAC_BYTES);
+        // Constant time, so response timing does not reveal how much of a forged MAC matched
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+
+        final ByteBuffer bytes = ByteBuffer.wrap(raw, 1, BODY_BYTES - 1);
+        final UUID ticketId = new UUID(bytes.getLong(), bytes.getLong());
+        final UUID eventId = new UUID(bytes.getLong(), bytes.getLong());
+        final int admissionIndex = bytes.getInt();
+        final LocalDateTime validFrom = LocalDateTime.ofEpochSecond(bytes.getLong(), 0, ZoneOffset.UTC);
+        final LocalDateTime validUntil = LocalDateTime.ofEpochSecond(bytes.getLong(), 0, ZoneOffset.UTC);
+        return new AdmissionCode(ticketId, eventId, admissionIndex, validFrom, validUntil);
+    }
+
+    // MAC of the body, the first BODY_BYTES of the array
+    private byte[] mac(final byte[] bytes) {
+        try {
+            // Mac is not thread-safe; a clone skips the key setup
+            final Mac mac = (Mac) prototype.clone();
+            mac.update(bytes, 0, BODY_BYTES);
+            return mac.doFinal();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void putUuid(final ByteBuffer bytes, final UUID uuid) {
+        bytes.putLong(uuid.getMostSignificantBits());
+        bytes.putLong(uuid.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,16 @@
+package com.concerthall.reservations.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tickets.admission")
+@Data
+public class AdmissionProperties {
+    private String secret; // HMAC key of admission codes; at least 32 bytes
+    private Integer validBeforeHours = 12; // codes scan from this long before the event
+    private Integer validAfterHours = 12; // until this long after it starts
+    private Long checkInFlushIntervalMs = 1000L; // how often scans are written to checked_in_at
+    private Integer maxBatchScans = 20000; // scans accepted in one gate device sync
+}
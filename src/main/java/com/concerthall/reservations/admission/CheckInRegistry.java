@@ -0,0 +1,228 @@
+package com.concerthall.reservations.admission;
+
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationTarget;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.store.TicketStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Check-ins at the door, decided in memory. Each event's door state is read once, on the
+ * first scan of the event on this node; after that a scan runs no query. Admitted scans
+ * are queued and written to checked_in_at in one statement per event and flush.
+ * <p>
+ * Revocations and other nodes' check-ins arrive as ADMISSIONS notifications. They mark the
+ * door stale, and the next scan reads only the tickets changed since the door's last read.
+ * Until a flush and its notification reach another node, a ticket scanned on two nodes
+ * can be admitted on both; the flush reports such double entries.
+ */
+@Component
+@Slf4j
+public class CheckInRegistry implements CacheInvalidationTarget {
+
+    // Dense per event; the row lock orders concurrent payments of one event
+    private static final String ALLOCATE_INDEX = "INSERT INTO event_admissions (event_id, issued) VALUES (?, 1)"
+            + " ON CONFLICT (event_id) DO UPDATE SET issued = event_admissions.issued + 1"
+            + " RETURNING issued - 1";
+
+    // Re-read this much before the last read: updates committed late carry earlier timestamps
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TicketStore ticketStore;
+    private final EventRepository eventRepository;
+    private final CacheInvalidationPublisher cacheInvalidation;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<UUID, EventDoor> doors = new ConcurrentHashMap<>();
+    private final Queue<PendingCheckIn> pending = new ConcurrentLinkedQueue<>();
+    private final Map<ScanOutcome, Counter> scans = new EnumMap<>(ScanOutcome.class);
+    private final Counter doubleEntries;
+
+    public CheckInRegistry(
+            final JdbcTemplate jdbcTemplate,
+            final TicketStore ticketStore,
+            final EventRepository eventRepository,
+            final CacheInvalidationPublisher cacheInvalidation,
+            final PlatformTransactionManager transactionManager,
+            final MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ticketStore = ticketStore;
+        this.eventRepository = eventRepository;
+        this.cacheInvalidation = cacheInvalidation;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (ScanOutcome outcome : ScanOutcome.values()) {
+            scans.put(outcome, Counter.builder("admission.scans")
+                    .description("Admission codes scanned at the door")
+                    .tag("outcome", outcome.name())
+                    .register(meterRegistry));
+        }
+        this.doubleEntries = Counter.builder("admission.double_entries")
+                .description("Admitted scans not recorded: checked in on another node first, or no longer paid")
+                .register(meterRegistry);
+        Gauge.builder("admission.events", doors, Map::size)
+                .description("Events whose door state is held in memory")
+                .register(meterRegistry);
+        Gauge.builder("admission.check_ins.pending", pending, Queue::size)
+                .description("Admitted scans not yet written to checked_in_at")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Next admission index of the event, in the current transaction
+     */
+    public int allocateIndex(final UUID eventId) {
+        return jdbcTemplate.queryForObject(ALLOCATE_INDEX, Integer.class, eventId);
+    }
+
+    /**
+     * Revokes the ticket's code on this node once the current transaction commits, and on
+     * the others through the bus; tickets without an admission index are ignored
+     */
+    public void revoke(final Ticket ticket) {
+        final Integer admissionIndex = ticket.getAdmissionIndex();
+        if (admissionIndex == null) {
+            return;
+        }
+        final UUID eventId = ticket.getEvent().getId();
+        cacheInvalidation.publish(CachedEntity.ADMISSIONS, eventId, () -> {
+            final EventDoor door = doors.get(eventId);
+            if (door != null) {
+                door.revoke(admissionIndex);
+            }
+        });
+    }
+
+    /**
+     * Decides a verified code at the door and records an admission
+     */
+    public ScanOutcome scan(final AdmissionCode code, final LocalDateTime now) {
+        final ScanOutcome outcome;
+        if (now.isBefore(code.validFrom())) {
+            outcome = ScanOutcome.NOT_YET_VALID;
+        } else if (now.isAfter(code.validUntil())) {
+            outcome = ScanOutcome.EXPIRED;
+        } else {
+            outcome = door(code.eventId()).admit(code.admissionIndex());
+            if (outcome == ScanOutcome.ADMITTED) {
+                pending.add(new PendingCheckIn(code.eventId(), code.ticketId(), now));
+            }
+        }
+        recordScan(outcome);
+        return outcome;
+    }
+
+    /**
+     * Counts a scan decided without the door, such as a code that failed verification
+     */
+    public void recordScan(final ScanOutcome outcome) {
+        scans.get(outcome).increment();
+    }
+
+    /**
+     * Writes queued check-ins, one statement per event. A failed event is queued again.
+     */
+    @Scheduled(fixedDelayString = "${tickets.admission.check-in-flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        final Map<UUID, Map<UUID, LocalDateTime>> byEvent = new HashMap<>();
+        for (PendingCheckIn checkIn = pending.poll(); checkIn != null; checkIn = pending.poll()) {
+            byEvent.computeIfAbsent(checkIn.eventId(), eventId -> new HashMap<>())
+                    .putIfAbsent(checkIn.ticketId(), checkIn.at());
+        }
+        byEvent.forEach((eventId, checkIns) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(eventId, checkIns));
+            } catch (RuntimeException e) {
+                log.warn("Writing {} check-ins of event {} failed; retrying", checkIns.size(), eventId, e);
+                checkIns.forEach((ticketId, at) -> pending.add(new PendingCheckIn(eventId, ticketId, at)));
+            }
+        });
+    }
+
+    @Override
+    public void invalidate(final CachedEntity entity, final UUID id) {
+        // A cancelled event closes its door
+        if (entity == CachedEntity.ADMISSIONS || entity == CachedEntity.EVENT) {
+            final EventDoor door = doors.get(id);
+            if (door != null) {
+                door.markStale();
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        // Check-ins only accumulate, so doors are refreshed rather than dropped
+        doors.values().forEach(EventDoor::markStale);
+    }
+
+    private void write(final UUID eventId, final Map<UUID, LocalDateTime> checkIns) {
+        final Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return;
+        }
+        final int recorded = ticketStore.recordCheckIns(event, checkIns).size();
+        // Admitted here, but already checked in by another node
+        doubleEntries.increment(checkIns.size() - recorded);
+        cacheInvalidation.publish(CachedEntity.ADMISSIONS, eventId);
+    }
+
+    private EventDoor door(final UUID eventId) {
+        final EventDoor door = doors.computeIfAbsent(eventId, id -> {
+            final EventDoor loaded = new EventDoor();
+            sync(id, loaded);
+            return loaded;
+        });
+        if (door.claimRefresh()) {
+            try {
+                sync(eventId, door);
+            } catch (RuntimeException e) {
+                door.markStale();
+                log.warn("Refreshing the door of event {} failed; scanning with the state held", eventId, e);
+            }
+        }
+        return door;
+    }
+
+    // Reads the event's admissions changed since the door's last read, all of them the first time
+    private void sync(final UUID eventId, final EventDoor door) {
+        final LocalDateTime syncedUntil = door.syncedUntil();
+        final LocalDateTime startedAt = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            final Event event = eventRepository.findById(eventId).orElse(null);
+            final List<Ticket> changed = event == null
+                    ? List.of()
+                    : ticketStore.findAdmissions(event,
+                            syncedUntil == null ? null : syncedUntil.minusSeconds(SYNC_OVERLAP_SECONDS));
+            door.apply(changed, event == null || event.getStatus() == EventStatus.CANCELLED, startedAt);
+        });
+    }
+
+    private record PendingCheckIn(UUID eventId, UUID ticketId, LocalDateTime at) {
+    }
+}
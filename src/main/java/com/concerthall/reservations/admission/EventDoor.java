@@ -0,0 +1,67 @@
+package com.concerthall.reservations.admission;
+
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Door state of one event: a bit per admission index for checked-in tickets and one for
+ * revoked ones. Check-ins are never undone, so merging the stored state only adds bits.
+ */
+final class EventDoor {
+
+    private final BitSet used = new BitSet();
+    private final BitSet revoked = new BitSet();
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private boolean closed;
+    // Tickets changed after this are not reflected yet
+    private LocalDateTime syncedUntil;
+
+    synchronized ScanOutcome admit(final int admissionIndex) {
+        if (closed || revoked.get(admissionIndex)) {
+            return ScanOutcome.REVOKED;
+        }
+        if (used.get(admissionIndex)) {
+            return ScanOutcome.ALREADY_CHECKED_IN;
+        }
+        used.set(admissionIndex);
+        return ScanOutcome.ADMITTED;
+    }
+
+    synchronized void revoke(final int admissionIndex) {
+        revoked.set(admissionIndex);
+    }
+
+    synchronized void apply(final List<Ticket> tickets, final boolean eventClosed, final LocalDateTime syncedTo) {
+        for (Ticket ticket : tickets) {
+            final int admissionIndex = ticket.getAdmissionIndex();
+            if (ticket.getCheckedInAt() != null) {
+                used.set(admissionIndex);
+            }
+            if (ticket.getStatus() != TicketStatus.PAID) {
+                revoked.set(admissionIndex);
+            }
+        }
+        closed = eventClosed;
+        syncedUntil = syncedTo;
+    }
+
+    synchronized LocalDateTime syncedUntil() {
+        return syncedUntil;
+    }
+
+    void markStale() {
+        stale.set(true);
+    }
+
+    /**
+     * Clears the stale mark; true for the one caller that should refresh
+     */
+    boolean claimRefresh() {
+        return stale.compareAndSet(true, false);
+    }
+}
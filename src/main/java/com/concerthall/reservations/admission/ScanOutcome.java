@@ -0,0 +1,12 @@
+package com.concerthall.reservations.admission;
+
+public enum ScanOutcome {
+    ADMITTED,
+    ALREADY_CHECKED_IN,
+    // Ticket cancelled or refunded after payment, or its event cancelled
+    REVOKED,
+    NOT_YET_VALID,
+    EXPIRED,
+    // Malformed code or signature mismatch
+    INVALID
+}
@@ -0,0 +1,19 @@
+package com.concerthall.reservations.cache;
+
+/**
+ * Hibernate second-level cache regions. Each one is created with its bounds in
+ * SecondLevelCacheConfig; Hibernate refuses to start on a region missing there.
+ */
+public final class CacheRegions {
+
+    public static final String VENUES = "venues";
+    public static final String EVENTS = "events";
+    public static final String EVENT_QUERIES = "event-queries";
+
+    // Hibernate's own regions for the query cache
+    static final String QUERY_RESULTS = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,45 @@
+package com.concerthall.reservations.cache;
+
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationTarget;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Venue;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Evicts other nodes' changes from the second-level cache. A read that started before the
+ * eviction can still put the old state back; the regions' time-to-live bounds that case.
+ */
+@Component
+public class HibernateCacheInvalidation implements CacheInvalidationTarget {
+
+    private final Cache cache;
+
+    public HibernateCacheInvalidation(final EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    @Override
+    public void invalidate(final CachedEntity entity, final UUID id) {
+        switch (entity) {
+            case EVENT -> {
+                cache.evictEntityData(Event.class, id);
+                // A new, removed or re-published event changes the published listing
+                cache.evictQueryRegion(CacheRegions.EVENT_QUERIES);
+            }
+            case VENUE -> cache.evictEntityData(Venue.class, id);
+            case USER, AVAILABILITY, PRICE_SCHEDULE, WAITLIST, ADMISSIONS -> {
+                // Users, ticket counts, price tiers, waitlists and check-ins are not in the second-level cache
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.evictAllRegions();
+    }
+}
@@ -0,0 +1,98 @@
+package com.concerthall.reservations.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for venues and events, held in bounded in-process Caffeine
+ * caches.
+ * <p>
+ * Changes made through Hibernate on this node update the cache. Changes made on another
+ * node arrive as invalidations over Postgres LISTEN/NOTIFY ({@code InvalidationBus}) and
+ * are evicted by {@link HibernateCacheInvalidation}. Time-to-live only bounds how stale a
+ * node can be when such a notification is lost. Reservations read the event under a row
+ * lock, which always goes to the database, so a stale entry cannot oversell an event.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> REGIONS = List.of(
+            CacheRegions.VENUES, CacheRegions.EVENTS, CacheRegions.EVENT_QUERIES,
+            CacheRegions.QUERY_RESULTS, CacheRegions.UPDATE_TIMESTAMPS);
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager hibernateCacheManager(final SecondLevelCacheProperties properties) {
+        final CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                // The provider shares managers by URI; each application context needs its own
+                .getCacheManager(URI.create("hibernate-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        final long ttlNanos = TimeUnit.SECONDS.toNanos(properties.getTimeToLiveSeconds());
+        create(cacheManager, CacheRegions.VENUES, properties.getVenueMaxEntries(), ttlNanos);
+        create(cacheManager, CacheRegions.EVENTS, properties.getEventMaxEntries(), ttlNanos);
+        create(cacheManager, CacheRegions.EVENT_QUERIES, properties.getQueryMaxEntries(), ttlNanos);
+        create(cacheManager, CacheRegions.QUERY_RESULTS, properties.getQueryMaxEntries(), ttlNanos);
+        // One entry per table; it must never expire or cached query results would outlive their invalidation
+        create(cacheManager, CacheRegions.UPDATE_TIMESTAMPS, null, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(final ObjectProvider<CacheManager> cacheManager) {
+        return hibernateProperties -> {
+            final CacheManager manager = cacheManager.getIfAvailable();
+            // Spelled out both ways, Hibernate turns the cache on by itself when a region factory is on the classpath
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, manager != null);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, manager != null);
+            if (manager != null) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, manager);
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public MeterBinder secondLevelCacheMetrics(final CacheManager hibernateCacheManager) {
+        // cache.gets{result=hit|miss}, cache.puts, cache.removals and cache.evictions per region
+        return registry -> REGIONS.forEach(region ->
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region), Tags.of("layer", "hibernate")));
+    }
+
+    private static void create(
+            final CacheManager cacheManager,
+            final String region,
+            final Long maxEntries,
+            final Long ttlNanos
+    ) {
+        final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maxEntries != null) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttlNanos != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttlNanos));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,17 @@
+package com.concerthall.reservations.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "second-level-cache")
+@Data
+public class SecondLevelCacheProperties {
+    private Boolean enabled = true;
+    // Upper bound on how long another node's change can go unseen when its invalidation is lost
+    private Long timeToLiveSeconds = 60L;
+    private Long venueMaxEntries = 1_000L;
+    private Long eventMaxEntries = 10_000L;
+    private Long queryMaxEntries = 1_000L;
+}
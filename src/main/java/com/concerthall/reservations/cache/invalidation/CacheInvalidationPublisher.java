@@ -0,0 +1,82 @@
+package com.concerthall.reservations.cache.invalidation;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entry point for services that change cached data. Inside a transaction the keys are
+ * collected and handed to the bus once it commits; a rollback discards them. Does nothing
+ * while the bus is disabled.
+ */
+@Component
+public class CacheInvalidationPublisher {
+
+    private final ObjectProvider<InvalidationBus> bus;
+
+    public CacheInvalidationPublisher(final ObjectProvider<InvalidationBus> bus) {
+        this.bus = bus;
+    }
+
+    public void publish(final CachedEntity entity, final UUID id) {
+        final InvalidationBus target = bus.getIfAvailable();
+        if (target == null || id == null) {
+            return;
+        }
+        final InvalidationKey key = new InvalidationKey(entity, id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            target.enqueue(List.of(key));
+            return;
+        }
+        // Synchronizations are suspended with their transaction, so REQUIRES_NEW gets its own set
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidations pending && pending.bus == target) {
+                pending.keys.add(key);
+                return;
+            }
+        }
+        final PendingInvalidations pending = new PendingInvalidations(target);
+        pending.keys.add(key);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    /**
+     * Also applies the change to this node's copy once the transaction commits, so requests
+     * here do not wait for the bus to deliver our own notification. The local change runs
+     * while the bus is disabled too.
+     */
+    public void publish(final CachedEntity entity, final UUID id, final Runnable localChange) {
+        publish(entity, id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            localChange.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                localChange.run();
+            }
+        });
+    }
+
+    private static final class PendingInvalidations implements TransactionSynchronization {
+
+        private final InvalidationBus bus;
+        private final Set<InvalidationKey> keys = new LinkedHashSet<>();
+
+        private PendingInvalidations(final InvalidationBus bus) {
+            this.bus = bus;
+        }
+
+        @Override
+        public void afterCommit() {
+            bus.enqueue(keys);
+        }
+    }
+}
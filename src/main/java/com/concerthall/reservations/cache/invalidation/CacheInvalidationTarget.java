@@ -0,0 +1,16 @@
+package com.concerthall.reservations.cache.invalidation;
+
+import java.util.UUID;
+
+/**
+ * A cache that drops entries when any node changes the data behind them. Beans of this
+ * type are registered with the invalidation bus; it calls them from its listener thread.
+ * A node also receives its own changes.
+ */
+public interface CacheInvalidationTarget {
+
+    void invalidate(CachedEntity entity, UUID id);
+
+    // Changes may have been missed, e.g. while the listener was disconnected
+    void invalidateAll();
+}
@@ -0,0 +1,37 @@
+package com.concerthall.reservations.cache.invalidation;
+
+/**
+ * What a change notification is about. Each kind is keyed by one id.
+ */
+public enum CachedEntity {
+    EVENT('E'),
+    VENUE('V'),
+    USER('U'),
+    // Tickets sold for an event; keyed by the event id
+    AVAILABILITY('A'),
+    // Price tiers of an event; keyed by the event id
+    PRICE_SCHEDULE('P'),
+    // Customers waiting for an event; keyed by the event id
+    WAITLIST('W'),
+    // Revoked admission codes and recorded check-ins of an event; keyed by the event id
+    ADMISSIONS('D');
+
+    private final char code;
+
+    CachedEntity(final char code) {
+        this.code = code;
+    }
+
+    char code() {
+        return code;
+    }
+
+    static CachedEntity fromCode(final char code) {
+        for (CachedEntity entity : values()) {
+            if (entity.code == code) {
+                return entity;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cached entity code " + code);
+    }
+}
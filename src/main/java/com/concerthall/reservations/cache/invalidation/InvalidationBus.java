@@ -0,0 +1,318 @@
+package com.concerthall.reservations.cache.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Carries cache invalidations between nodes over Postgres LISTEN/NOTIFY.
+ * <p>
+ * Committed changes are queued and sent by a sender thread over its own connection,
+ * several keys per notification. Each node numbers its notifications, so receivers see
+ * them in order. A listener thread on a second connection passes every notification,
+ * including the node's own, to the registered targets.
+ * <p>
+ * Whenever changes may have been missed, every target drops everything:
+ * <ul>
+ *   <li>each time the listener (re)connects, for changes made while it was not listening</li>
+ *   <li>on a gap in a node's sequence</li>
+ *   <li>when the sender flags a lost notification (failed send or full queue)</li>
+ * </ul>
+ * A node that crashes between commit and send loses those invalidations without anyone
+ * noticing; the caches' time-to-live bounds that case.
+ */
+@Slf4j
+public class InvalidationBus implements Closeable {
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    private final DataSource dataSource;
+    private final InvalidationBusProperties properties;
+    private final List<CacheInvalidationTarget> targets;
+    private final MeterRegistry meterRegistry;
+    private final UUID nodeId = UUID.randomUUID();
+    private final BlockingQueue<InvalidationKey> queue;
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+    private final Counter sent;
+    private final Counter sendFailures;
+    private final Counter received;
+
+    // Listener thread only
+    private final Map<UUID, Long> lastSequences = new HashMap<>();
+
+    // Sender thread only
+    private long sequence;
+    private boolean resync;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread listener;
+    private Thread sender;
+
+    /**
+     * @param dataSource unpooled connections to the primary; the bus holds two of them open
+     */
+    public InvalidationBus(
+            final DataSource dataSource,
+            final InvalidationBusProperties properties,
+            final List<CacheInvalidationTarget> targets,
+            final MeterRegistry meterRegistry
+    ) {
+        if (!properties.getChannel().matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel: " + properties.getChannel());
+        }
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.targets = List.copyOf(targets);
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.sent = Counter.builder("cache.invalidation.messages")
+                .description("Cache invalidation notifications")
+                .tag("direction", "sent")
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.messages")
+                .description("Cache invalidation notifications")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        this.sendFailures = Counter.builder("cache.invalidation.send.failures")
+                .description("Notifications that could not be sent")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.connected", () -> connected ? 1 : 0)
+                .description("1 while the invalidation listener is connected")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.queue", queue, BlockingQueue::size)
+                .description("Invalidations waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+        sender = Thread.ofPlatform().daemon().name("cache-invalidation-sender").start(this::send);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Queues committed changes for all nodes. Never blocks: when the queue is full the
+     * keys are dropped and the next notification tells every node to drop everything.
+     */
+    void enqueue(final Collection<InvalidationKey> keys) {
+        for (InvalidationKey key : keys) {
+            if (!queue.offer(key)) {
+                overflowed.set(true);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        // The sender gets a moment to flush what is queued
+        stop(sender);
+        stop(listener);
+    }
+
+    private void stop(final Thread thread) {
+        try {
+            thread.join(2 * properties.getPollIntervalMs() + 1000);
+            if (thread.isAlive()) {
+                thread.interrupt();
+                thread.join(1000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send() {
+        Connection connection = null;
+        long delay = properties.getReconnectDelayMs();
+        try {
+            while (running || !queue.isEmpty()) {
+                final Set<InvalidationKey> batch = nextBatch();
+                resync |= overflowed.getAndSet(false);
+                if (batch.isEmpty() && !resync) {
+                    continue;
+                }
+                final String payload = InvalidationMessage.of(nodeId, ++sequence, resync, batch).encode();
+                try {
+                    if (connection == null) {
+                        connection = dataSource.getConnection();
+                    }
+                    try (PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+                        statement.setString(1, properties.getChannel());
+                        statement.setString(2, payload);
+                        statement.execute();
+                    }
+                    resync = false;
+                    sent.increment();
+                    delay = properties.getReconnectDelayMs();
+                } catch (SQLException e) {
+                    // Keep flagging until a notification gets through, so every node hears of the loss
+                    resync = true;
+                    sendFailures.increment();
+                    log.warn("Could not send cache invalidation, retrying in {} ms: {}", delay, e.getMessage());
+                    closeQuietly(connection);
+                    connection = null;
+                    Thread.sleep(delay);
+                    delay = Math.min(2 * delay, properties.getMaxReconnectDelayMs());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    private Set<InvalidationKey> nextBatch() throws InterruptedException {
+        final Set<InvalidationKey> batch = new LinkedHashSet<>();
+        final InvalidationKey first = queue.poll(properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        InvalidationKey next;
+        while (batch.size() < properties.getMaxKeysPerMessage() && (next = queue.poll()) != null) {
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void listen() {
+        long delay = properties.getReconnectDelayMs();
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                final PGConnection notifications = connection.unwrap(PGConnection.class);
+                lastSequences.clear();
+                connected = true;
+                delay = properties.getReconnectDelayMs();
+                log.info("Listening for cache invalidations on channel {}", properties.getChannel());
+                // Only now, so that nothing committed before LISTEN took effect can survive
+                invalidateAll("connect");
+
+                long lastActivity = System.nanoTime();
+                while (running) {
+                    final PGNotification[] batch = notifications.getNotifications(properties.getPollIntervalMs().intValue());
+                    if (batch != null && batch.length > 0) {
+                        for (PGNotification notification : batch) {
+                            onPayload(notification.getParameter());
+                        }
+                        lastActivity = System.nanoTime();
+                    } else if (System.nanoTime() - lastActivity
+                            > TimeUnit.MILLISECONDS.toNanos(properties.getHealthCheckIntervalMs())) {
+                        // A dead connection would otherwise just look quiet
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        lastActivity = System.nanoTime();
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener disconnected, reconnecting in {} ms: {}", delay, e.getMessage());
+                }
+            } finally {
+                connected = false;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                delay = Math.min(2 * delay, properties.getMaxReconnectDelayMs());
+            }
+        }
+    }
+
+    void onPayload(final String payload) {
+        received.increment();
+        final InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Malformed cache invalidation, dropping all caches: {}", payload);
+            invalidateAll("malformed");
+            return;
+        }
+
+        final Long previous = lastSequences.put(message.origin(), message.sequence());
+        if (message.resync()) {
+            log.info("Node {} lost invalidations, dropping all caches", message.origin());
+            invalidateAll("resync");
+            return;
+        }
+        if (previous != null && message.sequence() != previous + 1) {
+            log.warn("Invalidations {} to {} from node {} are missing, dropping all caches",
+                    previous + 1, message.sequence() - 1, message.origin());
+            invalidateAll("gap");
+            return;
+        }
+        for (InvalidationKey key : message.keys()) {
+            for (CacheInvalidationTarget target : targets) {
+                try {
+                    target.invalidate(key.entity(), key.id());
+                } catch (RuntimeException e) {
+                    log.error("Cache invalidation of {} {} failed in {}", key.entity(), key.id(), target, e);
+                }
+            }
+        }
+    }
+
+    private void invalidateAll(final String reason) {
+        meterRegistry.counter("cache.invalidation.full", "reason", reason).increment();
+        for (CacheInvalidationTarget target : targets) {
+            try {
+                target.invalidateAll();
+            } catch (RuntimeException e) {
+                log.error("Full cache invalidation failed in {}", target, e);
+            }
+        }
+    }
+
+    private static void closeQuietly(final Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Closing invalidation connection failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.concerthall.reservations.cache.invalidation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Starts the invalidation bus on two connections of its own to the primary
+ * (spring.datasource), outside the pool: the listener holds its connection for good,
+ * and standbys cannot LISTEN or NOTIFY.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cache-invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class InvalidationBusConfig {
+
+    static final String APPLICATION_NAME = "cache-invalidation";
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public InvalidationBus invalidationBus(
+            final DataSourceProperties dataSourceProperties,
+            final InvalidationBusProperties properties,
+            final List<CacheInvalidationTarget> targets,
+            final MeterRegistry meterRegistry
+    ) {
+        return new InvalidationBus(
+                connections(
+                        dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(),
+                        dataSourceProperties.determinePassword()),
+                properties,
+                targets,
+                meterRegistry);
+    }
+
+    static DataSource connections(final String url, final String username, final String password) {
+        final DriverManagerDataSource connections = new DriverManagerDataSource(url, username, password);
+        final Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("ApplicationName", APPLICATION_NAME);
+        // Bounds how long a health check or send can hang on a dead connection
+        connectionProperties.setProperty("socketTimeout", "30");
+        connections.setConnectionProperties(connectionProperties);
+        return connections;
+    }
+}
@@ -0,0 +1,19 @@
+package com.concerthall.reservations.cache.invalidation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache-invalidation")
+@Data
+public class InvalidationBusProperties {
+    private Boolean enabled = true;
+    private String channel = "cache_invalidation";
+    private Integer queueCapacity = 10_000; // pending keys; on overflow every node drops all caches
+    private Integer maxKeysPerMessage = 100; // keeps payloads under the 8000 byte pg_notify limit
+    private Long pollIntervalMs = 500L;
+    private Long healthCheckIntervalMs = 5000L; // idle listener connections are probed this often
+    private Long reconnectDelayMs = 1000L;
+    private Long maxReconnectDelayMs = 30_000L;
+}
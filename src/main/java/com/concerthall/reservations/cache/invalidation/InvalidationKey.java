@@ -0,0 +1,6 @@
+package com.concerthall.reservations.cache.invalidation;
+
+import java.util.UUID;
+
+record InvalidationKey(CachedEntity entity, UUID id) {
+}
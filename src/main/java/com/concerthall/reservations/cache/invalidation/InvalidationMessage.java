@@ -0,0 +1,52 @@
+package com.concerthall.reservations.cache.invalidation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One pg_notify payload: {@code <origin>:<sequence>:<R|->:<keys>}, where keys are
+ * comma-separated entity codes followed by an id, e.g. {@code E0192...}.
+ * Sequences count up by one per origin node. R marks a sender that lost notifications
+ * before this one, so receivers must drop everything.
+ */
+record InvalidationMessage(UUID origin, long sequence, boolean resync, List<InvalidationKey> keys) {
+
+    String encode() {
+        final StringBuilder payload = new StringBuilder(48 + keys.size() * 38)
+                .append(origin).append(':')
+                .append(sequence).append(':')
+                .append(resync ? 'R' : '-').append(':');
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                payload.append(',');
+            }
+            payload.append(keys.get(i).entity().code()).append(keys.get(i).id());
+        }
+        return payload.toString();
+    }
+
+    static InvalidationMessage decode(final String payload) {
+        final String[] parts = payload.split(":", 4);
+        if (parts.length != 4 || parts[2].length() != 1) {
+            throw new IllegalArgumentException("Malformed invalidation payload: " + payload);
+        }
+        final List<InvalidationKey> keys = new ArrayList<>();
+        if (!parts[3].isEmpty()) {
+            for (String key : parts[3].split(",")) {
+                keys.add(new InvalidationKey(CachedEntity.fromCode(key.charAt(0)), UUID.fromString(key.substring(1))));
+            }
+        }
+        return new InvalidationMessage(
+                UUID.fromString(parts[0]),
+                Long.parseLong(parts[1]),
+                parts[2].charAt(0) == 'R',
+                keys);
+    }
+
+    static InvalidationMessage of(final UUID origin, final long sequence, final boolean resync,
+                                  final Collection<InvalidationKey> keys) {
+        return new InvalidationMessage(origin, sequence, resync, List.copyOf(keys));
+    }
+}
@@ -0,0 +1,32 @@
+package com.concerthall.reservations.controller;
+
+import com.concerthall.reservations.dto.request.ScanRequest;
+import com.concerthall.reservations.dto.response.ScanResponse;
+import com.concerthall.reservations.service.AdmissionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Scanner endpoint for door devices. They authenticate with the service API key, which
+ * needs no user lookup, so a scan runs without a query.
+ */
+@RestController
+@RequestMapping("/api/internal/admissions")
+@RequiredArgsConstructor
+@Tag(name = "Internal", description = "Internal service-to-service endpoints")
+@PreAuthorize("hasRole('SERVICE')")
+public class AdmissionController {
+
+    private final AdmissionService admissionService;
+
+    @PostMapping("/scan")
+    @Operation(summary = "Scan an admission code", description = "Verifies the code's signature and checks the ticket in")
+    public ResponseEntity<ScanResponse> scan(@Valid @RequestBody final ScanRequest request) {
+        return ResponseEntity.ok(admissionService.scan(request.getCode()));
+    }
+}
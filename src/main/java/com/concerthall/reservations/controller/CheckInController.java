@@ -0,0 +1,52 @@
+package com.concerthall.reservations.controller;
+
+import com.concerthall.reservations.dto.response.CheckInBatchResponse;
+import com.concerthall.reservations.dto.response.CheckInTicketsResponse;
+import com.concerthall.reservations.service.checkin.CheckInBatchFormat;
+import com.concerthall.reservations.service.checkin.CheckInSyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/events/{eventId}")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Check-ins", description = "Check-in sync for an event's gate devices")
+@PreAuthorize("hasAnyRole('ADMIN', 'POWER_USER')")
+public class CheckInController {
+
+    private final CheckInSyncService checkInSyncService;
+
+    @PostMapping(value = "/check-ins:batch", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @Operation(summary = "Record a batch of gate scans (Admin/Power User only)",
+            description = "JSON Lines of {ticketId, scannedAt}, or 24-byte binary scans; returns the conflicts")
+    public ResponseEntity<CheckInBatchResponse> recordBatch(
+            @PathVariable final UUID eventId,
+            final HttpServletRequest request,
+            @AuthenticationPrincipal final UserDetails userDetails) throws IOException {
+        final CheckInBatchFormat format = CheckInBatchFormat.fromContentType(request.getContentType());
+        return ResponseEntity.ok(checkInSyncService.recordBatch(
+                eventId, request.getInputStream(), format, userDetails.getUsername()));
+    }
+
+    @GetMapping("/check-ins/tickets")
+    @Operation(summary = "Download the event's admissible tickets, or the changes since a cursor (Admin/Power User only)")
+    public ResponseEntity<CheckInTicketsResponse> getTickets(
+            @PathVariable final UUID eventId,
+            @RequestParam(required = false) final String cursor,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        return ResponseEntity.ok(checkInSyncService.getTickets(eventId, cursor, userDetails.getUsername()));
+    }
+}
@@ -3,15 +3,22 @@ package com.concerthall.reservations.controller;
 import com.concerthall.reservations.dto.request.CreateEventRequest;
 import com.concerthall.reservations.dto.request.UpdateEventRequest;
 import com.concerthall.reservations.dto.request.UpdateEventStatusRequest;
+import com.concerthall.reservations.dto.response.EventImportSummaryResponse;
 import com.concerthall.reservations.dto.response.EventResponse;
 import com.concerthall.reservations.dto.response.EventSalesResponse;
 import com.concerthall.reservations.service.EventService;
+import com.concerthall.reservations.service.eventimport.EventImportFormat;
+import com.concerthall.reservations.service.eventimport.EventImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -19,6 +26,13 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,6 +44,8 @@ import java.util.UUID;
 public class EventController {
 
     private final EventService eventService;
+    private final EventImportService eventImportService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @Operation(summary = "Get all events (customers see PUBLISHED only)")
@@ -61,6 +77,45 @@ public class EventController {
         return new ResponseEntity<>(event, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @PreAuthorize("hasAnyRole('ADMIN', 'POWER_USER')")
+    @Operation(summary = "Import events from JSON Lines or CSV (Admin/Power User only)",
+            description = "Streams one result per input row, then a summary line")
+    public void importEvents(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            @AuthenticationPrincipal final UserDetails userDetails) throws IOException {
+        final EventImportFormat format = EventImportFormat.fromContentType(request.getContentType());
+        final Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        final Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+
+        final EventImportSummaryResponse summary = eventImportService.importEvents(
+                new InputStreamReader(request.getInputStream(), charset),
+                format,
+                userDetails.getUsername(),
+                rows -> {
+                    try {
+                        writeLines(response, writer, rows);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        writeLines(response, writer, List.of(summary));
+    }
+
+    // The content type is set only once results exist, so earlier errors still go out as JSON
+    private void writeLines(final HttpServletResponse response, final Writer writer, final List<?> lines)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE + ";charset=UTF-8");
+        for (Object line : lines) {
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'POWER_USER')")
     @Operation(summary = "Update event (Admin/Power User only)")
@@ -0,0 +1,60 @@
+package com.concerthall.reservations.controller;
+
+import com.concerthall.reservations.dto.request.ReserveExternalTicketRequest;
+import com.concerthall.reservations.dto.response.ExternalReservationStatusResponse;
+import com.concerthall.reservations.service.aggregator.ExternalReservationSagaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/tickets/external-reservations")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Tickets", description = "Ticket reservation endpoints")
+@ConditionalOnProperty(prefix = "external-provider.venue-api", name = "enabled", havingValue = "true")
+public class ExternalReservationController {
+
+    private final ExternalReservationSagaService sagaService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @Operation(summary = "Start an asynchronous reservation for an external event (Customer only)")
+    public ResponseEntity<ExternalReservationStatusResponse> reserveExternalTicket(
+            @Valid @RequestBody final ReserveExternalTicketRequest request,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        final ExternalReservationStatusResponse status =
+                sagaService.startReservation(request.getEventExternalId(), userDetails.getUsername());
+        return ResponseEntity.accepted().body(status);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @Operation(summary = "Poll the state of an external reservation (Customer only)")
+    public ResponseEntity<ExternalReservationStatusResponse> getReservationStatus(
+            @PathVariable final UUID id,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        return ResponseEntity.ok(sagaService.getStatus(id, userDetails.getUsername()));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @Operation(summary = "Subscribe to external reservation state changes (Customer only)")
+    public SseEmitter subscribeToReservation(
+            @PathVariable final UUID id,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        return sagaService.subscribe(id, userDetails.getUsername());
+    }
+}
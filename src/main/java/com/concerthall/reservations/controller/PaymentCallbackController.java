@@ -5,7 +5,8 @@ import com.concerthall.reservations.domain.enums.TicketStatus;
 import com.concerthall.reservations.dto.request.UpdatePaymentStatusRequest;
 import com.concerthall.reservations.dto.response.TicketValidationResponse;
 import com.concerthall.reservations.exception.ResourceNotFoundException;
-import com.concerthall.reservations.repository.TicketRepository;
+import com.concerthall.reservations.service.TicketService;
+import com.concerthall.reservations.store.TicketStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -24,7 +25,8 @@ import java.util.UUID;
 @Tag(name = "Internal", description = "Internal service-to-service endpoints")
 public class PaymentCallbackController {
 
-    private final TicketRepository ticketRepository;
+    private final TicketStore ticketStore;
+    private final TicketService ticketService;
 
     @Value("${service.api.key}")
     private String serviceApiKey;
@@ -39,7 +41,7 @@ public class PaymentCallbackController {
 
         log.info("Validating ticket {} for payment", ticketId);
 
-        Ticket ticket = ticketRepository.findById(ticketId)
+        Ticket ticket = ticketStore.findById(ticketId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
 
         TicketValidationResponse response = TicketValidationResponse.builder()
@@ -63,20 +65,7 @@ public class PaymentCallbackController {
 
         log.info("Updating ticket {} payment status to {}", ticketId, request.getStatus());
 
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
-
-        TicketStatus newStatus = TicketStatus.valueOf(request.getStatus());
-        ticket.setStatus(newStatus);
-
-        // Clear payment expiration if payment is completed
-        if (newStatus == TicketStatus.PAID) {
-            ticket.setPaymentExpiresAt(null);
-        }
-
-        ticketRepository.save(ticket);
-
-        log.info("Ticket {} status updated to {}", ticketId, newStatus);
+        ticketService.updatePaymentStatus(ticketId, TicketStatus.valueOf(request.getStatus()));
 
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,68 @@
+package com.concerthall.reservations.controller;
+
+import com.concerthall.reservations.dto.request.PriceTierRequest;
+import com.concerthall.reservations.dto.response.PriceScheduleResponse;
+import com.concerthall.reservations.dto.response.PriceTierResponse;
+import com.concerthall.reservations.service.PriceTierService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/price-tiers")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Price Tiers", description = "Date-based ticket prices of an event")
+@PreAuthorize("hasAnyRole('ADMIN', 'POWER_USER')")
+public class PriceTierController {
+
+    private final PriceTierService priceTierService;
+
+    @GetMapping
+    @Operation(summary = "Get the event's price tiers and current price (Admin/Power User only)")
+    public ResponseEntity<PriceScheduleResponse> getSchedule(
+            @PathVariable final UUID eventId,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        return ResponseEntity.ok(priceTierService.getSchedule(eventId, userDetails.getUsername()));
+    }
+
+    @PostMapping
+    @Operation(summary = "Add a price tier (Admin/Power User only)")
+    public ResponseEntity<PriceTierResponse> createTier(
+            @PathVariable final UUID eventId,
+            @Valid @RequestBody final PriceTierRequest request,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        final PriceTierResponse tier = priceTierService.createTier(eventId, request, userDetails.getUsername());
+        return new ResponseEntity<>(tier, HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{tierId}")
+    @Operation(summary = "Update a price tier (Admin/Power User only)")
+    public ResponseEntity<PriceTierResponse> updateTier(
+            @PathVariable final UUID eventId,
+            @PathVariable final UUID tierId,
+            @Valid @RequestBody final PriceTierRequest request,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        return ResponseEntity.ok(priceTierService.updateTier(eventId, tierId, request, userDetails.getUsername()));
+    }
+
+    @DeleteMapping("/{tierId}")
+    @Operation(summary = "Delete a price tier (Admin/Power User only)")
+    public ResponseEntity<Void> deleteTier(
+            @PathVariable final UUID eventId,
+            @PathVariable final UUID tierId,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        priceTierService.deleteTier(eventId, tierId, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.concerthall.reservations.controller;
+
+import com.concerthall.reservations.dto.request.StartRecordingRequest;
+import com.concerthall.reservations.dto.response.RecordingStatusResponse;
+import com.concerthall.reservations.profiling.FlightRecorderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@RestController
+@RequestMapping("/api/admin/profiling/recording")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Profiling", description = "On-demand JDK Flight Recorder recordings")
+@PreAuthorize("hasRole('ADMIN')")
+public class ProfilingController {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final FlightRecorderService flightRecorderService;
+
+    @PostMapping
+    @Operation(summary = "Start a JFR recording (Admin only)")
+    public ResponseEntity<RecordingStatusResponse> startRecording(
+            @Valid @RequestBody(required = false) final StartRecordingRequest request) {
+        final StartRecordingRequest options = request != null ? request : StartRecordingRequest.builder().build();
+        final RecordingStatusResponse status = flightRecorderService.start(
+                Duration.ofSeconds(options.getDurationSeconds()),
+                options.getMaxSizeMb() * 1024L * 1024L);
+        return new ResponseEntity<>(status, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get the current recording (Admin only)")
+    public ResponseEntity<RecordingStatusResponse> getRecording() {
+        return ResponseEntity.of(flightRecorderService.current());
+    }
+
+    @PostMapping("/stop")
+    @Operation(summary = "Stop the recording and download the .jfr file (Admin only)")
+    public ResponseEntity<StreamingResponseBody> stopRecording() throws IOException {
+        final Path file = flightRecorderService.stop();
+        final StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        final String filename = "reservations-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr";
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
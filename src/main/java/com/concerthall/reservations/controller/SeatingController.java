@@ -0,0 +1,55 @@
+package com.concerthall.reservations.controller;
+
+import com.concerthall.reservations.dto.request.SeatMapRequest;
+import com.concerthall.reservations.dto.response.SeatAvailabilityResponse;
+import com.concerthall.reservations.dto.response.SeatMapResponse;
+import com.concerthall.reservations.service.SeatingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Seating", description = "Seat maps of venues and seat availability of events")
+public class SeatingController {
+
+    private final SeatingService seatingService;
+
+    @GetMapping("/venues/{venueId}/seat-map")
+    @Operation(summary = "Get the venue's seat map")
+    public ResponseEntity<SeatMapResponse> getSeatMap(@PathVariable final UUID venueId) {
+        return ResponseEntity.ok(seatingService.getSeatMap(venueId));
+    }
+
+    @PutMapping("/venues/{venueId}/seat-map")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create or replace the venue's seat map (Admin only)")
+    public ResponseEntity<SeatMapResponse> replaceSeatMap(
+            @PathVariable final UUID venueId,
+            @Valid @RequestBody final SeatMapRequest request) {
+        return ResponseEntity.ok(seatingService.replaceSeatMap(venueId, request));
+    }
+
+    @DeleteMapping("/venues/{venueId}/seat-map")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete the venue's seat map, back to general admission (Admin only)")
+    public ResponseEntity<Void> deleteSeatMap(@PathVariable final UUID venueId) {
+        seatingService.deleteSeatMap(venueId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/events/{eventId}/seats")
+    @Operation(summary = "Get the event's held and sold seats")
+    public ResponseEntity<SeatAvailabilityResponse> getSeatAvailability(@PathVariable final UUID eventId) {
+        return ResponseEntity.ok(seatingService.getSeatAvailability(eventId));
+    }
+}
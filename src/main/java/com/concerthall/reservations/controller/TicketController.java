@@ -1,13 +1,25 @@
 package com.concerthall.reservations.controller;
 
+import com.concerthall.reservations.dto.request.CartReservationRequest;
 import com.concerthall.reservations.dto.request.ReserveTicketRequest;
+import com.concerthall.reservations.dto.response.CartReservationResponse;
 import com.concerthall.reservations.dto.response.TicketResponse;
+import com.concerthall.reservations.exception.DuplicateTicketException;
+import com.concerthall.reservations.exception.InsufficientCapacityException;
+import com.concerthall.reservations.exception.InvalidEventStateException;
+import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.exception.SeatUnavailableException;
+import com.concerthall.reservations.profiling.ReservationEvent;
 import com.concerthall.reservations.service.TicketService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -26,6 +38,7 @@ import java.util.UUID;
 public class TicketController {
 
     private final TicketService ticketService;
+    private final MeterRegistry meterRegistry;
 
     @PostMapping("/reserve")
     @PreAuthorize("hasRole('CUSTOMER')")
@@ -33,8 +46,84 @@ public class TicketController {
     public ResponseEntity<TicketResponse> reserveTicket(
             @Valid @RequestBody final ReserveTicketRequest request,
             @AuthenticationPrincipal final UserDetails userDetails) {
-        final TicketResponse ticket = ticketService.reserveTicket(request, userDetails.getUsername());
-        return new ResponseEntity<>(ticket, HttpStatus.CREATED);
+        // The event id arrives in the body, so the MDC interceptor cannot see it
+        MDC.put("eventId", String.valueOf(request.getEventId()));
+        // Timed here rather than in the service so the transaction commit is included
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        final ReservationEvent jfrEvent = new ReservationEvent();
+        jfrEvent.begin();
+        String outcome = "ERROR";
+        try {
+            final TicketResponse ticket = ticketService.reserveTicket(request, userDetails.getUsername());
+            MDC.put("ticketId", String.valueOf(ticket.getId()));
+            outcome = "SUCCESS";
+            return new ResponseEntity<>(ticket, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            outcome = reservationOutcome(e);
+            throw e;
+        } finally {
+            jfrEvent.eventId = String.valueOf(request.getEventId());
+            jfrEvent.outcome = outcome;
+            jfrEvent.commit();
+            // Latency carries SLO buckets, so it is not split by event; per-event counts are a
+            // counter, one series per event and outcome
+            sample.stop(Timer.builder("reservations.reserve")
+                    .description("Ticket reservation latency by outcome")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            // Only outcomes reached after the event was loaded name it, so ids made up by a
+            // client cannot add series
+            final boolean eventLoaded = !outcome.equals("NOT_FOUND") && !outcome.equals("ERROR");
+            Counter.builder("reservations.reserve.attempts")
+                    .description("Ticket reservation attempts by event and outcome")
+                    .tag("event", eventLoaded ? String.valueOf(request.getEventId()) : "unknown")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    @PostMapping("/cart")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @Operation(summary = "Reserve tickets for several events at once, all or none (Customer only)")
+    public ResponseEntity<CartReservationResponse> reserveCart(
+            @Valid @RequestBody final CartReservationRequest request,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "ERROR";
+        try {
+            final CartReservationResponse cart = ticketService.reserveCart(request, userDetails.getUsername());
+            outcome = "SUCCESS";
+            return new ResponseEntity<>(cart, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            outcome = reservationOutcome(e);
+            throw e;
+        } finally {
+            // Not tagged by event: a cart spans several
+            sample.stop(Timer.builder("reservations.cart")
+                    .description("Cart reservation latency by outcome")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String reservationOutcome(RuntimeException e) {
+        if (e instanceof InsufficientCapacityException) {
+            return "SOLD_OUT";
+        }
+        if (e instanceof DuplicateTicketException) {
+            return "DUPLICATE";
+        }
+        if (e instanceof SeatUnavailableException) {
+            return "SEAT_TAKEN";
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return "NOT_FOUND";
+        }
+        if (e instanceof InvalidEventStateException) {
+            return "NOT_BOOKABLE";
+        }
+        return "ERROR";
     }
 
     @GetMapping("/my-tickets")
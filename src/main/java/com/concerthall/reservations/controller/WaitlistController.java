@@ -0,0 +1,53 @@
+package com.concerthall.reservations.controller;
+
+import com.concerthall.reservations.dto.response.WaitlistPositionResponse;
+import com.concerthall.reservations.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/waitlist")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "Bearer Authentication")
+@Tag(name = "Waitlist", description = "Waiting for tickets to sold-out events")
+@PreAuthorize("hasRole('CUSTOMER')")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @PostMapping
+    @Operation(summary = "Join the waitlist of a sold-out event (Customer only)")
+    public ResponseEntity<WaitlistPositionResponse> join(
+            @PathVariable final UUID eventId,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        final WaitlistPositionResponse position = waitlistService.join(eventId, userDetails.getUsername());
+        return new ResponseEntity<>(position, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    @Operation(summary = "Get your place on the waitlist (Customer only)")
+    public ResponseEntity<WaitlistPositionResponse> getPosition(
+            @PathVariable final UUID eventId,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        return ResponseEntity.ok(waitlistService.getPosition(eventId, userDetails.getUsername()));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Leave the waitlist (Customer only)")
+    public ResponseEntity<Void> leave(
+            @PathVariable final UUID eventId,
+            @AuthenticationPrincipal final UserDetails userDetails) {
+        waitlistService.leave(eventId, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.concerthall.reservations.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers when each user last committed a read-write transaction. For a short window
+ * afterwards that user's reads go to the primary, so they see their own writes even
+ * when the replicas are a little behind. Kept in memory: with several instances, a
+ * follow-up request on another instance only has the lag check to rely on.
+ */
+public class ReadYourWritesTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    public ReadYourWritesTracker(final Duration window) {
+        this(window, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(final Duration window, final LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public void recordWrite(final String user) {
+        lastWriteNanos.put(user, nanoClock.getAsLong());
+        if (lastWriteNanos.size() > PURGE_THRESHOLD) {
+            final long now = nanoClock.getAsLong();
+            lastWriteNanos.values().removeIf(at -> now - at >= windowNanos);
+        }
+    }
+
+    public boolean recentlyWrote(final String user) {
+        final Long at = lastWriteNanos.get(user);
+        if (at == null) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - at < windowNanos) {
+            return true;
+        }
+        lastWriteNanos.remove(user, at);
+        return false;
+    }
+}
@@ -0,0 +1,19 @@
+package com.concerthall.reservations.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Map;
+
+/**
+ * Connection pools behind the routing data source. Not DataSource beans themselves, so
+ * nothing else in the context injects a pool directly and bypasses the routing.
+ */
+public record ReplicaDataSources(HikariDataSource primary, Map<String, HikariDataSource> replicas)
+        implements AutoCloseable {
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
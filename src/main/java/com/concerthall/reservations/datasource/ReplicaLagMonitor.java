@@ -0,0 +1,150 @@
+package com.concerthall.reservations.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how far each replica is behind the primary.
+ * <p>
+ * Every check samples the primary's WAL position. A replica's lag is the age of the
+ * oldest sample it has not replayed yet, and zero once it has replayed the newest one.
+ * A replica that has not even replayed the oldest retained sample counts as too far behind.
+ * Replay timestamps are not used because an idle primary would make a caught-up replica
+ * look old. The estimate is low by at most one check interval. Replicas start unhealthy
+ * and only serve reads after a successful check.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String PRIMARY_LSN_SQL = "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')::bigint";
+    private static final String REPLICA_LSN_SQL = "SELECT pg_is_in_recovery(),"
+            + " pg_wal_lsn_diff(pg_last_wal_replay_lsn(), '0/0')::bigint";
+
+    private record Sample(long lsn, long nanos) {
+    }
+
+    private final DataSource primary;
+    private final Map<String, ? extends DataSource> replicas;
+    private final long maxLagMs;
+    private final long retentionNanos;
+    private final Deque<Sample> samples = new ArrayDeque<>();
+    private final Map<String, Double> lagMs = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+
+    public ReplicaLagMonitor(
+            final ReplicaDataSources dataSources,
+            final ReplicaRoutingProperties properties,
+            final MeterRegistry meterRegistry
+    ) {
+        this(dataSources.primary(), dataSources.replicas(), properties.getMaxLagMs(), properties.getLagCheckIntervalMs());
+        for (String replica : replicas.keySet()) {
+            Gauge.builder("datasource.replica.lag", lagMs, lags -> lags.getOrDefault(replica, Double.NaN))
+                    .description("Replay lag of a read replica behind the primary, NaN while unreachable")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica)
+                    .register(meterRegistry);
+        }
+    }
+
+    ReplicaLagMonitor(
+            final DataSource primary,
+            final Map<String, ? extends DataSource> replicas,
+            final long maxLagMs,
+            final long checkIntervalMs
+    ) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+        // Keep samples older than the limit, or a lag beyond it could not be seen
+        this.retentionNanos = TimeUnit.MILLISECONDS.toNanos(2 * maxLagMs + checkIntervalMs);
+    }
+
+    public boolean isHealthy(final String replica) {
+        return healthy.getOrDefault(replica, false);
+    }
+
+    @Scheduled(fixedDelayString = "${replica-routing.lag-check-interval-ms:1000}")
+    public synchronized void check() {
+        try {
+            samplePrimary();
+        } catch (SQLException e) {
+            // Nothing to compare against; reads go to the primary, which is down as well
+            log.warn("Could not read the primary WAL position: {}", e.getMessage());
+            replicas.keySet().forEach(replica -> update(replica, Double.NaN));
+            return;
+        }
+        replicas.forEach((replica, dataSource) -> {
+            try {
+                update(replica, measureLag(dataSource));
+            } catch (SQLException e) {
+                log.debug("Replica {} lag check failed", replica, e);
+                update(replica, Double.NaN);
+            }
+        });
+    }
+
+    private void samplePrimary() throws SQLException {
+        final long lsn;
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(PRIMARY_LSN_SQL)) {
+            rs.next();
+            lsn = rs.getLong(1);
+        }
+        final long now = System.nanoTime();
+        samples.addLast(new Sample(lsn, now));
+        while (samples.size() > 2 && now - samples.peekFirst().nanos() > retentionNanos) {
+            samples.removeFirst();
+        }
+    }
+
+    private double measureLag(final DataSource replica) throws SQLException {
+        final long replayed;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(REPLICA_LSN_SQL)) {
+            rs.next();
+            if (!rs.getBoolean(1)) {
+                // Not a standby (e.g. pointed at the primary itself)
+                return 0;
+            }
+            replayed = rs.getLong(2);
+        }
+        final long now = System.nanoTime();
+        boolean oldest = true;
+        for (Sample sample : samples) {
+            if (sample.lsn() > replayed) {
+                // Behind even the oldest sample: the real lag is unknown, so assume the worst
+                return oldest ? Double.POSITIVE_INFINITY : TimeUnit.NANOSECONDS.toMicros(now - sample.nanos()) / 1000.0;
+            }
+            oldest = false;
+        }
+        return 0;
+    }
+
+    private void update(final String replica, final double lag) {
+        lagMs.put(replica, lag);
+        final boolean nowHealthy = lag <= maxLagMs;
+        final Boolean wasHealthy = healthy.put(replica, nowHealthy);
+        if (wasHealthy == null || wasHealthy != nowHealthy) {
+            if (nowHealthy) {
+                log.info("Replica {} serving reads (lag {} ms)", replica, Math.round(lag));
+            } else {
+                log.warn("Replica {} taken out of read rotation (lag {} ms, limit {} ms)", replica, lag, maxLagMs);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.concerthall.reservations.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes read-only transactions
+ * to read replicas. The primary keeps the spring.datasource settings; replicas reuse
+ * the spring.datasource.hikari pool settings with their own URL and credentials.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "replica-routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaDataSources replicaDataSources(
+            final DataSourceProperties dataSourceProperties,
+            final ReplicaRoutingProperties properties,
+            final Environment environment,
+            final MeterRegistry meterRegistry
+    ) {
+        final HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        configurePool(primary, "primary", environment, meterRegistry);
+
+        final Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        final List<ReplicaRoutingProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            final ReplicaRoutingProperties.Replica replica = configured.get(i);
+            final String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+            final HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.getUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.getPassword())
+                    .build();
+            configurePool(pool, name, environment, meterRegistry);
+            pool.setReadOnly(true);
+            // A missing replica must not stop the application from starting
+            pool.setInitializationFailTimeout(-1);
+            replicas.put(name, pool);
+        }
+        return new ReplicaDataSources(primary, replicas);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            final ReplicaDataSources dataSources,
+            final ReplicaRoutingProperties properties,
+            final MeterRegistry meterRegistry
+    ) {
+        final ReplicaLagMonitor monitor = new ReplicaLagMonitor(dataSources, properties, meterRegistry);
+        // Route to replicas from the first request instead of after the first scheduled run
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    public DataSource dataSource(
+            final ReplicaDataSources dataSources,
+            final ReplicaLagMonitor monitor,
+            final ReplicaRoutingProperties properties,
+            final MeterRegistry meterRegistry
+    ) {
+        final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                dataSources.primary(),
+                dataSources.replicas(),
+                monitor,
+                new ReadYourWritesTracker(Duration.ofMillis(properties.getReadYourWritesWindowMs())),
+                meterRegistry);
+        // Defer the routing decision to the first statement, once the transaction's read-only flag is set
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static void configurePool(
+            final HikariDataSource pool,
+            final String name,
+            final Environment environment,
+            final MeterRegistry meterRegistry
+    ) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricRegistry(meterRegistry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.concerthall.reservations.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the primary.
+ * <p>
+ * The key is decided when a connection is first needed. Wrapped in a
+ * LazyConnectionDataSourceProxy that is the first statement of the transaction, by which
+ * point Spring has published its read-only flag. Reads stay on the primary when no
+ * replica is within the lag limit, or while the current user is inside their
+ * read-your-writes window.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicas;
+    private final ReplicaLagMonitor monitor;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(
+            final DataSource primary,
+            final Map<String, ? extends DataSource> replicas,
+            final ReplicaLagMonitor monitor,
+            final ReadYourWritesTracker tracker,
+            final MeterRegistry meterRegistry
+    ) {
+        this.replicas = new ArrayList<>(replicas.keySet());
+        this.monitor = monitor;
+        this.tracker = tracker;
+        this.replicaReads = readCounter(meterRegistry, "replica", "healthy");
+        this.stickyReads = readCounter(meterRegistry, PRIMARY, "read_your_writes");
+        this.fallbackReads = readCounter(meterRegistry, PRIMARY, "no_healthy_replica");
+
+        final Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit(user);
+            return PRIMARY;
+        }
+        if (user != null && tracker.recentlyWrote(user)) {
+            stickyReads.increment();
+            return PRIMARY;
+        }
+        final int size = replicas.size();
+        final int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            final String replica = replicas.get((start + i) % size);
+            if (monitor.isHealthy(replica)) {
+                replicaReads.increment();
+                return replica;
+            }
+        }
+        fallbackReads.increment();
+        return PRIMARY;
+    }
+
+    private void rememberWriteOnCommit(final String user) {
+        if (user == null || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tracker.recordWrite(user);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter readCounter(final MeterRegistry registry, final String target, final String reason) {
+        return Counter.builder("datasource.reads.routed")
+                .description("Read-only transactions by the data source that served them")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.concerthall.reservations.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "replica-routing")
+@Data
+public class ReplicaRoutingProperties {
+    private Boolean enabled = false;
+    private Long maxLagMs = 1000L; // replicas further behind the primary stop serving reads
+    private Long lagCheckIntervalMs = 1000L;
+    private Long readYourWritesWindowMs = 5000L; // reads stay on the primary this long after a user's write
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
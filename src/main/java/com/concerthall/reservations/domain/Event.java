@@ -1,8 +1,12 @@
 package com.concerthall.reservations.domain;
 
+import com.concerthall.reservations.cache.CacheRegions;
 import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -21,10 +25,12 @@ import java.util.UUID;
 @AllArgsConstructor
 @ToString(exclude = {"venue"})
 @EqualsAndHashCode(exclude = {"venue"})
+// Sold counts live on tickets, so only the event's own metadata is cached
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.EVENTS)
 public class Event {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
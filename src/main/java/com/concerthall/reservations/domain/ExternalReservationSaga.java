@@ -0,0 +1,73 @@
+package com.concerthall.reservations.domain;
+
+import com.concerthall.reservations.domain.enums.ExternalReservationSagaStatus;
+import com.concerthall.reservations.domain.enums.ExternalReservationSagaStep;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "external_reservation_sagas", indexes = {
+    @Index(name = "idx_external_sagas_user_id", columnList = "user_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExternalReservationSaga {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, name = "user_id")
+    private UUID userId;
+
+    @Column(nullable = false, name = "customer_email")
+    private String customerEmail;
+
+    @Column(nullable = false, name = "event_external_id")
+    private String eventExternalId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private ExternalReservationSagaStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30, name = "current_step")
+    private ExternalReservationSagaStep currentStep;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(nullable = false, unique = true, length = 100, name = "idempotency_key")
+    private String idempotencyKey;
+
+    @Column(name = "external_reservation_id")
+    private String externalReservationId;
+
+    @Column(name = "ticket_id")
+    private UUID ticketId;
+
+    @Column(columnDefinition = "TEXT", name = "failure_reason")
+    private String failureReason;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,47 @@
+package com.concerthall.reservations.domain;
+
+import com.concerthall.reservations.domain.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Ticket price of an event from effectiveFrom until the next tier starts
+ */
+@Entity
+@Table(name = "event_price_tiers")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = "event")
+@EqualsAndHashCode(exclude = "event")
+public class PriceTier {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @Column(nullable = false, name = "effective_from")
+    private LocalDateTime effectiveFrom;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
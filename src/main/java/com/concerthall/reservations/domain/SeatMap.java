@@ -0,0 +1,39 @@
+package com.concerthall.reservations.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Seat layout of a venue, stored as the JSON list of its sections
+ */
+@Entity
+@Table(name = "venue_seat_maps")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMap {
+
+    @Id
+    @Column(name = "venue_id")
+    private UUID venueId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String layout;
+
+    @Column(nullable = false, name = "seat_count")
+    private Integer seatCount;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -1,6 +1,7 @@
 package com.concerthall.reservations.domain;
 
 import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.domain.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,7 +31,7 @@ import java.util.UUID;
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false, unique = true, length = 100, name = "ticket_number")
@@ -44,6 +45,10 @@ public class Ticket {
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
+    // Copy of the event date; tickets are range-partitioned on it
+    @Column(nullable = false, name = "event_date_time")
+    private LocalDateTime eventDateTime;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
@@ -67,4 +72,28 @@ public class Ticket {
 
     @Column(name = "external_confirmation_code")
     private String externalConfirmationCode;
+
+    // Position in the venue's seat map; null for general admission
+    @Column(name = "seat_index")
+    private Integer seatIndex;
+
+    // Number of the ticket among the event's paid tickets; signed into its admission code
+    @Column(name = "admission_index")
+    private Integer admissionIndex;
+
+    @Column(name = "checked_in_at")
+    private LocalDateTime checkedInAt;
+
+    // Number of the ticket among its holder's active tickets for the event, bought together
+    // in one cart; 0 for a single reservation
+    @Builder.Default
+    @Column(name = "party_index", nullable = false)
+    private Integer partyIndex = 0;
+
+    @PrePersist
+    void copyEventDateTime() {
+        if (eventDateTime == null && event != null) {
+            eventDateTime = event.getEventDateTime();
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.concerthall.reservations.domain;
 
 import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.domain.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -24,7 +25,7 @@ import java.util.UUID;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false, unique = true)
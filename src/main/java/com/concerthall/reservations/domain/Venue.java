@@ -1,9 +1,13 @@
 package com.concerthall.reservations.domain;
 
+import com.concerthall.reservations.cache.CacheRegions;
 import com.concerthall.reservations.domain.enums.VenueSource;
+import com.concerthall.reservations.domain.id.TimeOrderedUuid;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -22,10 +26,11 @@ import java.util.UUID;
 @AllArgsConstructor
 @ToString(exclude = {"assignedUsers", "events"})
 @EqualsAndHashCode(exclude = {"assignedUsers", "events"})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.VENUES)
 public class Venue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false, unique = true)
@@ -40,6 +45,10 @@ public class Venue {
     @Column(nullable = false)
     private Integer capacity;
 
+    // Seats in the venue's seat map; null when the venue has none and sells general admission
+    @Column(name = "seat_count")
+    private Integer seatCount;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     @Builder.Default
@@ -0,0 +1,43 @@
+package com.concerthall.reservations.domain;
+
+import com.concerthall.reservations.domain.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A customer waiting for a ticket to a sold-out event
+ */
+@Entity
+@Table(name = "event_waitlist")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString(exclude = {"event", "user"})
+@EqualsAndHashCode(exclude = {"event", "user"})
+public class WaitlistEntry {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Assigned by the database on insert; null until the entry is read back
+    @Column(insertable = false, updatable = false)
+    private Long seq;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,14 @@
+package com.concerthall.reservations.domain.enums;
+
+public enum ExternalReservationSagaStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPENSATING,
+    COMPLETED,
+    FAILED,
+    COMPENSATION_FAILED;  // External reservation could not be cancelled, needs manual intervention
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == COMPENSATION_FAILED;
+    }
+}
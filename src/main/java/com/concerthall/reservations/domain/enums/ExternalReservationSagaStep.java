@@ -0,0 +1,9 @@
+package com.concerthall.reservations.domain.enums;
+
+public enum ExternalReservationSagaStep {
+    CHECK_AVAILABILITY,
+    CREATE_RESERVATION,
+    FETCH_EVENT,
+    RECORD_TICKET,
+    CANCEL_RESERVATION  // Compensating step
+}
@@ -0,0 +1,59 @@
+package com.concerthall.reservations.domain.id;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48-bit Unix milliseconds, then a 12-bit counter in rand_a, then
+ * 62 random bits. Values are strictly increasing within this JVM, including within one
+ * millisecond. If more than 4096 ids are requested in one millisecond, the timestamp runs
+ * slightly ahead. Postgres compares uuid bytewise, so new keys land on the right-most B-tree page.
+ */
+public final class UuidV7 {
+
+    // (unix millis << 12) | counter of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    // One DRBG per thread, the shared NativePRNG serialises callers on a lock
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(UuidV7::newRandom);
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        return generate(System.currentTimeMillis());
+    }
+
+    static UUID generate(final long unixMillis) {
+        long last;
+        long next;
+        do {
+            last = LAST.get();
+            next = Math.max(unixMillis << 12, last + 1);
+        } while (!LAST.compareAndSet(last, next));
+
+        final long mostSignificant = ((next >>> 12) << 16) | 0x7000L | (next & 0xFFFL);
+        final long leastSignificant = (RANDOM.get().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Creation time encoded in a version 7 UUID
+     */
+    public static long timestampMillis(final UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    private static SecureRandom newRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
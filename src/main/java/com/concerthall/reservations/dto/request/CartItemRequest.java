@@ -0,0 +1,35 @@
+package com.concerthall.reservations.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemRequest {
+
+    @NotNull(message = "Event ID is required")
+    private UUID eventId;
+
+    @Builder.Default
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Max(value = 10, message = "Quantity must be at most 10")
+    private Integer quantity = 1;
+
+    // A specific seat, for an item of one ticket; otherwise the best available seats are
+    // assigned. Events without a seat map take no seat.
+    private String seatSection;
+
+    private String seatRow;
+
+    private Integer seatNumber;
+}
@@ -0,0 +1,23 @@
+package com.concerthall.reservations.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartReservationRequest {
+
+    // An event may appear in several items, e.g. to pick a seat for each ticket
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 20, message = "A cart can hold at most 20 items")
+    private List<@Valid CartItemRequest> items;
+}
@@ -0,0 +1,17 @@
+package com.concerthall.reservations.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReserveExternalTicketRequest {
+
+    @NotBlank(message = "External event ID is required")
+    private String eventExternalId;
+}
@@ -16,4 +16,12 @@ public class ReserveTicketRequest {
 
     @NotNull(message = "Event ID is required")
     private UUID eventId;
+
+    // A specific seat at events with reserved seating; without one the best available is
+    // assigned. Events without a seat map take no seat.
+    private String seatSection;
+
+    private String seatRow;
+
+    private Integer seatNumber;
 }
@@ -0,0 +1,19 @@
+package com.concerthall.reservations.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScanRequest {
+
+    @NotBlank(message = "Admission code is required")
+    @Size(max = 200, message = "Admission code is too long")
+    private String code;
+}
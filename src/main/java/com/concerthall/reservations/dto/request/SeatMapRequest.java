@@ -0,0 +1,21 @@
+package com.concerthall.reservations.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapRequest {
+
+    // In best-available order: the first free seat of the first section is sold first
+    @NotEmpty(message = "At least one section is required")
+    private List<@Valid SeatSectionRequest> sections;
+}
@@ -0,0 +1,28 @@
+package com.concerthall.reservations.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatRowRequest {
+
+    @NotBlank(message = "Row label is required")
+    @Size(max = 20, message = "Row label must not exceed 20 characters")
+    private String label;
+
+    // Numbered 1..seats
+    @NotNull(message = "Seat count is required")
+    @Min(value = 1, message = "A row needs at least one seat")
+    @Max(value = 1000, message = "A row can have at most 1000 seats")
+    private Integer seats;
+}
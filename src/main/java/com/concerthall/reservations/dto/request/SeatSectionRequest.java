@@ -0,0 +1,26 @@
+package com.concerthall.reservations.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatSectionRequest {
+
+    @NotBlank(message = "Section name is required")
+    @Size(max = 50, message = "Section name must not exceed 50 characters")
+    private String name;
+
+    @NotEmpty(message = "At least one row is required")
+    private List<@Valid SeatRowRequest> rows;
+}
@@ -0,0 +1,25 @@
+package com.concerthall.reservations.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StartRecordingRequest {
+
+    @Min(value = 10, message = "Duration must be at least 10 seconds")
+    @Max(value = 3600, message = "Duration must not exceed one hour")
+    @Builder.Default
+    private Integer durationSeconds = 300;
+
+    @Min(value = 16, message = "Max size must be at least 16 MB")
+    @Max(value = 1024, message = "Max size must not exceed 1024 MB")
+    @Builder.Default
+    private Integer maxSizeMb = 256;
+}
@@ -0,0 +1,20 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartReservationResponse {
+    private List<TicketResponse> tickets;
+    private BigDecimal totalPrice;
+    private LocalDateTime paymentExpiresAt;
+}
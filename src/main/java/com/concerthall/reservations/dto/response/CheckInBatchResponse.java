@@ -0,0 +1,20 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInBatchResponse {
+    private UUID eventId;
+    private Integer received;
+    private Integer recorded; // scans whose check-in stands, including ones uploaded before
+    private List<CheckInConflictResponse> conflicts;
+}
@@ -0,0 +1,21 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInConflictResponse {
+    private UUID ticketId;
+    private String reason; // DOUBLE_SCAN, ALREADY_CHECKED_IN, NOT_PAID, UNKNOWN_TICKET
+    private LocalDateTime scannedAt;
+    private LocalDateTime checkedInAt; // the check-in that stands, if any
+    private String status; // the ticket's status when NOT_PAID
+}
@@ -0,0 +1,21 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckInTicketsResponse {
+    private UUID eventId;
+    private String cursor; // pass back to receive only what changed after this response
+    private List<UUID> valid; // PAID, not checked in
+    private List<UUID> checkedIn; // PAID, checked in
+    private List<UUID> revoked; // no longer PAID; empty on a full download
+}
@@ -0,0 +1,22 @@
+package com.concerthall.reservations.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventImportRowResponse {
+    private Long line; // where the row starts in the uploaded file
+    private String status; // CREATED, REJECTED or FAILED
+    private UUID eventId;
+    private List<String> errors;
+}
@@ -0,0 +1,16 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventImportSummaryResponse {
+    private Long created;
+    private Long rejected;
+    private Long failed;
+}
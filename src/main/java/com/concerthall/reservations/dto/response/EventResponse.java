@@ -25,5 +25,6 @@ public class EventResponse {
     private UUID venueId;
     private String venueName;
     private String externalId;
+    private String providerName;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,26 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExternalReservationStatusResponse {
+    private UUID id;
+    private String eventExternalId;
+    private String status;
+    private String currentStep;
+    private Integer attempts;
+    private String externalReservationId;
+    private UUID ticketId;
+    private String failureReason;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceScheduleResponse {
+    private UUID eventId;
+    private BigDecimal basePrice;
+    private BigDecimal currentPrice;
+    private List<PriceTierResponse> tiers;
+}
@@ -0,0 +1,21 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceTierResponse {
+    private UUID id;
+    private UUID eventId;
+    private LocalDateTime effectiveFrom;
+    private BigDecimal price;
+}
@@ -0,0 +1,21 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingStatusResponse {
+    private Long id;
+    private String name;
+    private String state;
+    private Instant startedAt;
+    private Long durationSeconds;
+    private Long maxSizeBytes;
+}
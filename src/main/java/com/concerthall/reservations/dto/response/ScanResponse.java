@@ -0,0 +1,18 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScanResponse {
+    private String outcome; // ADMITTED, ALREADY_CHECKED_IN, REVOKED, NOT_YET_VALID, EXPIRED, INVALID
+    private UUID ticketId; // null when the code is INVALID
+    private UUID eventId;
+}
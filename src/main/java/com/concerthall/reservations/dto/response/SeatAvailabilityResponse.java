@@ -0,0 +1,22 @@
+package com.concerthall.reservations.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailabilityResponse {
+    private UUID eventId;
+    private UUID venueId;
+    private Integer seatCount;
+    private Integer availableSeats;
+    // Base64 bitmap of held and sold seats: seat n is bit n % 8 of byte n / 8,
+    // seats numbered in seat map order
+    private String taken;
+}
@@ -0,0 +1,20 @@
+package com.concerthall.reservations.dto.response;
+
+import com.concerthall.reservations.dto.request.SeatSectionRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapResponse {
+    private UUID venueId;
+    private Integer seatCount;
+    private List<SeatSectionRequest> sections;
+}
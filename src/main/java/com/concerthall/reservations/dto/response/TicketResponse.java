@@ -23,10 +23,15 @@ public class TicketResponse {
     private LocalDateTime eventDateTime;
     private UUID venueId;
     private String venueName;
+    private String seatSection;
+    private String seatRow;
+    private Integer seatNumber;
     private BigDecimal price;
     private String status;
     private LocalDateTime reservedAt;
     private LocalDateTime paymentExpiresAt;
     private String externalReservationId;
     private String externalConfirmationCode;
+    private String admissionCode; // signed code shown at the door; PAID tickets only
+    private LocalDateTime checkedInAt;
 }
@@ -19,8 +19,10 @@ public class VenueResponse {
     private String address;
     private String description;
     private Integer capacity;
+    private Integer seatCount;
     private VenueSource source;
     private String externalId;
+    private String providerName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
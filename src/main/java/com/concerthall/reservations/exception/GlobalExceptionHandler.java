@@ -39,6 +39,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(SeatUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSeatUnavailableException(final SeatUnavailableException ex) {
+        final ErrorResponse error = ErrorResponse.builder()
+                .message(ex.getMessage())
+                .error("Seat Unavailable")
+                .status(HttpStatus.CONFLICT.value())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(DuplicateTicketException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateTicketException(final DuplicateTicketException ex) {
         final ErrorResponse error = ErrorResponse.builder()
@@ -50,6 +61,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(TicketStateException.class)
+    public ResponseEntity<ErrorResponse> handleTicketStateException(final TicketStateException ex) {
+        final ErrorResponse error = ErrorResponse.builder()
+                .message(ex.getMessage())
+                .error("Invalid Ticket State")
+                .status(HttpStatus.CONFLICT.value())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(UserNotRemovableException.class)
     public ResponseEntity<ErrorResponse> handleUserNotRemovableException(final UserNotRemovableException ex) {
         final ErrorResponse error = ErrorResponse.builder()
@@ -83,6 +105,17 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(RecordingStateException.class)
+    public ResponseEntity<ErrorResponse> handleRecordingStateException(final RecordingStateException ex) {
+        final ErrorResponse error = ErrorResponse.builder()
+                .message(ex.getMessage())
+                .error("Recording State Conflict")
+                .status(HttpStatus.CONFLICT.value())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentialsException(final BadCredentialsException ex) {
         final ErrorResponse error = ErrorResponse.builder()
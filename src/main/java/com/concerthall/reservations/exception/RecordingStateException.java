@@ -0,0 +1,7 @@
+package com.concerthall.reservations.exception;
+
+public class RecordingStateException extends RuntimeException {
+    public RecordingStateException(String message) {
+        super(message);
+    }
+}
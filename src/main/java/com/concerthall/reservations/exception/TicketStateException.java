@@ -0,0 +1,7 @@
+package com.concerthall.reservations.exception;
+
+public class TicketStateException extends RuntimeException {
+    public TicketStateException(String message) {
+        super(message);
+    }
+}
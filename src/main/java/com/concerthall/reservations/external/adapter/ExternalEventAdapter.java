@@ -24,13 +24,26 @@ public class ExternalEventAdapter {
     public EventResponse toEventResponse(
             ExternalEventResponse external,
             VenueResponse venue
+    ) {
+        return toEventResponse(external, venue, null);
+    }
+
+    /**
+     * Convert external event response from a secondary provider.
+     * The provider scope keeps internal IDs unique across providers;
+     * null keeps the primary provider's historical IDs.
+     */
+    public EventResponse toEventResponse(
+            ExternalEventResponse external,
+            VenueResponse venue,
+            String providerScope
     ) {
         if (external == null) {
             return null;
         }
 
         return EventResponse.builder()
-                .id(generateInternalId(external.getId()))
+                .id(generateInternalId(providerScope, external.getId()))
                 .name(external.getName())
                 .description(external.getDescription())
                 .eventDateTime(external.getEventDateTime())
@@ -49,9 +62,11 @@ public class ExternalEventAdapter {
      * Generate deterministic UUID from external event ID
      * Uses UUID v5 (name-based with SHA-1) for consistent ID generation
      */
-    private UUID generateInternalId(String externalId) {
+    private UUID generateInternalId(String providerScope, String externalId) {
         // Create namespace UUID from constant string
-        final UUID namespace = UUID.nameUUIDFromBytes(EXTERNAL_EVENT_NAMESPACE.getBytes());
+        final UUID namespace = UUID.nameUUIDFromBytes(providerScope == null
+                ? EXTERNAL_EVENT_NAMESPACE.getBytes()
+                : (EXTERNAL_EVENT_NAMESPACE + ":" + providerScope).getBytes());
 
         // Generate deterministic UUID from external ID within namespace
         return UUID.nameUUIDFromBytes((namespace.toString() + ":" + externalId).getBytes());
@@ -21,12 +21,21 @@ public class ExternalVenueAdapter {
      * Convert external venue response to internal venue response
      */
     public VenueResponse toVenueResponse(ExternalVenueResponse external) {
+        return toVenueResponse(external, null);
+    }
+
+    /**
+     * Convert external venue response from a secondary provider.
+     * The provider scope keeps internal IDs unique across providers;
+     * null keeps the primary provider's historical IDs.
+     */
+    public VenueResponse toVenueResponse(ExternalVenueResponse external, String providerScope) {
         if (external == null) {
             return null;
         }
 
         return VenueResponse.builder()
-                .id(generateInternalId(external.getId()))
+                .id(generateInternalId(providerScope, external.getId()))
                 .name(external.getName())
                 .address(formatAddress(external))
                 .description(external.getDescription())
@@ -42,9 +51,11 @@ public class ExternalVenueAdapter {
      * Generate deterministic UUID from external ID
      * Uses UUID v5 (name-based with SHA-1) for consistent ID generation
      */
-    private UUID generateInternalId(String externalId) {
+    private UUID generateInternalId(String providerScope, String externalId) {
         // Create namespace UUID from constant string
-        final UUID namespace = UUID.nameUUIDFromBytes(EXTERNAL_VENUE_NAMESPACE.getBytes());
+        final UUID namespace = UUID.nameUUIDFromBytes(providerScope == null
+                ? EXTERNAL_VENUE_NAMESPACE.getBytes()
+                : (EXTERNAL_VENUE_NAMESPACE + ":" + providerScope).getBytes());
 
         // Generate deterministic UUID from external ID within namespace
         return UUID.nameUUIDFromBytes((namespace.toString() + ":" + externalId).getBytes());
@@ -0,0 +1,169 @@
+package com.concerthall.reservations.external.client;
+
+import com.concerthall.reservations.external.model.ExternalAvailabilityResponse;
+import com.concerthall.reservations.external.model.ExternalReservationResponse;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-provider cache of event availability keyed by external event id.
+ * <p>
+ * The TTL follows remaining inventory: the full TTL when plenty is left, shrinking towards
+ * zero as the event nears sell-out, where every check goes to the provider. Sold out and
+ * cancelled events are kept for a fixed TTL so repeated attempts are rejected locally.
+ * Our own reservations and cancellations adjust cached counts immediately.
+ */
+public class AvailabilityCache {
+
+    private static final String SOLD_OUT = "SOLD_OUT";
+    private static final String CANCELLED = "CANCELLED";
+    private static final int MAX_TRACKED_HOLDS = 10_000;
+
+    private final long maxTtlNanos;
+    private final long soldOutTtlNanos;
+    private final long selloutThreshold;
+    private final long fullTtlAbove;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Reservation id -> seats it holds, so a cancellation can give them back
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+
+    public AvailabilityCache(long maxTtlSeconds, long soldOutTtlSeconds, long selloutThreshold, long fullTtlAbove) {
+        this(maxTtlSeconds, soldOutTtlSeconds, selloutThreshold, fullTtlAbove, System::nanoTime);
+    }
+
+    AvailabilityCache(
+            long maxTtlSeconds,
+            long soldOutTtlSeconds,
+            long selloutThreshold,
+            long fullTtlAbove,
+            LongSupplier nanoClock
+    ) {
+        this.maxTtlNanos = TimeUnit.SECONDS.toNanos(maxTtlSeconds);
+        this.soldOutTtlNanos = TimeUnit.SECONDS.toNanos(soldOutTtlSeconds);
+        this.selloutThreshold = selloutThreshold;
+        this.fullTtlAbove = Math.max(fullTtlAbove, selloutThreshold + 1);
+        this.nanoClock = nanoClock;
+    }
+
+    private record Entry(long availableTickets, Integer capacity, String status,
+                         LocalDateTime lastUpdated, long expiresAt) {
+    }
+
+    private record Hold(String eventId, long quantity, LocalDateTime expiresAt) {
+    }
+
+    public Optional<ExternalAvailabilityResponse> get(String eventId) {
+        final Entry entry = entries.get(eventId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+            entries.remove(eventId, entry);
+            return Optional.empty();
+        }
+
+        // Fresh object per hit, callers may mutate responses
+        return Optional.of(ExternalAvailabilityResponse.builder()
+                .eventId(eventId)
+                .availableTickets(entry.availableTickets())
+                .capacity(entry.capacity())
+                .status(entry.status())
+                .lastUpdated(entry.lastUpdated())
+                .build());
+    }
+
+    public void put(String eventId, ExternalAvailabilityResponse availability) {
+        if (availability == null || availability.getAvailableTickets() == null) {
+            return;
+        }
+        store(eventId, availability.getAvailableTickets(), availability.getCapacity(),
+                availability.getStatus(), availability.getLastUpdated());
+    }
+
+    /**
+     * A reservation we created takes its seats out of the cached count
+     */
+    public void recordReservation(ExternalReservationResponse reservation) {
+        if (reservation == null || reservation.getEventId() == null) {
+            return;
+        }
+        final long quantity = reservation.getQuantity() != null ? reservation.getQuantity() : 1;
+
+        if (reservation.getId() != null) {
+            if (holds.size() >= MAX_TRACKED_HOLDS) {
+                pruneExpiredHolds();
+            }
+            if (holds.size() < MAX_TRACKED_HOLDS) {
+                holds.put(reservation.getId(), new Hold(reservation.getEventId(), quantity, reservation.getExpiresAt()));
+            }
+        }
+
+        entries.computeIfPresent(reservation.getEventId(), (eventId, entry) -> {
+            final long remaining = entry.availableTickets() - quantity;
+            // Near sell-out the provider is authoritative, drop the entry instead of guessing
+            return remaining <= selloutThreshold ? null : withCount(entry, remaining);
+        });
+    }
+
+    /**
+     * A reservation we cancelled gives its seats back
+     */
+    public void recordCancellation(String reservationId) {
+        final Hold hold = holds.remove(reservationId);
+        if (hold == null) {
+            return;
+        }
+
+        entries.computeIfPresent(hold.eventId(), (eventId, entry) ->
+                SOLD_OUT.equals(entry.status()) ? null : withCount(entry, entry.availableTickets() + hold.quantity()));
+    }
+
+    /**
+     * A paid reservation keeps its seats for good
+     */
+    public void recordConfirmation(String reservationId) {
+        holds.remove(reservationId);
+    }
+
+    private void store(String eventId, long available, Integer capacity, String status, LocalDateTime lastUpdated) {
+        final long ttl = ttlNanos(available, status);
+        if (ttl <= 0) {
+            entries.remove(eventId);
+            return;
+        }
+        entries.put(eventId, new Entry(available, capacity, status, lastUpdated, nanoClock.getAsLong() + ttl));
+    }
+
+    private Entry withCount(Entry entry, long available) {
+        // Keeps the original expiry, local adjustments never extend an entry's life
+        return new Entry(available, entry.capacity(), entry.status(), entry.lastUpdated(),
+                Math.min(entry.expiresAt(), nanoClock.getAsLong() + ttlNanos(available, entry.status())));
+    }
+
+    /**
+     * Full TTL at fullTtlAbove seats or more, linearly down to zero at the sell-out threshold
+     */
+    long ttlNanos(long available, String status) {
+        if (SOLD_OUT.equals(status) || CANCELLED.equals(status) || available <= 0) {
+            return soldOutTtlNanos;
+        }
+        if (available <= selloutThreshold) {
+            return 0;
+        }
+        final double headroom = Math.min(1.0,
+                (double) (available - selloutThreshold) / (fullTtlAbove - selloutThreshold));
+        return (long) (maxTtlNanos * headroom);
+    }
+
+    private void pruneExpiredHolds() {
+        final LocalDateTime now = LocalDateTime.now();
+        holds.values().removeIf(hold -> hold.expiresAt() != null && hold.expiresAt().isBefore(now));
+    }
+}
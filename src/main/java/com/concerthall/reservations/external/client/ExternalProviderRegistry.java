@@ -0,0 +1,196 @@
+package com.concerthall.reservations.external.client;
+
+import com.concerthall.reservations.domain.ExternalProviderConfig;
+import com.concerthall.reservations.external.config.ExternalProviderClientFactory;
+import com.concerthall.reservations.external.config.ExternalProviderProperties;
+import com.concerthall.reservations.repository.ExternalProviderConfigRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of all enabled external providers.
+ * <p>
+ * Providers come from the external_provider_config table, plus the primary provider from
+ * application.yml unless a table row with the same name overrides it. The table is re-read
+ * periodically and only providers whose row changed get a new client.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "external-provider.venue-api", name = "enabled", havingValue = "true")
+public class ExternalProviderRegistry {
+
+    private final ExternalProviderConfigRepository configRepository;
+    private final ExternalProviderClientFactory clientFactory;
+    private final ExternalProviderProperties properties;
+    private final RegisteredProvider primaryProvider;
+
+    // Provider calls are blocking I/O, virtual threads keep fan-out cheap
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private volatile Map<String, RegisteredProvider> providers;
+
+    public ExternalProviderRegistry(
+            ExternalProviderConfigRepository configRepository,
+            ExternalProviderClientFactory clientFactory,
+            ExternalProviderProperties properties,
+            ExternalVenueProviderClient primaryClient
+    ) {
+        this.configRepository = configRepository;
+        this.clientFactory = clientFactory;
+        this.properties = properties;
+        this.primaryProvider = new RegisteredProvider("application.yml", properties.getTimeout(), primaryClient);
+        this.providers = Map.of(properties.getName(), primaryProvider);
+    }
+
+    private record RegisteredProvider(String fingerprint, int timeoutSeconds, ExternalVenueProviderClient client) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadProviders() {
+        refresh();
+    }
+
+    /**
+     * Re-read provider rows and rebuild clients for rows that changed
+     */
+    @Scheduled(fixedDelayString = "${external-provider.venue-api.registry.refresh-interval-ms:30000}")
+    public void refresh() {
+        final List<ExternalProviderConfig> rows;
+        try {
+            rows = configRepository.findByEnabledTrue();
+        } catch (DataAccessException e) {
+            log.warn("Failed to load external provider configuration, keeping current providers", e);
+            return;
+        }
+
+        final Map<String, RegisteredProvider> current = providers;
+        final Map<String, RegisteredProvider> next = new LinkedHashMap<>();
+
+        for (ExternalProviderConfig row : rows) {
+            final String fingerprint = fingerprint(row);
+            final RegisteredProvider existing = current.get(row.getProviderName());
+
+            if (existing != null && existing.fingerprint().equals(fingerprint)) {
+                next.put(row.getProviderName(), existing);
+                continue;
+            }
+
+            try {
+                next.put(row.getProviderName(), new RegisteredProvider(
+                        fingerprint,
+                        row.getTimeoutSeconds() != null ? row.getTimeoutSeconds() : 30,
+                        clientFactory.createClient(row)
+                ));
+                log.info("External provider {} {} at {}", row.getProviderName(),
+                        existing == null ? "registered" : "reloaded", row.getApiBaseUrl());
+            } catch (RuntimeException e) {
+                log.error("Invalid configuration for external provider {}, skipping", row.getProviderName(), e);
+                if (existing != null) {
+                    next.put(row.getProviderName(), existing);
+                }
+            }
+        }
+
+        next.putIfAbsent(properties.getName(), primaryProvider);
+
+        current.keySet().stream()
+                .filter(name -> !next.containsKey(name))
+                .forEach(name -> log.info("External provider {} removed", name));
+
+        providers = Collections.unmodifiableMap(next);
+
+        // Replaced and removed clients release their connections; a fan-out still holding
+        // the old map lets its requests finish
+        current.values().stream()
+                .filter(old -> next.values().stream().noneMatch(kept -> kept.client() == old.client()))
+                .forEach(old -> old.client().close());
+    }
+
+    /**
+     * Periodic hedging report: how often we hedged and how often the hedge answered first
+     */
+    @Scheduled(fixedDelayString = "${external-provider.venue-api.hedging.report-interval-ms:300000}")
+    public void reportHedging() {
+        providers.forEach((name, provider) -> provider.client().getHedgeStats()
+                .filter(stats -> stats.requests() > 0)
+                .ifPresent(stats -> log.info(
+                        "External provider {} hedging: requests={}, hedges={} ({}%), hedge wins={} ({}%), threshold={} ms",
+                        name, stats.requests(),
+                        stats.hedges(), String.format("%.2f", stats.hedgeRate() * 100),
+                        stats.hedgeWins(), String.format("%.1f", stats.winRate() * 100),
+                        stats.thresholdMillis())));
+    }
+
+    public Set<String> getProviderNames() {
+        return providers.keySet();
+    }
+
+    public Optional<ExternalVenueProviderClient> getClient(String providerName) {
+        return Optional.ofNullable(providers.get(providerName)).map(RegisteredProvider::client);
+    }
+
+    /**
+     * Whether results from this provider keep the historical, unscoped internal IDs
+     */
+    public boolean isPrimary(String providerName) {
+        return properties.getName().equals(providerName);
+    }
+
+    /**
+     * Run a catalog query against every provider in parallel and merge the results.
+     * A provider that fails or exceeds its timeout contributes nothing (graceful degradation).
+     */
+    public <T> List<T> fanOut(BiFunction<String, ExternalVenueProviderClient, List<T>> query) {
+        final List<CompletableFuture<List<T>>> futures = providers.entrySet().stream()
+                .map(entry -> {
+                    final String providerName = entry.getKey();
+                    final RegisteredProvider provider = entry.getValue();
+
+                    return CompletableFuture
+                            .supplyAsync(() -> query.apply(providerName, provider.client()), fanOutExecutor)
+                            // Connect and read timeouts apply per request, catalog queries may chain a few
+                            .orTimeout(provider.timeoutSeconds() * 2L, TimeUnit.SECONDS)
+                            .exceptionally(e -> {
+                                log.error("External provider {} failed, omitting its results", providerName, e);
+                                return List.of();
+                            });
+                })
+                .collect(Collectors.toList());
+
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+        providers.values().stream()
+                .filter(provider -> provider != primaryProvider)
+                .forEach(provider -> provider.client().close());
+    }
+
+    private String fingerprint(ExternalProviderConfig row) {
+        return String.join("|",
+                row.getApiBaseUrl(),
+                row.getApiKey(),
+                String.valueOf(row.getRateLimitPerHour()),
+                String.valueOf(row.getTimeoutSeconds()),
+                String.valueOf(row.getRetryAttempts()));
+    }
+}
@@ -1,31 +1,67 @@
 package com.concerthall.reservations.external.client;
 
-import com.concerthall.reservations.external.config.ExternalProviderProperties;
 import com.concerthall.reservations.external.exception.ExternalProviderConnectionException;
 import com.concerthall.reservations.external.model.*;
-import lombok.RequiredArgsConstructor;
+import com.concerthall.reservations.logging.RequestTimings;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-@Service
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * HTTP client for one external venue provider.
+ * Instances are created by ExternalProviderClientFactory; the provider configured in
+ * application.yml is exposed as a bean, additional ones live in ExternalProviderRegistry.
+ */
 @Slf4j
-@RequiredArgsConstructor
-@ConditionalOnProperty(prefix = "external-provider.venue-api", name = "enabled", havingValue = "true")
 public class ExternalVenueProviderClient {
 
+    private final String providerName;
+    private final String baseUrl;
     private final RestTemplate externalProviderRestTemplate;
-    private final ExternalProviderProperties properties;
+    private final ProviderRateLimiter rateLimiter;
+    private final PaginatedResponseReader pageReader;
+    private final RequestHedger hedger;
+    private final AvailabilityCache availabilityCache;
+    private final HttpClient httpClient; // owned connection pool, null when the RestTemplate is shared
+
+    public ExternalVenueProviderClient(
+            String providerName,
+            String baseUrl,
+            RestTemplate externalProviderRestTemplate,
+            ProviderRateLimiter rateLimiter,
+            PaginatedResponseReader pageReader,
+            RequestHedger hedger,
+            AvailabilityCache availabilityCache,
+            HttpClient httpClient
+    ) {
+        this.providerName = providerName;
+        this.baseUrl = baseUrl;
+        this.externalProviderRestTemplate = externalProviderRestTemplate;
+        this.rateLimiter = rateLimiter;
+        this.pageReader = pageReader;
+        this.hedger = hedger;
+        this.availabilityCache = availabilityCache;
+        this.httpClient = httpClient;
+    }
+
+    public String getProviderName() {
+        return providerName;
+    }
 
     /**
      * List all venues from external provider
@@ -33,6 +69,7 @@ public class ExternalVenueProviderClient {
      */
     public List<ExternalVenueResponse> getVenues(Map<String, String> filters) {
         try {
+            acquirePermit();
             final String url = buildUrl("/venues", filters);
             log.debug("Fetching venues from external provider: {}", url);
 
@@ -55,12 +92,21 @@ public class ExternalVenueProviderClient {
         }
     }
 
+    /**
+     * Stream venues from external provider without materializing the page
+     * GET /venues
+     */
+    public <R> R streamVenues(Map<String, String> filters, Function<Stream<ExternalVenueResponse>, R> consumer) {
+        return streamPage("/venues", filters, ExternalVenueResponse.class, consumer);
+    }
+
     /**
      * Get venue details by ID
      * GET /venues/{venueId}
      */
     public ExternalVenueResponse getVenueById(String venueId) {
         try {
+            acquirePermit();
             final String url = buildUrl("/venues/" + venueId, null);
             log.debug("Fetching venue {} from external provider", venueId);
 
@@ -87,6 +133,7 @@ public class ExternalVenueProviderClient {
      */
     public List<ExternalEventResponse> getEvents(Map<String, String> filters) {
         try {
+            acquirePermit();
             final String url = buildUrl("/events", filters);
             log.debug("Fetching events from external provider: {}", url);
 
@@ -109,12 +156,25 @@ public class ExternalVenueProviderClient {
         }
     }
 
+    /**
+     * Stream events from external provider without materializing the page
+     * GET /events
+     */
+    public <R> R streamEvents(Map<String, String> filters, Function<Stream<ExternalEventResponse>, R> consumer) {
+        return streamPage("/events", filters, ExternalEventResponse.class, consumer);
+    }
+
     /**
      * Get event details by ID
      * GET /events/{eventId}
      */
     public ExternalEventResponse getEventById(String eventId) {
+        return hedged(() -> fetchEventById(eventId));
+    }
+
+    private ExternalEventResponse fetchEventById(String eventId) {
         try {
+            acquirePermit();
             final String url = buildUrl("/events/" + eventId, null);
             log.debug("Fetching event {} from external provider", eventId);
 
@@ -138,9 +198,27 @@ public class ExternalVenueProviderClient {
     /**
      * Check availability for an event
      * GET /events/{eventId}/availability
+     * Served from the availability cache while its inventory-based TTL allows
      */
     public ExternalAvailabilityResponse checkAvailability(String eventId) {
+        if (availabilityCache == null) {
+            return hedged(() -> fetchAvailability(eventId));
+        }
+
+        final Optional<ExternalAvailabilityResponse> cached = availabilityCache.get(eventId);
+        if (cached.isPresent()) {
+            log.debug("Availability for event {} served from cache", eventId);
+            return cached.get();
+        }
+
+        final ExternalAvailabilityResponse availability = hedged(() -> fetchAvailability(eventId));
+        availabilityCache.put(eventId, availability);
+        return availability;
+    }
+
+    private ExternalAvailabilityResponse fetchAvailability(String eventId) {
         try {
+            acquirePermit();
             final String url = buildUrl("/events/" + eventId + "/availability", null);
             log.debug("Checking availability for event {} from external provider", eventId);
 
@@ -167,6 +245,7 @@ public class ExternalVenueProviderClient {
      */
     public ExternalReservationResponse createReservation(ExternalReservationRequest request) {
         try {
+            acquirePermit();
             final String url = buildUrl("/reservations", null);
             log.debug("Creating reservation for event {} from external provider", request.getEventId());
 
@@ -177,6 +256,9 @@ public class ExternalVenueProviderClient {
                             ExternalReservationResponse.class
                     );
 
+            if (availabilityCache != null) {
+                availabilityCache.recordReservation(response.getBody());
+            }
             return response.getBody();
 
         } catch (RestClientException e) {
@@ -194,6 +276,7 @@ public class ExternalVenueProviderClient {
      */
     public ExternalReservationResponse getReservation(String reservationId) {
         try {
+            acquirePermit();
             final String url = buildUrl("/reservations/" + reservationId, null);
             log.debug("Fetching reservation {} from external provider", reservationId);
 
@@ -233,6 +316,9 @@ public class ExternalVenueProviderClient {
                             ExternalReservationResponse.class
                     );
 
+            if (availabilityCache != null) {
+                availabilityCache.recordConfirmation(reservationId);
+            }
             return response.getBody();
 
         } catch (RestClientException e) {
@@ -250,11 +336,16 @@ public class ExternalVenueProviderClient {
      */
     public void cancelReservation(String reservationId) {
         try {
+            acquirePermit();
             final String url = buildUrl("/reservations/" + reservationId, null);
             log.debug("Cancelling reservation {} with external provider", reservationId);
 
             externalProviderRestTemplate.delete(url);
 
+            if (availabilityCache != null) {
+                availabilityCache.recordCancellation(reservationId);
+            }
+
         } catch (RestClientException e) {
             log.error("Failed to cancel reservation {} with external provider", reservationId, e);
             throw new ExternalProviderConnectionException(
@@ -270,6 +361,7 @@ public class ExternalVenueProviderClient {
      */
     public List<ExternalReservationResponse> getCustomerReservations(String customerEmail) {
         try {
+            acquirePermit();
             final Map<String, String> filters = new HashMap<>();
             filters.put("customerEmail", customerEmail);
             final String url = buildUrl("/reservations", filters);
@@ -294,12 +386,89 @@ public class ExternalVenueProviderClient {
         }
     }
 
+    /**
+     * Decode the data array of a paginated response item by item.
+     * The consumer runs while the response is open and must not let the stream escape.
+     */
+    private <T, R> R streamPage(
+            String path,
+            Map<String, String> filters,
+            Class<T> itemType,
+            Function<Stream<T>, R> consumer
+    ) {
+        final String url = buildUrl(path, filters);
+        try {
+            acquirePermit();
+            log.debug("Streaming {} from external provider: {}", path, url);
+
+            return externalProviderRestTemplate.execute(
+                    url,
+                    HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    response -> {
+                        try (Stream<T> items = pageReader.streamData(response.getBody(), itemType)) {
+                            return consumer.apply(items);
+                        }
+                    }
+            );
+
+        } catch (RestClientException | UncheckedIOException e) {
+            log.error("Failed to stream {} from external provider", path, e);
+            throw new ExternalProviderConnectionException(
+                    "Failed to stream " + path + " from external provider",
+                    e
+            );
+        }
+    }
+
+    /**
+     * Hedge latency-critical idempotent reads when hedging is enabled for this provider.
+     * Hedged calls may run on the hedger's threads, so the caller's wait is what counts as EXTERNAL time.
+     */
+    private <T> T hedged(Supplier<T> call) {
+        if (hedger == null) {
+            return call.get();
+        }
+        final long started = RequestTimings.begin(RequestTimings.Phase.EXTERNAL);
+        try {
+            return hedger.execute(call);
+        } finally {
+            RequestTimings.end(RequestTimings.Phase.EXTERNAL, started);
+        }
+    }
+
+    /**
+     * Shut down the connection pool of a client that was replaced. Requests in flight
+     * complete; new ones fail.
+     */
+    public void close() {
+        if (httpClient != null) {
+            httpClient.shutdown();
+        }
+    }
+
+    /**
+     * Hedging counters, empty when hedging is disabled
+     */
+    public Optional<RequestHedger.Stats> getHedgeStats() {
+        return Optional.ofNullable(hedger).map(RequestHedger::stats);
+    }
+
+    /**
+     * Consume one request from the provider's local quota
+     */
+    private void acquirePermit() {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+    }
+
     /**
      * Build URL with query parameters
      */
     private String buildUrl(String path, Map<String, String> queryParams) {
         UriComponentsBuilder builder = UriComponentsBuilder
-                .fromHttpUrl(properties.getBaseUrl())
+                .fromHttpUrl(baseUrl)
                 .path(path);
 
         if (queryParams != null) {
@@ -0,0 +1,96 @@
+package com.concerthall.reservations.external.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming decoder for provider pages shaped like PaginatedResponse.
+ * <p>
+ * Items of the top-level "data" array are decoded one at a time as the body is read,
+ * so memory stays bounded by a single item whatever the page size. Other top-level
+ * fields (pagination) are skipped. The returned stream must be consumed while the
+ * underlying response is still open, and closing it closes the parser.
+ */
+public class PaginatedResponseReader {
+
+    private static final String DATA_FIELD = "data";
+
+    private final ObjectMapper objectMapper;
+
+    public PaginatedResponseReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> Stream<T> streamData(InputStream body, Class<T> itemType) throws IOException {
+        final JsonParser parser = objectMapper.getFactory().createParser(body);
+
+        if (!positionAtDataArray(parser)) {
+            parser.close();
+            return Stream.empty();
+        }
+
+        final Iterator<T> items = new Iterator<>() {
+            private JsonToken nextToken = parser.nextToken();
+
+            @Override
+            public boolean hasNext() {
+                return nextToken != null && nextToken != JsonToken.END_ARRAY;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    final T item = objectMapper.readValue(parser, itemType);
+                    nextToken = parser.nextToken();
+                    return item;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        parser.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Advance to the START_ARRAY of the top-level data field, skipping anything before it
+     */
+    private boolean positionAtDataArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken value = parser.nextToken();
+
+            if (DATA_FIELD.equals(field)) {
+                return value == JsonToken.START_ARRAY;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package com.concerthall.reservations.external.client;
+
+import com.concerthall.reservations.external.exception.ExternalProviderRateLimitException;
+
+/**
+ * Token bucket enforcing a provider's hourly request quota on our side,
+ * so we back off before the provider starts answering 429.
+ * Bursts are capped at one minute's worth of quota.
+ */
+public class ProviderRateLimiter {
+
+    private static final long NANOS_PER_HOUR = 3_600_000_000_000L;
+
+    private final String providerName;
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    private ProviderRateLimiter(String providerName, int requestsPerHour) {
+        this.providerName = providerName;
+        this.capacity = Math.max(1, Math.ceil(requestsPerHour / 60.0));
+        this.tokensPerNano = (double) requestsPerHour / NANOS_PER_HOUR;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Limiter for the given quota; null or non-positive means unlimited
+     */
+    public static ProviderRateLimiter perHour(String providerName, Integer requestsPerHour) {
+        if (requestsPerHour == null || requestsPerHour <= 0) {
+            return null;
+        }
+        return new ProviderRateLimiter(providerName, requestsPerHour);
+    }
+
+    public synchronized void acquire() {
+        final long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return;
+        }
+
+        final long retryAfterSeconds = (long) Math.ceil((1 - tokens) / tokensPerNano / 1_000_000_000L);
+        throw new ExternalProviderRateLimitException(
+                "Local request quota for provider " + providerName + " exhausted",
+                retryAfterSeconds
+        );
+    }
+}
@@ -0,0 +1,185 @@
+package com.concerthall.reservations.external.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Hedged execution for idempotent provider reads.
+ * <p>
+ * The call runs once; if it has not answered within the observed latency percentile,
+ * a second identical call is fired and whichever succeeds first wins. Hedges are limited
+ * to a fraction of all requests so a slow provider never sees more than a small extra load.
+ * Until enough latencies have been observed no hedging happens.
+ */
+@Slf4j
+public class RequestHedger {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    // Shared across providers, attempts are blocking I/O
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final String providerName;
+    private final double percentile;
+    private final double budgetRatio;
+    private final long minDelayMillis;
+
+    private final long[] latencies;
+    private int latencyCount;
+    private int latencyCursor;
+    private volatile long thresholdMillis = -1;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    public RequestHedger(String providerName, double percentile, double budgetRatio, long minDelayMillis, int windowSize) {
+        this.providerName = providerName;
+        this.percentile = percentile;
+        this.budgetRatio = budgetRatio;
+        this.minDelayMillis = minDelayMillis;
+        this.latencies = new long[Math.max(MIN_SAMPLES, windowSize)];
+    }
+
+    public record Stats(long requests, long hedges, long hedgeWins, long thresholdMillis) {
+
+        public double hedgeRate() {
+            return requests == 0 ? 0 : (double) hedges / requests;
+        }
+
+        public double winRate() {
+            return hedges == 0 ? 0 : (double) hedgeWins / hedges;
+        }
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        requests.incrementAndGet();
+
+        final long delay = thresholdMillis;
+        if (delay < 0) {
+            // Still learning the latency distribution, run on the caller's thread
+            return timed(call).get();
+        }
+
+        final CompletableFuture<T> primary = CompletableFuture.supplyAsync(timed(call), EXECUTOR);
+
+        try {
+            return primary.get(delay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (!reserveHedge()) {
+                return await(primary);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for provider " + providerName, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+
+        log.debug("Provider {} slower than {} ms, sending hedged request", providerName, delay);
+        final CompletableFuture<T> hedge = CompletableFuture.supplyAsync(timed(call), EXECUTOR);
+        return firstSuccessful(primary, hedge);
+    }
+
+    public Stats stats() {
+        return new Stats(requests.get(), hedges.get(), hedgeWins.get(), thresholdMillis);
+    }
+
+    /**
+     * Global budget: hedges never exceed budgetRatio of requests
+     */
+    private boolean reserveHedge() {
+        while (true) {
+            final long current = hedges.get();
+            if (current + 1 > requests.get() * budgetRatio) {
+                return false;
+            }
+            if (hedges.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private record Attempt<T>(T value, boolean hedged) {
+    }
+
+    private <T> T firstSuccessful(CompletableFuture<T> primary, CompletableFuture<T> hedge) {
+        // Carries which attempt won, so the win is counted before the caller returns
+        final CompletableFuture<Attempt<T>> winner = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+
+        primary.whenComplete((value, error) -> {
+            if (error == null) {
+                winner.complete(new Attempt<>(value, false));
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        hedge.whenComplete((value, error) -> {
+            if (error == null) {
+                winner.complete(new Attempt<>(value, true));
+            } else if (failures.incrementAndGet() == 2) {
+                // Report the primary's failure, the hedge was only a second chance
+                primary.whenComplete((ignored, primaryError) -> winner.completeExceptionally(primaryError));
+            }
+        });
+
+        final Attempt<T> attempt = await(winner);
+        if (attempt.hedged()) {
+            hedgeWins.incrementAndGet();
+        }
+        return attempt.value();
+    }
+
+    private <T> Supplier<T> timed(Supplier<T> call) {
+        return () -> {
+            final long start = System.nanoTime();
+            final T result = call.get();
+            recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return result;
+        };
+    }
+
+    private synchronized void recordLatency(long millis) {
+        latencies[latencyCursor] = millis;
+        latencyCursor = (latencyCursor + 1) % latencies.length;
+        latencyCount++;
+
+        if (latencyCount >= MIN_SAMPLES && latencyCount % RECOMPUTE_EVERY == 0) {
+            final long[] window = Arrays.copyOf(latencies, Math.min(latencyCount, latencies.length));
+            Arrays.sort(window);
+            final int index = (int) Math.ceil(percentile * window.length) - 1;
+            thresholdMillis = Math.max(minDelayMillis, window[Math.max(0, index)]);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private RuntimeException unwrap(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return new IllegalStateException("Hedged request to provider " + providerName + " failed", cause);
+    }
+}
@@ -0,0 +1,182 @@
+package com.concerthall.reservations.external.config;
+
+import com.concerthall.reservations.external.client.AvailabilityCache;
+import com.concerthall.reservations.external.client.ExternalVenueProviderClient;
+import com.concerthall.reservations.external.client.PaginatedResponseReader;
+import com.concerthall.reservations.external.client.ProviderRateLimiter;
+import com.concerthall.reservations.external.client.RequestHedger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Builds provider clients. Each provider gets its own pooled JDK HttpClient,
+ * timeouts, retry policy, local rate limit and request metrics.
+ */
+@Component
+@ConditionalOnProperty(prefix = "external-provider.venue-api", name = "enabled", havingValue = "true")
+public class ExternalProviderClientFactory {
+
+    private final ObjectMapper objectMapper;
+    private final PaginatedResponseReader pageReader;
+    private final long backoffDelay;
+    private final ExternalProviderProperties.Hedging hedging;
+    private final ExternalProviderProperties.AvailabilityCache availabilityCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicReference<RequestHedger>> hedgers = new ConcurrentHashMap<>();
+
+    public ExternalProviderClientFactory(ExternalProviderProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+        // Same settings as RestTemplate's JSON converter, so streamed and buffered decoding agree
+        this.pageReader = new PaginatedResponseReader(Jackson2ObjectMapperBuilder.json().build());
+        this.backoffDelay = properties.getRetry().getBackoffDelay();
+        this.hedging = properties.getHedging();
+        this.availabilityCache = properties.getAvailabilityCache();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public RestTemplate createRestTemplate(String providerName, String apiKey, int timeoutSeconds, int retryAttempts) {
+        // The application.yml provider's pool lives as long as the application
+        return createRestTemplate(providerName, apiKey, timeoutSeconds, retryAttempts, createHttpClient(timeoutSeconds));
+    }
+
+    /**
+     * Client for a provider row from the external_provider_config table. The client owns its
+     * HttpClient, which ExternalVenueProviderClient#close shuts down once the row is reloaded.
+     */
+    public ExternalVenueProviderClient createClient(
+            com.concerthall.reservations.domain.ExternalProviderConfig config
+    ) {
+        final int timeoutSeconds = config.getTimeoutSeconds() != null ? config.getTimeoutSeconds() : 30;
+        final HttpClient httpClient = createHttpClient(timeoutSeconds);
+        final RestTemplate restTemplate = createRestTemplate(
+                config.getProviderName(),
+                config.getApiKey(),
+                timeoutSeconds,
+                config.getRetryAttempts() != null ? config.getRetryAttempts() : 1,
+                httpClient
+        );
+
+        return createClient(
+                config.getProviderName(),
+                config.getApiBaseUrl(),
+                restTemplate,
+                config.getRateLimitPerHour(),
+                httpClient
+        );
+    }
+
+    public ExternalVenueProviderClient createClient(
+            String providerName,
+            String baseUrl,
+            RestTemplate restTemplate,
+            Integer rateLimitPerHour
+    ) {
+        return createClient(providerName, baseUrl, restTemplate, rateLimitPerHour, null);
+    }
+
+    private ExternalVenueProviderClient createClient(
+            String providerName,
+            String baseUrl,
+            RestTemplate restTemplate,
+            Integer rateLimitPerHour,
+            HttpClient httpClient
+    ) {
+        return new ExternalVenueProviderClient(
+                providerName,
+                baseUrl,
+                restTemplate,
+                ProviderRateLimiter.perHour(providerName, rateLimitPerHour),
+                pageReader,
+                createHedger(providerName),
+                createAvailabilityCache(),
+                httpClient
+        );
+    }
+
+    // HttpClient keeps a connection pool per instance
+    private HttpClient createHttpClient(int timeoutSeconds) {
+        return HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(timeoutSeconds))
+                .build();
+    }
+
+    private RestTemplate createRestTemplate(
+            String providerName,
+            String apiKey,
+            int timeoutSeconds,
+            int retryAttempts,
+            HttpClient httpClient
+    ) {
+        final JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofSeconds(timeoutSeconds));
+
+        // Not buffered: large catalog pages are streamed straight from the socket
+        return new RestTemplateBuilder()
+                .requestFactory(() -> requestFactory)
+                .errorHandler(new ExternalProviderErrorHandler(objectMapper))
+                .interceptors(
+                        new ProviderMetricsInterceptor(providerName, meterRegistry),
+                        new ApiKeyInterceptor(apiKey),
+                        new RetryingRequestInterceptor(retryAttempts, backoffDelay)
+                )
+                .build();
+    }
+
+    private AvailabilityCache createAvailabilityCache() {
+        if (!Boolean.TRUE.equals(availabilityCache.getEnabled())) {
+            return null;
+        }
+        return new AvailabilityCache(
+                availabilityCache.getMaxTtlSeconds(),
+                availabilityCache.getSoldOutTtlSeconds(),
+                availabilityCache.getSelloutThreshold(),
+                availabilityCache.getFullTtlAbove()
+        );
+    }
+
+    private RequestHedger createHedger(String providerName) {
+        if (!Boolean.TRUE.equals(hedging.getEnabled())) {
+            return null;
+        }
+        final RequestHedger hedger = new RequestHedger(
+                providerName,
+                hedging.getPercentile(),
+                hedging.getBudgetRatio(),
+                hedging.getMinDelayMs(),
+                hedging.getWindowSize()
+        );
+
+        // Meters outlive a reloaded client, so they read whichever hedger is current
+        hedgers.computeIfAbsent(providerName, this::registerHedgingMeters).set(hedger);
+        return hedger;
+    }
+
+    private AtomicReference<RequestHedger> registerHedgingMeters(String providerName) {
+        final AtomicReference<RequestHedger> current = new AtomicReference<>();
+        FunctionCounter.builder("external.provider.hedging.requests", current, ref -> ref.get().stats().requests())
+                .tag("provider", providerName)
+                .register(meterRegistry);
+        FunctionCounter.builder("external.provider.hedging.hedges", current, ref -> ref.get().stats().hedges())
+                .tag("provider", providerName)
+                .register(meterRegistry);
+        FunctionCounter.builder("external.provider.hedging.wins", current, ref -> ref.get().stats().hedgeWins())
+                .tag("provider", providerName)
+                .register(meterRegistry);
+        return current;
+    }
+}
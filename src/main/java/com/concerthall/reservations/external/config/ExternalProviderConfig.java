@@ -1,18 +1,13 @@
 package com.concerthall.reservations.external.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.concerthall.reservations.external.client.ExternalVenueProviderClient;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-
 @Configuration
 @RequiredArgsConstructor
 @ConditionalOnProperty(prefix = "external-provider.venue-api", name = "enabled", havingValue = "true")
@@ -21,18 +16,44 @@ public class ExternalProviderConfig {
     private final ExternalProviderProperties properties;
 
     @Bean(name = "externalProviderRestTemplate")
-    public RestTemplate externalProviderRestTemplate() {
-        final ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
+    public RestTemplate externalProviderRestTemplate(ExternalProviderClientFactory clientFactory) {
+        return clientFactory.createRestTemplate(
+                properties.getName(),
+                properties.getApiKey(),
+                properties.getTimeout(),
+                properties.getRetry().getMaxAttempts()
+        );
+    }
+
+    /**
+     * Primary provider configured in application.yml
+     */
+    @Bean
+    public ExternalVenueProviderClient externalVenueProviderClient(
+            ExternalProviderClientFactory clientFactory,
+            RestTemplate externalProviderRestTemplate
+    ) {
+        return clientFactory.createClient(
+                properties.getName(),
+                properties.getBaseUrl(),
+                externalProviderRestTemplate,
+                properties.getRateLimitPerHour()
+        );
+    }
 
-        return new RestTemplateBuilder()
-                .setConnectTimeout(Duration.ofSeconds(properties.getTimeout()))
-                .setReadTimeout(Duration.ofSeconds(properties.getTimeout()))
-                .requestFactory(() -> new BufferingClientHttpRequestFactory(
-                        new SimpleClientHttpRequestFactory()
-                ))
-                .errorHandler(new ExternalProviderErrorHandler(objectMapper))
-                .interceptors(new ApiKeyInterceptor(properties.getApiKey()))
-                .build();
+    /**
+     * Worker pool for external reservation sagas.
+     * Provider calls run here, never on request threads or inside transactions.
+     */
+    @Bean(name = "externalReservationExecutor")
+    public ThreadPoolTaskExecutor externalReservationExecutor() {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getSaga().getWorkerThreads());
+        executor.setMaxPoolSize(properties.getSaga().getWorkerThreads());
+        executor.setQueueCapacity(properties.getSaga().getQueueCapacity());
+        executor.setThreadNamePrefix("external-saga-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
     }
 }
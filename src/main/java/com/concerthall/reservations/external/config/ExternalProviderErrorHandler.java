@@ -42,6 +42,13 @@ public class ExternalProviderErrorHandler implements ResponseErrorHandler {
                 );
             }
 
+            // A server error says nothing about whether the request took effect
+            if (statusCode.is5xxServerError()) {
+                throw new ExternalProviderConnectionException(
+                        "External provider returned error " + statusCode + ": " + errorResponse.getMessage()
+                );
+            }
+
             throw new ExternalProviderException(
                     errorResponse.getMessage(),
                     errorResponse.getError()
@@ -8,15 +8,53 @@ import org.springframework.context.annotation.Configuration;
 @ConfigurationProperties(prefix = "external-provider.venue-api")
 @Data
 public class ExternalProviderProperties {
+    private String name = "ExternalVenues"; // matches provider_name in external_provider_config
     private String baseUrl = "https://api.external-venues.com/v1";
     private String apiKey;
     private Boolean enabled = false;
     private Integer timeout = 30; // seconds
+    private Integer rateLimitPerHour = 0; // 0 = unlimited
     private Retry retry = new Retry();
+    private Saga saga = new Saga();
+    private Registry registry = new Registry();
+    private Hedging hedging = new Hedging();
+    private AvailabilityCache availabilityCache = new AvailabilityCache();
 
     @Data
     public static class Retry {
         private Integer maxAttempts = 3;
         private Long backoffDelay = 1000L; // milliseconds
     }
+
+    @Data
+    public static class Saga {
+        private Integer workerThreads = 8;
+        private Integer queueCapacity = 500;
+        private Long leaseSeconds = 120L;
+        private Long resumeAfterSeconds = 60L; // sagas untouched this long are picked up again
+    }
+
+    @Data
+    public static class Registry {
+        private Long refreshIntervalMs = 30000L; // how often external_provider_config is re-read
+    }
+
+    @Data
+    public static class Hedging {
+        private Boolean enabled = false; // hedge checkAvailability and getEventById
+        private Double percentile = 0.95; // hedge once a call is slower than this observed percentile
+        private Double budgetRatio = 0.05; // hedges never exceed this share of hedgeable requests
+        private Long minDelayMs = 50L;
+        private Integer windowSize = 512; // latest latencies the percentile is computed over
+        private Long reportIntervalMs = 300000L;
+    }
+
+    @Data
+    public static class AvailabilityCache {
+        private Boolean enabled = true;
+        private Long maxTtlSeconds = 30L; // TTL when plenty of seats are left
+        private Long fullTtlAbove = 500L; // seats left from which the full TTL applies
+        private Long selloutThreshold = 20L; // at or below this many seats every check goes to the provider
+        private Long soldOutTtlSeconds = 60L; // how long SOLD_OUT / CANCELLED is answered locally
+    }
 }
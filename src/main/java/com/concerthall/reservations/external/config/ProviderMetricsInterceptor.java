@@ -0,0 +1,89 @@
+package com.concerthall.reservations.external.config;
+
+import com.concerthall.reservations.logging.RequestTimings;
+import com.concerthall.reservations.profiling.ProviderCallEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Records external.provider.requests per provider, method and URI template.
+ * Registered first so one logical call including its retries is one sample;
+ * for streamed pages the time is until response headers arrive.
+ * The same span is added to the current request's EXTERNAL timing and emitted as a
+ * ProviderCallEvent for JFR recordings.
+ */
+public class ProviderMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    // /events/evt-123/availability -> /events/{id}/availability
+    private static final Pattern ID_SEGMENT = Pattern.compile("(/(?:venues|events|reservations))/[^/]+");
+
+    private final String providerName;
+    private final MeterRegistry meterRegistry;
+
+    public ProviderMetricsInterceptor(String providerName, MeterRegistry meterRegistry) {
+        this.providerName = providerName;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request,
+            byte[] body,
+            ClientHttpRequestExecution execution
+    ) throws IOException {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        final long started = RequestTimings.begin(RequestTimings.Phase.EXTERNAL);
+        final ProviderCallEvent jfrEvent = new ProviderCallEvent();
+        jfrEvent.begin();
+        String outcome = "IO_ERROR";
+        String status = "none";
+        try {
+            final ClientHttpResponse response = execution.execute(request, body);
+            final int code = response.getStatusCode().value();
+            status = String.valueOf(code);
+            outcome = code < 400 ? "SUCCESS" : code < 500 ? "CLIENT_ERROR" : "SERVER_ERROR";
+            return response;
+        } finally {
+            RequestTimings.end(RequestTimings.Phase.EXTERNAL, started);
+            final String uri = uriTemplate(request.getURI().getPath());
+            jfrEvent.provider = providerName;
+            jfrEvent.method = request.getMethod().name();
+            jfrEvent.uri = uri;
+            jfrEvent.status = status;
+            jfrEvent.commit();
+            sample.stop(Timer.builder("external.provider.requests")
+                    .description("Outbound calls to external venue providers")
+                    .tag("provider", providerName)
+                    .tag("method", request.getMethod().name())
+                    .tag("uri", uri)
+                    .tag("status", status)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String uriTemplate(String path) {
+        // Strip the provider's base path (e.g. /v1) so templates are comparable across providers
+        final String template = ID_SEGMENT.matcher(path).replaceAll("$1/{id}");
+        final int resource = indexOfResource(template);
+        return resource > 0 ? template.substring(resource) : template;
+    }
+
+    private int indexOfResource(String template) {
+        int index = -1;
+        for (String resource : new String[]{"/venues", "/events", "/reservations"}) {
+            final int found = template.indexOf(resource);
+            if (found >= 0 && (index < 0 || found < index)) {
+                index = found;
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,71 @@
+package com.concerthall.reservations.external.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Set;
+
+/**
+ * Retries idempotent provider requests on I/O errors and gateway failures.
+ * Must be the last interceptor: each retry re-enters the execution chain
+ * from this point and goes straight to the request factory.
+ */
+@Slf4j
+public class RetryingRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.DELETE, HttpMethod.OPTIONS);
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(502, 503, 504);
+
+    private final int maxAttempts;
+    private final long backoffDelay;
+
+    public RetryingRequestInterceptor(int maxAttempts, long backoffDelay) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffDelay = backoffDelay;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(
+            HttpRequest request,
+            byte[] body,
+            ClientHttpRequestExecution execution
+    ) throws IOException {
+        if (maxAttempts == 1 || !IDEMPOTENT_METHODS.contains(request.getMethod())) {
+            return execution.execute(request, body);
+        }
+
+        long delay = backoffDelay;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                final ClientHttpResponse response = execution.execute(request, body);
+                if (attempt >= maxAttempts || !RETRYABLE_STATUSES.contains(response.getStatusCode().value())) {
+                    return response;
+                }
+                log.debug("Provider answered {} for {} {}, attempt {}/{}",
+                        response.getStatusCode().value(), request.getMethod(), request.getURI(), attempt, maxAttempts);
+                response.close();
+            } catch (IOException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("I/O error calling {} {}, attempt {}/{}",
+                        request.getMethod(), request.getURI(), attempt, maxAttempts, e);
+            }
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry " + request.getURI());
+            }
+            delay *= 2;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.concerthall.reservations.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.listener.TcpAppenderListener;
+
+/**
+ * Counts events a disruptor appender could not enqueue within its appendTimeout.
+ * Attached to LOGSTASH in logback-spring.xml and added by OverflowPolicyAsyncAppender itself.
+ */
+public class DroppedEventCountingListener implements TcpAppenderListener<ILoggingEvent> {
+
+    @Override
+    public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+        LogDropCounters.increment(LogDropCounters.Reason.OVERFLOW, event.getLevel());
+    }
+}
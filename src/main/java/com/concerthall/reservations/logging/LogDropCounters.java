@@ -0,0 +1,43 @@
+package com.concerthall.reservations.logging;
+
+import ch.qos.logback.classic.Level;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Events the logging pipeline threw away. Static because appenders and turbo filters are
+ * created by logback before the Spring context exists; LogPipelineMetrics exposes them.
+ */
+public final class LogDropCounters {
+
+    public enum Reason { OVERFLOW, RATE_LIMITED }
+
+    static final List<Level> LEVELS = List.of(Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR);
+
+    private static final LongAdder[][] COUNTS = new LongAdder[Reason.values().length][LEVELS.size()];
+
+    static {
+        for (LongAdder[] byLevel : COUNTS) {
+            for (int i = 0; i < byLevel.length; i++) {
+                byLevel[i] = new LongAdder();
+            }
+        }
+    }
+
+    private LogDropCounters() {
+    }
+
+    public static void increment(Reason reason, Level level) {
+        COUNTS[reason.ordinal()][index(level)].increment();
+    }
+
+    public static long count(Reason reason, Level level) {
+        return COUNTS[reason.ordinal()][index(level)].sum();
+    }
+
+    private static int index(Level level) {
+        final int index = LEVELS.indexOf(level);
+        return index >= 0 ? index : LEVELS.size() - 1;
+    }
+}
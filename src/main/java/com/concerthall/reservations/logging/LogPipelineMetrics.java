@@ -0,0 +1,26 @@
+package com.concerthall.reservations.logging;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LogPipelineMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        for (LogDropCounters.Reason reason : LogDropCounters.Reason.values()) {
+            for (Level level : LogDropCounters.LEVELS) {
+                FunctionCounter.builder("logging.events.dropped", reason,
+                                r -> LogDropCounters.count(r, level))
+                        .description("Log events discarded by the async pipeline or rate limits")
+                        .tag("reason", reason.name().toLowerCase())
+                        .tag("level", level.toString())
+                        .register(registry);
+            }
+        }
+    }
+}
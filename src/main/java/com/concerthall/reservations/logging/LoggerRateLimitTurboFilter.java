@@ -0,0 +1,83 @@
+package com.concerthall.reservations.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps how many events below WARN a logger subtree may emit per second, e.g.
+ * {@code <limit>org.springframework.security=20</limit>}. The longest matching prefix wins.
+ * Runs before the event is built, so a denied event costs a map lookup and two atomics.
+ */
+public class LoggerRateLimitTurboFilter extends TurboFilter {
+
+    private final List<Window> windows = new ArrayList<>();
+    // Logger name -> its window; loggers without a limit map to empty
+    private final Map<String, Optional<Window>> resolved = new ConcurrentHashMap<>();
+
+    public void addLimit(String limit) {
+        final int separator = limit.lastIndexOf('=');
+        if (separator <= 0) {
+            addError("Expected <logger prefix>=<events per second>, got: " + limit);
+            return;
+        }
+        windows.add(new Window(limit.substring(0, separator).trim(),
+                Integer.parseInt(limit.substring(separator + 1).trim())));
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks pass no format; only real events take a slot
+        if (level == null || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        final Optional<Window> window = resolved.computeIfAbsent(logger.getName(), this::resolve);
+        if (window.isEmpty() || window.get().tryAcquire(System.currentTimeMillis() / 1000)) {
+            return FilterReply.NEUTRAL;
+        }
+        LogDropCounters.increment(LogDropCounters.Reason.RATE_LIMITED, level);
+        return FilterReply.DENY;
+    }
+
+    private Optional<Window> resolve(String loggerName) {
+        Window best = null;
+        for (Window window : windows) {
+            if ((loggerName.equals(window.prefix) || loggerName.startsWith(window.prefix + "."))
+                    && (best == null || window.prefix.length() > best.prefix.length())) {
+                best = window;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private static final class Window {
+        private final String prefix;
+        private final int perSecond;
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger used = new AtomicInteger();
+
+        private Window(String prefix, int perSecond) {
+            this.prefix = prefix;
+            this.perSecond = perSecond;
+        }
+
+        private boolean tryAcquire(long nowSecond) {
+            final long current = second.get();
+            if (current != nowSecond && second.compareAndSet(current, nowSecond)) {
+                used.set(0);
+            }
+            return used.incrementAndGet() <= perSecond;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.concerthall.reservations.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+
+/**
+ * Ring-buffer appender that keeps the last discardingThreshold slots for WARN and ERROR.
+ * Below WARN an event is dropped (and counted) as soon as the buffer is that full, so the
+ * calling thread never waits; WARN and ERROR wait up to appendTimeout before being dropped.
+ */
+public class OverflowPolicyAsyncAppender extends LoggingEventAsyncDisruptorAppender {
+
+    private int discardingThreshold = -1; // -1 = a fifth of the ring buffer
+
+    public OverflowPolicyAsyncAppender() {
+        addListener(new DroppedEventCountingListener());
+    }
+
+    @Override
+    public void start() {
+        if (discardingThreshold < 0) {
+            discardingThreshold = getRingBufferSize() / 5;
+        }
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!event.getLevel().isGreaterOrEqual(Level.WARN)
+                && getDisruptor().getRingBuffer().remainingCapacity() <= discardingThreshold) {
+            LogDropCounters.increment(LogDropCounters.Reason.OVERFLOW, event.getLevel());
+            return;
+        }
+        super.append(event);
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+}
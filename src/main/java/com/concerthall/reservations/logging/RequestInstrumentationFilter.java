@@ -0,0 +1,104 @@
+package com.concerthall.reservations.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import static com.concerthall.reservations.logging.RequestTimings.Phase.DB;
+import static com.concerthall.reservations.logging.RequestTimings.Phase.EXTERNAL;
+import static com.concerthall.reservations.logging.RequestTimings.Phase.SERIALIZATION;
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Outermost filter: assigns the request id, binds RequestTimings and writes one summary line
+ * per request to the request-summary logger. Slow and failed requests are always logged,
+ * the rest at sampleRate; sample_rate is part of the line so dashboards can re-weight counts.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestInstrumentationFilter extends OncePerRequestFilter {
+
+    static final String SUMMARY_LOGGER = "com.concerthall.reservations.request-summary";
+
+    private static final Logger summaryLog = LoggerFactory.getLogger(SUMMARY_LOGGER);
+    // Accept caller-provided ids only if they are short and safe to put in a log line
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final RequestLoggingProperties properties;
+
+    public RequestInstrumentationFilter(RequestLoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        final String requestId = requestId(request);
+        MDC.put("requestId", requestId);
+        response.setHeader(properties.getRequestIdHeader(), requestId);
+
+        final RequestTimings timings = properties.getEnabled() ? RequestTimings.bind() : null;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (timings != null) {
+                RequestTimings.unbind();
+                logSummary(request, response.getStatus(), timings);
+            }
+            MDC.clear();
+        }
+    }
+
+    private String requestId(HttpServletRequest request) {
+        final String provided = request.getHeader(properties.getRequestIdHeader());
+        if (provided != null && VALID_REQUEST_ID.matcher(provided).matches()) {
+            return provided;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private void logSummary(HttpServletRequest request, int status, RequestTimings timings) {
+        final long durationMs = timings.elapsedMillis();
+        final boolean always = status >= 500 || durationMs >= properties.getSlowThresholdMs();
+        final double sampleRate = always ? 1.0 : properties.getSampleRate();
+        if (!always && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        summaryLog.info("{} {} {} {} {} {} {} {} {} {}",
+                kv("method", request.getMethod()),
+                kv("route", route(request)),
+                kv("status", status),
+                kv("duration_ms", durationMs),
+                kv("db_ms", timings.millis(DB)),
+                kv("db_statements", timings.count(DB)),
+                kv("external_ms", timings.millis(EXTERNAL)),
+                kv("external_calls", timings.count(EXTERNAL)),
+                kv("serialization_ms", timings.millis(SERIALIZATION)),
+                kv("sample_rate", sampleRate));
+    }
+
+    // The matched pattern keeps ids out of the route field; unmatched requests fall back to the raw path
+    private static String route(HttpServletRequest request) {
+        final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : request.getRequestURI();
+    }
+}
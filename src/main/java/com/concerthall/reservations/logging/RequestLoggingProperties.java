@@ -0,0 +1,15 @@
+package com.concerthall.reservations.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "logging.request-summary")
+@Data
+public class RequestLoggingProperties {
+    private Boolean enabled = true;
+    private Long slowThresholdMs = 500L; // requests at least this slow are always logged
+    private Double sampleRate = 0.01; // share of fast, successful requests that are logged
+    private String requestIdHeader = "X-Request-Id";
+}
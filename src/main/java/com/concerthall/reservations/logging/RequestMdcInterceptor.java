@@ -0,0 +1,54 @@
+package com.concerthall.reservations.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Fills userId, eventId and ticketId once security has run and the handler is resolved.
+ * RequestInstrumentationFilter clears the MDC when the request completes.
+ */
+public class RequestMdcInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    ) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            MDC.put("userId", authentication.getName());
+        }
+
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables) {
+            putIfPresent("eventId", variables.get("eventId"));
+            putIfPresent("ticketId", variables.get("ticketId"));
+
+            // Plain {id} takes the name of the resource it identifies
+            final Object id = variables.get("id");
+            final String path = request.getRequestURI();
+            if (path.startsWith("/api/events/")) {
+                putIfPresent("eventId", id);
+            } else if (path.startsWith("/api/tickets/") && !path.startsWith("/api/tickets/external-reservations/")) {
+                putIfPresent("ticketId", id);
+            }
+        }
+        return true;
+    }
+
+    private static void putIfPresent(String key, Object value) {
+        if (value != null) {
+            MDC.put(key, value.toString());
+        }
+    }
+}
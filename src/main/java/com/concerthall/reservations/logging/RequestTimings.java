@@ -0,0 +1,69 @@
+package com.concerthall.reservations.logging;
+
+/**
+ * Time one request spends per phase, bound to the servlet thread by RequestInstrumentationFilter.
+ * Recording is a no-op on threads without a bound request (schedulers, saga workers) and
+ * nested spans of the same phase count once, so wrapping a hedged call does not double count
+ * the interceptor running on the caller's thread.
+ */
+public final class RequestTimings {
+
+    public enum Phase { DB, EXTERNAL, SERIALIZATION }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final long NOT_TIMED = -1L;
+
+    private final long startedNanos = System.nanoTime();
+    private final long[] nanos = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+    private final int[] open = new int[Phase.values().length];
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings bind() {
+        final RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Start a span; pass the returned token to {@link #end(Phase, long)} in a finally block
+     */
+    public static long begin(Phase phase) {
+        final RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return NOT_TIMED;
+        }
+        return timings.open[phase.ordinal()]++ == 0 ? System.nanoTime() : NOT_TIMED;
+    }
+
+    public static void end(Phase phase, long token) {
+        final RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return;
+        }
+        final int index = phase.ordinal();
+        timings.open[index]--;
+        if (token != NOT_TIMED) {
+            timings.nanos[index] += System.nanoTime() - token;
+            timings.counts[index]++;
+        }
+    }
+
+    long elapsedMillis() {
+        return (System.nanoTime() - startedNanos) / 1_000_000;
+    }
+
+    long millis(Phase phase) {
+        return nanos[phase.ordinal()] / 1_000_000;
+    }
+
+    int count(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+}
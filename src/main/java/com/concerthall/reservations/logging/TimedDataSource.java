@@ -0,0 +1,78 @@
+package com.concerthall.reservations.logging;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds the time spent in Statement.execute* to the current request's DB phase.
+ * Result set iteration is not included, Hibernate reads rows right after execute.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    public TimedDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timedConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timedConnection(super.getConnection(username, password));
+    }
+
+    private static Connection timedConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                TimedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    final Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        return timedStatement(statement, statementInterface(statement));
+                    }
+                    return result;
+                });
+    }
+
+    private static Class<?> statementInterface(Statement statement) {
+        if (statement instanceof CallableStatement) {
+            return CallableStatement.class;
+        }
+        return statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+    }
+
+    private static Object timedStatement(Statement statement, Class<?> type) {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            final long started = RequestTimings.begin(RequestTimings.Phase.DB);
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                RequestTimings.end(RequestTimings.Phase.DB, started);
+            }
+        };
+        return Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.concerthall.reservations.partitioning;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of the tickets table (see V10 migration).
+ * <p>
+ * Upcoming months get their partition ahead of time. Tickets for events beyond that
+ * horizon wait in tickets_default and move into their month once it is created.
+ * Months that ended more than {@code archiveAfterDays} ago, and whose events are all
+ * COMPLETED or CANCELLED, are detached from tickets and attached to tickets_archive.
+ * No rows are copied, and the hot indexes only cover upcoming and recent events.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "tickets.partitioning", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TicketPartitionService {
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("tickets_y(\\d{4})m(\\d{2})");
+
+    // Serializes partition DDL across application instances
+    private static final long ADVISORY_LOCK_KEY = 0x7469636b6574L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketPartitioningProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${tickets.partitioning.cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        final LocalDate today = LocalDate.now();
+        try {
+            createUpcomingPartitions(YearMonth.from(today));
+            archiveEndedMonths(today);
+        } catch (RuntimeException e) {
+            // Retried on the next run; reservations keep working through the default partition
+            log.error("Ticket partition maintenance failed", e);
+        }
+    }
+
+    List<YearMonth> createUpcomingPartitions(final YearMonth current) {
+        final List<YearMonth> created = new ArrayList<>();
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            final YearMonth month = current.plusMonths(i);
+            final Boolean done = transactionTemplate.execute(status -> {
+                lock();
+                if (exists(partitionName(month))) {
+                    return false;
+                }
+                createPartition(month);
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                created.add(month);
+                log.info("Created ticket partition {}", partitionName(month));
+            }
+        }
+        return created;
+    }
+
+    List<YearMonth> archiveEndedMonths(final LocalDate today) {
+        final YearMonth lastArchivable = YearMonth.from(today.minusDays(properties.getArchiveAfterDays())).minusMonths(1);
+        final List<YearMonth> archived = new ArrayList<>();
+        for (YearMonth month : hotMonths()) {
+            if (month.isAfter(lastArchivable)) {
+                continue;
+            }
+            final Boolean done = transactionTemplate.execute(status -> {
+                lock();
+                if (hasOpenEvents(month)) {
+                    return false;
+                }
+                final String name = partitionName(month);
+                jdbcTemplate.execute("ALTER TABLE tickets DETACH PARTITION " + name);
+                jdbcTemplate.execute("ALTER TABLE tickets_archive ATTACH PARTITION " + name + bounds(month));
+                return true;
+            });
+            if (Boolean.TRUE.equals(done)) {
+                archived.add(month);
+                log.info("Archived ticket partition {}", partitionName(month));
+            } else {
+                log.debug("Ticket partition {} still has events that are not over", partitionName(month));
+            }
+        }
+        return archived;
+    }
+
+    List<YearMonth> hotMonths() {
+        final List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " WHERE i.inhparent = 'tickets'::regclass ORDER BY c.relname",
+                String.class);
+        final List<YearMonth> months = new ArrayList<>();
+        for (String name : names) {
+            final Matcher matcher = MONTHLY_PARTITION.matcher(name);
+            if (matcher.matches()) {
+                months.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Creates the partition detached, moves any rows the default partition holds for the
+     * month, then attaches it. Creating it directly as PARTITION OF would fail as soon as
+     * the default partition has a row in range.
+     */
+    private void createPartition(final YearMonth month) {
+        final String name = partitionName(month);
+        jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE tickets INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        final int moved = jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM tickets_default WHERE event_date_time >= ? AND event_date_time < ? RETURNING *)"
+                        + " INSERT INTO " + name + " SELECT * FROM moved",
+                month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+        jdbcTemplate.execute("ALTER TABLE tickets ATTACH PARTITION " + name + bounds(month));
+        if (moved > 0) {
+            log.info("Moved {} tickets from tickets_default to {}", moved, name);
+        }
+    }
+
+    private boolean hasOpenEvents(final YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + partitionName(month) + " t JOIN events e ON e.id = t.event_id"
+                        + " WHERE e.status NOT IN ('COMPLETED', 'CANCELLED'))",
+                Boolean.class));
+    }
+
+    private boolean exists(final String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    private void lock() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, ADVISORY_LOCK_KEY);
+    }
+
+    // Identifiers are built from the month only, never from input
+    static String partitionName(final YearMonth month) {
+        return String.format("tickets_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private static String bounds(final YearMonth month) {
+        return String.format(" FOR VALUES FROM ('%s') TO ('%s')", month.atDay(1), month.plusMonths(1).atDay(1));
+    }
+}
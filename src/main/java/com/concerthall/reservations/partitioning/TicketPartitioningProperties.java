@@ -0,0 +1,15 @@
+package com.concerthall.reservations.partitioning;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tickets.partitioning")
+@Data
+public class TicketPartitioningProperties {
+    private Boolean enabled = true;
+    private Integer monthsAhead = 12; // monthly partitions kept ready beyond the current month
+    private Integer archiveAfterDays = 90; // a month is archived once it ended this long ago
+    private String cron = "0 30 3 * * *";
+}
@@ -0,0 +1,54 @@
+package com.concerthall.reservations.pricing;
+
+import com.concerthall.reservations.domain.PriceTier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The price tiers of one event as two parallel arrays sorted by start, so a lookup is a
+ * binary search without allocation. Immutable.
+ */
+final class PriceSchedule {
+
+    static final PriceSchedule EMPTY = new PriceSchedule(new LocalDateTime[0], new BigDecimal[0]);
+
+    private final LocalDateTime[] starts;
+    private final BigDecimal[] prices;
+
+    private PriceSchedule(final LocalDateTime[] starts, final BigDecimal[] prices) {
+        this.starts = starts;
+        this.prices = prices;
+    }
+
+    static PriceSchedule of(final List<PriceTier> tiers) {
+        if (tiers.isEmpty()) {
+            return EMPTY;
+        }
+        final PriceTier[] sorted = tiers.toArray(PriceTier[]::new);
+        Arrays.sort(sorted, (a, b) -> a.getEffectiveFrom().compareTo(b.getEffectiveFrom()));
+        final LocalDateTime[] starts = new LocalDateTime[sorted.length];
+        final BigDecimal[] prices = new BigDecimal[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            starts[i] = sorted[i].getEffectiveFrom();
+            prices[i] = sorted[i].getPrice();
+        }
+        return new PriceSchedule(starts, prices);
+    }
+
+    /**
+     * The price of the last tier started at or before the given time, or the base price
+     * when none has started yet
+     */
+    BigDecimal priceAt(final LocalDateTime at, final BigDecimal basePrice) {
+        final int found = Arrays.binarySearch(starts, at);
+        final int tier = found >= 0 ? found : -found - 2;
+        return tier >= 0 ? prices[tier] : basePrice;
+    }
+
+    int size() {
+        return starts.length;
+    }
+}
@@ -0,0 +1,63 @@
+package com.concerthall.reservations.pricing;
+
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationTarget;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.repository.PriceTierRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Price schedules of events, kept in memory so a reservation resolves its price without a
+ * query. An event's tiers are loaded on its first lookup; events without tiers are kept as
+ * well, so they do not query again.
+ * <p>
+ * Changes evict the event: PriceTierService does so locally after commit, other nodes hear
+ * through the invalidation bus. Eviction waits for a load of the same event in progress,
+ * so a load that read the old tiers cannot outlive the eviction that follows the commit.
+ */
+@Component
+public class PriceScheduleIndex implements CacheInvalidationTarget {
+
+    private final PriceTierRepository priceTierRepository;
+    private final Map<UUID, PriceSchedule> schedules = new ConcurrentHashMap<>();
+
+    public PriceScheduleIndex(final PriceTierRepository priceTierRepository, final MeterRegistry meterRegistry) {
+        this.priceTierRepository = priceTierRepository;
+        Gauge.builder("pricing.schedules", schedules, Map::size)
+                .description("Events with their price schedule in memory")
+                .register(meterRegistry);
+    }
+
+    public BigDecimal priceAt(final Event event, final LocalDateTime at) {
+        return schedules.computeIfAbsent(event.getId(), this::load).priceAt(at, event.getPrice());
+    }
+
+    public void evict(final UUID eventId) {
+        schedules.remove(eventId);
+    }
+
+    @Override
+    public void invalidate(final CachedEntity entity, final UUID id) {
+        // A deleted event takes its tiers with it
+        if (entity == CachedEntity.PRICE_SCHEDULE || entity == CachedEntity.EVENT) {
+            evict(id);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        schedules.clear();
+    }
+
+    private PriceSchedule load(final UUID eventId) {
+        return PriceSchedule.of(priceTierRepository.findByEventIdOrderByEffectiveFromAsc(eventId));
+    }
+}
@@ -0,0 +1,19 @@
+package com.concerthall.reservations.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Time to acquire the event row lock; the stack trace shows which path is waiting.
+ */
+@Name("com.concerthall.EventLock")
+@Label("Event Row Lock")
+@Description("SELECT ... FOR UPDATE on the event row, including the wait for other holders")
+@Category({"Concert Hall", "Reservations"})
+public class EventLockEvent extends jdk.jfr.Event {
+
+    @Label("Event Id")
+    public String eventId;
+}
@@ -0,0 +1,135 @@
+package com.concerthall.reservations.profiling;
+
+import com.concerthall.reservations.dto.response.RecordingStatusResponse;
+import com.concerthall.reservations.exception.RecordingStateException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Runs at most one on-demand JFR recording. Settings are the JDK "default" configuration
+ * (low overhead, safe in production) overlaid with jfr/reservations.jfc, which lowers lock
+ * and park thresholds, samples allocations and enables the com.concerthall.* events.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    static final String SETTINGS = "jfr/reservations.jfc";
+
+    private Recording active;
+    private Path destination;
+
+    public synchronized RecordingStatusResponse start(final Duration duration, final long maxSizeBytes) {
+        if (active != null && active.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException("A recording is already running, stop it first");
+        }
+        discard();
+
+        try {
+            destination = Files.createTempFile("reservations-", ".jfr");
+            final Recording recording = new Recording(settings());
+            recording.setName("reservations-on-demand");
+            recording.setToDisk(true);
+            recording.setDuration(duration);
+            recording.setMaxSize(maxSizeBytes);
+            // Written here on stop, or when the duration elapses
+            recording.setDestination(destination);
+            recording.start();
+            active = recording;
+        } catch (IOException e) {
+            discard();
+            throw new UncheckedIOException("Could not start JFR recording", e);
+        }
+
+        log.info("Started JFR recording {} for {} (max {} bytes)", active.getId(), duration, maxSizeBytes);
+        return toResponse(active);
+    }
+
+    public synchronized Optional<RecordingStatusResponse> current() {
+        return Optional.ofNullable(active).map(this::toResponse);
+    }
+
+    /**
+     * Stops the recording and hands over its file; the caller deletes it once streamed
+     */
+    public synchronized Path stop() {
+        if (active == null) {
+            throw new RecordingStateException("No recording to stop");
+        }
+        if (active.getState() == RecordingState.RUNNING) {
+            active.stop();
+        }
+        active.close();
+        final Path file = destination;
+        log.info("Stopped JFR recording {}, {} bytes", active.getId(), sizeOf(file));
+        active = null;
+        destination = null;
+        return file;
+    }
+
+    private Map<String, String> settings() throws IOException {
+        final Map<String, String> settings = new HashMap<>();
+        try {
+            settings.putAll(Configuration.getConfiguration("default").getSettings());
+            try (Reader reader = new InputStreamReader(
+                    new ClassPathResource(SETTINGS).getInputStream(), StandardCharsets.UTF_8)) {
+                settings.putAll(Configuration.create(reader).getSettings());
+            }
+        } catch (ParseException e) {
+            throw new IOException("Invalid JFR settings " + SETTINGS, e);
+        }
+        return settings;
+    }
+
+    // A finished recording nobody downloaded is dropped when the next one starts
+    private void discard() {
+        if (active != null) {
+            active.close();
+            active = null;
+        }
+        if (destination != null) {
+            try {
+                Files.deleteIfExists(destination);
+            } catch (IOException e) {
+                log.warn("Could not delete old JFR file {}", destination, e);
+            }
+            destination = null;
+        }
+    }
+
+    private long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private RecordingStatusResponse toResponse(final Recording recording) {
+        return RecordingStatusResponse.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .startedAt(recording.getStartTime())
+                .durationSeconds(recording.getDuration() != null ? recording.getDuration().toSeconds() : null)
+                .maxSizeBytes(recording.getMaxSize())
+                .build();
+    }
+}
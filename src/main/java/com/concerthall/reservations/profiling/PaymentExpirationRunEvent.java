@@ -0,0 +1,16 @@
+package com.concerthall.reservations.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.concerthall.PaymentExpirationRun")
+@Label("Payment Expiration Run")
+@Category({"Concert Hall", "Payments"})
+@StackTrace(false)
+public class PaymentExpirationRunEvent extends jdk.jfr.Event {
+
+    @Label("Expired Tickets")
+    public int expired;
+}
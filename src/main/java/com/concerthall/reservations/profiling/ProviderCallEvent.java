@@ -0,0 +1,25 @@
+package com.concerthall.reservations.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.concerthall.ProviderCall")
+@Label("External Provider Call")
+@Category({"Concert Hall", "External Providers"})
+@StackTrace(false)
+public class ProviderCallEvent extends jdk.jfr.Event {
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI Template")
+    public String uri;
+
+    @Label("Status")
+    public String status;
+}
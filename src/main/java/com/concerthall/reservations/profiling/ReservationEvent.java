@@ -0,0 +1,21 @@
+package com.concerthall.reservations.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.concerthall.Reservation")
+@Label("Ticket Reservation")
+@Description("One reserve request including the transaction commit")
+@Category({"Concert Hall", "Reservations"})
+@StackTrace(false)
+public class ReservationEvent extends jdk.jfr.Event {
+
+    @Label("Event Id")
+    public String eventId;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -1,14 +1,19 @@
 package com.concerthall.reservations.repository;
 
+import com.concerthall.reservations.cache.CacheRegions;
 import com.concerthall.reservations.domain.Event;
 import com.concerthall.reservations.domain.enums.EventStatus;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,15 +21,28 @@ import java.util.UUID;
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID> {
 
+    // Results are cached as ids and dropped whenever the events table changes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EVENT_QUERIES)
+    })
     List<Event> findByStatus(EventStatus status);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT e FROM Event e WHERE e.id = :id")
     Optional<Event> findByIdWithPessimisticLock(@Param("id") UUID id);
 
+    // Rows are locked as they leave the sort, so every caller locks shared events in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id IN :ids ORDER BY e.id")
+    List<Event> findAllByIdInWithPessimisticLock(@Param("ids") Collection<UUID> ids);
+
     List<Event> findByVenueIdIn(List<UUID> venueIds);
 
     List<Event> findByVenueIdInAndStatus(List<UUID> venueIds, EventStatus status);
 
     Optional<Event> findByExternalId(String externalId);
+
+    @Query("SELECT e FROM Event e JOIN FETCH e.venue WHERE e.id IN :ids")
+    List<Event> findAllWithVenueByIdIn(@Param("ids") Collection<UUID> ids);
 }
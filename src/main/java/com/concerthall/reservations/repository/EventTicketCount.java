@@ -0,0 +1,13 @@
+package com.concerthall.reservations.repository;
+
+import java.util.UUID;
+
+/**
+ * Tickets of one event, as counted by TicketRepository.countByEventIds
+ */
+public interface EventTicketCount {
+
+    UUID getEventId();
+
+    long getTickets();
+}
@@ -4,6 +4,7 @@ import com.concerthall.reservations.domain.ExternalProviderConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +14,6 @@ public interface ExternalProviderConfigRepository extends JpaRepository<External
     Optional<ExternalProviderConfig> findByProviderName(String providerName);
 
     Optional<ExternalProviderConfig> findByProviderNameAndEnabledTrue(String providerName);
+
+    List<ExternalProviderConfig> findByEnabledTrue();
 }
@@ -0,0 +1,51 @@
+package com.concerthall.reservations.repository;
+
+import com.concerthall.reservations.domain.ExternalReservationSaga;
+import com.concerthall.reservations.domain.enums.ExternalReservationSagaStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ExternalReservationSagaRepository extends JpaRepository<ExternalReservationSaga, UUID> {
+
+    /**
+     * Claim a saga for processing. Returns 1 only for the worker that wins the lease,
+     * so a saga is never driven by two workers at once.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ExternalReservationSaga s SET s.leaseExpiresAt = :leaseUntil " +
+           "WHERE s.id = :id AND s.status IN :statuses " +
+           "AND (s.leaseExpiresAt IS NULL OR s.leaseExpiresAt < :now)")
+    int acquireLease(@Param("id") UUID id,
+                     @Param("statuses") List<ExternalReservationSagaStatus> statuses,
+                     @Param("now") LocalDateTime now,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Extend a lease the caller still holds. A lease that has run out may already belong to
+     * another worker, so it is not renewed and the caller must stop.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ExternalReservationSaga s SET s.leaseExpiresAt = :leaseUntil " +
+           "WHERE s.id = :id AND s.status IN :statuses AND s.leaseExpiresAt >= :now")
+    int renewLease(@Param("id") UUID id,
+                   @Param("statuses") List<ExternalReservationSagaStatus> statuses,
+                   @Param("now") LocalDateTime now,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT s.id FROM ExternalReservationSaga s WHERE s.status IN :statuses " +
+           "AND (s.leaseExpiresAt IS NULL OR s.leaseExpiresAt < :now) AND s.updatedAt < :staleBefore")
+    List<UUID> findResumableIds(@Param("statuses") List<ExternalReservationSagaStatus> statuses,
+                                @Param("now") LocalDateTime now,
+                                @Param("staleBefore") LocalDateTime staleBefore);
+}
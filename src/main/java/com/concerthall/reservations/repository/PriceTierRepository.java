@@ -0,0 +1,20 @@
+package com.concerthall.reservations.repository;
+
+import com.concerthall.reservations.domain.PriceTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PriceTierRepository extends JpaRepository<PriceTier, UUID> {
+
+    List<PriceTier> findByEventIdOrderByEffectiveFromAsc(UUID eventId);
+
+    Optional<PriceTier> findByIdAndEventId(UUID id, UUID eventId);
+
+    boolean existsByEventIdAndEffectiveFrom(UUID eventId, LocalDateTime effectiveFrom);
+}
@@ -0,0 +1,11 @@
+package com.concerthall.reservations.repository;
+
+import com.concerthall.reservations.domain.SeatMap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface SeatMapRepository extends JpaRepository<SeatMap, UUID> {
+}
@@ -2,12 +2,16 @@ package com.concerthall.reservations.repository;
 
 import com.concerthall.reservations.domain.Ticket;
 import com.concerthall.reservations.domain.enums.TicketStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -34,4 +38,60 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     List<Ticket> findByStatusAndPaymentExpiresAtBefore(TicketStatus status, LocalDateTime expirationTime);
 
     java.util.Optional<Ticket> findByExternalReservationId(String externalReservationId);
+
+    // Partition-pruned variants: the event date selects the single partition holding the event's tickets
+    boolean existsByUserIdAndEventIdAndEventDateTimeAndStatusIn(
+            UUID userId, UUID eventId, LocalDateTime eventDateTime, List<TicketStatus> statuses);
+
+    long countByEventIdAndEventDateTimeAndStatus(UUID eventId, LocalDateTime eventDateTime, TicketStatus status);
+
+    long countByEventIdAndEventDateTimeAndStatusIn(UUID eventId, LocalDateTime eventDateTime, List<TicketStatus> statuses);
+
+    // Several events at once; their dates select the partitions to scan
+    @Query("SELECT DISTINCT t.event.id FROM Ticket t WHERE t.user.id = :userId AND t.event.id IN :eventIds"
+            + " AND t.eventDateTime IN :eventDateTimes AND t.status IN :statuses")
+    List<UUID> findEventIdsWithUserTickets(
+            @Param("userId") UUID userId,
+            @Param("eventIds") Collection<UUID> eventIds,
+            @Param("eventDateTimes") Collection<LocalDateTime> eventDateTimes,
+            @Param("statuses") List<TicketStatus> statuses);
+
+    @Query("SELECT t.event.id AS eventId, COUNT(t) AS tickets FROM Ticket t WHERE t.event.id IN :eventIds"
+            + " AND t.eventDateTime IN :eventDateTimes AND t.status IN :statuses GROUP BY t.event.id")
+    List<EventTicketCount> countByEventIds(
+            @Param("eventIds") Collection<UUID> eventIds,
+            @Param("eventDateTimes") Collection<LocalDateTime> eventDateTimes,
+            @Param("statuses") List<TicketStatus> statuses);
+
+    @Query("SELECT COALESCE(SUM(t.price), 0) FROM Ticket t WHERE t.event.id = :eventId"
+            + " AND t.eventDateTime = :eventDateTime AND t.status IN :statuses")
+    BigDecimal sumPriceByEventIdAndEventDateTimeAndStatusIn(
+            @Param("eventId") UUID eventId,
+            @Param("eventDateTime") LocalDateTime eventDateTime,
+            @Param("statuses") List<TicketStatus> statuses);
+
+    List<Ticket> findByEventIdAndEventDateTimeAndAdmissionIndexIsNotNull(UUID eventId, LocalDateTime eventDateTime);
+
+    List<Ticket> findByEventIdAndEventDateTimeAndAdmissionIndexIsNotNullAndUpdatedAtAfter(
+            UUID eventId, LocalDateTime eventDateTime, LocalDateTime changedSince);
+
+    List<Ticket> findByEventIdAndEventDateTimeAndIdIn(UUID eventId, LocalDateTime eventDateTime, Collection<UUID> ids);
+
+    List<Ticket> findByStatusAndPaymentExpiresAtBeforeAndEventDateTimeAfterOrderByPaymentExpiresAt(
+            TicketStatus status, LocalDateTime expirationTime, LocalDateTime eventsAfter, Limit limit);
+
+    long countByStatusAndPaymentExpiresAtBeforeAndEventDateTimeAfter(
+            TicketStatus status, LocalDateTime expirationTime, LocalDateTime eventsAfter);
+
+    // Rows move to the matching partition when the date crosses a month
+    @Modifying
+    @Query("UPDATE Ticket t SET t.eventDateTime = :eventDateTime WHERE t.event.id = :eventId")
+    int updateEventDateTime(@Param("eventId") UUID eventId, @Param("eventDateTime") LocalDateTime eventDateTime);
+
+    // Hot and archived tickets; tickets_archive is created LIKE tickets, so the column lists line up
+    @Query(value = "SELECT t.* FROM tickets t WHERE t.user_id = :userId"
+            + " UNION ALL SELECT a.* FROM tickets_archive a WHERE a.user_id = :userId"
+            + " ORDER BY event_date_time DESC",
+            nativeQuery = true)
+    List<Ticket> findByUserIdIncludingArchived(@Param("userId") UUID userId);
 }
@@ -0,0 +1,46 @@
+package com.concerthall.reservations.repository;
+
+import com.concerthall.reservations.domain.WaitlistEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, UUID> {
+
+    /**
+     * Emails of the event's waiting customers in queue order. Read from the primary: the
+     * waitlist index keeps the result until the next change, so a lagging replica's view
+     * would outlive the lag.
+     */
+    @Transactional
+    @Query("SELECT u.email FROM WaitlistEntry w JOIN w.user u WHERE w.event.id = :eventId ORDER BY w.seq")
+    List<String> findEmailsInQueueOrder(@Param("eventId") UUID eventId);
+
+    /**
+     * The first customers in the event's queue
+     */
+    @Query("SELECT w FROM WaitlistEntry w JOIN FETCH w.user WHERE w.event.id = :eventId ORDER BY w.seq")
+    List<WaitlistEntry> findNext(@Param("eventId") UUID eventId, Pageable pageable);
+
+    Optional<WaitlistEntry> findByEventIdAndUserId(UUID eventId, UUID userId);
+
+    long countByEventId(UUID eventId);
+
+    long countByEventIdAndSeqLessThanEqual(UUID eventId, Long seq);
+
+    @Query("SELECT DISTINCT w.event.id FROM WaitlistEntry w")
+    List<UUID> findWaitlistedEventIds();
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") UUID eventId);
+}
@@ -0,0 +1,46 @@
+package com.concerthall.reservations.seating;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Taken seats of one event as this node last saw them. The event_seats row decides; a seat
+ * that looks free here may already be gone, which its claim finds out.
+ */
+final class EventSeats {
+
+    private final int seatCount;
+    private final BitSet taken;
+
+    EventSeats(final int seatCount, final byte[] bits) {
+        this.seatCount = seatCount;
+        this.taken = BitSet.valueOf(bits);
+    }
+
+    /**
+     * First seat from the given index on that looks free, or -1
+     */
+    synchronized int nextFree(final int from) {
+        final int seat = taken.nextClearBit(from);
+        return seat < seatCount ? seat : -1;
+    }
+
+    synchronized void take(final int seat) {
+        taken.set(seat);
+    }
+
+    synchronized void free(final int seat) {
+        taken.clear(seat);
+    }
+
+    synchronized int available() {
+        return seatCount - taken.cardinality();
+    }
+
+    /**
+     * The bitmap in event_seats byte order, one bit per seat
+     */
+    synchronized byte[] toBytes() {
+        return Arrays.copyOf(taken.toByteArray(), SeatInventory.bytes(seatCount));
+    }
+}
@@ -0,0 +1,227 @@
+package com.concerthall.reservations.seating;
+
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationTarget;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.SeatMap;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.exception.InsufficientCapacityException;
+import com.concerthall.reservations.exception.SeatUnavailableException;
+import com.concerthall.reservations.repository.SeatMapRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seats of events at venues with a seat map. Each event's held and sold seats are one
+ * bitmap in event_seats, claimed and released a bit at a time with set_bit, so selling a
+ * seat updates one row and locks no row per seat. Seat maps and bitmaps are kept in memory:
+ * the best-available search scans the bitmap here, and a claim is one conditional UPDATE
+ * that fails if another node took the seat first.
+ * <p>
+ * A held seat stays taken while its ticket is active; cancelling the ticket, or letting its
+ * payment expire, releases it. Seat maps are evicted on VENUE changes, bitmaps on
+ * AVAILABILITY and EVENT changes and when the transaction that claimed a seat rolls back.
+ */
+@Component
+public class SeatInventory implements CacheInvalidationTarget {
+
+    private static final String CLAIM = "UPDATE event_seats SET taken = set_bit(taken, ?, 1),"
+            + " updated_at = CURRENT_TIMESTAMP WHERE event_id = ? AND get_bit(taken, ?) = 0";
+    private static final String RELEASE = "UPDATE event_seats SET taken = set_bit(taken, ?, 0),"
+            + " updated_at = CURRENT_TIMESTAMP WHERE event_id = ?";
+    private static final String CREATE = "INSERT INTO event_seats (event_id, seat_count, taken)"
+            + " VALUES (?, ?, ?) ON CONFLICT (event_id) DO NOTHING";
+    private static final String LOAD = "SELECT taken FROM event_seats WHERE event_id = ?";
+    private static final String IN_USE = "SELECT EXISTS (SELECT 1 FROM event_seats s"
+            + " JOIN events e ON e.id = s.event_id WHERE e.venue_id = ?)";
+    private static final TypeReference<List<SeatLayout.Section>> SECTIONS = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SeatMapRepository seatMapRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<UUID, SeatLayout> layouts = new ConcurrentHashMap<>();
+    private final Map<UUID, EventSeats> events = new ConcurrentHashMap<>();
+
+    public SeatInventory(
+            final JdbcTemplate jdbcTemplate,
+            final SeatMapRepository seatMapRepository,
+            final ObjectMapper objectMapper,
+            final MeterRegistry meterRegistry
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seatMapRepository = seatMapRepository;
+        this.objectMapper = objectMapper;
+        Gauge.builder("seating.events", events, Map::size)
+                .description("Events with their seat bitmap in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The venue's seat map, or null when the venue sells general admission
+     */
+    public SeatLayout layout(final Venue venue) {
+        if (venue.getSeatCount() == null) {
+            return null;
+        }
+        return layouts.computeIfAbsent(venue.getId(), this::loadLayout);
+    }
+
+    /**
+     * Holds a seat in the current transaction and returns its index: the requested seat, or
+     * the best available when section, row and number are all null. Returns null for events
+     * without reserved seating.
+     */
+    public Integer claim(final Event event, final String section, final String row, final Integer number) {
+        final SeatLayout layout = layout(event.getVenue());
+        final boolean requested = section != null || row != null || number != null;
+        if (layout == null) {
+            if (requested) {
+                throw new IllegalArgumentException("Event has no reserved seating");
+            }
+            return null;
+        }
+
+        final EventSeats seats = seats(event.getId(), layout);
+        if (requested) {
+            if (section == null || row == null || number == null) {
+                throw new IllegalArgumentException("Seat section, row and number are required together");
+            }
+            final int seat = layout.indexOf(section, row, number);
+            if (seat < 0) {
+                throw new IllegalArgumentException("Seat not found in the venue's seat map");
+            }
+            if (!tryClaim(event.getId(), layout, seats, seat)) {
+                throw new SeatUnavailableException("Seat is already taken");
+            }
+            return seat;
+        }
+
+        for (int seat = seats.nextFree(0); seat >= 0; seat = seats.nextFree(seat + 1)) {
+            if (tryClaim(event.getId(), layout, seats, seat)) {
+                return seat;
+            }
+        }
+        throw new InsufficientCapacityException("No seats left");
+    }
+
+    /**
+     * Frees the ticket's seat in the current transaction; tickets without a seat are ignored
+     */
+    public void release(final Ticket ticket) {
+        final Integer seat = ticket.getSeatIndex();
+        if (seat == null) {
+            return;
+        }
+        final UUID eventId = ticket.getEvent().getId();
+        jdbcTemplate.update(RELEASE, seat, eventId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                final EventSeats seats = events.get(eventId);
+                if (seats != null) {
+                    seats.free(seat);
+                }
+            }
+        });
+    }
+
+    /**
+     * Seat availability of the event, or null for events without reserved seating
+     */
+    public Availability availability(final Event event) {
+        final SeatLayout layout = layout(event.getVenue());
+        if (layout == null) {
+            return null;
+        }
+        final EventSeats seats = seats(event.getId(), layout);
+        return new Availability(layout.seatCount(), seats.available(), seats.toBytes());
+    }
+
+    /**
+     * Whether seats were ever claimed for an event at the venue; their indexes would not
+     * survive a change of the seat map
+     */
+    public boolean inUse(final UUID venueId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IN_USE, Boolean.class, venueId));
+    }
+
+    public void evictLayout(final UUID venueId) {
+        layouts.remove(venueId);
+    }
+
+    @Override
+    public void invalidate(final CachedEntity entity, final UUID id) {
+        switch (entity) {
+            case VENUE -> layouts.remove(id);
+            case EVENT, AVAILABILITY -> events.remove(id);
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        layouts.clear();
+        events.clear();
+    }
+
+    static int bytes(final int seatCount) {
+        return (seatCount + 7) / 8;
+    }
+
+    private boolean tryClaim(final UUID eventId, final SeatLayout layout, final EventSeats seats, final int seat) {
+        int updated = jdbcTemplate.update(CLAIM, seat, eventId, seat);
+        if (updated == 0 && jdbcTemplate.update(CREATE, eventId, layout.seatCount(),
+                new byte[bytes(layout.seatCount())]) == 1) {
+            // First seat of the event
+            updated = jdbcTemplate.update(CLAIM, seat, eventId, seat);
+        }
+        // Taken either way, by us or by someone this node has not heard of yet
+        seats.take(seat);
+        if (updated == 1) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    if (status != STATUS_COMMITTED) {
+                        events.remove(eventId);
+                    }
+                }
+            });
+        }
+        return updated == 1;
+    }
+
+    private EventSeats seats(final UUID eventId, final SeatLayout layout) {
+        return events.computeIfAbsent(eventId, id -> {
+            final List<byte[]> rows = jdbcTemplate.query(LOAD, (rs, rowNum) -> rs.getBytes(1), id);
+            return new EventSeats(layout.seatCount(), rows.isEmpty() ? new byte[0] : rows.get(0));
+        });
+    }
+
+    private SeatLayout loadLayout(final UUID venueId) {
+        final SeatMap seatMap = seatMapRepository.findById(venueId)
+                .orElseThrow(() -> new IllegalStateException("Venue " + venueId + " has a seat count but no seat map"));
+        try {
+            return SeatLayout.of(objectMapper.readValue(seatMap.getLayout(), SECTIONS));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable seat map of venue " + venueId, e);
+        }
+    }
+
+    public record Availability(int seatCount, int available, byte[] taken) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.concerthall.reservations.seating;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A venue's seat map. Seats are indexed in map order: section by section, row by row, from
+ * seat 1 of each row. The index is the seat's bit in an event's seat bitmap, and lower
+ * indexes are the better seats.
+ */
+public final class SeatLayout {
+
+    // 12.5 KB of bitmap per event
+    public static final int MAX_SEATS = 100_000;
+
+    private final List<Section> sections;
+    // Per row in map order: its section, its label and the index of its first seat
+    private final int[] rowSections;
+    private final String[] rowLabels;
+    private final int[] rowStarts;
+    private final int seatCount;
+
+    private SeatLayout(final List<Section> sections, final int rows) {
+        this.sections = List.copyOf(sections);
+        this.rowSections = new int[rows];
+        this.rowLabels = new String[rows];
+        this.rowStarts = new int[rows];
+        int row = 0;
+        int seats = 0;
+        for (int section = 0; section < sections.size(); section++) {
+            for (Row r : sections.get(section).rows()) {
+                rowSections[row] = section;
+                rowLabels[row] = r.label();
+                rowStarts[row] = seats;
+                seats += r.seats();
+                row++;
+            }
+        }
+        this.seatCount = seats;
+    }
+
+    /**
+     * Throws IllegalArgumentException for an empty map, empty sections, rows without seats,
+     * duplicate section names or row labels, or more than MAX_SEATS seats.
+     */
+    public static SeatLayout of(final List<Section> sections) {
+        if (sections.isEmpty()) {
+            throw new IllegalArgumentException("A seat map needs at least one section");
+        }
+        final Set<String> names = new HashSet<>();
+        int rows = 0;
+        long seats = 0;
+        for (Section section : sections) {
+            if (!names.add(section.name())) {
+                throw new IllegalArgumentException("Duplicate section " + section.name());
+            }
+            if (section.rows().isEmpty()) {
+                throw new IllegalArgumentException("Section " + section.name() + " has no rows");
+            }
+            final Set<String> labels = new HashSet<>();
+            for (Row row : section.rows()) {
+                if (!labels.add(row.label())) {
+                    throw new IllegalArgumentException(
+                            "Duplicate row " + row.label() + " in section " + section.name());
+                }
+                if (row.seats() < 1) {
+                    throw new IllegalArgumentException(
+                            "Row " + row.label() + " in section " + section.name() + " has no seats");
+                }
+                seats += row.seats();
+            }
+            rows += section.rows().size();
+        }
+        if (seats > MAX_SEATS) {
+            throw new IllegalArgumentException("A seat map can have at most " + MAX_SEATS + " seats");
+        }
+        return new SeatLayout(sections, rows);
+    }
+
+    public List<Section> sections() {
+        return sections;
+    }
+
+    public int seatCount() {
+        return seatCount;
+    }
+
+    /**
+     * Index of the seat, or -1 when the map has no such seat
+     */
+    public int indexOf(final String section, final String row, final int number) {
+        for (int r = 0; r < rowLabels.length; r++) {
+            if (rowLabels[r].equals(row) && sections.get(rowSections[r]).name().equals(section)) {
+                return number >= 1 && number <= rowEnd(r) - rowStarts[r] ? rowStarts[r] + number - 1 : -1;
+            }
+        }
+        return -1;
+    }
+
+    public Seat seatAt(final int index) {
+        if (index < 0 || index >= seatCount) {
+            throw new IndexOutOfBoundsException("Seat " + index + " of " + seatCount);
+        }
+        int row = Arrays.binarySearch(rowStarts, index);
+        if (row < 0) {
+            // Insertion point minus one: the row starting before the index
+            row = -row - 2;
+        }
+        return new Seat(sections.get(rowSections[row]).name(), rowLabels[row], index - rowStarts[row] + 1);
+    }
+
+    private int rowEnd(final int row) {
+        return row + 1 < rowStarts.length ? rowStarts[row + 1] : seatCount;
+    }
+
+    public record Section(String name, List<Row> rows) {
+    }
+
+    public record Row(String label, int seats) {
+    }
+
+    public record Seat(String section, String row, int number) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.concerthall.reservations.service;
+
+import com.concerthall.reservations.admission.AdmissionCode;
+import com.concerthall.reservations.admission.AdmissionCodeSigner;
+import com.concerthall.reservations.admission.CheckInRegistry;
+import com.concerthall.reservations.admission.ScanOutcome;
+import com.concerthall.reservations.dto.response.ScanResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Door scanning of admission codes. The signature proves the code; the check-in registry
+ * decides in memory whether it may still enter.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdmissionService {
+
+    private final AdmissionCodeSigner signer;
+    private final CheckInRegistry checkIns;
+
+    public ScanResponse scan(final String code) {
+        final AdmissionCode admission = signer.verify(code);
+        if (admission == null) {
+            checkIns.recordScan(ScanOutcome.INVALID);
+            return ScanResponse.builder()
+                    .outcome(ScanOutcome.INVALID.name())
+                    .build();
+        }
+
+        final ScanOutcome outcome = checkIns.scan(admission, LocalDateTime.now());
+        return ScanResponse.builder()
+                .outcome(outcome.name())
+                .ticketId(admission.ticketId())
+                .eventId(admission.eventId())
+                .build();
+    }
+}
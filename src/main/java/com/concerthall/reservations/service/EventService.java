@@ -1,5 +1,7 @@
 package com.concerthall.reservations.service;
 
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
 import com.concerthall.reservations.domain.Event;
 import com.concerthall.reservations.domain.User;
 import com.concerthall.reservations.domain.Venue;
@@ -12,11 +14,10 @@ import com.concerthall.reservations.dto.request.UpdateEventStatusRequest;
 import com.concerthall.reservations.dto.response.EventResponse;
 import com.concerthall.reservations.dto.response.EventSalesResponse;
 import com.concerthall.reservations.exception.ResourceNotFoundException;
-import com.concerthall.reservations.exception.VenueAccessDeniedException;
 import com.concerthall.reservations.repository.EventRepository;
-import com.concerthall.reservations.repository.TicketRepository;
 import com.concerthall.reservations.repository.UserRepository;
 import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.store.TicketStore;
 import com.concerthall.reservations.service.aggregator.EventAggregatorService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,23 +34,29 @@ import java.util.stream.Collectors;
 public class EventService {
 
     private final EventRepository eventRepository;
-    private final TicketRepository ticketRepository;
+    private final TicketStore ticketStore;
     private final UserRepository userRepository;
     private final VenueRepository venueRepository;
+    private final CacheInvalidationPublisher cacheInvalidation;
+    private final VenueAccessPolicy venueAccess;
 
     @Autowired(required = false)
     private EventAggregatorService aggregatorService;
 
     public EventService(
             EventRepository eventRepository,
-            TicketRepository ticketRepository,
+            TicketStore ticketStore,
             UserRepository userRepository,
-            VenueRepository venueRepository
+            VenueRepository venueRepository,
+            CacheInvalidationPublisher cacheInvalidation,
+            VenueAccessPolicy venueAccess
     ) {
         this.eventRepository = eventRepository;
-        this.ticketRepository = ticketRepository;
+        this.ticketStore = ticketStore;
         this.userRepository = userRepository;
         this.venueRepository = venueRepository;
+        this.cacheInvalidation = cacheInvalidation;
+        this.venueAccess = venueAccess;
     }
 
     @Transactional(readOnly = true)
@@ -119,7 +126,7 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Venue not found"));
 
         // Validate venue access
-        validateVenueAccess(request.getVenueId(), userEmail);
+        venueAccess.requireAccess(request.getVenueId(), userEmail);
 
         final Event event = eventRepository.save(Event.builder()
                 .name(request.getName())
@@ -131,6 +138,7 @@ public class EventService {
                 .venue(venue)
                 .build());
 
+        cacheInvalidation.publish(CachedEntity.EVENT, event.getId());
         log.info("Event created: {} with ID {} in venue {}", event.getName(), event.getId(), venue.getName());
 
         return toResponse(event);
@@ -142,7 +150,7 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
 
         // Validate access to current venue
-        validateVenueAccess(event.getVenue().getId(), userEmail);
+        venueAccess.requireAccess(event, userEmail);
 
         if (request.getName() != null) {
             event.setName(request.getName());
@@ -150,8 +158,9 @@ public class EventService {
         if (request.getDescription() != null) {
             event.setDescription(request.getDescription());
         }
-        if (request.getEventDateTime() != null) {
+        if (request.getEventDateTime() != null && !request.getEventDateTime().equals(event.getEventDateTime())) {
             event.setEventDateTime(request.getEventDateTime());
+            ticketStore.rescheduleEvent(id, request.getEventDateTime());
         }
         if (request.getCapacity() != null) {
             event.setCapacity(request.getCapacity());
@@ -164,13 +173,14 @@ public class EventService {
         }
         if (request.getVenueId() != null) {
             // Validate access to new venue
-            validateVenueAccess(request.getVenueId(), userEmail);
+            venueAccess.requireAccess(request.getVenueId(), userEmail);
             final Venue newVenue = venueRepository.findById(request.getVenueId())
                     .orElseThrow(() -> new ResourceNotFoundException("Venue not found"));
             event.setVenue(newVenue);
         }
 
         final Event savedEvent = eventRepository.save(event);
+        cacheInvalidation.publish(CachedEntity.EVENT, id);
         log.info("Event updated: {}", savedEvent.getId());
 
         return toResponse(savedEvent);
@@ -182,9 +192,10 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
 
         // Validate venue access
-        validateVenueAccess(event.getVenue().getId(), userEmail);
+        venueAccess.requireAccess(event, userEmail);
 
         eventRepository.delete(event);
+        cacheInvalidation.publish(CachedEntity.EVENT, id);
         log.info("Event deleted: {}", id);
     }
 
@@ -194,10 +205,11 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
 
         // Validate venue access
-        validateVenueAccess(event.getVenue().getId(), userEmail);
+        venueAccess.requireAccess(event, userEmail);
 
         event.setStatus(request.getStatus());
         final Event savedEvent = eventRepository.save(event);
+        cacheInvalidation.publish(CachedEntity.EVENT, id);
         log.info("Event {} status updated to {}", id, request.getStatus());
 
         return toResponse(savedEvent);
@@ -209,19 +221,16 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
 
         // Validate venue access
-        validateVenueAccess(event.getVenue().getId(), userEmail);
+        venueAccess.requireAccess(event, userEmail);
 
         // Count tickets that are sold (pending payment or paid)
-        final long ticketsSold = ticketRepository.countByEventIdAndStatusIn(
-                id,
-                List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID)
-        );
+        final long ticketsSold = ticketStore.countByEvent(
+                event, List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID));
 
-        // Revenue should only include paid tickets
-        final long paidTickets = ticketRepository.countByEventIdAndStatus(id, TicketStatus.PAID);
+        // Revenue should only include paid tickets, at the price each one was charged
+        final BigDecimal revenue = ticketStore.sumPriceByEvent(event, List.of(TicketStatus.PAID));
 
         final long availableTickets = event.getCapacity() - ticketsSold;
-        final BigDecimal revenue = event.getPrice().multiply(BigDecimal.valueOf(paidTickets));
         final double occupancyRate = (ticketsSold * 100.0) / event.getCapacity();
 
         return EventSalesResponse.builder()
@@ -235,35 +244,11 @@ public class EventService {
                 .build();
     }
 
-    private void validateVenueAccess(final UUID venueId, final String userEmail) {
-        final User user = userRepository.findByEmailWithVenues(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        // Admin has access to all venues
-        if (user.getRole() == UserRole.ADMIN) {
-            return;
-        }
-
-        // Power user must have venue assigned
-        if (user.getRole() == UserRole.POWER_USER) {
-            final boolean hasAccess = user.getAssignedVenues().stream()
-                    .anyMatch(venue -> venue.getId().equals(venueId));
-
-            if (!hasAccess) {
-                throw new VenueAccessDeniedException("Access denied to this venue");
-            }
-        } else {
-            // Customers cannot manage events
-            throw new VenueAccessDeniedException("Insufficient permissions");
-        }
-    }
-
-    private EventResponse toResponse(final Event event) {
+    // Package-private for the JMH suites
+    EventResponse toResponse(final Event event) {
         // Count tickets that are sold (pending payment or paid)
-        final long soldCount = ticketRepository.countByEventIdAndStatusIn(
-                event.getId(),
-                List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID)
-        );
+        final long soldCount = ticketStore.countByEvent(
+                event, List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID));
         final long availableTickets = event.getCapacity() - soldCount;
 
         return EventResponse.builder()
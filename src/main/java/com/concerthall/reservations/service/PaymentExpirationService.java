@@ -1,45 +1,112 @@
 package com.concerthall.reservations.service;
 
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
 import com.concerthall.reservations.domain.Ticket;
 import com.concerthall.reservations.domain.enums.TicketStatus;
-import com.concerthall.reservations.repository.TicketRepository;
-import lombok.RequiredArgsConstructor;
+import com.concerthall.reservations.profiling.PaymentExpirationRunEvent;
+import com.concerthall.reservations.seating.SeatInventory;
+import com.concerthall.reservations.store.TicketStore;
+import com.concerthall.reservations.waitlist.WaitlistPromotions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PaymentExpirationService {
 
-    private final TicketRepository ticketRepository;
+    // Tickets cancelled per run at most; the rest wait for the next run
+    static final int EXPIRATION_BATCH_SIZE = 500;
+
+    private final TicketStore ticketStore;
+    private final CacheInvalidationPublisher cacheInvalidation;
+    private final SeatInventory seatInventory;
+    private final WaitlistPromotions waitlistPromotions;
+    private final Timer batchTimer;
+    private final Counter expiredCounter;
+    // Expired tickets the last run left for the next one
+    private final AtomicLong backlog = new AtomicLong();
+
+    public PaymentExpirationService(
+            TicketStore ticketStore,
+            CacheInvalidationPublisher cacheInvalidation,
+            SeatInventory seatInventory,
+            WaitlistPromotions waitlistPromotions,
+            MeterRegistry meterRegistry
+    ) {
+        this.ticketStore = ticketStore;
+        this.cacheInvalidation = cacheInvalidation;
+        this.seatInventory = seatInventory;
+        this.waitlistPromotions = waitlistPromotions;
+        this.batchTimer = Timer.builder("payments.expiration.batch")
+                .description("Duration of one payment expiration run")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("payments.expiration.expired")
+                .description("Tickets cancelled because payment was not received in time")
+                .register(meterRegistry);
+        Gauge.builder("payments.expiration.backlog", backlog, AtomicLong::get)
+                .description("Expired unpaid tickets still waiting to be cancelled")
+                .register(meterRegistry);
+    }
 
     @Scheduled(fixedDelay = 60000) // Every minute
     @Transactional
     public void expireUnpaidTickets() {
+        final PaymentExpirationRunEvent jfrEvent = new PaymentExpirationRunEvent();
+        jfrEvent.begin();
+        int expired = 0;
+        try {
+            expired = batchTimer.record(this::expireBatch);
+        } finally {
+            jfrEvent.expired = expired;
+            jfrEvent.commit();
+        }
+    }
+
+    private int expireBatch() {
         final LocalDateTime now = LocalDateTime.now();
-        final List<Ticket> expired = ticketRepository
-                .findByStatusAndPaymentExpiresAtBefore(
-                        TicketStatus.PENDING_PAYMENT, now);
+        final long found = ticketStore.countExpiredPayments(now);
+        final List<Ticket> expired = found == 0 ? List.of()
+                : ticketStore.findExpiredPayments(now, EXPIRATION_BATCH_SIZE);
 
+        backlog.set(found - expired.size());
         if (expired.isEmpty()) {
-            return;
+            return 0;
         }
 
-        log.info("Found {} expired tickets to cancel", expired.size());
+        log.info("Found {} expired tickets, cancelling {}", found, expired.size());
 
+        final Set<UUID> eventIds = new HashSet<>();
         expired.forEach(ticket -> {
             log.info("Expiring ticket {} (payment deadline: {})",
                     ticket.getTicketNumber(), ticket.getPaymentExpiresAt());
             ticket.setStatus(TicketStatus.CANCELLED);
-            ticketRepository.save(ticket);
+            ticketStore.save(ticket);
+            // The hold ends with the payment window
+            seatInventory.release(ticket);
+            eventIds.add(ticket.getEvent().getId());
+        });
+        // Once per event, however many of its tickets expired
+        eventIds.forEach(eventId -> {
+            cacheInvalidation.publish(CachedEntity.AVAILABILITY, eventId);
+            waitlistPromotions.capacityFreed(eventId);
         });
+        expiredCounter.increment(expired.size());
 
         log.info("Successfully cancelled {} expired tickets", expired.size());
+        return expired.size();
     }
 }
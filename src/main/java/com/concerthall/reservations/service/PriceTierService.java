@@ -0,0 +1,137 @@
+package com.concerthall.reservations.service;
+
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.PriceTier;
+import com.concerthall.reservations.dto.request.PriceTierRequest;
+import com.concerthall.reservations.dto.response.PriceScheduleResponse;
+import com.concerthall.reservations.dto.response.PriceTierResponse;
+import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.pricing.PriceScheduleIndex;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.PriceTierRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Price tiers of events, managed by admins and the power users of the event's venue.
+ * A tier sets the ticket price from its start until the next tier starts; before the
+ * first tier the event's own price applies.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PriceTierService {
+
+    private final PriceTierRepository priceTierRepository;
+    private final EventRepository eventRepository;
+    private final PriceScheduleIndex priceSchedules;
+    private final CacheInvalidationPublisher cacheInvalidation;
+    private final VenueAccessPolicy venueAccess;
+
+    @Transactional(readOnly = true)
+    public PriceScheduleResponse getSchedule(final UUID eventId, final String userEmail) {
+        final Event event = findEvent(eventId);
+        venueAccess.requireAccess(event, userEmail);
+
+        return PriceScheduleResponse.builder()
+                .eventId(event.getId())
+                .basePrice(event.getPrice())
+                .currentPrice(priceSchedules.priceAt(event, LocalDateTime.now()))
+                .tiers(priceTierRepository.findByEventIdOrderByEffectiveFromAsc(eventId).stream()
+                        .map(this::toResponse)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    @Transactional
+    public PriceTierResponse createTier(final UUID eventId, final PriceTierRequest request, final String userEmail) {
+        final Event event = findEvent(eventId);
+        venueAccess.requireAccess(event, userEmail);
+        validateStart(event, request.getEffectiveFrom());
+        if (priceTierRepository.existsByEventIdAndEffectiveFrom(eventId, request.getEffectiveFrom())) {
+            throw new IllegalArgumentException("A price tier already starts at this time");
+        }
+
+        final PriceTier tier = priceTierRepository.save(PriceTier.builder()
+                .event(event)
+                .effectiveFrom(request.getEffectiveFrom())
+                .price(request.getPrice())
+                .build());
+        scheduleChanged(eventId);
+        log.info("Price tier {} created for event {}: {} from {}",
+                tier.getId(), eventId, tier.getPrice(), tier.getEffectiveFrom());
+
+        return toResponse(tier);
+    }
+
+    @Transactional
+    public PriceTierResponse updateTier(
+            final UUID eventId,
+            final UUID tierId,
+            final PriceTierRequest request,
+            final String userEmail
+    ) {
+        final PriceTier tier = findTier(eventId, tierId);
+        venueAccess.requireAccess(tier.getEvent(), userEmail);
+        validateStart(tier.getEvent(), request.getEffectiveFrom());
+        if (!tier.getEffectiveFrom().equals(request.getEffectiveFrom())
+                && priceTierRepository.existsByEventIdAndEffectiveFrom(eventId, request.getEffectiveFrom())) {
+            throw new IllegalArgumentException("A price tier already starts at this time");
+        }
+
+        tier.setEffectiveFrom(request.getEffectiveFrom());
+        tier.setPrice(request.getPrice());
+        final PriceTier savedTier = priceTierRepository.save(tier);
+        scheduleChanged(eventId);
+        log.info("Price tier {} of event {} updated", tierId, eventId);
+
+        return toResponse(savedTier);
+    }
+
+    @Transactional
+    public void deleteTier(final UUID eventId, final UUID tierId, final String userEmail) {
+        final PriceTier tier = findTier(eventId, tierId);
+        venueAccess.requireAccess(tier.getEvent(), userEmail);
+
+        priceTierRepository.delete(tier);
+        scheduleChanged(eventId);
+        log.info("Price tier {} of event {} deleted", tierId, eventId);
+    }
+
+    private Event findEvent(final UUID eventId) {
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+    }
+
+    private PriceTier findTier(final UUID eventId, final UUID tierId) {
+        return priceTierRepository.findByIdAndEventId(tierId, eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Price tier not found"));
+    }
+
+    private void validateStart(final Event event, final LocalDateTime effectiveFrom) {
+        if (!effectiveFrom.isBefore(event.getEventDateTime())) {
+            throw new IllegalArgumentException("A price tier must start before the event");
+        }
+    }
+
+    private void scheduleChanged(final UUID eventId) {
+        cacheInvalidation.publish(CachedEntity.PRICE_SCHEDULE, eventId, () -> priceSchedules.evict(eventId));
+    }
+
+    private PriceTierResponse toResponse(final PriceTier tier) {
+        return PriceTierResponse.builder()
+                .id(tier.getId())
+                .eventId(tier.getEvent().getId())
+                .effectiveFrom(tier.getEffectiveFrom())
+                .price(tier.getPrice())
+                .build();
+    }
+}
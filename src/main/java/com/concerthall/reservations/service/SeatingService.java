@@ -0,0 +1,159 @@
+package com.concerthall.reservations.service;
+
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.SeatMap;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.dto.request.SeatMapRequest;
+import com.concerthall.reservations.dto.request.SeatRowRequest;
+import com.concerthall.reservations.dto.request.SeatSectionRequest;
+import com.concerthall.reservations.dto.response.SeatAvailabilityResponse;
+import com.concerthall.reservations.dto.response.SeatMapResponse;
+import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.SeatMapRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.seating.SeatInventory;
+import com.concerthall.reservations.seating.SeatLayout;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Seat maps of venues and seat availability of their events. A seat map can only change
+ * while no seats were sold for the venue's events, since tickets keep their seat's index.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SeatingService {
+
+    private final SeatMapRepository seatMapRepository;
+    private final VenueRepository venueRepository;
+    private final EventRepository eventRepository;
+    private final SeatInventory seatInventory;
+    private final CacheInvalidationPublisher cacheInvalidation;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public SeatMapResponse getSeatMap(final UUID venueId) {
+        final Venue venue = findVenue(venueId);
+        final SeatLayout layout = seatInventory.layout(venue);
+        if (layout == null) {
+            throw new ResourceNotFoundException("Venue has no seat map");
+        }
+        return toResponse(venue, layout);
+    }
+
+    @Transactional
+    public SeatMapResponse replaceSeatMap(final UUID venueId, final SeatMapRequest request) {
+        final Venue venue = findVenue(venueId);
+        final SeatLayout layout = SeatLayout.of(request.getSections().stream()
+                .map(this::toSection)
+                .collect(Collectors.toList()));
+        validateNotInUse(venueId);
+
+        final SeatMap seatMap = seatMapRepository.findById(venueId)
+                .orElseGet(() -> SeatMap.builder().venueId(venueId).build());
+        seatMap.setLayout(write(layout.sections()));
+        seatMap.setSeatCount(layout.seatCount());
+        seatMapRepository.save(seatMap);
+        venue.setSeatCount(layout.seatCount());
+        venueRepository.save(venue);
+        seatMapChanged(venueId);
+        log.info("Seat map of venue {} replaced: {} seats", venueId, layout.seatCount());
+
+        return toResponse(venue, layout);
+    }
+
+    @Transactional
+    public void deleteSeatMap(final UUID venueId) {
+        final Venue venue = findVenue(venueId);
+        if (venue.getSeatCount() == null) {
+            throw new ResourceNotFoundException("Venue has no seat map");
+        }
+        validateNotInUse(venueId);
+
+        seatMapRepository.deleteById(venueId);
+        venue.setSeatCount(null);
+        venueRepository.save(venue);
+        seatMapChanged(venueId);
+        log.info("Seat map of venue {} deleted", venueId);
+    }
+
+    /**
+     * From this node's bitmap, which may lag other nodes' sales by an invalidation
+     */
+    @Transactional(readOnly = true)
+    public SeatAvailabilityResponse getSeatAvailability(final UUID eventId) {
+        final Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        final SeatInventory.Availability availability = seatInventory.availability(event);
+        if (availability == null) {
+            throw new ResourceNotFoundException("Event has no reserved seating");
+        }
+        return SeatAvailabilityResponse.builder()
+                .eventId(event.getId())
+                .venueId(event.getVenue().getId())
+                .seatCount(availability.seatCount())
+                .availableSeats(availability.available())
+                .taken(Base64.getEncoder().encodeToString(availability.taken()))
+                .build();
+    }
+
+    private Venue findVenue(final UUID venueId) {
+        return venueRepository.findById(venueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found"));
+    }
+
+    private void validateNotInUse(final UUID venueId) {
+        if (seatInventory.inUse(venueId)) {
+            throw new IllegalArgumentException("Seats were already sold at this venue; its seat map cannot change");
+        }
+    }
+
+    private void seatMapChanged(final UUID venueId) {
+        cacheInvalidation.publish(CachedEntity.VENUE, venueId, () -> seatInventory.evictLayout(venueId));
+    }
+
+    private String write(final List<SeatLayout.Section> sections) {
+        try {
+            return objectMapper.writeValueAsString(sections);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Seat map could not be written", e);
+        }
+    }
+
+    private SeatLayout.Section toSection(final SeatSectionRequest section) {
+        return new SeatLayout.Section(section.getName(), section.getRows().stream()
+                .map(row -> new SeatLayout.Row(row.getLabel(), row.getSeats()))
+                .collect(Collectors.toList()));
+    }
+
+    private SeatMapResponse toResponse(final Venue venue, final SeatLayout layout) {
+        return SeatMapResponse.builder()
+                .venueId(venue.getId())
+                .seatCount(layout.seatCount())
+                .sections(layout.sections().stream()
+                        .map(section -> SeatSectionRequest.builder()
+                                .name(section.name())
+                                .rows(section.rows().stream()
+                                        .map(row -> SeatRowRequest.builder()
+                                                .label(row.label())
+                                                .seats(row.seats())
+                                                .build())
+                                        .collect(Collectors.toList()))
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+}
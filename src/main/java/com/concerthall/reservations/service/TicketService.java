@@ -1,52 +1,101 @@
 package com.concerthall.reservations.service;
 
+import com.concerthall.reservations.admission.AdmissionCodeSigner;
+import com.concerthall.reservations.admission.CheckInRegistry;
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
 import com.concerthall.reservations.domain.Event;
 import com.concerthall.reservations.domain.Ticket;
 import com.concerthall.reservations.domain.User;
 import com.concerthall.reservations.domain.enums.EventStatus;
 import com.concerthall.reservations.domain.enums.TicketStatus;
 import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.dto.request.CartItemRequest;
+import com.concerthall.reservations.dto.request.CartReservationRequest;
 import com.concerthall.reservations.dto.request.ReserveTicketRequest;
+import com.concerthall.reservations.dto.response.CartReservationResponse;
 import com.concerthall.reservations.dto.response.TicketResponse;
 import com.concerthall.reservations.exception.DuplicateTicketException;
 import com.concerthall.reservations.exception.InsufficientCapacityException;
 import com.concerthall.reservations.exception.InvalidEventStateException;
 import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.exception.TicketStateException;
+import com.concerthall.reservations.pricing.PriceScheduleIndex;
+import com.concerthall.reservations.profiling.EventLockEvent;
 import com.concerthall.reservations.repository.EventRepository;
-import com.concerthall.reservations.repository.TicketRepository;
 import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.seating.SeatInventory;
+import com.concerthall.reservations.seating.SeatLayout;
 import com.concerthall.reservations.service.aggregator.TicketAggregatorService;
+import com.concerthall.reservations.store.TicketStore;
+import com.concerthall.reservations.waitlist.WaitlistPromotions;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class TicketService {
 
-    private final TicketRepository ticketRepository;
+    // Statuses that hold a place at the event
+    static final List<TicketStatus> SOLD = List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID);
+
+    static final int MAX_CART_TICKETS_PER_EVENT = 10;
+
+    private final TicketStore ticketStore;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
+    private final CacheInvalidationPublisher cacheInvalidation;
+    private final PriceScheduleIndex priceSchedules;
+    private final SeatInventory seatInventory;
+    private final WaitlistPromotions waitlistPromotions;
+    private final AdmissionCodeSigner admissionCodes;
+    private final CheckInRegistry checkIns;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
 
     @Autowired(required = false)
     private TicketAggregatorService aggregatorService;
 
     public TicketService(
-            TicketRepository ticketRepository,
+            TicketStore ticketStore,
             EventRepository eventRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            CacheInvalidationPublisher cacheInvalidation,
+            PriceScheduleIndex priceSchedules,
+            SeatInventory seatInventory,
+            WaitlistPromotions waitlistPromotions,
+            AdmissionCodeSigner admissionCodes,
+            CheckInRegistry checkIns,
+            PlatformTransactionManager transactionManager
     ) {
-        this.ticketRepository = ticketRepository;
+        this.ticketStore = ticketStore;
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
+        this.cacheInvalidation = cacheInvalidation;
+        this.priceSchedules = priceSchedules;
+        this.seatInventory = seatInventory;
+        this.waitlistPromotions = waitlistPromotions;
+        this.admissionCodes = admissionCodes;
+        this.checkIns = checkIns;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Transactional
@@ -55,29 +104,29 @@ public class TicketService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // 1. Lock event row to prevent race conditions
-        final Event event = eventRepository.findByIdWithPessimisticLock(request.getEventId())
-                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        final Event event = lockEvent(request.getEventId());
 
         // 2. Validate event is published and in future
         validateEventBookable(event);
 
         // 3. Check if user already has a ticket for this event
-        if (ticketRepository.existsByUserIdAndEventIdAndStatusIn(
-                user.getId(), event.getId(),
-                Arrays.asList(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID))) {
+        if (ticketStore.existsForUserAndEvent(user.getId(), event, SOLD)) {
             throw new DuplicateTicketException("You already have a ticket for this event");
         }
 
         // 4. Check capacity
-        final long reservedCount = ticketRepository.countByEventIdAndStatusIn(
-                event.getId(),
-                Arrays.asList(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID));
+        final long reservedCount = ticketStore.countByEvent(event, SOLD);
         if (reservedCount >= event.getCapacity()) {
             throw new InsufficientCapacityException("Event is sold out");
         }
 
-        // 5. Create and save ticket
-        final Ticket ticket = ticketRepository.save(createTicket(event, user));
+        // 5. Hold a seat if the venue has a seat map
+        final Integer seatIndex = seatInventory.claim(
+                event, request.getSeatSection(), request.getSeatRow(), request.getSeatNumber());
+
+        // 6. Create and save ticket
+        final Ticket ticket = ticketStore.save(createTicket(event, user, seatIndex, LocalDateTime.now()));
+        cacheInvalidation.publish(CachedEntity.AVAILABILITY, event.getId());
 
         log.info("Ticket {} reserved for event {} by user {}",
                 ticket.getTicketNumber(), event.getId(), user.getEmail());
@@ -85,7 +134,125 @@ public class TicketService {
         return toResponse(ticket);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Reserves the items' tickets, for one or more events, in a single transaction: either
+     * every ticket is reserved or none is. The tickets share one payment deadline. A
+     * customer's tickets for one event are bought together, numbered by party index.
+     */
+    @Transactional
+    public CartReservationResponse reserveCart(final CartReservationRequest request, final String userEmail) {
+        final User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        final List<CartItemRequest> items = request.getItems();
+        final Map<UUID, Integer> quantities = new HashMap<>();
+        for (CartItemRequest item : items) {
+            final boolean seatRequested = item.getSeatSection() != null || item.getSeatRow() != null
+                    || item.getSeatNumber() != null;
+            if (seatRequested && item.getQuantity() > 1) {
+                throw new IllegalArgumentException("A specific seat can only be requested for a single ticket");
+            }
+            quantities.merge(item.getEventId(), item.getQuantity(), Integer::sum);
+        }
+        if (quantities.values().stream().anyMatch(quantity -> quantity > MAX_CART_TICKETS_PER_EVENT)) {
+            throw new IllegalArgumentException(
+                    "A cart can hold at most " + MAX_CART_TICKETS_PER_EVENT + " tickets per event");
+        }
+        final Set<UUID> eventIds = quantities.keySet();
+
+        // 1. Lock all events in one statement, in id order, so overlapping carts cannot deadlock
+        final Map<UUID, Event> events = eventRepository.findAllByIdInWithPessimisticLock(eventIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        if (events.size() != eventIds.size()) {
+            throw new ResourceNotFoundException("Event not found");
+        }
+
+        // 2. Validate every event is published and in future
+        events.values().forEach(this::validateEventBookable);
+
+        // 3. Check for tickets the user already holds, for all events at once
+        if (!ticketStore.findEventsWithUserTickets(user.getId(), events.values(), SOLD).isEmpty()) {
+            throw new DuplicateTicketException("You already have a ticket for an event in this cart");
+        }
+
+        // 4. Check capacity for the quantities, one count per event in a single query
+        final Map<UUID, Long> reservedCounts = ticketStore.countByEvents(events.values(), SOLD);
+        for (Event event : events.values()) {
+            final long left = event.getCapacity() - reservedCounts.get(event.getId());
+            if (left < quantities.get(event.getId())) {
+                throw new InsufficientCapacityException(left > 0
+                        ? "Event " + event.getName() + " has only " + left + " tickets left"
+                        : "Event " + event.getName() + " is sold out");
+            }
+        }
+
+        // 5. Hold seats and create the tickets, saved as one batch
+        final LocalDateTime now = LocalDateTime.now();
+        final List<Ticket> tickets = new ArrayList<>();
+        final Map<UUID, Integer> partySizes = new HashMap<>();
+        for (CartItemRequest item : items) {
+            final Event event = events.get(item.getEventId());
+            for (int i = 0; i < item.getQuantity(); i++) {
+                final Integer seatIndex = seatInventory.claim(
+                        event, item.getSeatSection(), item.getSeatRow(), item.getSeatNumber());
+                final Ticket ticket = createTicket(event, user, seatIndex, now);
+                ticket.setPartyIndex(partySizes.merge(event.getId(), 1, Integer::sum) - 1);
+                tickets.add(ticket);
+            }
+        }
+        ticketStore.saveAll(tickets);
+        eventIds.forEach(eventId -> cacheInvalidation.publish(CachedEntity.AVAILABILITY, eventId));
+
+        log.info("Cart of {} tickets reserved for events {} by user {}", tickets.size(), eventIds, user.getEmail());
+
+        return CartReservationResponse.builder()
+                .tickets(tickets.stream()
+                        .map(this::toResponse)
+                        .collect(Collectors.toList()))
+                .totalPrice(tickets.stream()
+                        .map(Ticket::getPrice)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .paymentExpiresAt(tickets.get(0).getPaymentExpiresAt())
+                .build();
+    }
+
+    /**
+     * Reserves a ticket for each of the waitlisted users, in order, at an event the caller
+     * holds the lock of and has counted free places at. The tickets are saved as one batch.
+     * Stops early when the event runs out of seats; returns the tickets of the users served.
+     */
+    List<Ticket> reserveForWaitlist(final Event event, final List<User> users) {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<Ticket> tickets = new ArrayList<>(users.size());
+        for (User user : users) {
+            final Integer seatIndex;
+            try {
+                seatIndex = seatInventory.claim(event, null, null, null);
+            } catch (InsufficientCapacityException e) {
+                // Fewer seats than capacity; the rest wait for a seat to come back
+                break;
+            }
+            tickets.add(createTicket(event, user, seatIndex, now));
+        }
+        return ticketStore.saveAll(tickets);
+    }
+
+    private Event lockEvent(final UUID eventId) {
+        final EventLockEvent jfrEvent = new EventLockEvent();
+        jfrEvent.begin();
+        try {
+            return eventRepository.findByIdWithPessimisticLock(eventId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        } finally {
+            jfrEvent.eventId = String.valueOf(eventId);
+            jfrEvent.commit();
+        }
+    }
+
+    /**
+     * Not transactional: with an external provider the aggregator calls it between its own
+     * short transactions
+     */
     public List<TicketResponse> getMyTickets(final String userEmail) {
         // Use aggregator if external provider is enabled
         if (aggregatorService != null) {
@@ -93,18 +260,22 @@ public class TicketService {
         }
 
         // Otherwise, use internal tickets only
-        final User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        final List<Ticket> tickets = ticketRepository.findByUserIdWithEvent(user.getId());
-        return tickets.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return readOnlyTransaction.execute(status -> {
+            final User user = userRepository.findByEmail(userEmail)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+            // Past tickets may already sit in the archive
+            final List<Ticket> tickets = ticketStore.findByUser(user.getId());
+            loadEvents(tickets);
+            return tickets.stream()
+                    .map(this::toResponse)
+                    .collect(Collectors.toList());
+        });
     }
 
     @Transactional(readOnly = true)
     public TicketResponse getTicketById(final UUID id, final String userEmail) {
-        final Ticket ticket = ticketRepository.findById(id)
+        final Ticket ticket = ticketStore.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
 
         final User user = userRepository.findByEmailWithVenues(userEmail)
@@ -116,32 +287,104 @@ public class TicketService {
         return toResponse(ticket);
     }
 
-    @Transactional
+    /**
+     * Not transactional: an external ticket is cancelled with the provider only after the
+     * access check's transaction has ended
+     */
     public void cancelTicket(final UUID id, final String userEmail) {
-        final Ticket ticket = ticketRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
+        final boolean external = transactionTemplate.execute(status -> {
+            final Ticket ticket = ticketStore.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
 
-        final User user = userRepository.findByEmailWithVenues(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+            final User user = userRepository.findByEmailWithVenues(userEmail)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // Validate ticket access
-        validateTicketAccess(ticket, user);
+            // Validate ticket access
+            validateTicketAccess(ticket, user);
 
-        // If ticket has external reservation, use aggregator to cancel
-        if (aggregatorService != null && ticket.getExternalReservationId() != null) {
+            // If ticket has external reservation, the aggregator cancels it below
+            if (aggregatorService != null && ticket.getExternalReservationId() != null) {
+                return true;
+            }
+
+            // Otherwise, cancel internal ticket
+            final TicketStatus previous = ticket.getStatus();
+            ticket.setStatus(TicketStatus.CANCELLED);
+            ticketStore.save(ticket);
+            releasePlace(ticket, previous);
+            return false;
+        });
+
+        if (external) {
             aggregatorService.cancelExternalReservation(id, userEmail);
             log.info("External ticket {} cancelled by user {}", id, userEmail);
             return;
         }
 
-        // Otherwise, cancel internal ticket
-        ticket.setStatus(TicketStatus.CANCELLED);
-        ticketRepository.save(ticket);
-
         log.info("Ticket {} cancelled by user {}", id, userEmail);
     }
 
-    private void validateEventBookable(final Event event) {
+    /**
+     * Applies the payment service's outcome. A paid ticket gets its admission index; a
+     * failed payment ends the hold the way a cancellation does. Only a ticket still holding
+     * its place can change: an expired or cancelled one may have lost its seat to another
+     * buyer. Repeating the current status changes nothing.
+     */
+    @Transactional
+    public void updatePaymentStatus(final UUID ticketId, final TicketStatus newStatus) {
+        final Ticket ticket = ticketStore.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
+
+        final TicketStatus previous = ticket.getStatus();
+        if (previous == newStatus) {
+            log.info("Ticket {} already {}", ticketId, newStatus);
+            return;
+        }
+        if (!SOLD.contains(previous) || newStatus == TicketStatus.PENDING_PAYMENT) {
+            throw new TicketStateException("Ticket is " + previous + " and cannot become " + newStatus);
+        }
+        ticket.setStatus(newStatus);
+
+        // Clear payment expiration if payment is completed
+        if (newStatus == TicketStatus.PAID) {
+            ticket.setPaymentExpiresAt(null);
+            if (ticket.getAdmissionIndex() == null) {
+                ticket.setAdmissionIndex(checkIns.allocateIndex(ticket.getEvent().getId()));
+            }
+        }
+
+        ticketStore.save(ticket);
+        if (!SOLD.contains(newStatus)) {
+            releasePlace(ticket, previous);
+        }
+
+        log.info("Ticket {} status updated to {}", ticketId, newStatus);
+    }
+
+    // The ticket no longer holds its place: free the seat, void its admission code and offer
+    // the place to the waitlist. A ticket that had already expired, failed or been cancelled
+    // freed its place then; its seat may have been sold again since.
+    private void releasePlace(final Ticket ticket, final TicketStatus previous) {
+        if (!SOLD.contains(previous)) {
+            return;
+        }
+        final UUID eventId = ticket.getEvent().getId();
+        seatInventory.release(ticket);
+        checkIns.revoke(ticket);
+        cacheInvalidation.publish(CachedEntity.AVAILABILITY, eventId);
+        waitlistPromotions.capacityFreed(eventId);
+    }
+
+    // One query for all events and venues, so the lazy associations resolve from the session
+    private void loadEvents(final List<Ticket> tickets) {
+        if (!tickets.isEmpty()) {
+            eventRepository.findAllWithVenueByIdIn(tickets.stream()
+                    .map(ticket -> ticket.getEvent().getId())
+                    .collect(Collectors.toSet()));
+        }
+    }
+
+    void validateEventBookable(final Event event) {
         if (event.getStatus() != EventStatus.PUBLISHED) {
             throw new InvalidEventStateException("Event is not available for booking");
         }
@@ -151,20 +394,23 @@ public class TicketService {
         }
     }
 
-    private Ticket createTicket(final Event event, final User user) {
+    private Ticket createTicket(final Event event, final User user, final Integer seatIndex, final LocalDateTime now) {
         final String ticketNumber = generateTicketNumber(event);
 
         return Ticket.builder()
                 .ticketNumber(ticketNumber)
                 .user(user)
                 .event(event)
-                .price(event.getPrice())
+                // The price of the tier in effect now, from memory
+                .price(priceSchedules.priceAt(event, now))
                 .status(TicketStatus.PENDING_PAYMENT)
-                .paymentExpiresAt(LocalDateTime.now().plusMinutes(15))
+                .seatIndex(seatIndex)
+                .paymentExpiresAt(now.plusMinutes(15))
                 .build();
     }
 
-    private String generateTicketNumber(final Event event) {
+    // Package-private for the JMH suites
+    String generateTicketNumber(final Event event) {
         final String eventDate = event.getEventDateTime().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
         final String uniqueId = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
         return String.format("TKT-%s-%s", eventDate, uniqueId);
@@ -194,7 +440,10 @@ public class TicketService {
         throw new ResourceNotFoundException("Ticket not found");
     }
 
-    private TicketResponse toResponse(final Ticket ticket) {
+    TicketResponse toResponse(final Ticket ticket) {
+        final SeatLayout.Seat seat = ticket.getSeatIndex() != null
+                ? seatInventory.layout(ticket.getEvent().getVenue()).seatAt(ticket.getSeatIndex())
+                : null;
         return TicketResponse.builder()
                 .id(ticket.getId())
                 .ticketNumber(ticket.getTicketNumber())
@@ -205,12 +454,19 @@ public class TicketService {
                 .eventDateTime(ticket.getEvent().getEventDateTime())
                 .venueId(ticket.getEvent().getVenue().getId())
                 .venueName(ticket.getEvent().getVenue().getName())
+                .seatSection(seat != null ? seat.section() : null)
+                .seatRow(seat != null ? seat.row() : null)
+                .seatNumber(seat != null ? seat.number() : null)
                 .price(ticket.getPrice())
                 .status(ticket.getStatus().name())
                 .reservedAt(ticket.getReservedAt())
                 .paymentExpiresAt(ticket.getPaymentExpiresAt())
                 .externalReservationId(ticket.getExternalReservationId())
                 .externalConfirmationCode(ticket.getExternalConfirmationCode())
+                .admissionCode(ticket.getStatus() == TicketStatus.PAID && ticket.getAdmissionIndex() != null
+                        ? admissionCodes.sign(admissionCodes.codeFor(ticket))
+                        : null)
+                .checkedInAt(ticket.getCheckedInAt())
                 .build();
     }
 }
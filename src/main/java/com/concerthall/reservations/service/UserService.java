@@ -1,5 +1,7 @@
 package com.concerthall.reservations.service;
 
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
 import com.concerthall.reservations.domain.User;
 import com.concerthall.reservations.domain.enums.UserRole;
 import com.concerthall.reservations.dto.request.CreatePowerUserRequest;
@@ -24,6 +26,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CacheInvalidationPublisher cacheInvalidation;
 
     @Transactional(readOnly = true)
     public List<UserResponse> getAllUsers() {
@@ -53,6 +56,7 @@ public class UserService {
                 .build();
 
         final User savedUser = userRepository.save(user);
+        cacheInvalidation.publish(CachedEntity.USER, savedUser.getId());
         log.info("Power user created: {}", savedUser.getEmail());
 
         return toResponse(savedUser);
@@ -68,6 +72,7 @@ public class UserService {
         }
 
         userRepository.delete(user);
+        cacheInvalidation.publish(CachedEntity.USER, id);
         log.info("User deleted: {}", user.getEmail());
     }
 
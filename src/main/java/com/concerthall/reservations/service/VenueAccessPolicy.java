@@ -0,0 +1,50 @@
+package com.concerthall.reservations.service;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.exception.VenueAccessDeniedException;
+import com.concerthall.reservations.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Who may manage what happens at a venue: admins at every venue, power users at the
+ * venues assigned to them, customers nowhere.
+ */
+@Component
+@RequiredArgsConstructor
+public class VenueAccessPolicy {
+
+    private final UserRepository userRepository;
+
+    public void requireAccess(final Event event, final String userEmail) {
+        requireAccess(event.getVenue().getId(), userEmail);
+    }
+
+    public void requireAccess(final UUID venueId, final String userEmail) {
+        final User user = userRepository.findByEmailWithVenues(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        // Admin has access to all venues
+        if (user.getRole() == UserRole.ADMIN) {
+            return;
+        }
+
+        // Power user must have venue assigned
+        if (user.getRole() == UserRole.POWER_USER) {
+            final boolean hasAccess = user.getAssignedVenues().stream()
+                    .anyMatch(venue -> venue.getId().equals(venueId));
+
+            if (!hasAccess) {
+                throw new VenueAccessDeniedException("Access denied to this venue");
+            }
+        } else {
+            // Customers cannot manage anything at a venue
+            throw new VenueAccessDeniedException("Insufficient permissions");
+        }
+    }
+}
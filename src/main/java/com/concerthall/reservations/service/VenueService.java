@@ -1,5 +1,7 @@
 package com.concerthall.reservations.service;
 
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
 import com.concerthall.reservations.domain.User;
 import com.concerthall.reservations.domain.Venue;
 import com.concerthall.reservations.domain.enums.UserRole;
@@ -27,6 +29,7 @@ public class VenueService {
     private final VenueRepository venueRepository;
     private final UserRepository userRepository;
     private final EventRepository eventRepository;
+    private final CacheInvalidationPublisher cacheInvalidation;
 
     @Autowired(required = false)
     private VenueAggregatorService aggregatorService;
@@ -34,11 +37,13 @@ public class VenueService {
     public VenueService(
             VenueRepository venueRepository,
             UserRepository userRepository,
-            EventRepository eventRepository
+            EventRepository eventRepository,
+            CacheInvalidationPublisher cacheInvalidation
     ) {
         this.venueRepository = venueRepository;
         this.userRepository = userRepository;
         this.eventRepository = eventRepository;
+        this.cacheInvalidation = cacheInvalidation;
     }
 
     @Transactional(readOnly = true)
@@ -106,6 +111,7 @@ public class VenueService {
                 .build();
 
         final Venue savedVenue = venueRepository.save(venue);
+        cacheInvalidation.publish(CachedEntity.VENUE, savedVenue.getId());
         log.info("Venue created: {}", savedVenue.getName());
 
         return toResponse(savedVenue);
@@ -138,6 +144,7 @@ public class VenueService {
         }
 
         final Venue updatedVenue = venueRepository.save(venue);
+        cacheInvalidation.publish(CachedEntity.VENUE, id);
         log.info("Venue updated: {}", updatedVenue.getName());
 
         return toResponse(updatedVenue);
@@ -154,6 +161,7 @@ public class VenueService {
         }
 
         venueRepository.delete(venue);
+        cacheInvalidation.publish(CachedEntity.VENUE, id);
         log.info("Venue deleted: {}", venue.getName());
     }
 
@@ -171,6 +179,7 @@ public class VenueService {
 
         user.getAssignedVenues().add(venue);
         userRepository.save(user);
+        cacheInvalidation.publish(CachedEntity.USER, userId);
 
         log.info("User {} assigned to venue {}", user.getEmail(), venue.getName());
     }
@@ -185,6 +194,7 @@ public class VenueService {
 
         user.getAssignedVenues().remove(venue);
         userRepository.save(user);
+        cacheInvalidation.publish(CachedEntity.USER, userId);
 
         log.info("User {} unassigned from venue {}", user.getEmail(), venue.getName());
     }
@@ -196,6 +206,7 @@ public class VenueService {
                 .address(venue.getAddress())
                 .description(venue.getDescription())
                 .capacity(venue.getCapacity())
+                .seatCount(venue.getSeatCount())
                 .source(venue.getSource())
                 .externalId(venue.getExternalId())
                 .createdAt(venue.getCreatedAt())
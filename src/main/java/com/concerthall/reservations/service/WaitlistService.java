@@ -0,0 +1,235 @@
+package com.concerthall.reservations.service;
+
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.WaitlistEntry;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.dto.response.WaitlistPositionResponse;
+import com.concerthall.reservations.exception.DuplicateTicketException;
+import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.WaitlistRepository;
+import com.concerthall.reservations.store.TicketStore;
+import com.concerthall.reservations.waitlist.WaitlistIndex;
+import com.concerthall.reservations.waitlist.WaitlistPromotions;
+import com.concerthall.reservations.waitlist.WaitlistProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Waitlists of sold-out events. Customers join instead of retrying reservations; when a
+ * cancellation, an expired or a failed payment frees places, the customers first in line
+ * get PENDING_PAYMENT tickets with the usual payment deadline, found under their tickets.
+ * <p>
+ * Freed places are promoted on a schedule, one locked batch per event, so a burst of
+ * cancellations takes the event lock once rather than once per ticket. Places freed on a
+ * node that stops before its next run, or by raising an event's capacity, are picked up by
+ * the sweep.
+ */
+@Service
+@Slf4j
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final TicketStore ticketStore;
+    private final TicketService ticketService;
+    private final WaitlistIndex waitlistIndex;
+    private final WaitlistPromotions waitlistPromotions;
+    private final WaitlistProperties properties;
+    private final CacheInvalidationPublisher cacheInvalidation;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter promotedCounter;
+
+    public WaitlistService(
+            WaitlistRepository waitlistRepository,
+            EventRepository eventRepository,
+            UserRepository userRepository,
+            TicketStore ticketStore,
+            TicketService ticketService,
+            WaitlistIndex waitlistIndex,
+            WaitlistPromotions waitlistPromotions,
+            WaitlistProperties properties,
+            CacheInvalidationPublisher cacheInvalidation,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.waitlistRepository = waitlistRepository;
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.ticketStore = ticketStore;
+        this.ticketService = ticketService;
+        this.waitlistIndex = waitlistIndex;
+        this.waitlistPromotions = waitlistPromotions;
+        this.properties = properties;
+        this.cacheInvalidation = cacheInvalidation;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.promotedCounter = Counter.builder("waitlist.promoted")
+                .description("Waitlisted customers given a ticket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Puts the customer at the end of the event's waitlist; joining again keeps the place
+     */
+    @Transactional
+    public WaitlistPositionResponse join(final UUID eventId, final String userEmail) {
+        final User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        final Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+
+        final WaitlistEntry existing = waitlistRepository.findByEventIdAndUserId(eventId, user.getId()).orElse(null);
+        if (existing != null) {
+            return toResponse(eventId, waitlistRepository.countByEventIdAndSeqLessThanEqual(eventId, existing.getSeq()));
+        }
+
+        ticketService.validateEventBookable(event);
+        if (ticketStore.existsForUserAndEvent(user.getId(), event, TicketService.SOLD)) {
+            throw new DuplicateTicketException("You already have a ticket for this event");
+        }
+        if (ticketStore.countByEvent(event, TicketService.SOLD) < event.getCapacity()) {
+            throw new IllegalArgumentException("Event has tickets available; reserve one instead");
+        }
+
+        waitlistRepository.save(WaitlistEntry.builder()
+                .event(event)
+                .user(user)
+                .build());
+        waitlistChanged(eventId);
+        log.info("User {} joined the waitlist of event {}", userEmail, eventId);
+
+        // The new entry is last in line
+        return toResponse(eventId, waitlistRepository.countByEventId(eventId));
+    }
+
+    /**
+     * The customer's place in line, from memory
+     */
+    public WaitlistPositionResponse getPosition(final UUID eventId, final String userEmail) {
+        final Integer position = waitlistIndex.position(eventId, userEmail);
+        if (position == null) {
+            throw new ResourceNotFoundException("You are not on the waitlist for this event");
+        }
+        return WaitlistPositionResponse.builder()
+                .eventId(eventId)
+                .position(position)
+                .waiting(waitlistIndex.size(eventId))
+                .build();
+    }
+
+    @Transactional
+    public void leave(final UUID eventId, final String userEmail) {
+        final User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        final WaitlistEntry entry = waitlistRepository.findByEventIdAndUserId(eventId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("You are not on the waitlist for this event"));
+
+        waitlistRepository.delete(entry);
+        waitlistChanged(eventId);
+        log.info("User {} left the waitlist of event {}", userEmail, eventId);
+    }
+
+    @Scheduled(fixedDelayString = "${waitlist.promotion-interval-ms:1000}")
+    public void promoteWaitlisted() {
+        for (UUID eventId : waitlistPromotions.drain()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> promote(eventId));
+            } catch (RuntimeException e) {
+                // The sweep offers the places again
+                log.warn("Waitlist promotion for event {} failed", eventId, e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${waitlist.sweep-interval-ms:60000}")
+    public void sweep() {
+        waitlistRepository.findWaitlistedEventIds().forEach(waitlistPromotions::add);
+    }
+
+    private void promote(final UUID eventId) {
+        // Most freed places belong to events nobody waits for; they need no lock
+        if (waitlistIndex.size(eventId) == 0) {
+            return;
+        }
+
+        final Event event = eventRepository.findByIdWithPessimisticLock(eventId).orElse(null);
+        if (event == null || event.getStatus() != EventStatus.PUBLISHED) {
+            return;
+        }
+        if (event.getEventDateTime().isBefore(LocalDateTime.now())) {
+            // Nobody can be served any more
+            waitlistRepository.deleteByEventId(eventId);
+            waitlistChanged(eventId);
+            return;
+        }
+
+        final long free = event.getCapacity() - ticketStore.countByEvent(event, TicketService.SOLD);
+        final int batchSize = (int) Math.min(free, properties.getBatchSize());
+        if (batchSize <= 0) {
+            return;
+        }
+
+        final List<WaitlistEntry> next = waitlistRepository.findNext(eventId, PageRequest.of(0, batchSize));
+        final List<WaitlistEntry> served = new ArrayList<>(next.size());
+        final List<WaitlistEntry> waiting = new ArrayList<>(next.size());
+        for (WaitlistEntry entry : next) {
+            // Customers who got a ticket while waiting give up their place
+            if (ticketStore.existsForUserAndEvent(entry.getUser().getId(), event, TicketService.SOLD)) {
+                served.add(entry);
+            } else {
+                waiting.add(entry);
+            }
+        }
+
+        final List<Ticket> tickets = ticketService.reserveForWaitlist(event, waiting.stream()
+                .map(WaitlistEntry::getUser)
+                .toList());
+        served.addAll(waiting.subList(0, tickets.size()));
+        if (served.isEmpty()) {
+            return;
+        }
+
+        waitlistRepository.deleteAllInBatch(served);
+        waitlistChanged(eventId);
+        if (!tickets.isEmpty()) {
+            cacheInvalidation.publish(CachedEntity.AVAILABILITY, eventId);
+        }
+        promotedCounter.increment(tickets.size());
+        log.info("Promoted {} waitlisted customers to tickets for event {}", tickets.size(), eventId);
+
+        // More places than one batch: carry on at the next run
+        if (tickets.size() == batchSize && free > batchSize) {
+            waitlistPromotions.add(eventId);
+        }
+    }
+
+    private void waitlistChanged(final UUID eventId) {
+        cacheInvalidation.publish(CachedEntity.WAITLIST, eventId, () -> waitlistIndex.evict(eventId));
+    }
+
+    private WaitlistPositionResponse toResponse(final UUID eventId, final long position) {
+        return WaitlistPositionResponse.builder()
+                .eventId(eventId)
+                .position((int) position)
+                .waiting((int) waitlistRepository.countByEventId(eventId))
+                .build();
+    }
+}
@@ -9,13 +9,14 @@ import com.concerthall.reservations.dto.response.EventResponse;
 import com.concerthall.reservations.dto.response.VenueResponse;
 import com.concerthall.reservations.external.adapter.ExternalEventAdapter;
 import com.concerthall.reservations.external.adapter.ExternalVenueAdapter;
+import com.concerthall.reservations.external.client.ExternalProviderRegistry;
 import com.concerthall.reservations.external.client.ExternalVenueProviderClient;
 import com.concerthall.reservations.external.exception.ExternalProviderException;
 import com.concerthall.reservations.external.model.ExternalEventResponse;
 import com.concerthall.reservations.external.model.ExternalVenueResponse;
 import com.concerthall.reservations.repository.EventRepository;
-import com.concerthall.reservations.repository.TicketRepository;
 import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.store.TicketStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -33,11 +34,12 @@ import java.util.stream.Stream;
 public class EventAggregatorService {
 
     private final EventRepository eventRepository;
-    private final TicketRepository ticketRepository;
+    private final TicketStore ticketStore;
     private final UserRepository userRepository;
     private final ExternalVenueProviderClient externalClient;
     private final ExternalEventAdapter eventAdapter;
     private final ExternalVenueAdapter venueAdapter;
+    private final ExternalProviderRegistry providerRegistry;
 
     /**
      * Get all events from both internal and external sources
@@ -139,35 +141,66 @@ public class EventAggregatorService {
     }
 
     /**
-     * Fetch external events from external API
-     * Returns empty list if external API fails (graceful degradation)
+     * Fetch external events from all registered providers in parallel
+     * A failing provider contributes no events (graceful degradation)
      * Only returns "published" (available) external events
      */
     private List<EventResponse> getExternalEvents(boolean customerView) {
+        return providerRegistry.fanOut((providerName, client) ->
+                fetchProviderEvents(providerName, client, customerView));
+    }
+
+    /**
+     * Stream one provider's catalog and resolve venues once the page is read.
+     * Events are converted as they are decoded so the raw page is never held in memory,
+     * and venue lookups wait until the response is closed so the connection is released early.
+     * Each distinct venue is fetched once per call.
+     */
+    private List<EventResponse> fetchProviderEvents(
+            String providerName,
+            ExternalVenueProviderClient client,
+            boolean customerView
+    ) {
+        final String providerScope = providerRegistry.isPrimary(providerName) ? null : providerName;
+        final List<PendingEvent> pending = client.streamEvents(null, events -> events
+                .filter(e -> customerView ? "AVAILABLE".equals(e.getStatus()) : true)
+                .map(externalEvent -> {
+                    final EventResponse response = eventAdapter.toEventResponse(externalEvent, null, providerScope);
+                    response.setProviderName(providerName);
+                    return new PendingEvent(response, externalEvent.getVenueId());
+                })
+                .collect(Collectors.toList()));
+
+        final Map<String, Optional<VenueResponse>> venues = new HashMap<>();
+        return pending.stream()
+                .map(p -> {
+                    if (p.externalVenueId() != null) {
+                        venues.computeIfAbsent(p.externalVenueId(),
+                                        venueId -> fetchVenue(providerName, providerScope, client, venueId))
+                                .ifPresent(venue -> {
+                                    p.event().setVenueId(venue.getId());
+                                    p.event().setVenueName(venue.getName());
+                                });
+                    }
+                    return p.event();
+                })
+                .collect(Collectors.toList());
+    }
+
+    private record PendingEvent(EventResponse event, String externalVenueId) {
+    }
+
+    private Optional<VenueResponse> fetchVenue(
+            String providerName,
+            String providerScope,
+            ExternalVenueProviderClient client,
+            String externalVenueId
+    ) {
         try {
-            final List<ExternalEventResponse> externalEvents = externalClient.getEvents(null);
-
-            return externalEvents.stream()
-                    .filter(e -> customerView ? "AVAILABLE".equals(e.getStatus()) : true)
-                    .map(externalEvent -> {
-                        // Fetch venue information for each event
-                        VenueResponse venue = null;
-                        if (externalEvent.getVenueId() != null) {
-                            try {
-                                final ExternalVenueResponse externalVenue =
-                                        externalClient.getVenueById(externalEvent.getVenueId());
-                                venue = venueAdapter.toVenueResponse(externalVenue);
-                            } catch (ExternalProviderException e) {
-                                log.warn("Failed to fetch venue {} for event {}",
-                                        externalEvent.getVenueId(), externalEvent.getId(), e);
-                            }
-                        }
-                        return eventAdapter.toEventResponse(externalEvent, venue);
-                    })
-                    .collect(Collectors.toList());
+            return Optional.ofNullable(venueAdapter.toVenueResponse(client.getVenueById(externalVenueId), providerScope));
         } catch (ExternalProviderException e) {
-            log.error("Failed to fetch external events, returning only internal events", e);
-            return Collections.emptyList(); // Graceful degradation
+            log.warn("Failed to fetch venue {} from provider {}", externalVenueId, providerName, e);
+            return Optional.empty();
         }
     }
 
@@ -189,10 +222,8 @@ public class EventAggregatorService {
      */
     private EventResponse toResponse(Event event) {
         // Count tickets that are sold (pending payment or paid)
-        final long soldCount = ticketRepository.countByEventIdAndStatusIn(
-                event.getId(),
-                List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID)
-        );
+        final long soldCount = ticketStore.countByEvent(
+                event, List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID));
         final long availableTickets = event.getCapacity() - soldCount;
 
         return EventResponse.builder()
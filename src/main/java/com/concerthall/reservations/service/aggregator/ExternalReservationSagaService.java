@@ -0,0 +1,477 @@
+package com.concerthall.reservations.service.aggregator;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.ExternalReservationSaga;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.enums.ExternalReservationSagaStatus;
+import com.concerthall.reservations.domain.enums.ExternalReservationSagaStep;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.dto.response.EventResponse;
+import com.concerthall.reservations.dto.response.ExternalReservationStatusResponse;
+import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.external.client.ExternalVenueProviderClient;
+import com.concerthall.reservations.external.config.ExternalProviderProperties;
+import com.concerthall.reservations.external.exception.ExternalProviderConnectionException;
+import com.concerthall.reservations.external.exception.ExternalProviderException;
+import com.concerthall.reservations.external.exception.ExternalProviderRateLimitException;
+import com.concerthall.reservations.external.model.ExternalAvailabilityResponse;
+import com.concerthall.reservations.external.model.ExternalReservationRequest;
+import com.concerthall.reservations.external.model.ExternalReservationResponse;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.ExternalReservationSagaRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.store.TicketStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static com.concerthall.reservations.domain.enums.ExternalReservationSagaStatus.*;
+import static com.concerthall.reservations.domain.enums.ExternalReservationSagaStep.*;
+
+/**
+ * Asynchronous external reservation workflow.
+ * <p>
+ * A reservation request is persisted as a saga and driven on a dedicated worker pool.
+ * Every provider call happens outside a transaction; only the saga bookkeeping and the
+ * final ticket insert touch the database, each in its own short transaction. Failures after
+ * the provider reservation exists are compensated by cancelling it with retries.
+ * <p>
+ * Server-sent event subscribers are kept in memory on the node that accepted them and only
+ * hear the transitions driven on that node. A saga resumed by another node reaches them
+ * when it ends or their stream times out; {@link #getStatus} reads the saga from the
+ * database and is authoritative.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "external-provider.venue-api", name = "enabled", havingValue = "true")
+public class ExternalReservationSagaService {
+
+    private static final List<ExternalReservationSagaStatus> ACTIVE_STATUSES =
+            List.of(PENDING, IN_PROGRESS, COMPENSATING);
+    private static final long SSE_TIMEOUT_MILLIS = 60_000L;
+
+    private final ExternalReservationSagaRepository sagaRepository;
+    private final TicketStore ticketStore;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final ExternalVenueProviderClient externalClient;
+    private final EventAggregatorService eventAggregator;
+    private final ExternalProviderProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor externalReservationExecutor;
+
+    // Local to this node, see the class comment
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Accept a reservation request and hand it to the worker pool
+     */
+    public ExternalReservationStatusResponse startReservation(String eventExternalId, String userEmail) {
+        final User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        final ExternalReservationSaga saga = sagaRepository.save(ExternalReservationSaga.builder()
+                .userId(user.getId())
+                .customerEmail(user.getEmail())
+                .eventExternalId(eventExternalId)
+                .status(PENDING)
+                .currentStep(CHECK_AVAILABILITY)
+                .idempotencyKey(UUID.randomUUID().toString())
+                .build());
+
+        log.info("External reservation saga {} accepted for event {} by user {}",
+                saga.getId(), eventExternalId, userEmail);
+
+        dispatch(saga.getId());
+        return toResponse(saga);
+    }
+
+    /**
+     * Current saga state for polling clients
+     */
+    public ExternalReservationStatusResponse getStatus(UUID sagaId, String userEmail) {
+        return toResponse(findOwned(sagaId, userEmail));
+    }
+
+    /**
+     * Subscribe to saga state changes as server-sent events.
+     * The stream completes once the saga reaches a terminal state.
+     */
+    public SseEmitter subscribe(UUID sagaId, String userEmail) {
+        findOwned(sagaId, userEmail);
+
+        final SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MILLIS);
+        subscribers.computeIfAbsent(sagaId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+        emitter.onCompletion(() -> removeSubscriber(sagaId, emitter));
+        emitter.onTimeout(() -> removeSubscriber(sagaId, emitter));
+        emitter.onError(e -> removeSubscriber(sagaId, emitter));
+
+        // Re-read after registering so a transition between the two reads is not lost
+        sagaRepository.findById(sagaId).ifPresent(this::publish);
+        return emitter;
+    }
+
+    /**
+     * Pick up sagas whose worker died or whose task was rejected by a full queue.
+     * The lease in acquireLease keeps this safe when several nodes run the job.
+     */
+    @Scheduled(fixedDelay = 30000)
+    public void resumeStalledSagas() {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<UUID> stalled = sagaRepository.findResumableIds(
+                ACTIVE_STATUSES, now, now.minusSeconds(properties.getSaga().getResumeAfterSeconds()));
+
+        if (stalled.isEmpty()) {
+            return;
+        }
+
+        log.info("Resuming {} stalled external reservation sagas", stalled.size());
+        stalled.forEach(this::dispatch);
+    }
+
+    private void dispatch(UUID sagaId) {
+        try {
+            externalReservationExecutor.execute(() -> runSaga(sagaId));
+        } catch (TaskRejectedException e) {
+            log.warn("Saga worker queue full, saga {} will be picked up by the resume job", sagaId);
+        }
+    }
+
+    void runSaga(UUID sagaId) {
+        final LocalDateTime now = LocalDateTime.now();
+        if (sagaRepository.acquireLease(sagaId, ACTIVE_STATUSES, now, leaseUntil(now)) == 0) {
+            log.debug("Saga {} is leased by another worker or already finished", sagaId);
+            return;
+        }
+
+        final ExternalReservationSaga saga = sagaRepository.findById(sagaId).orElse(null);
+        if (saga == null) {
+            return;
+        }
+
+        try {
+            if (saga.getStatus() == COMPENSATING) {
+                compensate(saga, saga.getFailureReason());
+            } else {
+                proceed(saga);
+            }
+        } catch (LeaseLostException e) {
+            log.warn("Saga {} lease ran out at step {}, leaving it to the worker that holds it",
+                    sagaId, saga.getCurrentStep());
+        } catch (RuntimeException e) {
+            // Lease expires and the resume job retries from the last persisted step
+            log.error("Saga {} stopped at step {}, will be resumed", sagaId, saga.getCurrentStep(), e);
+        }
+    }
+
+    private void proceed(ExternalReservationSaga saga) {
+        ExternalReservationResponse reservation = null;
+
+        if (saga.getCurrentStep() == CHECK_AVAILABILITY) {
+            advance(saga, IN_PROGRESS, CHECK_AVAILABILITY);
+
+            final ExternalAvailabilityResponse availability;
+            try {
+                availability = withRetry(saga, () -> externalClient.checkAvailability(saga.getEventExternalId()));
+            } catch (ExternalProviderException e) {
+                finish(saga, FAILED, "Failed to check availability with external provider: " + e.getMessage());
+                return;
+            }
+
+            if (availability == null || availability.getAvailableTickets() == null
+                    || availability.getAvailableTickets() < 1) {
+                finish(saga, FAILED, "Event sold out");
+                return;
+            }
+            advance(saga, IN_PROGRESS, CREATE_RESERVATION);
+        }
+
+        if (saga.getCurrentStep() == CREATE_RESERVATION) {
+            // The saga's idempotency key makes re-sending after a timeout or resume safe
+            final ExternalReservationRequest request = ExternalReservationRequest.builder()
+                    .eventId(saga.getEventExternalId())
+                    .customerEmail(saga.getCustomerEmail())
+                    .customerName(saga.getCustomerEmail().split("@")[0])
+                    .quantity(1)
+                    .idempotencyKey(saga.getIdempotencyKey())
+                    .build();
+
+            try {
+                reservation = withRetry(saga, () -> externalClient.createReservation(request));
+            } catch (ExternalProviderConnectionException | ExternalProviderRateLimitException e) {
+                // The provider may have taken the reservation before the call failed. The saga
+                // stays at this step; the resume job re-sends the same idempotency key, which
+                // returns that reservation, and a later failure cancels it
+                throw e;
+            } catch (ExternalProviderException e) {
+                // Rejected by the provider, nothing was reserved
+                finish(saga, FAILED, "Failed to create reservation with external provider: " + e.getMessage());
+                return;
+            }
+
+            saga.setExternalReservationId(reservation.getId());
+            advance(saga, IN_PROGRESS, FETCH_EVENT);
+        }
+
+        if (saga.getCurrentStep() == FETCH_EVENT) {
+            final EventResponse event = eventAggregator.getEventByExternalId(saga.getEventExternalId());
+            if (event == null) {
+                compensate(saga, "Event not found");
+                return;
+            }
+            advance(saga, IN_PROGRESS, RECORD_TICKET);
+        }
+
+        if (saga.getCurrentStep() == RECORD_TICKET) {
+            if (reservation == null) {
+                // Resumed after a restart, reservation details were not kept in memory
+                try {
+                    final String reservationId = saga.getExternalReservationId();
+                    reservation = withRetry(saga, () -> externalClient.getReservation(reservationId));
+                } catch (ExternalProviderException e) {
+                    compensate(saga, "Failed to load reservation from external provider: " + e.getMessage());
+                    return;
+                }
+            }
+
+            try {
+                recordTicket(saga, reservation);
+            } catch (RuntimeException e) {
+                log.error("Failed to record local ticket for saga {}", saga.getId(), e);
+                compensate(saga, "Failed to record ticket: " + e.getMessage());
+                return;
+            }
+
+            log.info("External ticket {} reserved for event {} by user {} (saga {})",
+                    saga.getTicketId(), saga.getEventExternalId(), saga.getCustomerEmail(), saga.getId());
+            publish(saga);
+        }
+    }
+
+    /**
+     * Insert the local tracking ticket and complete the saga atomically,
+     * so a resumed saga can never create a second ticket
+     */
+    private void recordTicket(ExternalReservationSaga saga, ExternalReservationResponse reservation) {
+        transactionTemplate.executeWithoutResult(status -> {
+            final Ticket ticket = ticketStore.findByExternalReservationId(reservation.getId())
+                    .orElseGet(() -> {
+                        final Event event = eventRepository.findByExternalId(saga.getEventExternalId())
+                                .orElseThrow(() -> new ResourceNotFoundException(
+                                        "No local event tracks external event " + saga.getEventExternalId()));
+
+                        return ticketStore.save(Ticket.builder()
+                                .ticketNumber(reservation.getConfirmationCode())
+                                .user(userRepository.getReferenceById(saga.getUserId()))
+                                .event(event)
+                                .price(reservation.getTotalPrice() != null ?
+                                        reservation.getTotalPrice().getAmount() : BigDecimal.ZERO)
+                                .status(TicketStatus.PENDING_PAYMENT)
+                                .paymentExpiresAt(reservation.getExpiresAt())
+                                .externalReservationId(reservation.getId())
+                                .externalConfirmationCode(reservation.getConfirmationCode())
+                                .build());
+                    });
+
+            saga.setTicketId(ticket.getId());
+            saga.setStatus(COMPLETED);
+            saga.setLeaseExpiresAt(null);
+            saga.setFailureReason(null);
+            final ExternalReservationSaga saved = sagaRepository.save(saga);
+            saga.setUpdatedAt(saved.getUpdatedAt());
+        });
+    }
+
+    /**
+     * Compensating action: cancel the provider reservation so no seat is left held
+     */
+    private void compensate(ExternalReservationSaga saga, String reason) {
+        saga.setFailureReason(reason);
+        advance(saga, COMPENSATING, CANCEL_RESERVATION);
+
+        if (saga.getExternalReservationId() == null) {
+            finish(saga, FAILED, reason);
+            return;
+        }
+
+        try {
+            withRetry(saga, () -> {
+                externalClient.cancelReservation(saga.getExternalReservationId());
+                return null;
+            });
+            log.info("External reservation {} cancelled by saga {}", saga.getExternalReservationId(), saga.getId());
+            finish(saga, FAILED, reason);
+        } catch (ExternalProviderException e) {
+            log.error("Failed to cancel external reservation {} for saga {} - requires manual intervention",
+                    saga.getExternalReservationId(), saga.getId(), e);
+            finish(saga, COMPENSATION_FAILED, reason + "; cancellation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Call the provider, retrying transient failures with exponential backoff. Before each
+     * attempt the lease is extended to cover the longest the call can take, so no other
+     * worker can pick the saga up while it runs.
+     */
+    private <T> T withRetry(ExternalReservationSaga saga, Supplier<T> call) {
+        final int maxAttempts = properties.getRetry().getMaxAttempts();
+        long delay = properties.getRetry().getBackoffDelay();
+
+        for (int attempt = 1; ; attempt++) {
+            renewLease(saga);
+            saga.setAttempts(saga.getAttempts() + 1);
+            try {
+                return call.get();
+            } catch (ExternalProviderConnectionException | ExternalProviderRateLimitException e) {
+                final long wait = e instanceof ExternalProviderRateLimitException rateLimit
+                        && rateLimit.getRetryAfter() != null ? rateLimit.getRetryAfter() * 1000 : delay;
+
+                // After the call at least lease-seconds of the renewed lease are left; never
+                // sleep past them, another worker would take over the saga
+                if (attempt >= maxAttempts || wait >= properties.getSaga().getLeaseSeconds() * 1000 / 2) {
+                    throw e;
+                }
+
+                log.warn("Saga {} step {} attempt {}/{} failed, retrying in {} ms",
+                        saga.getId(), saga.getCurrentStep(), attempt, maxAttempts, wait);
+                sleep(wait);
+                delay *= 2;
+            }
+        }
+    }
+
+    private void renewLease(ExternalReservationSaga saga) {
+        final LocalDateTime now = LocalDateTime.now();
+        final LocalDateTime leaseUntil = leaseUntil(now).plus(callBudgetMillis(), ChronoUnit.MILLIS);
+        if (sagaRepository.renewLease(saga.getId(), ACTIVE_STATUSES, now, leaseUntil) == 0) {
+            throw new LeaseLostException(saga.getId());
+        }
+        saga.setLeaseExpiresAt(leaseUntil);
+    }
+
+    /**
+     * Longest a single provider call can take: every attempt of RetryingRequestInterceptor
+     * waiting out its connect and read timeouts, plus the backoff between them
+     */
+    private long callBudgetMillis() {
+        final int attempts = Math.max(1, properties.getRetry().getMaxAttempts());
+        final long perAttempt = properties.getTimeout() * 2 * 1000L;
+        final long backoff = properties.getRetry().getBackoffDelay() * ((1L << (attempts - 1)) - 1);
+        return attempts * perAttempt + backoff;
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalProviderConnectionException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    private void advance(ExternalReservationSaga saga, ExternalReservationSagaStatus status,
+                         ExternalReservationSagaStep step) {
+        saga.setStatus(status);
+        saga.setCurrentStep(step);
+        saga.setLeaseExpiresAt(leaseUntil(LocalDateTime.now()));
+        save(saga);
+    }
+
+    private void finish(ExternalReservationSaga saga, ExternalReservationSagaStatus status, String reason) {
+        saga.setStatus(status);
+        saga.setFailureReason(reason);
+        saga.setLeaseExpiresAt(null);
+        save(saga);
+        log.info("External reservation saga {} finished with status {}: {}", saga.getId(), status, reason);
+    }
+
+    private void save(ExternalReservationSaga saga) {
+        final ExternalReservationSaga saved = sagaRepository.save(saga);
+        saga.setUpdatedAt(saved.getUpdatedAt());
+        publish(saga);
+    }
+
+    private void publish(ExternalReservationSaga saga) {
+        final List<SseEmitter> emitters = subscribers.get(saga.getId());
+        if (emitters == null) {
+            return;
+        }
+
+        final ExternalReservationStatusResponse response = toResponse(saga);
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("status").data(response));
+                if (saga.getStatus().isTerminal()) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                removeSubscriber(saga.getId(), emitter);
+            }
+        }
+
+        if (saga.getStatus().isTerminal()) {
+            subscribers.remove(saga.getId());
+        }
+    }
+
+    private void removeSubscriber(UUID sagaId, SseEmitter emitter) {
+        subscribers.computeIfPresent(sagaId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private ExternalReservationSaga findOwned(UUID sagaId, String userEmail) {
+        final ExternalReservationSaga saga = sagaRepository.findById(sagaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
+
+        if (!saga.getCustomerEmail().equals(userEmail)) {
+            throw new ResourceNotFoundException("Reservation not found");
+        }
+        return saga;
+    }
+
+    private LocalDateTime leaseUntil(LocalDateTime now) {
+        return now.plusSeconds(properties.getSaga().getLeaseSeconds());
+    }
+
+    private ExternalReservationStatusResponse toResponse(ExternalReservationSaga saga) {
+        return ExternalReservationStatusResponse.builder()
+                .id(saga.getId())
+                .eventExternalId(saga.getEventExternalId())
+                .status(saga.getStatus().name())
+                .currentStep(saga.getCurrentStep().name())
+                .attempts(saga.getAttempts())
+                .externalReservationId(saga.getExternalReservationId())
+                .ticketId(saga.getTicketId())
+                .failureReason(saga.getFailureReason())
+                .createdAt(saga.getCreatedAt())
+                .updatedAt(saga.getUpdatedAt())
+                .build();
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+        LeaseLostException(UUID sagaId) {
+            super("Lease of saga " + sagaId + " ran out");
+        }
+    }
+}
@@ -14,13 +14,13 @@ import com.concerthall.reservations.external.client.ExternalVenueProviderClient;
 import com.concerthall.reservations.external.exception.ExternalProviderException;
 import com.concerthall.reservations.external.model.*;
 import com.concerthall.reservations.repository.EventRepository;
-import com.concerthall.reservations.repository.TicketRepository;
 import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.store.TicketStore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -36,18 +36,20 @@ import java.util.stream.Stream;
 @ConditionalOnProperty(prefix = "external-provider.venue-api", name = "enabled", havingValue = "true")
 public class TicketAggregatorService {
 
-    private final TicketRepository ticketRepository;
+    private final TicketStore ticketStore;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final ExternalVenueProviderClient externalClient;
     private final ExternalTicketAdapter ticketAdapter;
     private final EventAggregatorService eventAggregator;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Reserve ticket for external event
-     * Creates external reservation and local tracking ticket
+     * Creates external reservation and local tracking ticket.
+     * Blocks on the provider; request paths should prefer ExternalReservationSagaService.
+     * Not transactional so no connection is held during provider calls.
      */
-    @Transactional
     public TicketResponse reserveExternalTicket(String eventExternalId, String userEmail) {
         final User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -95,35 +97,37 @@ public class TicketAggregatorService {
             throw new ResourceNotFoundException("Event not found");
         }
 
-        // 4. Create local tracking ticket
-        final Ticket ticket = Ticket.builder()
-                .ticketNumber(reservation.getConfirmationCode())
-                .user(user)
-                .event(getOrCreateEventPlaceholder(event))
-                .price(reservation.getTotalPrice() != null ?
-                        reservation.getTotalPrice().getAmount() : BigDecimal.ZERO)
-                .status(TicketStatus.PENDING_PAYMENT)
-                .paymentExpiresAt(reservation.getExpiresAt())
-                .externalReservationId(reservation.getId())
-                .externalConfirmationCode(reservation.getConfirmationCode())
-                .build();
-
-        final Ticket savedTicket = ticketRepository.save(ticket);
+        // 4. Create local tracking ticket in a short transaction once all provider calls returned
+        final TicketResponse response = transactionTemplate.execute(status -> {
+            final Ticket savedTicket = ticketStore.save(Ticket.builder()
+                    .ticketNumber(reservation.getConfirmationCode())
+                    .user(user)
+                    .event(getOrCreateEventPlaceholder(event))
+                    .price(reservation.getTotalPrice() != null ?
+                            reservation.getTotalPrice().getAmount() : BigDecimal.ZERO)
+                    .status(TicketStatus.PENDING_PAYMENT)
+                    .paymentExpiresAt(reservation.getExpiresAt())
+                    .externalReservationId(reservation.getId())
+                    .externalConfirmationCode(reservation.getConfirmationCode())
+                    .build());
+            return toResponse(savedTicket);
+        });
 
         log.info("External ticket reserved: {} for event {} by user {}",
-                savedTicket.getTicketNumber(), eventExternalId, userEmail);
+                response.getTicketNumber(), eventExternalId, userEmail);
 
-        return toResponse(savedTicket);
+        return response;
     }
 
     /**
      * Confirm payment with external provider
-     * Called after successful payment in our system
+     * Called after successful payment in our system.
+     * Not transactional: the ticket is read before and updated after the provider call,
+     * each in its own short transaction.
      */
-    @Transactional
     public void confirmExternalPayment(UUID ticketId, String paymentId) {
-        final Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
+        final Ticket ticket = transactionTemplate.execute(status -> ticketStore.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found")));
 
         // Only process if this is an external ticket
         if (ticket.getExternalReservationId() == null) {
@@ -143,21 +147,10 @@ public class TicketAggregatorService {
                         .transactionId(paymentId)
                         .build();
 
+        final ExternalReservationResponse confirmedReservation;
         try {
-            final ExternalReservationResponse confirmedReservation =
+            confirmedReservation =
                     externalClient.confirmPayment(ticket.getExternalReservationId(), confirmRequest);
-
-            // Update ticket with confirmation details
-            ticket.setStatus(TicketStatus.PAID);
-            if (confirmedReservation.getTicketNumbers() != null &&
-                    !confirmedReservation.getTicketNumbers().isEmpty()) {
-                ticket.setTicketNumber(confirmedReservation.getTicketNumbers().get(0));
-            }
-            ticketRepository.save(ticket);
-
-            log.info("External payment confirmed for ticket {} with reservation {}",
-                    ticketId, ticket.getExternalReservationId());
-
         } catch (ExternalProviderException e) {
             log.error("Failed to confirm payment with external provider for ticket {}",
                     ticketId, e);
@@ -166,21 +159,40 @@ public class TicketAggregatorService {
             throw new RuntimeException(
                     "Failed to confirm payment with external provider - requires refund", e);
         }
+
+        // Update ticket with confirmation details
+        transactionTemplate.executeWithoutResult(status -> {
+            final Ticket current = ticketStore.findById(ticketId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
+            current.setStatus(TicketStatus.PAID);
+            if (confirmedReservation.getTicketNumbers() != null &&
+                    !confirmedReservation.getTicketNumbers().isEmpty()) {
+                current.setTicketNumber(confirmedReservation.getTicketNumbers().get(0));
+            }
+            ticketStore.save(current);
+        });
+
+        log.info("External payment confirmed for ticket {} with reservation {}",
+                ticketId, ticket.getExternalReservationId());
     }
 
     /**
      * Cancel external reservation
-     * Called when user cancels ticket or payment expires
+     * Called when user cancels ticket or payment expires.
+     * Must not run inside a caller's transaction: the provider call is made between two
+     * short transactions.
      */
-    @Transactional
     public void cancelExternalReservation(UUID ticketId, String userEmail) {
-        final Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
+        final Ticket ticket = transactionTemplate.execute(status -> {
+            final Ticket found = ticketStore.findById(ticketId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
 
-        // Validate user access
-        if (!ticket.getUser().getEmail().equals(userEmail)) {
-            throw new ResourceNotFoundException("Ticket not found");
-        }
+            // Validate user access
+            if (!found.getUser().getEmail().equals(userEmail)) {
+                throw new ResourceNotFoundException("Ticket not found");
+            }
+            return found;
+        });
 
         // Only process if this is an external ticket
         if (ticket.getExternalReservationId() == null) {
@@ -200,23 +212,36 @@ public class TicketAggregatorService {
         }
 
         // Update local ticket
-        ticket.setStatus(TicketStatus.CANCELLED);
-        ticketRepository.save(ticket);
+        transactionTemplate.executeWithoutResult(status -> {
+            final Ticket current = ticketStore.findById(ticketId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Ticket not found"));
+            current.setStatus(TicketStatus.CANCELLED);
+            ticketStore.save(current);
+        });
     }
 
     /**
-     * Get all tickets for user from both internal and external sources
+     * Get all tickets for user from both internal and external sources.
+     * Not transactional: local tickets are read before the provider is asked for its
+     * reservations, and the tracked ones are filtered out afterwards.
      */
-    @Transactional(readOnly = true)
     public List<TicketResponse> getMyTickets(String userEmail) {
         final User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        // Get internal tickets
-        final List<TicketResponse> internalTickets = ticketRepository
-                .findByUserIdWithEvent(user.getId()).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        // Get internal tickets, including archived ones
+        final List<TicketResponse> internalTickets = transactionTemplate.execute(status -> {
+            final List<Ticket> tickets = ticketStore.findByUser(user.getId());
+            if (!tickets.isEmpty()) {
+                // Resolve the lazy events and venues with one query
+                eventRepository.findAllWithVenueByIdIn(tickets.stream()
+                        .map(ticket -> ticket.getEvent().getId())
+                        .collect(Collectors.toSet()));
+            }
+            return tickets.stream()
+                    .map(this::toResponse)
+                    .collect(Collectors.toList());
+        });
 
         // Get external tickets (if any exist in external system but not tracked locally)
         final List<TicketResponse> externalTickets = getExternalTickets(userEmail, user.getId());
@@ -233,8 +258,13 @@ public class TicketAggregatorService {
             final List<ExternalReservationResponse> reservations =
                     externalClient.getCustomerReservations(userEmail);
 
-            return reservations.stream()
-                    .filter(r -> !isTrackedLocally(r.getId())) // Avoid duplicates
+            // Avoid duplicates
+            final List<ExternalReservationResponse> untracked = transactionTemplate.execute(status ->
+                    reservations.stream()
+                            .filter(r -> !isTrackedLocally(r.getId()))
+                            .collect(Collectors.toList()));
+
+            return untracked.stream()
                     .map(reservation -> {
                         // Fetch event information
                         EventResponse event = eventAggregator.getEventByExternalId(
@@ -253,7 +283,7 @@ public class TicketAggregatorService {
      * Check if external reservation is already tracked locally
      */
     private boolean isTrackedLocally(String externalReservationId) {
-        return ticketRepository.findByExternalReservationId(externalReservationId)
+        return ticketStore.findByExternalReservationId(externalReservationId)
                 .isPresent();
     }
 
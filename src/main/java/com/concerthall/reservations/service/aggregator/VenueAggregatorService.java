@@ -4,6 +4,7 @@ import com.concerthall.reservations.domain.Venue;
 import com.concerthall.reservations.domain.enums.VenueSource;
 import com.concerthall.reservations.dto.response.VenueResponse;
 import com.concerthall.reservations.external.adapter.ExternalVenueAdapter;
+import com.concerthall.reservations.external.client.ExternalProviderRegistry;
 import com.concerthall.reservations.external.client.ExternalVenueProviderClient;
 import com.concerthall.reservations.external.exception.ExternalProviderException;
 import com.concerthall.reservations.external.model.ExternalVenueResponse;
@@ -27,6 +28,7 @@ public class VenueAggregatorService {
     private final VenueRepository venueRepository;
     private final ExternalVenueProviderClient externalClient;
     private final ExternalVenueAdapter venueAdapter;
+    private final ExternalProviderRegistry providerRegistry;
 
     /**
      * Get all venues from both internal and external sources
@@ -89,19 +91,21 @@ public class VenueAggregatorService {
     }
 
     /**
-     * Fetch external venues from external API
-     * Returns empty list if external API fails (graceful degradation)
+     * Fetch external venues from all registered providers in parallel
+     * A failing provider contributes no venues (graceful degradation)
      */
     private List<VenueResponse> getExternalVenues() {
-        try {
-            final List<ExternalVenueResponse> externalVenues = externalClient.getVenues(null);
-            return externalVenues.stream()
-                    .map(venueAdapter::toVenueResponse)
-                    .collect(Collectors.toList());
-        } catch (ExternalProviderException e) {
-            log.error("Failed to fetch external venues, returning only internal venues", e);
-            return Collections.emptyList(); // Graceful degradation
-        }
+        return providerRegistry.fanOut((providerName, client) -> {
+            final String providerScope = providerRegistry.isPrimary(providerName) ? null : providerName;
+            // Decoded item by item, the raw page is never materialized
+            return client.streamVenues(null, venues -> venues
+                    .map(externalVenue -> {
+                        final VenueResponse venue = venueAdapter.toVenueResponse(externalVenue, providerScope);
+                        venue.setProviderName(providerName);
+                        return venue;
+                    })
+                    .collect(Collectors.toList()));
+        });
     }
 
     /**
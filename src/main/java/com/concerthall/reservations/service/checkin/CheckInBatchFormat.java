@@ -0,0 +1,117 @@
+package com.concerthall.reservations.service.checkin;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Payloads of a gate device sync. JSON Lines carries one {"ticketId", "scannedAt"} object
+ * per line. Binary carries 24 bytes per scan: the ticket id's most and least significant
+ * bits, then the scan time in Unix seconds, all big-endian.
+ */
+public enum CheckInBatchFormat {
+    JSON_LINES(MediaType.APPLICATION_NDJSON),
+    BINARY(MediaType.APPLICATION_OCTET_STREAM);
+
+    static final int BINARY_SCAN_BYTES = 24;
+
+    private final MediaType mediaType;
+
+    CheckInBatchFormat(final MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static CheckInBatchFormat fromContentType(final String contentType) {
+        if (contentType != null) {
+            try {
+                final MediaType requested = MediaType.parseMediaType(contentType);
+                for (CheckInBatchFormat format : values()) {
+                    if (format.mediaType.isCompatibleWith(requested)) {
+                        return format;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Reported below
+            }
+        }
+        throw new IllegalArgumentException("Check-in content type must be application/x-ndjson or application/octet-stream");
+    }
+
+    /**
+     * Reads the whole payload; a malformed scan or more than maxScans rejects the batch
+     */
+    List<GateScan> read(final InputStream input, final ObjectMapper objectMapper, final int maxScans)
+            throws IOException {
+        final List<GateScan> scans = new ArrayList<>();
+        switch (this) {
+            case JSON_LINES -> readJsonLines(input, objectMapper, maxScans, scans);
+            case BINARY -> readBinary(input, maxScans, scans);
+        }
+        return scans;
+    }
+
+    private static void readJsonLines(
+            final InputStream input,
+            final ObjectMapper objectMapper,
+            final int maxScans,
+            final List<GateScan> scans
+    ) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        long line = 0;
+        for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            final GateScan scan;
+            try {
+                scan = objectMapper.readValue(text, GateScan.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Line " + line + ": invalid JSON: " + e.getOriginalMessage());
+            }
+            if (scan.ticketId() == null || scan.scannedAt() == null) {
+                throw new IllegalArgumentException("Line " + line + ": ticketId and scannedAt are required");
+            }
+            add(scans, new GateScan(scan.ticketId(), scan.scannedAt().truncatedTo(ChronoUnit.MICROS)), maxScans);
+        }
+    }
+
+    private static void readBinary(final InputStream input, final int maxScans, final List<GateScan> scans)
+            throws IOException {
+        final InputStream in = new BufferedInputStream(input);
+        final byte[] scan = new byte[BINARY_SCAN_BYTES];
+        for (int read = in.readNBytes(scan, 0, scan.length); read > 0; read = in.readNBytes(scan, 0, scan.length)) {
+            if (read < scan.length) {
+                throw new IllegalArgumentException("Binary check-ins must be " + BINARY_SCAN_BYTES + " bytes each");
+            }
+            final ByteBuffer bytes = ByteBuffer.wrap(scan);
+            final UUID ticketId = new UUID(bytes.getLong(), bytes.getLong());
+            final LocalDateTime scannedAt = LocalDateTime.ofInstant(
+                    Instant.ofEpochSecond(bytes.getLong()), ZoneId.systemDefault());
+            add(scans, new GateScan(ticketId, scannedAt), maxScans);
+        }
+    }
+
+    private static void add(final List<GateScan> scans, final GateScan scan, final int maxScans) {
+        if (scans.size() == maxScans) {
+            throw new IllegalArgumentException("At most " + maxScans + " check-ins per batch");
+        }
+        scans.add(scan);
+    }
+}
@@ -0,0 +1,8 @@
+package com.concerthall.reservations.service.checkin;
+
+public enum CheckInConflict {
+    DOUBLE_SCAN, // the ticket was scanned again within the batch
+    ALREADY_CHECKED_IN, // checked in earlier, at the door or by another device
+    NOT_PAID, // cancelled, refunded or never paid
+    UNKNOWN_TICKET // no ticket of this event
+}
@@ -0,0 +1,224 @@
+package com.concerthall.reservations.service.checkin;
+
+import com.concerthall.reservations.admission.AdmissionProperties;
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.dto.response.CheckInBatchResponse;
+import com.concerthall.reservations.dto.response.CheckInConflictResponse;
+import com.concerthall.reservations.dto.response.CheckInTicketsResponse;
+import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.service.VenueAccessPolicy;
+import com.concerthall.reservations.store.TicketStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Check-ins collected offline by an event's gate devices, synced in batches by the
+ * event's venue staff. A batch is written in one statement; only its scans that did not
+ * take are looked up again, to report why.
+ * <p>
+ * Devices pre-load the event's tickets with a full download and then fetch what changed
+ * since the cursor of their last download. Only tickets given an admission index, that is
+ * paid since admission codes were introduced, are listed.
+ */
+@Service
+@Slf4j
+public class CheckInSyncService {
+
+    // Re-read this much before the cursor: updates committed late carry earlier timestamps
+    private static final long CURSOR_OVERLAP_SECONDS = 60;
+
+    private final TicketStore ticketStore;
+    private final EventRepository eventRepository;
+    private final VenueAccessPolicy venueAccess;
+    private final AdmissionProperties properties;
+    private final CacheInvalidationPublisher cacheInvalidation;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter recordedCounter;
+    private final Map<CheckInConflict, Counter> conflictCounters = new EnumMap<>(CheckInConflict.class);
+
+    public CheckInSyncService(
+            final TicketStore ticketStore,
+            final EventRepository eventRepository,
+            final VenueAccessPolicy venueAccess,
+            final AdmissionProperties properties,
+            final CacheInvalidationPublisher cacheInvalidation,
+            final ObjectMapper objectMapper,
+            final PlatformTransactionManager transactionManager,
+            final MeterRegistry meterRegistry
+    ) {
+        this.ticketStore = ticketStore;
+        this.eventRepository = eventRepository;
+        this.venueAccess = venueAccess;
+        this.properties = properties;
+        this.cacheInvalidation = cacheInvalidation;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recordedCounter = Counter.builder("admission.batch.scans")
+                .description("Gate device scans synced in batches")
+                .tag("result", "RECORDED")
+                .register(meterRegistry);
+        for (CheckInConflict conflict : CheckInConflict.values()) {
+            conflictCounters.put(conflict, Counter.builder("admission.batch.scans")
+                    .description("Gate device scans synced in batches")
+                    .tag("result", conflict.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Records the batch's check-ins. The payload is read between two short transactions,
+     * so a slow upload holds no connection.
+     */
+    public CheckInBatchResponse recordBatch(
+            final UUID eventId,
+            final InputStream input,
+            final CheckInBatchFormat format,
+            final String userEmail
+    ) throws IOException {
+        transactionTemplate.executeWithoutResult(status -> venueAccess.requireAccess(findEvent(eventId), userEmail));
+        final List<GateScan> scans = format.read(input, objectMapper, properties.getMaxBatchScans());
+        return transactionTemplate.execute(status -> record(findEvent(eventId), scans));
+    }
+
+    @Transactional(readOnly = true)
+    public CheckInTicketsResponse getTickets(final UUID eventId, final String cursor, final String userEmail) {
+        final Event event = findEvent(eventId);
+        venueAccess.requireAccess(event, userEmail);
+
+        final LocalDateTime since = cursor == null ? null : parseCursor(cursor).minusSeconds(CURSOR_OVERLAP_SECONDS);
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final List<UUID> valid = new ArrayList<>();
+        final List<UUID> checkedIn = new ArrayList<>();
+        final List<UUID> revoked = new ArrayList<>();
+        for (Ticket ticket : ticketStore.findAdmissions(event, since)) {
+            if (ticket.getStatus() != TicketStatus.PAID) {
+                // A device starting from nothing has nothing to remove
+                if (since != null) {
+                    revoked.add(ticket.getId());
+                }
+            } else if (ticket.getCheckedInAt() != null) {
+                checkedIn.add(ticket.getId());
+            } else {
+                valid.add(ticket.getId());
+            }
+        }
+
+        return CheckInTicketsResponse.builder()
+                .eventId(eventId)
+                .cursor(Long.toString(startedAt.toInstant(ZoneOffset.UTC).toEpochMilli()))
+                .valid(valid)
+                .checkedIn(checkedIn)
+                .revoked(revoked)
+                .build();
+    }
+
+    private CheckInBatchResponse record(final Event event, final List<GateScan> scans) {
+        // The earliest scan of a ticket is its check-in
+        final Map<UUID, LocalDateTime> checkIns = new HashMap<>();
+        for (GateScan scan : scans) {
+            checkIns.merge(scan.ticketId(), scan.scannedAt(), (a, b) -> a.isBefore(b) ? a : b);
+        }
+        final Set<UUID> recorded = ticketStore.recordCheckIns(event, checkIns);
+        final Set<UUID> notRecorded = new HashSet<>(checkIns.keySet());
+        notRecorded.removeAll(recorded);
+        final Map<UUID, Ticket> tickets = ticketStore.findByEventAndIds(event, notRecorded).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+        final List<CheckInConflictResponse> conflicts = new ArrayList<>();
+        final Set<UUID> reported = new HashSet<>();
+        int standing = 0;
+        for (GateScan scan : scans) {
+            final UUID ticketId = scan.ticketId();
+            final LocalDateTime checkIn = checkIns.get(ticketId);
+            final Ticket ticket = tickets.get(ticketId);
+            final LocalDateTime standingCheckIn = recorded.contains(ticketId)
+                    ? checkIn
+                    : ticket == null ? null : ticket.getCheckedInAt();
+
+            final CheckInConflict conflict;
+            if (!scan.scannedAt().equals(checkIn) || !reported.add(ticketId)) {
+                conflict = CheckInConflict.DOUBLE_SCAN;
+            } else if (recorded.contains(ticketId)) {
+                conflict = null;
+            } else if (ticket == null) {
+                conflict = CheckInConflict.UNKNOWN_TICKET;
+            } else if (ticket.getStatus() != TicketStatus.PAID) {
+                conflict = CheckInConflict.NOT_PAID;
+            } else if (!checkIn.equals(ticket.getCheckedInAt())) {
+                conflict = CheckInConflict.ALREADY_CHECKED_IN;
+            } else {
+                // The same check-in uploaded again, after a lost response
+                conflict = null;
+            }
+
+            if (conflict == null) {
+                standing++;
+                recordedCounter.increment();
+            } else {
+                conflictCounters.get(conflict).increment();
+                conflicts.add(CheckInConflictResponse.builder()
+                        .ticketId(ticketId)
+                        .reason(conflict.name())
+                        .scannedAt(scan.scannedAt())
+                        .checkedInAt(standingCheckIn)
+                        .status(conflict == CheckInConflict.NOT_PAID ? ticket.getStatus().name() : null)
+                        .build());
+            }
+        }
+
+        if (!recorded.isEmpty()) {
+            // Door scanners refresh their state of the event
+            cacheInvalidation.publish(CachedEntity.ADMISSIONS, event.getId());
+        }
+        log.info("Check-in batch for event {}: {} scans, {} recorded, {} conflicts",
+                event.getId(), scans.size(), recorded.size(), conflicts.size());
+
+        return CheckInBatchResponse.builder()
+                .eventId(event.getId())
+                .received(scans.size())
+                .recorded(standing)
+                .conflicts(conflicts)
+                .build();
+    }
+
+    private static LocalDateTime parseCursor(final String cursor) {
+        try {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(cursor)), ZoneOffset.UTC);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private Event findEvent(final UUID eventId) {
+        return eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+    }
+}
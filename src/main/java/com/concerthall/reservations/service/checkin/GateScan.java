@@ -0,0 +1,13 @@
+package com.concerthall.reservations.service.checkin;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One ticket scanned by a gate device. Other fields a device sends, such as its gate, are ignored.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GateScan(UUID ticketId, LocalDateTime scannedAt) {
+}
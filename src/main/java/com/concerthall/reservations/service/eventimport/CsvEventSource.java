@@ -0,0 +1,137 @@
+package com.concerthall.reservations.service.eventimport;
+
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.dto.request.CreateEventRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * RFC 4180 CSV with a header row naming CreateEventRequest fields in any order
+ * (name, description, eventDateTime, capacity, price, status, venueId). Quoted values may
+ * contain commas, quotes ("") and line breaks. Empty values count as missing.
+ */
+class CsvEventSource implements EventRowSource {
+
+    private static final Map<String, Column> COLUMNS = Map.of(
+            "name", new Column(value -> value, (r, v) -> r.setName((String) v)),
+            "description", new Column(value -> value, (r, v) -> r.setDescription((String) v)),
+            "eventdatetime", new Column(LocalDateTime::parse, (r, v) -> r.setEventDateTime((LocalDateTime) v)),
+            "capacity", new Column(Integer::valueOf, (r, v) -> r.setCapacity((Integer) v)),
+            "price", new Column(BigDecimal::new, (r, v) -> r.setPrice((BigDecimal) v)),
+            "status", new Column(value -> EventStatus.valueOf(value.toUpperCase(Locale.ROOT)),
+                    (r, v) -> r.setStatus((EventStatus) v)),
+            "venueid", new Column(UUID::fromString, (r, v) -> r.setVenueId((UUID) v)));
+
+    private record Column(Function<String, Object> parser, BiConsumer<CreateEventRequest, Object> setter) {
+    }
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private final List<Column> columns = new ArrayList<>();
+    private long line = 1;
+    private long recordLine;
+    private boolean eof;
+
+    CsvEventSource(final BufferedReader reader) throws IOException {
+        this.reader = reader;
+        this.header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import needs a header row");
+        }
+        for (String name : header) {
+            final Column column = COLUMNS.get(name.trim().toLowerCase(Locale.ROOT));
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown CSV column: " + name);
+            }
+            columns.add(column);
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        final List<String> values = readRecord();
+        if (values == null) {
+            return null;
+        }
+        if (values.size() != columns.size()) {
+            return ImportRow.unparseable(recordLine,
+                    "Expected " + columns.size() + " values but found " + values.size());
+        }
+
+        final CreateEventRequest request = new CreateEventRequest();
+        final List<String> errors = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            final String value = values.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                columns.get(i).setter().accept(request, columns.get(i).parser().apply(value.trim()));
+            } catch (RuntimeException e) {
+                errors.add(header.get(i).trim() + ": invalid value '" + value + "'");
+            }
+        }
+        return errors.isEmpty() ? ImportRow.parsed(recordLine, request) : new ImportRow(recordLine, null, errors);
+    }
+
+    // One record, or null at the end of the input; blank lines are skipped
+    private List<String> readRecord() throws IOException {
+        while (!eof) {
+            recordLine = line;
+            final List<String> values = new ArrayList<>();
+            final StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            boolean blank = true;
+            while (true) {
+                final int c = reader.read();
+                if (c == -1) {
+                    eof = true;
+                    break;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        value.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    blank = false;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                    blank = false;
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    value.append((char) c);
+                }
+            }
+            if (!blank || !value.toString().isBlank()) {
+                values.add(value.toString());
+                return values;
+            }
+        }
+        return null;
+    }
+}
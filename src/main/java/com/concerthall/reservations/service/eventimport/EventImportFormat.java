@@ -0,0 +1,42 @@
+package com.concerthall.reservations.service.eventimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+public enum EventImportFormat {
+    JSON_LINES(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    private final MediaType mediaType;
+
+    EventImportFormat(final MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public static EventImportFormat fromContentType(final String contentType) {
+        if (contentType != null) {
+            try {
+                final MediaType requested = MediaType.parseMediaType(contentType);
+                for (EventImportFormat format : values()) {
+                    if (format.mediaType.isCompatibleWith(requested)) {
+                        return format;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Reported below
+            }
+        }
+        throw new IllegalArgumentException("Import content type must be application/x-ndjson or text/csv");
+    }
+
+    EventRowSource open(final BufferedReader reader, final ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case JSON_LINES -> new JsonLinesEventSource(reader, objectMapper);
+            case CSV -> new CsvEventSource(reader);
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.concerthall.reservations.service.eventimport;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "events.import")
+@Data
+public class EventImportProperties {
+    private Integer batchSize = 500; // rows per batch of results; its valid rows are inserted in one transaction
+}
@@ -0,0 +1,9 @@
+package com.concerthall.reservations.service.eventimport;
+
+public enum EventImportRowStatus {
+    CREATED,
+    // Invalid row or venue not accessible; nothing was written
+    REJECTED,
+    // Valid row whose batch could not be inserted
+    FAILED
+}
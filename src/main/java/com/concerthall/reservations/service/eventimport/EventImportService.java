@@ -0,0 +1,204 @@
+package com.concerthall.reservations.service.eventimport;
+
+import com.concerthall.reservations.cache.CacheRegions;
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.domain.id.UuidV7;
+import com.concerthall.reservations.dto.request.CreateEventRequest;
+import com.concerthall.reservations.dto.response.EventImportRowResponse;
+import com.concerthall.reservations.dto.response.EventImportSummaryResponse;
+import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.exception.VenueAccessDeniedException;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Creates events from an uploaded season schedule.
+ * <p>
+ * Rows are read one at a time and validated like single event creation. The user and
+ * their venues are loaded once, and each distinct venue is checked once. Valid rows are
+ * inserted with JDBC batches, each batch in its own transaction, so an import is not
+ * atomic: rows of committed batches stay when a later batch fails. Results are handed to
+ * the caller in input order once their batch is done.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventImportService {
+
+    private static final String INSERT_SQL = "INSERT INTO events"
+            + " (id, name, description, event_date_time, capacity, price, status, venue_id, created_at, updated_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final VenueRepository venueRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheInvalidationPublisher cacheInvalidation;
+    private final EventImportProperties properties;
+
+    private record PendingInsert(UUID id, CreateEventRequest request, EventImportRowResponse result) {
+    }
+
+    /**
+     * @param results receives the results of each batch, in input order
+     */
+    public EventImportSummaryResponse importEvents(
+            final Reader input,
+            final EventImportFormat format,
+            final String userEmail,
+            final Consumer<List<EventImportRowResponse>> results
+    ) throws IOException {
+        final User user = userRepository.findByEmailWithVenues(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (user.getRole() != UserRole.ADMIN && user.getRole() != UserRole.POWER_USER) {
+            throw new VenueAccessDeniedException("Insufficient permissions");
+        }
+        final Set<UUID> assignedVenues = user.getAssignedVenues().stream()
+                .map(Venue::getId)
+                .collect(Collectors.toSet());
+        // Per venue: empty when events may be created there, otherwise the reason they may not
+        final Map<UUID, Optional<String>> venueDecisions = new HashMap<>();
+
+        final EventRowSource source = format.open(
+                input instanceof BufferedReader buffered ? buffered : new BufferedReader(input), objectMapper);
+        final EventImportSummaryResponse summary = EventImportSummaryResponse.builder()
+                .created(0L).rejected(0L).failed(0L)
+                .build();
+        final List<EventImportRowResponse> batchResults = new ArrayList<>();
+        final List<PendingInsert> inserts = new ArrayList<>();
+
+        ImportRow row;
+        while ((row = source.next()) != null) {
+            final List<String> errors = new ArrayList<>(row.errors());
+            if (row.request() != null) {
+                errors.addAll(validate(row.request()));
+                final UUID venueId = row.request().getVenueId();
+                if (venueId != null) {
+                    venueDecisions.computeIfAbsent(venueId, id -> checkVenue(user, assignedVenues, id))
+                            .ifPresent(errors::add);
+                }
+            }
+
+            final EventImportRowResponse result = EventImportRowResponse.builder().line(row.line()).build();
+            batchResults.add(result);
+            if (errors.isEmpty()) {
+                inserts.add(new PendingInsert(UuidV7.generate(), row.request(), result));
+            } else {
+                result.setStatus(EventImportRowStatus.REJECTED.name());
+                result.setErrors(errors);
+                summary.setRejected(summary.getRejected() + 1);
+            }
+            // Count all rows, so a long run of rejected rows is not held back until the end
+            if (batchResults.size() >= properties.getBatchSize()) {
+                insert(inserts, summary);
+                results.accept(List.copyOf(batchResults));
+                batchResults.clear();
+            }
+        }
+        insert(inserts, summary);
+        if (!batchResults.isEmpty()) {
+            results.accept(List.copyOf(batchResults));
+        }
+
+        log.info("Event import by {}: {} created, {} rejected, {} failed",
+                userEmail, summary.getCreated(), summary.getRejected(), summary.getFailed());
+        return summary;
+    }
+
+    private List<String> validate(final CreateEventRequest request) {
+        return validator.validate(request).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .collect(Collectors.toList());
+    }
+
+    private Optional<String> checkVenue(final User user, final Set<UUID> assignedVenues, final UUID venueId) {
+        if (!venueRepository.existsById(venueId)) {
+            return Optional.of("venueId: Venue not found");
+        }
+        if (user.getRole() != UserRole.ADMIN && !assignedVenues.contains(venueId)) {
+            return Optional.of("venueId: Access denied to this venue");
+        }
+        return Optional.empty();
+    }
+
+    private void insert(final List<PendingInsert> inserts, final EventImportSummaryResponse summary) {
+        if (inserts.isEmpty()) {
+            return;
+        }
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (statement, insert) -> {
+                    final CreateEventRequest request = insert.request();
+                    statement.setObject(1, insert.id());
+                    statement.setString(2, request.getName());
+                    if (request.getDescription() != null) {
+                        statement.setString(3, request.getDescription());
+                    } else {
+                        statement.setNull(3, Types.VARCHAR);
+                    }
+                    statement.setTimestamp(4, Timestamp.valueOf(request.getEventDateTime()));
+                    statement.setInt(5, request.getCapacity());
+                    statement.setBigDecimal(6, request.getPrice());
+                    statement.setString(7, request.getStatus().name());
+                    statement.setObject(8, request.getVenueId());
+                    statement.setTimestamp(9, now);
+                    statement.setTimestamp(10, now);
+                });
+                inserts.forEach(insert -> cacheInvalidation.publish(CachedEntity.EVENT, insert.id()));
+            });
+            // Hibernate does not see JDBC writes, so the cached listing would not notice the new events
+            entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegion(CacheRegions.EVENT_QUERIES);
+            inserts.forEach(insert -> {
+                insert.result().setStatus(EventImportRowStatus.CREATED.name());
+                insert.result().setEventId(insert.id());
+            });
+            summary.setCreated(summary.getCreated() + inserts.size());
+        } catch (DataAccessException e) {
+            final String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Event import batch of {} rows failed: {}", inserts.size(), reason);
+            inserts.forEach(insert -> {
+                insert.result().setStatus(EventImportRowStatus.FAILED.name());
+                insert.result().setErrors(List.of("Batch insert failed: " + reason));
+            });
+            summary.setFailed(summary.getFailed() + inserts.size());
+        }
+        inserts.clear();
+    }
+}
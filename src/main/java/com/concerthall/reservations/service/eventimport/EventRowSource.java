@@ -0,0 +1,12 @@
+package com.concerthall.reservations.service.eventimport;
+
+import java.io.IOException;
+
+/**
+ * Reads import rows one at a time, so an upload is never held in memory.
+ */
+interface EventRowSource {
+
+    // null at the end of the input
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,19 @@
+package com.concerthall.reservations.service.eventimport;
+
+import com.concerthall.reservations.dto.request.CreateEventRequest;
+
+import java.util.List;
+
+/**
+ * One parsed input row. A row that could not be parsed has no request, only errors.
+ */
+record ImportRow(long line, CreateEventRequest request, List<String> errors) {
+
+    static ImportRow parsed(final long line, final CreateEventRequest request) {
+        return new ImportRow(line, request, List.of());
+    }
+
+    static ImportRow unparseable(final long line, final String error) {
+        return new ImportRow(line, null, List.of(error));
+    }
+}
@@ -0,0 +1,41 @@
+package com.concerthall.reservations.service.eventimport;
+
+import com.concerthall.reservations.dto.request.CreateEventRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One CreateEventRequest JSON object per line; blank lines are skipped.
+ */
+class JsonLinesEventSource implements EventRowSource {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long line;
+
+    JsonLinesEventSource(final BufferedReader reader, final ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            return ImportRow.parsed(line, objectMapper.readValue(text, CreateEventRequest.class));
+        } catch (JsonProcessingException e) {
+            return ImportRow.unparseable(line, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+}
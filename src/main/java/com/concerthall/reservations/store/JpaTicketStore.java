@@ -0,0 +1,181 @@
+package com.concerthall.reservations.store;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Tickets in the partitioned Postgres table. Lookups by event pass the event date so the
+ * planner only scans that event's partition.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tickets.store", name = "type", havingValue = "jpa", matchIfMissing = true)
+@RequiredArgsConstructor
+public class JpaTicketStore implements TicketStore {
+
+    // One statement for the whole batch; tickets already checked in or not paid are skipped
+    private static final String RECORD_CHECK_INS = "UPDATE tickets t"
+            + " SET checked_in_at = c.checked_in_at, updated_at = CURRENT_TIMESTAMP"
+            + " FROM unnest(?, ?) AS c(id, checked_in_at)"
+            + " WHERE t.id = c.id AND t.event_id = ? AND t.event_date_time = ?"
+            + " AND t.status = 'PAID' AND t.checked_in_at IS NULL"
+            + " RETURNING t.id";
+
+    private final TicketRepository ticketRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Ticket save(final Ticket ticket) {
+        return ticketRepository.save(ticket);
+    }
+
+    @Override
+    public List<Ticket> saveAll(final List<Ticket> tickets) {
+        // One JDBC batch at flush, see hibernate.jdbc.batch_size
+        return ticketRepository.saveAll(tickets);
+    }
+
+    @Override
+    public Optional<Ticket> findById(final UUID id) {
+        return ticketRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Ticket> findByExternalReservationId(final String externalReservationId) {
+        return ticketRepository.findByExternalReservationId(externalReservationId);
+    }
+
+    @Override
+    public List<Ticket> findByUser(final UUID userId) {
+        return ticketRepository.findByUserIdIncludingArchived(userId);
+    }
+
+    @Override
+    public boolean existsForUserAndEvent(
+            final UUID userId,
+            final Event event,
+            final Collection<TicketStatus> statuses
+    ) {
+        return ticketRepository.existsByUserIdAndEventIdAndEventDateTimeAndStatusIn(
+                userId, event.getId(), event.getEventDateTime(), List.copyOf(statuses));
+    }
+
+    @Override
+    public Set<UUID> findEventsWithUserTickets(
+            final UUID userId,
+            final Collection<Event> events,
+            final Collection<TicketStatus> statuses
+    ) {
+        return new HashSet<>(ticketRepository.findEventIdsWithUserTickets(
+                userId, eventIds(events), eventDateTimes(events), List.copyOf(statuses)));
+    }
+
+    @Override
+    public long countByEvent(final Event event, final Collection<TicketStatus> statuses) {
+        return ticketRepository.countByEventIdAndEventDateTimeAndStatusIn(
+                event.getId(), event.getEventDateTime(), List.copyOf(statuses));
+    }
+
+    @Override
+    public Map<UUID, Long> countByEvents(final Collection<Event> events, final Collection<TicketStatus> statuses) {
+        final Map<UUID, Long> counts = new HashMap<>();
+        events.forEach(event -> counts.put(event.getId(), 0L));
+        ticketRepository.countByEventIds(eventIds(events), eventDateTimes(events), List.copyOf(statuses))
+                .forEach(count -> counts.put(count.getEventId(), count.getTickets()));
+        return counts;
+    }
+
+    @Override
+    public BigDecimal sumPriceByEvent(final Event event, final Collection<TicketStatus> statuses) {
+        return ticketRepository.sumPriceByEventIdAndEventDateTimeAndStatusIn(
+                event.getId(), event.getEventDateTime(), List.copyOf(statuses));
+    }
+
+    @Override
+    public List<Ticket> findExpiredPayments(final LocalDateTime now, final int limit) {
+        // Tickets are only reserved for future events, so pending ones never sit in old partitions
+        return ticketRepository.findByStatusAndPaymentExpiresAtBeforeAndEventDateTimeAfterOrderByPaymentExpiresAt(
+                TicketStatus.PENDING_PAYMENT, now, now.minusDays(1), Limit.of(limit));
+    }
+
+    @Override
+    public long countExpiredPayments(final LocalDateTime now) {
+        return ticketRepository.countByStatusAndPaymentExpiresAtBeforeAndEventDateTimeAfter(
+                TicketStatus.PENDING_PAYMENT, now, now.minusDays(1));
+    }
+
+    @Override
+    @Transactional
+    public int rescheduleEvent(final UUID eventId, final LocalDateTime eventDateTime) {
+        return ticketRepository.updateEventDateTime(eventId, eventDateTime);
+    }
+
+    @Override
+    public List<Ticket> findAdmissions(final Event event, final LocalDateTime changedSince) {
+        if (changedSince == null) {
+            return ticketRepository.findByEventIdAndEventDateTimeAndAdmissionIndexIsNotNull(
+                    event.getId(), event.getEventDateTime());
+        }
+        return ticketRepository.findByEventIdAndEventDateTimeAndAdmissionIndexIsNotNullAndUpdatedAtAfter(
+                event.getId(), event.getEventDateTime(), changedSince);
+    }
+
+    @Override
+    public Set<UUID> recordCheckIns(final Event event, final Map<UUID, LocalDateTime> checkIns) {
+        if (checkIns.isEmpty()) {
+            return Set.of();
+        }
+        final UUID[] ids = new UUID[checkIns.size()];
+        final Timestamp[] times = new Timestamp[checkIns.size()];
+        int i = 0;
+        for (Map.Entry<UUID, LocalDateTime> checkIn : checkIns.entrySet()) {
+            ids[i] = checkIn.getKey();
+            times[i++] = Timestamp.valueOf(checkIn.getValue());
+        }
+        return new HashSet<>(jdbcTemplate.query(connection -> {
+            final PreparedStatement statement = connection.prepareStatement(RECORD_CHECK_INS);
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            statement.setArray(2, connection.createArrayOf("timestamp", times));
+            statement.setObject(3, event.getId());
+            statement.setTimestamp(4, Timestamp.valueOf(event.getEventDateTime()));
+            return statement;
+        }, (row, rowNum) -> row.getObject(1, UUID.class)));
+    }
+
+    @Override
+    public List<Ticket> findByEventAndIds(final Event event, final Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return ticketRepository.findByEventIdAndEventDateTimeAndIdIn(event.getId(), event.getEventDateTime(), ids);
+    }
+
+    private static Set<UUID> eventIds(final Collection<Event> events) {
+        return events.stream().map(Event::getId).collect(Collectors.toSet());
+    }
+
+    private static Set<LocalDateTime> eventDateTimes(final Collection<Event> events) {
+        return events.stream().map(Event::getEventDateTime).collect(Collectors.toSet());
+    }
+}
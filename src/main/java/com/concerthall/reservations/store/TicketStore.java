@@ -0,0 +1,98 @@
+package com.concerthall.reservations.store;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Storage for tickets. Users, events and venues stay in JPA; returned tickets reference
+ * them as entities (possibly lazy proxies).
+ * <p>
+ * Implementations must behave the same way; TicketStoreConformanceTest pins the contract.
+ * tickets.store.type selects the implementation: jpa (default) or log.
+ */
+public interface TicketStore {
+
+    /**
+     * Inserts or replaces the ticket. A new ticket gets its id, timestamps and event date
+     * here. A second active ticket (PENDING_PAYMENT, PAID, RESERVED) for the same user, event
+     * and party index is rejected with a DataIntegrityViolationException, at the latest when
+     * the surrounding transaction commits.
+     */
+    Ticket save(Ticket ticket);
+
+    /**
+     * Saves the tickets as save does each, written together where the store can batch them
+     */
+    List<Ticket> saveAll(List<Ticket> tickets);
+
+    Optional<Ticket> findById(UUID id);
+
+    Optional<Ticket> findByExternalReservationId(String externalReservationId);
+
+    /**
+     * All tickets of the user, archived ones included, newest event first
+     */
+    List<Ticket> findByUser(UUID userId);
+
+    boolean existsForUserAndEvent(UUID userId, Event event, Collection<TicketStatus> statuses);
+
+    /**
+     * Of the given events, those the user holds a ticket in the given statuses for
+     */
+    Set<UUID> findEventsWithUserTickets(UUID userId, Collection<Event> events, Collection<TicketStatus> statuses);
+
+    long countByEvent(Event event, Collection<TicketStatus> statuses);
+
+    /**
+     * Ticket count per event id in the given statuses; zero for events without tickets
+     */
+    Map<UUID, Long> countByEvents(Collection<Event> events, Collection<TicketStatus> statuses);
+
+    /**
+     * Total charged for the event's tickets in the given statuses; zero when there are none
+     */
+    BigDecimal sumPriceByEvent(Event event, Collection<TicketStatus> statuses);
+
+    /**
+     * Tickets still waiting for payment after their deadline passed, at most limit of
+     * them, earliest deadline first
+     */
+    List<Ticket> findExpiredPayments(LocalDateTime now, int limit);
+
+    /**
+     * Number of tickets findExpiredPayments would find without a limit
+     */
+    long countExpiredPayments(LocalDateTime now);
+
+    /**
+     * Moves the event's tickets to its new date; returns the number of tickets changed
+     */
+    int rescheduleEvent(UUID eventId, LocalDateTime eventDateTime);
+
+    /**
+     * The event's tickets that were given an admission index, in any status. With
+     * changedSince, only those updated after it.
+     */
+    List<Ticket> findAdmissions(Event event, LocalDateTime changedSince);
+
+    /**
+     * Sets checkedInAt on those of the given tickets that are PAID tickets of the event and
+     * not checked in yet, in one write. Returns the ids of the tickets changed.
+     */
+    Set<UUID> recordCheckIns(Event event, Map<UUID, LocalDateTime> checkIns);
+
+    /**
+     * Those of the given tickets that belong to the event, in any status
+     */
+    List<Ticket> findByEventAndIds(Event event, Collection<UUID> ids);
+}
@@ -0,0 +1,23 @@
+package com.concerthall.reservations.store;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "tickets.store")
+@Data
+public class TicketStoreProperties {
+    private String type = "jpa"; // jpa or log
+    private Log log = new Log();
+
+    @Data
+    public static class Log {
+        private String directory = "data/tickets";
+        private Integer partitions = 16; // fixed once data exists, tickets are placed by event id hash
+        private Boolean syncOnWrite = true; // fsync every append before the save returns
+        private Long compactionMinBytes = 64L * 1024 * 1024; // partition files smaller than this are left alone
+        private Double compactionRatio = 2.0; // rewrite once the file is this many times its live data
+        private Long compactionIntervalMs = 60000L;
+    }
+}
@@ -0,0 +1,481 @@
+package com.concerthall.reservations.store.log;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.domain.id.UuidV7;
+import com.concerthall.reservations.store.TicketStore;
+import com.concerthall.reservations.store.TicketStoreProperties;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tickets in append-only files on local disk, indexed in memory.
+ * <p>
+ * Tickets are spread over a fixed number of partitions by event id, so all tickets of an
+ * event live in one file and appends to different events do not contend. Each save appends
+ * the full ticket; the file is only read back when the store opens. Lookups by id, user,
+ * external reservation and pending payment are answered from maps rebuilt during that replay.
+ * <p>
+ * One process owns the directory, enforced with a file lock. Running more than one instance
+ * of the application needs the jpa store. A save is durable once it returns when
+ * sync-on-write is on; with it off, a power loss can drop the last writes, a process crash
+ * cannot. When the surrounding transaction rolls back, the tickets it saved are written back
+ * to their earlier state. Concurrent transactions are not isolated from each other; the
+ * pessimistic lock on the event row still orders reservations for the same event.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tickets.store", name = "type", havingValue = "log")
+public class LogTicketStore implements TicketStore, Closeable {
+
+    // Statuses covered by unique_active_user_event in the jpa store
+    private static final Set<TicketStatus> ACTIVE =
+            EnumSet.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID, TicketStatus.RESERVED);
+    private static final Pattern PARTITION_FILE = Pattern.compile("partition-(\\d+)\\.log");
+
+    private final TicketReferences references;
+    private final long compactionMinBytes;
+    private final double compactionRatio;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final TicketLogPartition[] partitions;
+
+    private final Map<UUID, TicketLogPartition> locations = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> ticketsByUser = new ConcurrentHashMap<>();
+    private final Map<String, UUID> ticketsByExternalReservation = new ConcurrentHashMap<>();
+    private final Map<UUID, TicketRecord> pendingPayments = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LogTicketStore(final TicketStoreProperties properties, final EntityManager entityManager) throws IOException {
+        this(Path.of(properties.getLog().getDirectory()), properties.getLog(), TicketReferences.of(entityManager));
+    }
+
+    public LogTicketStore(
+            final Path directory,
+            final TicketStoreProperties.Log settings,
+            final TicketReferences references
+    ) throws IOException {
+        this.references = references;
+        this.compactionMinBytes = settings.getCompactionMinBytes();
+        this.compactionRatio = settings.getCompactionRatio();
+
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve("LOCK"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.lock = tryLock(lockChannel, directory);
+        final long started = System.nanoTime();
+        this.partitions = new TicketLogPartition[settings.getPartitions()];
+        try {
+            checkPartitionCount(directory, partitions.length);
+            for (int i = 0; i < partitions.length; i++) {
+                partitions[i] = new TicketLogPartition(directory.resolve(String.format("partition-%03d.log", i)),
+                        settings.getSyncOnWrite(), this::indexed);
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+        log.info("Opened ticket log {} with {} tickets in {} ms", directory.toAbsolutePath(), locations.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public Ticket save(final Ticket ticket) {
+        final LocalDateTime now = LocalDateTime.now();
+        if (ticket.getId() == null) {
+            ticket.setId(UuidV7.generate());
+        }
+        if (ticket.getReservedAt() == null) {
+            ticket.setReservedAt(now);
+        }
+        if (ticket.getEventDateTime() == null) {
+            ticket.setEventDateTime(ticket.getEvent().getEventDateTime());
+        }
+        ticket.setUpdatedAt(now);
+
+        final TicketRecord record = TicketRecord.of(ticket);
+        final TicketLogPartition partition = partitionFor(record.eventId());
+        final TicketRecord previous;
+        synchronized (partition) {
+            final TicketLogPartition current = locations.get(record.id());
+            if (current != null && current != partition) {
+                throw new IllegalArgumentException("Ticket " + record.id() + " cannot move to another event");
+            }
+            previous = partition.get(record.id());
+            if (ACTIVE.contains(record.status()) && hasOtherActiveTicket(partition, record)) {
+                throw new DataIntegrityViolationException(
+                        "User " + record.userId() + " already holds active ticket " + record.partyIndex()
+                                + " for event " + record.eventId());
+            }
+            partition.append(record);
+        }
+        undoOnRollback(partition, record.id(), previous);
+        return ticket;
+    }
+
+    @Override
+    public List<Ticket> saveAll(final List<Ticket> tickets) {
+        tickets.forEach(this::save);
+        return tickets;
+    }
+
+    @Override
+    public Optional<Ticket> findById(final UUID id) {
+        return Optional.ofNullable(find(id)).map(this::toTicket);
+    }
+
+    @Override
+    public Optional<Ticket> findByExternalReservationId(final String externalReservationId) {
+        final UUID id = ticketsByExternalReservation.get(externalReservationId);
+        return id == null ? Optional.empty() : findById(id);
+    }
+
+    @Override
+    public List<Ticket> findByUser(final UUID userId) {
+        return userTickets(userId)
+                .sorted(Comparator.comparing(TicketRecord::eventDateTime).reversed())
+                .map(this::toTicket)
+                .toList();
+    }
+
+    @Override
+    public boolean existsForUserAndEvent(
+            final UUID userId,
+            final Event event,
+            final Collection<TicketStatus> statuses
+    ) {
+        return userTickets(userId)
+                .anyMatch(record -> record.eventId().equals(event.getId()) && statuses.contains(record.status()));
+    }
+
+    @Override
+    public Set<UUID> findEventsWithUserTickets(
+            final UUID userId,
+            final Collection<Event> events,
+            final Collection<TicketStatus> statuses
+    ) {
+        final Set<UUID> eventIds = events.stream().map(Event::getId).collect(Collectors.toSet());
+        return userTickets(userId)
+                .filter(record -> eventIds.contains(record.eventId()) && statuses.contains(record.status()))
+                .map(TicketRecord::eventId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public long countByEvent(final Event event, final Collection<TicketStatus> statuses) {
+        return partitionFor(event.getId()).count(event.getId(), statuses);
+    }
+
+    @Override
+    public Map<UUID, Long> countByEvents(final Collection<Event> events, final Collection<TicketStatus> statuses) {
+        final Map<UUID, Long> counts = new HashMap<>();
+        events.forEach(event -> counts.put(event.getId(), countByEvent(event, statuses)));
+        return counts;
+    }
+
+    @Override
+    public BigDecimal sumPriceByEvent(final Event event, final Collection<TicketStatus> statuses) {
+        final Set<TicketStatus> wanted = Set.copyOf(statuses);
+        BigDecimal sum = BigDecimal.ZERO;
+        for (TicketRecord record : partitionFor(event.getId()).eventTickets(event.getId())) {
+            if (wanted.contains(record.status())) {
+                sum = sum.add(record.price());
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public List<Ticket> findExpiredPayments(final LocalDateTime now, final int limit) {
+        return pendingPayments.values().stream()
+                .filter(record -> record.paymentExpiresAt().isBefore(now))
+                .sorted(Comparator.comparing(TicketRecord::paymentExpiresAt))
+                .limit(limit)
+                .map(this::toTicket)
+                .toList();
+    }
+
+    @Override
+    public long countExpiredPayments(final LocalDateTime now) {
+        return pendingPayments.values().stream()
+                .filter(record -> record.paymentExpiresAt().isBefore(now))
+                .count();
+    }
+
+    @Override
+    public int rescheduleEvent(final UUID eventId, final LocalDateTime eventDateTime) {
+        final LocalDateTime now = LocalDateTime.now();
+        final TicketLogPartition partition = partitionFor(eventId);
+        int changed = 0;
+        synchronized (partition) {
+            for (TicketRecord record : partition.eventTickets(eventId)) {
+                if (!record.eventDateTime().equals(eventDateTime)) {
+                    partition.append(record.withEventDateTime(eventDateTime, now));
+                    undoOnRollback(partition, record.id(), record);
+                    changed++;
+                }
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public List<Ticket> findAdmissions(final Event event, final LocalDateTime changedSince) {
+        return partitionFor(event.getId()).eventTickets(event.getId()).stream()
+                .filter(record -> record.admissionIndex() != null)
+                .filter(record -> changedSince == null || record.updatedAt().isAfter(changedSince))
+                .map(this::toTicket)
+                .toList();
+    }
+
+    @Override
+    public Set<UUID> recordCheckIns(final Event event, final Map<UUID, LocalDateTime> checkIns) {
+        final LocalDateTime now = LocalDateTime.now();
+        final TicketLogPartition partition = partitionFor(event.getId());
+        final Set<UUID> changed = new HashSet<>();
+        synchronized (partition) {
+            checkIns.forEach((id, checkedInAt) -> {
+                final TicketRecord record = partition.get(id);
+                if (record != null && !record.deleted() && record.eventId().equals(event.getId())
+                        && record.status() == TicketStatus.PAID && record.checkedInAt() == null) {
+                    partition.append(record.withCheckedInAt(checkedInAt, now));
+                    undoOnRollback(partition, id, record);
+                    changed.add(id);
+                }
+            });
+        }
+        return changed;
+    }
+
+    @Override
+    public List<Ticket> findByEventAndIds(final Event event, final Collection<UUID> ids) {
+        final TicketLogPartition partition = partitionFor(event.getId());
+        return ids.stream()
+                .map(partition::get)
+                .filter(record -> record != null && !record.deleted() && record.eventId().equals(event.getId()))
+                .map(this::toTicket)
+                .toList();
+    }
+
+    /**
+     * Rewrites partitions whose files are mostly superseded records
+     */
+    @Scheduled(fixedDelayString = "${tickets.store.log.compaction-interval-ms:60000}")
+    public void compact() {
+        for (TicketLogPartition partition : partitions) {
+            if (partition.needsCompaction(compactionMinBytes, compactionRatio)) {
+                try {
+                    partition.compact();
+                } catch (IOException e) {
+                    log.error("Ticket log compaction failed", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (TicketLogPartition partition : partitions) {
+            if (partition != null) {
+                partition.close();
+            }
+        }
+        lock.release();
+        lockChannel.close();
+    }
+
+    private TicketLogPartition partitionFor(final UUID eventId) {
+        return partitions[Math.floorMod(eventId.hashCode(), partitions.length)];
+    }
+
+    private TicketRecord find(final UUID id) {
+        final TicketLogPartition partition = locations.get(id);
+        return partition == null ? null : partition.get(id);
+    }
+
+    private Stream<TicketRecord> userTickets(final UUID userId) {
+        return ticketsByUser.getOrDefault(userId, Set.of()).stream()
+                .map(this::find)
+                .filter(Objects::nonNull);
+    }
+
+    // Called with the partition locked; all tickets of the event are in that partition
+    private boolean hasOtherActiveTicket(final TicketLogPartition partition, final TicketRecord record) {
+        for (UUID id : ticketsByUser.getOrDefault(record.userId(), Set.of())) {
+            final TicketRecord other = partition.get(id);
+            if (other != null && !id.equals(record.id()) && other.eventId().equals(record.eventId())
+                    && other.partyIndex() == record.partyIndex() && ACTIVE.contains(other.status())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void indexed(final TicketLogPartition partition, final TicketRecord previous, final TicketRecord current) {
+        if (previous != null) {
+            pendingPayments.remove(previous.id());
+            if (previous.externalReservationId() != null) {
+                ticketsByExternalReservation.remove(previous.externalReservationId(), previous.id());
+            }
+        }
+        if (current == null) {
+            if (previous != null) {
+                locations.remove(previous.id());
+                ticketsByUser.computeIfPresent(previous.userId(), (user, ids) -> {
+                    ids.remove(previous.id());
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+            return;
+        }
+        locations.put(current.id(), partition);
+        ticketsByUser.compute(current.userId(), (user, ids) -> {
+            final Set<UUID> tickets = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            tickets.add(current.id());
+            return tickets;
+        });
+        if (current.externalReservationId() != null) {
+            ticketsByExternalReservation.put(current.externalReservationId(), current.id());
+        }
+        if (current.pendingPayment()) {
+            pendingPayments.put(current.id(), current);
+        }
+    }
+
+    private void undoOnRollback(final TicketLogPartition partition, final UUID id, final TicketRecord previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Synchronizations are suspended with their transaction, so this finds the current one's
+        final RollbackUndo undo = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(sync -> sync instanceof RollbackUndo owned && owned.store() == this)
+                .map(RollbackUndo.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    final RollbackUndo created = new RollbackUndo();
+                    TransactionSynchronizationManager.registerSynchronization(created);
+                    return created;
+                });
+        // The first save in the transaction holds the state to go back to
+        undo.before.putIfAbsent(id, new Undo(partition, previous));
+    }
+
+    private Ticket toTicket(final TicketRecord record) {
+        return Ticket.builder()
+                .id(record.id())
+                .ticketNumber(record.ticketNumber())
+                .user(references.user(record.userId()))
+                .event(references.event(record.eventId()))
+                .eventDateTime(record.eventDateTime())
+                .price(record.price())
+                .status(record.status())
+                .reservedAt(record.reservedAt())
+                .updatedAt(record.updatedAt())
+                .paymentExpiresAt(record.paymentExpiresAt())
+                .externalReservationId(record.externalReservationId())
+                .externalConfirmationCode(record.externalConfirmationCode())
+                .seatIndex(record.seatIndex())
+                .admissionIndex(record.admissionIndex())
+                .checkedInAt(record.checkedInAt())
+                .partyIndex(record.partyIndex())
+                .build();
+    }
+
+    private static FileLock tryLock(final FileChannel channel, final Path directory) throws IOException {
+        FileLock acquired;
+        try {
+            acquired = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        }
+        if (acquired == null) {
+            channel.close();
+            throw new IllegalStateException("Ticket log " + directory + " is in use by another store");
+        }
+        return acquired;
+    }
+
+    private static void checkPartitionCount(final Path directory, final int partitions) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            final int highest = files
+                    .map(file -> PARTITION_FILE.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
+                    .max()
+                    .orElse(-1);
+            if (highest >= 0 && highest != partitions - 1) {
+                // Tickets are placed by event id hash, a different count would look in the wrong files
+                throw new IllegalStateException("Ticket log " + directory + " has " + (highest + 1)
+                        + " partitions, configured " + partitions);
+            }
+        }
+    }
+
+    private record Undo(TicketLogPartition partition, TicketRecord previous) {
+    }
+
+    private final class RollbackUndo implements TransactionSynchronization {
+        private final Map<UUID, Undo> before = new LinkedHashMap<>();
+
+        LogTicketStore store() {
+            return LogTicketStore.this;
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            if (status != STATUS_ROLLED_BACK) {
+                return;
+            }
+            before.forEach((id, undo) -> {
+                try {
+                    synchronized (undo.partition()) {
+                        final TicketRecord current = undo.partition().get(id);
+                        if (undo.previous() != null) {
+                            undo.partition().append(undo.previous());
+                        } else if (current != null) {
+                            undo.partition().append(current.asDeleted());
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Could not roll back ticket {} in the ticket log", id, e);
+                }
+            });
+            log.debug("Rolled back {} tickets in the ticket log", before.size());
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.concerthall.reservations.store.log;
+
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * One append-only file and the tickets it holds. Writes are serialised on the partition's
+ * monitor; reads go to concurrent maps without locking.
+ * <p>
+ * Opening replays the file. A torn frame at the tail, left by a crash mid-append, is
+ * truncated away. Compaction rewrites the live records to a new file and renames it over
+ * the old one, so a crash leaves either the old or the new file, never a mix.
+ */
+@Slf4j
+final class TicketLogPartition implements Closeable {
+
+    /**
+     * Told about every applied record; previous and current are null when the ticket did not
+     * exist before or was deleted. Called on the writing thread while the partition is locked.
+     */
+    interface Listener {
+        void applied(TicketLogPartition partition, TicketRecord previous, TicketRecord current);
+    }
+
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+
+    private final Path file;
+    private final boolean syncOnWrite;
+    private final Listener listener;
+
+    private final Map<UUID, TicketRecord> live = new ConcurrentHashMap<>();
+    private final Map<UUID, EventTickets> events = new ConcurrentHashMap<>();
+    // Encoded size of each live record, to know how much of the file is garbage
+    private final Map<UUID, Integer> liveSizes = new HashMap<>();
+
+    private FileChannel channel;
+    private long fileBytes;
+    private long liveBytes;
+
+    TicketLogPartition(final Path file, final boolean syncOnWrite, final Listener listener) throws IOException {
+        this.file = file;
+        this.syncOnWrite = syncOnWrite;
+        this.listener = listener;
+        // Left over from a compaction that did not finish; the original file is intact
+        Files.deleteIfExists(compactionFile());
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        replay();
+    }
+
+    TicketRecord get(final UUID id) {
+        return live.get(id);
+    }
+
+    Collection<TicketRecord> eventTickets(final UUID eventId) {
+        final EventTickets tickets = events.get(eventId);
+        if (tickets == null) {
+            return List.of();
+        }
+        final List<TicketRecord> records = new ArrayList<>(tickets.ids.size());
+        for (UUID id : tickets.ids) {
+            final TicketRecord record = live.get(id);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    long count(final UUID eventId, final Collection<TicketStatus> statuses) {
+        final EventTickets tickets = events.get(eventId);
+        if (tickets == null) {
+            return 0;
+        }
+        long count = 0;
+        for (TicketStatus status : Set.copyOf(statuses)) {
+            count += tickets.counts.get(status.ordinal());
+        }
+        return count;
+    }
+
+    synchronized void append(final TicketRecord record) {
+        final ByteBuffer frame = TicketRecordCodec.encode(record);
+        final int size = frame.remaining();
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            if (syncOnWrite) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            discardPartialFrame();
+            throw new UncheckedIOException("Could not append to " + file, e);
+        }
+        fileBytes += size;
+        apply(record, size);
+    }
+
+    synchronized boolean needsCompaction(final long minBytes, final double ratio) {
+        return fileBytes >= minBytes && fileBytes > liveBytes * ratio;
+    }
+
+    synchronized void compact() throws IOException {
+        final long before = fileBytes;
+        final Path target = compactionFile();
+        try (FileChannel out = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer batch = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            for (TicketRecord record : live.values()) {
+                final ByteBuffer frame = TicketRecordCodec.encode(record);
+                if (frame.remaining() > batch.remaining()) {
+                    writeFully(out, batch.flip());
+                    batch.clear();
+                }
+                batch.put(frame);
+            }
+            writeFully(out, batch.flip());
+            out.force(true);
+        }
+        channel.close();
+        Files.move(target, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        fileBytes = channel.size();
+        channel.position(fileBytes);
+        liveBytes = fileBytes;
+        log.info("Compacted {} from {} to {} bytes ({} tickets)", file.getFileName(), before, fileBytes, live.size());
+    }
+
+    synchronized long fileBytes() {
+        return fileBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void replay() throws IOException {
+        final long size = channel.size();
+        final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        long validEnd = 0;
+        boolean eof = false;
+        while (!eof) {
+            eof = channel.read(buffer) < 0;
+            buffer.flip();
+            int start = buffer.position();
+            for (TicketRecord record = TicketRecordCodec.decode(buffer); record != null;
+                 record = TicketRecordCodec.decode(buffer)) {
+                final int frameBytes = buffer.position() - start;
+                apply(record, frameBytes);
+                validEnd += frameBytes;
+                start = buffer.position();
+            }
+            // A full buffer without one decodable frame can only be corruption
+            final boolean stuck = buffer.remaining() == buffer.capacity();
+            buffer.compact();
+            if (stuck) {
+                break;
+            }
+        }
+        if (validEnd < size) {
+            log.warn("Truncating {} bytes of incomplete or corrupt records at the end of {}",
+                    size - validEnd, file.getFileName());
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        fileBytes = validEnd;
+        channel.position(validEnd);
+    }
+
+    private void apply(final TicketRecord record, final int frameBytes) {
+        final TicketRecord previous = live.get(record.id());
+        final Integer previousBytes = liveSizes.get(record.id());
+        if (previous != null) {
+            events.get(previous.eventId()).remove(previous);
+        }
+        if (record.deleted()) {
+            live.remove(record.id());
+            liveSizes.remove(record.id());
+        } else {
+            live.put(record.id(), record);
+            liveSizes.put(record.id(), frameBytes);
+            events.computeIfAbsent(record.eventId(), id -> new EventTickets()).add(record);
+        }
+        liveBytes += (record.deleted() ? 0 : frameBytes) - Objects.requireNonNullElse(previousBytes, 0);
+        listener.applied(this, previous, record.deleted() ? null : record);
+    }
+
+    private void discardPartialFrame() {
+        try {
+            channel.truncate(fileBytes);
+            channel.position(fileBytes);
+        } catch (IOException e) {
+            // Further appends would land behind the torn frame and be lost on replay
+            log.error("Could not roll back a failed append to {}; closing the partition", file, e);
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Already failing
+            }
+        }
+    }
+
+    private void syncDirectory() {
+        try (FileChannel directory = FileChannel.open(file.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; the rename itself is still atomic
+            log.debug("Could not sync directory {}", file.getParent(), e);
+        }
+    }
+
+    private Path compactionFile() {
+        return file.resolveSibling(file.getFileName() + ".compact");
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class EventTickets {
+        private final Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        private final AtomicLongArray counts = new AtomicLongArray(TicketStatus.values().length);
+
+        void add(final TicketRecord record) {
+            ids.add(record.id());
+            counts.incrementAndGet(record.status().ordinal());
+        }
+
+        void remove(final TicketRecord record) {
+            ids.remove(record.id());
+            counts.decrementAndGet(record.status().ordinal());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.concerthall.reservations.store.log;
+
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One version of a ticket as written to the log. The newest record for an id wins; a
+ * deleted record removes the ticket (written when the insert is rolled back).
+ */
+record TicketRecord(
+        UUID id,
+        String ticketNumber,
+        UUID userId,
+        UUID eventId,
+        LocalDateTime eventDateTime,
+        BigDecimal price,
+        TicketStatus status,
+        LocalDateTime reservedAt,
+        LocalDateTime updatedAt,
+        LocalDateTime paymentExpiresAt,
+        String externalReservationId,
+        String externalConfirmationCode,
+        Integer seatIndex,
+        Integer admissionIndex,
+        LocalDateTime checkedInAt,
+        int partyIndex,
+        boolean deleted
+) {
+
+    static TicketRecord of(final Ticket ticket) {
+        return new TicketRecord(
+                ticket.getId(),
+                ticket.getTicketNumber(),
+                ticket.getUser().getId(),
+                ticket.getEvent().getId(),
+                ticket.getEventDateTime(),
+                ticket.getPrice(),
+                ticket.getStatus(),
+                ticket.getReservedAt(),
+                ticket.getUpdatedAt(),
+                ticket.getPaymentExpiresAt(),
+                ticket.getExternalReservationId(),
+                ticket.getExternalConfirmationCode(),
+                ticket.getSeatIndex(),
+                ticket.getAdmissionIndex(),
+                ticket.getCheckedInAt(),
+                ticket.getPartyIndex() != null ? ticket.getPartyIndex() : 0,
+                false);
+    }
+
+    TicketRecord asDeleted() {
+        return new TicketRecord(id, ticketNumber, userId, eventId, eventDateTime, price, status,
+                reservedAt, updatedAt, paymentExpiresAt, externalReservationId, externalConfirmationCode, seatIndex,
+                admissionIndex, checkedInAt, partyIndex, true);
+    }
+
+    TicketRecord withEventDateTime(final LocalDateTime newEventDateTime, final LocalDateTime now) {
+        return new TicketRecord(id, ticketNumber, userId, eventId, newEventDateTime, price, status,
+                reservedAt, now, paymentExpiresAt, externalReservationId, externalConfirmationCode, seatIndex,
+                admissionIndex, checkedInAt, partyIndex, deleted);
+    }
+
+    TicketRecord withCheckedInAt(final LocalDateTime newCheckedInAt, final LocalDateTime now) {
+        return new TicketRecord(id, ticketNumber, userId, eventId, eventDateTime, price, status,
+                reservedAt, now, paymentExpiresAt, externalReservationId, externalConfirmationCode, seatIndex,
+                admissionIndex, newCheckedInAt, partyIndex, deleted);
+    }
+
+    boolean pendingPayment() {
+        return !deleted && status == TicketStatus.PENDING_PAYMENT && paymentExpiresAt != null;
+    }
+}
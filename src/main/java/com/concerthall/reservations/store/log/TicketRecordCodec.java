@@ -0,0 +1,170 @@
+package com.concerthall.reservations.store.log;
+
+import com.concerthall.reservations.domain.enums.TicketStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Frame layout: int payload length, int CRC32C of the payload, payload. A frame that is cut
+ * short or fails its checksum marks the end of the readable log.
+ */
+final class TicketRecordCodec {
+
+    static final int HEADER_BYTES = 8;
+    // Far above any real ticket; guards against reading garbage as a length
+    static final int MAX_PAYLOAD_BYTES = 64 * 1024;
+
+    private static final byte VERSION = 1;
+    private static final int DELETED = 1;
+    private static final int HAS_EXPIRY = 1 << 1;
+    private static final int HAS_RESERVATION = 1 << 2;
+    private static final int HAS_CONFIRMATION = 1 << 3;
+    // Added after version 1 shipped; older records simply lack the flag
+    private static final int HAS_SEAT = 1 << 4;
+    private static final int HAS_ADMISSION = 1 << 5;
+    private static final int HAS_CHECK_IN = 1 << 6;
+    private static final int HAS_PARTY_INDEX = 1 << 7;
+
+    private TicketRecordCodec() {
+    }
+
+    static ByteBuffer encode(final TicketRecord record) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        bytes.write(new byte[HEADER_BYTES], 0, HEADER_BYTES);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            int flags = record.deleted() ? DELETED : 0;
+            flags |= record.paymentExpiresAt() != null ? HAS_EXPIRY : 0;
+            flags |= record.externalReservationId() != null ? HAS_RESERVATION : 0;
+            flags |= record.externalConfirmationCode() != null ? HAS_CONFIRMATION : 0;
+            flags |= record.seatIndex() != null ? HAS_SEAT : 0;
+            flags |= record.admissionIndex() != null ? HAS_ADMISSION : 0;
+            flags |= record.checkedInAt() != null ? HAS_CHECK_IN : 0;
+            flags |= record.partyIndex() != 0 ? HAS_PARTY_INDEX : 0;
+            out.writeByte(VERSION);
+            out.writeByte(flags);
+            writeUuid(out, record.id());
+            writeUuid(out, record.userId());
+            writeUuid(out, record.eventId());
+            out.writeUTF(record.ticketNumber());
+            writeTime(out, record.eventDateTime());
+            out.writeUTF(record.price().toPlainString());
+            out.writeUTF(record.status().name());
+            writeTime(out, record.reservedAt());
+            writeTime(out, record.updatedAt());
+            if (record.paymentExpiresAt() != null) {
+                writeTime(out, record.paymentExpiresAt());
+            }
+            if (record.externalReservationId() != null) {
+                out.writeUTF(record.externalReservationId());
+            }
+            if (record.externalConfirmationCode() != null) {
+                out.writeUTF(record.externalConfirmationCode());
+            }
+            if (record.seatIndex() != null) {
+                out.writeInt(record.seatIndex());
+            }
+            if (record.admissionIndex() != null) {
+                out.writeInt(record.admissionIndex());
+            }
+            if (record.checkedInAt() != null) {
+                writeTime(out, record.checkedInAt());
+            }
+            if (record.partyIndex() != 0) {
+                out.writeInt(record.partyIndex());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+        final int payloadLength = frame.capacity() - HEADER_BYTES;
+        final CRC32C crc = new CRC32C();
+        crc.update(frame.array(), HEADER_BYTES, payloadLength);
+        frame.putInt(0, payloadLength);
+        frame.putInt(4, (int) crc.getValue());
+        return frame;
+    }
+
+    /**
+     * Checks the frame at the buffer's position and advances past it. Returns null, leaving
+     * the position unchanged, when the rest of the buffer is not a complete valid frame.
+     */
+    static TicketRecord decode(final ByteBuffer buffer) {
+        final int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        final int length = buffer.getInt(start);
+        final int checksum = buffer.getInt(start + 4);
+        if (length <= 0 || length > MAX_PAYLOAD_BYTES || buffer.remaining() - HEADER_BYTES < length) {
+            return null;
+        }
+        final CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + HEADER_BYTES, length));
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        final byte[] payload = new byte[length];
+        buffer.get(start + HEADER_BYTES, payload);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            final byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unknown ticket record version " + version);
+            }
+            final int flags = in.readUnsignedByte();
+            final UUID id = readUuid(in);
+            final UUID userId = readUuid(in);
+            final UUID eventId = readUuid(in);
+            final String ticketNumber = in.readUTF();
+            final LocalDateTime eventDateTime = readTime(in);
+            final BigDecimal price = new BigDecimal(in.readUTF());
+            final TicketStatus status = TicketStatus.valueOf(in.readUTF());
+            final LocalDateTime reservedAt = readTime(in);
+            final LocalDateTime updatedAt = readTime(in);
+            final LocalDateTime paymentExpiresAt = (flags & HAS_EXPIRY) != 0 ? readTime(in) : null;
+            final String externalReservationId = (flags & HAS_RESERVATION) != 0 ? in.readUTF() : null;
+            final String externalConfirmationCode = (flags & HAS_CONFIRMATION) != 0 ? in.readUTF() : null;
+            final Integer seatIndex = (flags & HAS_SEAT) != 0 ? in.readInt() : null;
+            final Integer admissionIndex = (flags & HAS_ADMISSION) != 0 ? in.readInt() : null;
+            final LocalDateTime checkedInAt = (flags & HAS_CHECK_IN) != 0 ? readTime(in) : null;
+            final int partyIndex = (flags & HAS_PARTY_INDEX) != 0 ? in.readInt() : 0;
+            buffer.position(start + HEADER_BYTES + length);
+            return new TicketRecord(id, ticketNumber, userId, eventId, eventDateTime, price, status,
+                    reservedAt, updatedAt, paymentExpiresAt, externalReservationId, externalConfirmationCode,
+                    seatIndex, admissionIndex, checkedInAt, partyIndex, (flags & DELETED) != 0);
+        } catch (IOException e) {
+            // The checksum matched, so this is a writer bug rather than a torn write
+            throw new IllegalStateException("Corrupt ticket record at offset " + start, e);
+        }
+    }
+
+    private static void writeUuid(final DataOutputStream out, final UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(final DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeTime(final DataOutputStream out, final LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(final DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
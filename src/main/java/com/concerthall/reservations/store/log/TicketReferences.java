@@ -0,0 +1,35 @@
+package com.concerthall.reservations.store.log;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.User;
+import jakarta.persistence.EntityManager;
+
+import java.util.UUID;
+
+/**
+ * Turns the user and event ids kept in the log back into entities for the Ticket.
+ */
+public interface TicketReferences {
+
+    User user(UUID id);
+
+    Event event(UUID id);
+
+    /**
+     * Lazy proxies from the current persistence context; nothing is loaded until a
+     * property other than the id is read
+     */
+    static TicketReferences of(final EntityManager entityManager) {
+        return new TicketReferences() {
+            @Override
+            public User user(final UUID id) {
+                return entityManager.getReference(User.class, id);
+            }
+
+            @Override
+            public Event event(final UUID id) {
+                return entityManager.getReference(Event.class, id);
+            }
+        };
+    }
+}
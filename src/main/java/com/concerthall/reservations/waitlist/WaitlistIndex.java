@@ -0,0 +1,78 @@
+package com.concerthall.reservations.waitlist;
+
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationTarget;
+import com.concerthall.reservations.cache.invalidation.CachedEntity;
+import com.concerthall.reservations.repository.WaitlistRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Queue positions of waiting customers, kept in memory so customers can poll their place
+ * without a query. An event's queue is loaded on its first lookup, keyed by email so the
+ * lookup does not need the user either; events nobody waits for are kept as well.
+ * <p>
+ * Joins, departures and promotions evict the event: WaitlistService does so locally after
+ * commit, other nodes hear through the invalidation bus. A burst of changes costs one
+ * reload per node at the next lookup, not one per change.
+ */
+@Component
+public class WaitlistIndex implements CacheInvalidationTarget {
+
+    private final WaitlistRepository waitlistRepository;
+    private final Map<UUID, Map<String, Integer>> queues = new ConcurrentHashMap<>();
+
+    public WaitlistIndex(final WaitlistRepository waitlistRepository, final MeterRegistry meterRegistry) {
+        this.waitlistRepository = waitlistRepository;
+        Gauge.builder("waitlist.events", queues, Map::size)
+                .description("Events with their waitlist in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The customer's 1-based place in the event's queue, or null when not waiting
+     */
+    public Integer position(final UUID eventId, final String email) {
+        return queue(eventId).get(email);
+    }
+
+    public int size(final UUID eventId) {
+        return queue(eventId).size();
+    }
+
+    public void evict(final UUID eventId) {
+        queues.remove(eventId);
+    }
+
+    @Override
+    public void invalidate(final CachedEntity entity, final UUID id) {
+        // A deleted event takes its waitlist with it
+        if (entity == CachedEntity.WAITLIST || entity == CachedEntity.EVENT) {
+            evict(id);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        queues.clear();
+    }
+
+    private Map<String, Integer> queue(final UUID eventId) {
+        return queues.computeIfAbsent(eventId, this::load);
+    }
+
+    private Map<String, Integer> load(final UUID eventId) {
+        final List<String> emails = waitlistRepository.findEmailsInQueueOrder(eventId);
+        final Map<String, Integer> positions = new HashMap<>(emails.size() * 4 / 3 + 1);
+        for (int i = 0; i < emails.size(); i++) {
+            positions.put(emails.get(i), i + 1);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,59 @@
+package com.concerthall.reservations.waitlist;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Events that may have places for their waiting customers. Cancellations, expired and
+ * failed payments mark their event; WaitlistService drains the set on a schedule and
+ * promotes each event's customers in one batch, however many places were freed.
+ */
+@Component
+public class WaitlistPromotions {
+
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Marks the event once the current transaction commits; the freed place does not exist
+     * before that
+     */
+    public void capacityFreed(final UUID eventId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(eventId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.add(eventId);
+            }
+        });
+    }
+
+    /**
+     * Marks the event right away, for events known to have free places
+     */
+    public void add(final UUID eventId) {
+        pending.add(eventId);
+    }
+
+    /**
+     * Removes and returns the marked events
+     */
+    public List<UUID> drain() {
+        final List<UUID> events = new ArrayList<>(pending.size());
+        for (UUID eventId : pending) {
+            if (pending.remove(eventId)) {
+                events.add(eventId);
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,14 @@
+package com.concerthall.reservations.waitlist;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "waitlist")
+@Data
+public class WaitlistProperties {
+    private Integer batchSize = 100; // customers promoted per event and transaction
+    private Long promotionIntervalMs = 1000L; // how soon freed places are offered
+    private Long sweepIntervalMs = 60000L; // how often every waitlisted event is rechecked
+}
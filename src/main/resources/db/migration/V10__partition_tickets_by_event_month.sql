@@ -0,0 +1,102 @@
+-- Range-partition tickets by the month of their event. Active-ticket counts,
+-- duplicate checks and the expiry sweep carry the event date and only touch
+-- the partitions of upcoming events. Months whose events are all over are
+-- moved to tickets_archive by TicketPartitionService.
+
+-- Denormalized partition key, kept in sync with events.event_date_time
+ALTER TABLE tickets ADD COLUMN event_date_time TIMESTAMP;
+
+UPDATE tickets t SET event_date_time = e.event_date_time
+FROM events e
+WHERE e.id = t.event_id;
+
+ALTER TABLE tickets ALTER COLUMN event_date_time SET NOT NULL;
+
+-- A foreign key to a partitioned table must include the partition key.
+-- Sagas keep the ticket id as a plain reference.
+ALTER TABLE external_reservation_sagas DROP CONSTRAINT IF EXISTS external_reservation_sagas_ticket_id_fkey;
+
+CREATE TABLE tickets_partitioned (
+    id UUID NOT NULL,
+    ticket_number VARCHAR(100) NOT NULL,
+    user_id UUID NOT NULL,
+    event_id UUID NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    reserved_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    payment_expires_at TIMESTAMP,
+    external_reservation_id VARCHAR(255),
+    external_confirmation_code VARCHAR(255),
+    event_date_time TIMESTAMP NOT NULL,
+    CONSTRAINT tickets_price_check CHECK (price >= 0),
+    CONSTRAINT tickets_status_check
+        CHECK (status IN ('PENDING_PAYMENT', 'PAID', 'PAYMENT_FAILED', 'RESERVED', 'CANCELLED'))
+) PARTITION BY RANGE (event_date_time);
+
+-- One partition per month, from the oldest ticketed event to a year ahead.
+-- The scheduled job keeps creating months ahead; anything further out lands
+-- in the default partition.
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month',
+            LEAST(COALESCE((SELECT MIN(event_date_time) FROM tickets), now()), now()))::date;
+    last_month DATE := (date_trunc('month', now()) + INTERVAL '12 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF tickets_partitioned FOR VALUES FROM (%L) TO (%L)',
+                'tickets_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+                month_start,
+                (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE tickets_default PARTITION OF tickets_partitioned DEFAULT;
+
+INSERT INTO tickets_partitioned (
+    id, ticket_number, user_id, event_id, price, status, reserved_at, updated_at,
+    payment_expires_at, external_reservation_id, external_confirmation_code, event_date_time)
+SELECT id, ticket_number, user_id, event_id, price, status, reserved_at, updated_at,
+       payment_expires_at, external_reservation_id, external_confirmation_code, event_date_time
+FROM tickets;
+
+DROP TABLE tickets;
+ALTER TABLE tickets_partitioned RENAME TO tickets;
+
+-- Unique constraints on a partitioned table must include the partition key.
+-- ids are generated UUIDs and ticket numbers embed the event date, so both
+-- stay unique in practice.
+ALTER TABLE tickets ADD CONSTRAINT tickets_pkey PRIMARY KEY (id, event_date_time);
+ALTER TABLE tickets ADD CONSTRAINT tickets_ticket_number_key UNIQUE (ticket_number, event_date_time);
+ALTER TABLE tickets ADD CONSTRAINT tickets_user_id_fkey
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+ALTER TABLE tickets ADD CONSTRAINT tickets_event_id_fkey
+    FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_tickets_user_id ON tickets(user_id);
+CREATE INDEX idx_tickets_event_id ON tickets(event_id);
+CREATE INDEX idx_tickets_event_status ON tickets(event_id, status);
+CREATE INDEX idx_tickets_payment_expires ON tickets(payment_expires_at)
+    WHERE status = 'PENDING_PAYMENT';
+CREATE INDEX idx_tickets_external_reservation ON tickets(external_reservation_id);
+
+-- An event has a single date, so adding it keeps one active ticket per user and event
+CREATE UNIQUE INDEX unique_active_user_event
+ON tickets (user_id, event_id, event_date_time)
+WHERE status IN ('PENDING_PAYMENT', 'PAID', 'RESERVED');
+
+-- Cold storage. Archiving detaches a month from tickets and attaches it here
+-- in one transaction, so no rows are copied. Only the lookups past tickets
+-- still need are indexed.
+CREATE TABLE tickets_archive (LIKE tickets INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (event_date_time);
+
+ALTER TABLE tickets_archive ADD CONSTRAINT tickets_archive_pkey PRIMARY KEY (id, event_date_time);
+ALTER TABLE tickets_archive ADD CONSTRAINT tickets_archive_user_id_fkey
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+ALTER TABLE tickets_archive ADD CONSTRAINT tickets_archive_event_id_fkey
+    FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_tickets_archive_user_id ON tickets_archive(user_id);
+CREATE INDEX idx_tickets_archive_event_id ON tickets_archive(event_id);
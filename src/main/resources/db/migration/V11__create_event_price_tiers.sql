@@ -0,0 +1,11 @@
+-- Prices that apply from a point in time until the next tier; before the first tier the
+-- event's own price applies
+CREATE TABLE event_price_tiers (
+    id UUID PRIMARY KEY,
+    event_id UUID NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    effective_from TIMESTAMP NOT NULL,
+    price DECIMAL(10,2) NOT NULL CHECK (price >= 0),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_event_price_tiers_start UNIQUE (event_id, effective_from)
+);
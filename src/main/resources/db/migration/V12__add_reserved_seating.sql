@@ -0,0 +1,33 @@
+-- Reserved seating. A venue's seat map lists its sections, each with rows of
+-- numbered seats. Seats are indexed 0..seat_count-1 in map order, which is
+-- also the best-available order.
+CREATE TABLE venue_seat_maps (
+    venue_id UUID PRIMARY KEY REFERENCES venues(id) ON DELETE CASCADE,
+    layout TEXT NOT NULL,
+    seat_count INTEGER NOT NULL CHECK (seat_count > 0),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Copy of the seat count; null for general admission. Venues are read on every
+-- reservation anyway, so unseated events need no lookup.
+ALTER TABLE venues ADD COLUMN seat_count INTEGER;
+
+-- Held and sold seats of an event, one bit per seat. Seat n is bit n of the
+-- bytea as get_bit/set_bit number them (bit n % 8 of byte n / 8), which is
+-- also java.util.BitSet's byte order. Created on the first seat claimed.
+CREATE TABLE event_seats (
+    event_id UUID PRIMARY KEY REFERENCES events(id) ON DELETE CASCADE,
+    seat_count INTEGER NOT NULL CHECK (seat_count > 0),
+    taken BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Added to both tables, so archiving can still move partitions between them
+ALTER TABLE tickets ADD COLUMN seat_index INTEGER;
+ALTER TABLE tickets_archive ADD COLUMN seat_index INTEGER;
+
+-- Backstop for the seat bitmap: one active ticket per seat
+CREATE UNIQUE INDEX unique_active_event_seat
+ON tickets (event_id, seat_index, event_date_time)
+WHERE seat_index IS NOT NULL AND status IN ('PENDING_PAYMENT', 'PAID', 'RESERVED');
@@ -0,0 +1,13 @@
+-- Customers waiting for tickets to a sold-out event, served first come first
+-- served. An entry is removed when its customer gets a ticket or leaves.
+CREATE TABLE event_waitlist (
+    id UUID PRIMARY KEY,
+    event_id UUID NOT NULL REFERENCES events(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    -- Queue order; time-ordered ids only order to the millisecond
+    seq BIGINT GENERATED ALWAYS AS IDENTITY,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_waitlist_event_user UNIQUE (event_id, user_id)
+);
+
+CREATE INDEX idx_event_waitlist_event_seq ON event_waitlist(event_id, seq);
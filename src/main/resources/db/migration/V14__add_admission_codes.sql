@@ -0,0 +1,13 @@
+-- Admission at the door. A ticket gets an admission index when it is paid:
+-- numbered 0, 1, 2, ... per event, so the door can keep used tickets in a
+-- bitmap. The index is signed into the ticket's admission code.
+CREATE TABLE event_admissions (
+    event_id UUID PRIMARY KEY REFERENCES events(id) ON DELETE CASCADE,
+    issued INTEGER NOT NULL DEFAULT 0
+);
+
+-- Added to both tables in the same order, so their column lists still line up
+ALTER TABLE tickets ADD COLUMN admission_index INTEGER;
+ALTER TABLE tickets ADD COLUMN checked_in_at TIMESTAMP;
+ALTER TABLE tickets_archive ADD COLUMN admission_index INTEGER;
+ALTER TABLE tickets_archive ADD COLUMN checked_in_at TIMESTAMP;
@@ -0,0 +1,11 @@
+-- A customer can buy several tickets for an event in one cart. Their active
+-- tickets for the event are numbered 0, 1, 2, ... and the unique index now
+-- covers that number, so a second purchase racing the first still collides
+-- on ticket 0. Single reservations always take 0.
+ALTER TABLE tickets ADD COLUMN party_index INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE tickets_archive ADD COLUMN party_index INTEGER NOT NULL DEFAULT 0;
+
+DROP INDEX unique_active_user_event;
+CREATE UNIQUE INDEX unique_active_user_event
+ON tickets (user_id, event_id, event_date_time, party_index)
+WHERE status IN ('PENDING_PAYMENT', 'PAID', 'RESERVED');
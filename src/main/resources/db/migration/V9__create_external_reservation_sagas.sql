@@ -0,0 +1,26 @@
+-- Track asynchronous external reservations as sagas so provider calls
+-- never run inside a database transaction
+CREATE TABLE external_reservation_sagas (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    customer_email VARCHAR(255) NOT NULL,
+    event_external_id VARCHAR(255) NOT NULL,
+    status VARCHAR(30) NOT NULL
+        CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPENSATING', 'COMPLETED', 'FAILED', 'COMPENSATION_FAILED')),
+    current_step VARCHAR(30) NOT NULL
+        CHECK (current_step IN ('CHECK_AVAILABILITY', 'CREATE_RESERVATION', 'FETCH_EVENT', 'RECORD_TICKET', 'CANCEL_RESERVATION')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    idempotency_key VARCHAR(100) NOT NULL UNIQUE,
+    external_reservation_id VARCHAR(255),
+    ticket_id UUID REFERENCES tickets(id) ON DELETE SET NULL,
+    failure_reason TEXT,
+    lease_expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_external_sagas_user_id ON external_reservation_sagas(user_id);
+
+-- Resume job only scans sagas that have not reached a terminal state
+CREATE INDEX idx_external_sagas_active ON external_reservation_sagas(lease_expires_at)
+    WHERE status IN ('PENDING', 'IN_PROGRESS', 'COMPENSATING');
@@ -0,0 +1,52 @@
+package com.concerthall.reservations.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionCodeSignerTest {
+
+    private static final LocalDateTime DOORS = LocalDateTime.of(2026, 5, 1, 18, 0);
+
+    private final AdmissionCode code = new AdmissionCode(
+            UUID.randomUUID(), UUID.randomUUID(), 41, DOORS, DOORS.plusHours(24));
+
+    @Test
+    void signedCodeVerifies() throws GeneralSecurityException {
+        final String signed = signer("first-secret-of-at-least-32-bytes-length").sign(code);
+
+        assertEquals(92, signed.length());
+        assertEquals(code, signer("first-secret-of-at-least-32-bytes-length").verify(signed));
+    }
+
+    @Test
+    void tamperedOrForeignCodesRejected() throws GeneralSecurityException {
+        final AdmissionCodeSigner signer = signer("first-secret-of-at-least-32-bytes-length");
+        final byte[] raw = Base64.getUrlDecoder().decode(signer.sign(code));
+        // Another admission index with the original signature
+        raw[36] ^= 1;
+
+        assertNull(signer.verify(Base64.getUrlEncoder().withoutPadding().encodeToString(raw)));
+        assertNull(signer.verify(signer("other-secret-of-at-least-32-bytes-length").sign(code)));
+        assertNull(signer.verify("not a code"));
+        assertNull(signer.verify(""));
+    }
+
+    @Test
+    void shortSecretRefused() {
+        assertThrows(IllegalStateException.class, () -> signer("too-short"));
+    }
+
+    private static AdmissionCodeSigner signer(final String secret) throws GeneralSecurityException {
+        final AdmissionProperties properties = new AdmissionProperties();
+        properties.setSecret(secret);
+        return new AdmissionCodeSigner(properties);
+    }
+}
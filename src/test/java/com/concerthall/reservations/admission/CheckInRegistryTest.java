@@ -0,0 +1,135 @@
+package com.concerthall.reservations.admission;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.dto.request.ReserveTicketRequest;
+import com.concerthall.reservations.dto.response.TicketResponse;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.TicketRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.service.AdmissionService;
+import com.concerthall.reservations.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "external-provider.venue-api.enabled=false",
+        "tickets.admission.check-in-flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class CheckInRegistryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private AdmissionService admissionService;
+
+    @Autowired
+    private CheckInRegistry checkIns;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getRole() != UserRole.ADMIN)
+                .forEach(userRepository::delete);
+        venueRepository.deleteAll();
+
+        final Venue venue = venueRepository.save(
+                Venue.builder().name("Arena").address("3 Gate Road").capacity(100).build());
+        // Doors are open: codes scan from 12 hours before the start
+        event = eventRepository.save(Event.builder()
+                .name("Tonight")
+                .eventDateTime(LocalDateTime.now().plusHours(2))
+                .capacity(100)
+                .price(new BigDecimal("60.00"))
+                .status(EventStatus.PUBLISHED)
+                .venue(venue)
+                .build());
+    }
+
+    @Test
+    void paidTicket_AdmittedOnceAndCheckInWritten() {
+        final TicketResponse first = paid("first@test.com");
+        final TicketResponse second = paid("second@test.com");
+        assertEquals(0, ticketRepository.findById(first.getId()).orElseThrow().getAdmissionIndex());
+        assertEquals(1, ticketRepository.findById(second.getId()).orElseThrow().getAdmissionIndex());
+
+        assertEquals("ADMITTED", admissionService.scan(first.getAdmissionCode()).getOutcome());
+        assertEquals("ALREADY_CHECKED_IN", admissionService.scan(first.getAdmissionCode()).getOutcome());
+        assertEquals("INVALID", admissionService.scan(first.getAdmissionCode().substring(1)).getOutcome());
+        assertNull(ticketRepository.findById(first.getId()).orElseThrow().getCheckedInAt());
+
+        checkIns.flush();
+
+        assertNotNull(ticketRepository.findById(first.getId()).orElseThrow().getCheckedInAt());
+        assertNull(ticketRepository.findById(second.getId()).orElseThrow().getCheckedInAt());
+    }
+
+    @Test
+    void cancelledTicket_Revoked() {
+        final TicketResponse kept = paid("first@test.com");
+        final TicketResponse cancelled = paid("second@test.com");
+        // The door has read the event before the cancellation
+        assertEquals("ADMITTED", admissionService.scan(kept.getAdmissionCode()).getOutcome());
+
+        ticketService.cancelTicket(cancelled.getId(), "second@test.com");
+
+        assertEquals("REVOKED", admissionService.scan(cancelled.getAdmissionCode()).getOutcome());
+    }
+
+    private TicketResponse paid(final String email) {
+        userRepository.save(User.builder().email(email).password("hash").role(UserRole.CUSTOMER).build());
+        final TicketResponse reserved = ticketService.reserveTicket(
+                ReserveTicketRequest.builder().eventId(event.getId()).build(), email);
+        ticketService.updatePaymentStatus(reserved.getId(), TicketStatus.PAID);
+        return ticketService.getTicketById(reserved.getId(), email);
+    }
+}
@@ -0,0 +1,123 @@
+package com.concerthall.reservations.cache.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two nodes sharing one database, each with its own bus.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class InvalidationBusPostgresTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private InvalidationBusTest.RecordingTarget firstTarget;
+    private InvalidationBusTest.RecordingTarget secondTarget;
+    private InvalidationBus first;
+    private InvalidationBus second;
+    private final SimpleMeterRegistry secondMeters = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        firstTarget = new InvalidationBusTest.RecordingTarget();
+        secondTarget = new InvalidationBusTest.RecordingTarget();
+        first = bus(firstTarget, new SimpleMeterRegistry());
+        second = bus(secondTarget, secondMeters);
+        first.start();
+        second.start();
+        // Each connect drops everything once
+        awaitTrue(() -> calls(firstTarget).contains("ALL") && calls(secondTarget).contains("ALL"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void committedChanges_ReachEveryNode() throws Exception {
+        final UUID eventId = UUID.randomUUID();
+        first.enqueue(List.of(new InvalidationKey(CachedEntity.EVENT, eventId)));
+
+        awaitTrue(() -> calls(secondTarget).contains("EVENT " + eventId));
+        awaitTrue(() -> calls(firstTarget).contains("EVENT " + eventId));
+    }
+
+    @Test
+    void droppedConnections_DropEverythingOnReconnect() throws Exception {
+        // The sender connects on its first send
+        final UUID eventId = UUID.randomUUID();
+        first.enqueue(List.of(new InvalidationKey(CachedEntity.EVENT, eventId)));
+        awaitTrue(() -> calls(secondTarget).contains("EVENT " + eventId));
+        clear(firstTarget);
+        clear(secondTarget);
+
+        // Kills both listeners and both senders
+        try (Connection connection = DriverManager.getConnection(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_terminate_backend(pid) FROM pg_stat_activity"
+                    + " WHERE application_name = '" + InvalidationBusConfig.APPLICATION_NAME + "'");
+        }
+
+        awaitTrue(() -> calls(secondTarget).contains("ALL") && second.isConnected() && first.isConnected());
+
+        // The sender only notices on its next send; the retry tells every node to drop everything
+        first.enqueue(List.of(new InvalidationKey(CachedEntity.EVENT, UUID.randomUUID())));
+        awaitTrue(() -> secondMeters.counter("cache.invalidation.full", "reason", "resync").count() == 1);
+
+        final UUID venueId = UUID.randomUUID();
+        first.enqueue(List.of(new InvalidationKey(CachedEntity.VENUE, venueId)));
+        awaitTrue(() -> calls(secondTarget).contains("VENUE " + venueId));
+    }
+
+    private static InvalidationBus bus(final CacheInvalidationTarget target, final SimpleMeterRegistry meterRegistry) {
+        final InvalidationBusProperties properties = new InvalidationBusProperties();
+        properties.setPollIntervalMs(100L);
+        properties.setReconnectDelayMs(100L);
+        return new InvalidationBus(
+                InvalidationBusConfig.connections(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()),
+                properties,
+                List.of(target),
+                meterRegistry);
+    }
+
+    private static List<String> calls(final InvalidationBusTest.RecordingTarget target) {
+        synchronized (target) {
+            return List.copyOf(target.calls);
+        }
+    }
+
+    private static void clear(final InvalidationBusTest.RecordingTarget target) {
+        synchronized (target) {
+            target.calls.clear();
+        }
+    }
+
+    private static void awaitTrue(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 15 s");
+            }
+            Thread.sleep(50);
+        }
+    }
+}
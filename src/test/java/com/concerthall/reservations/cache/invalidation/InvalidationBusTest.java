@@ -0,0 +1,174 @@
+package com.concerthall.reservations.cache.invalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class InvalidationBusTest {
+
+    private final UUID origin = UUID.randomUUID();
+    private final UUID eventId = UUID.randomUUID();
+    private final UUID venueId = UUID.randomUUID();
+    private RecordingTarget target;
+    private SimpleMeterRegistry meterRegistry;
+    private InvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        target = new RecordingTarget();
+        meterRegistry = new SimpleMeterRegistry();
+        // Never started: payloads are fed straight to the listener side
+        bus = new InvalidationBus(mock(DataSource.class), new InvalidationBusProperties(), List.of(target), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void payload_RoundTrips() {
+        final InvalidationMessage message = InvalidationMessage.of(origin, 42, false, List.of(
+                new InvalidationKey(CachedEntity.EVENT, eventId),
+                new InvalidationKey(CachedEntity.VENUE, venueId)));
+
+        assertEquals(message, InvalidationMessage.decode(message.encode()));
+        assertEquals(message.encode(), InvalidationMessage.decode(message.encode()).encode());
+    }
+
+    @Test
+    void keys_AreDispatchedToTargets() {
+        bus.onPayload(message(1, false, CachedEntity.EVENT, eventId));
+        bus.onPayload(message(2, false, CachedEntity.VENUE, venueId));
+
+        assertEquals(List.of("EVENT " + eventId, "VENUE " + venueId), target.calls);
+    }
+
+    @Test
+    void unknownOrigin_IsAcceptedAtAnySequence() {
+        bus.onPayload(message(7, false, CachedEntity.EVENT, eventId));
+
+        assertEquals(List.of("EVENT " + eventId), target.calls);
+    }
+
+    @Test
+    void sequenceGap_DropsEverything() {
+        bus.onPayload(message(1, false, CachedEntity.EVENT, eventId));
+        bus.onPayload(message(3, false, CachedEntity.VENUE, venueId));
+        bus.onPayload(message(4, false, CachedEntity.VENUE, venueId));
+
+        assertEquals(List.of("EVENT " + eventId, "ALL", "VENUE " + venueId), target.calls);
+        assertEquals(1, meterRegistry.counter("cache.invalidation.full", "reason", "gap").count());
+    }
+
+    @Test
+    void resyncFlag_DropsEverything() {
+        bus.onPayload(message(1, false, CachedEntity.EVENT, eventId));
+        bus.onPayload(message(5, true, CachedEntity.EVENT, eventId));
+
+        assertEquals(List.of("EVENT " + eventId, "ALL"), target.calls);
+    }
+
+    @Test
+    void malformedPayload_DropsEverything() {
+        bus.onPayload("not-an-invalidation");
+        bus.onPayload(origin + ":1:-:X" + eventId);
+
+        assertEquals(List.of("ALL", "ALL"), target.calls);
+    }
+
+    @Test
+    void failingTarget_DoesNotStopOthers() {
+        final RecordingTarget second = new RecordingTarget();
+        final CacheInvalidationTarget failing = mock(CacheInvalidationTarget.class);
+        doThrow(new IllegalStateException("boom")).when(failing).invalidate(any(), any());
+        bus = new InvalidationBus(mock(DataSource.class), new InvalidationBusProperties(),
+                List.of(failing, second), meterRegistry);
+
+        bus.onPayload(message(1, false, CachedEntity.EVENT, eventId));
+
+        assertEquals(List.of("EVENT " + eventId), second.calls);
+    }
+
+    @Test
+    void publisher_EnqueuesOnCommitOnly() {
+        final InvalidationBus mockBus = mock(InvalidationBus.class);
+        @SuppressWarnings("unchecked")
+        final ObjectProvider<InvalidationBus> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(mockBus);
+        final CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(provider);
+
+        TransactionSynchronizationManager.initSynchronization();
+        publisher.publish(CachedEntity.EVENT, eventId);
+        publisher.publish(CachedEntity.EVENT, eventId);
+        publisher.publish(CachedEntity.VENUE, venueId);
+        verifyNoInteractions(mockBus);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(mockBus).enqueue(Set.of(
+                new InvalidationKey(CachedEntity.EVENT, eventId),
+                new InvalidationKey(CachedEntity.VENUE, venueId)));
+        TransactionSynchronizationManager.clear();
+
+        TransactionSynchronizationManager.initSynchronization();
+        publisher.publish(CachedEntity.EVENT, eventId);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verifyNoMoreInteractions(mockBus);
+    }
+
+    @Test
+    void publisher_AppliesLocalChangeOnCommitEvenWithoutBus() {
+        @SuppressWarnings("unchecked")
+        final ObjectProvider<InvalidationBus> provider = mock(ObjectProvider.class);
+        final CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(provider);
+        final List<UUID> evicted = new ArrayList<>();
+
+        TransactionSynchronizationManager.initSynchronization();
+        publisher.publish(CachedEntity.WAITLIST, eventId, () -> evicted.add(eventId));
+        assertTrue(evicted.isEmpty());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(eventId), evicted);
+        TransactionSynchronizationManager.clear();
+
+        TransactionSynchronizationManager.initSynchronization();
+        publisher.publish(CachedEntity.WAITLIST, eventId, () -> evicted.add(eventId));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertEquals(List.of(eventId), evicted);
+    }
+
+    private String message(final long sequence, final boolean resync, final CachedEntity entity, final UUID id) {
+        return InvalidationMessage.of(origin, sequence, resync, List.of(new InvalidationKey(entity, id))).encode();
+    }
+
+    static final class RecordingTarget implements CacheInvalidationTarget {
+
+        final List<String> calls = new ArrayList<>();
+
+        @Override
+        public synchronized void invalidate(final CachedEntity entity, final UUID id) {
+            calls.add(entity + " " + id);
+        }
+
+        @Override
+        public synchronized void invalidateAll() {
+            calls.add("ALL");
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.concerthall.reservations.datasource;
+
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.repository.VenueRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing against a real primary and a streaming replica, cloned with the same scripts
+ * docker-compose uses for its replica profile.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "external-provider.venue-api.enabled=false",
+        "replica-routing.enabled=true",
+        "replica-routing.max-lag-ms=500",
+        // Checks are driven by the tests
+        "replica-routing.lag-check-interval-ms=3600000",
+        "replica-routing.read-your-writes-window-ms=2000"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    private static final String IMAGE = "postgres:16-alpine";
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>(IMAGE)
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withCopyFileToContainer(
+                    MountableFile.forHostPath("docker/postgres/primary-replication.sh"),
+                    "/docker-entrypoint-initdb.d/10-replication.sh");
+
+    @Container
+    static final GenericContainer<?> REPLICA = new GenericContainer<>(IMAGE)
+            .withNetwork(NETWORK)
+            .dependsOn(PRIMARY)
+            .withCopyFileToContainer(
+                    MountableFile.forHostPath("docker/postgres/replica-entrypoint.sh"),
+                    "/replica-entrypoint.sh")
+            .withCreateContainerCmdModifier(cmd -> cmd
+                    .withUser("postgres")
+                    .withEntrypoint("/bin/sh", "/replica-entrypoint.sh"))
+            .withEnv("PRIMARY_HOST", "primary")
+            .withEnv("PRIMARY_USER", "test")
+            .withEnv("PGPASSWORD", "test")
+            .withExposedPorts(5432)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1));
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("replica-routing.replicas[0].url", ReplicaRoutingIntegrationTest::replicaUrl);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @BeforeEach
+    void replicaCaughtUp() throws Exception {
+        onReplica("SELECT pg_wal_replay_resume()");
+        awaitTrue(() -> {
+            monitor.check();
+            return monitor.isHealthy("replica-1");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_RunOnReplica() {
+        assertTrue(readOnlyRunsOnStandby());
+        assertFalse(readWriteRunsOnStandby());
+        // Outside a transaction, e.g. Flyway and the scheduled jobs
+        assertFalse(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    @Test
+    void laggingReplica_FallsBackToPrimary() throws Exception {
+        onReplica("SELECT pg_wal_replay_pause()");
+        saveVenue();
+        // The first check samples the primary's new position; the second sees the replica still missing it
+        monitor.check();
+        Thread.sleep(700);
+        monitor.check();
+        assertFalse(monitor.isHealthy("replica-1"));
+        assertFalse(readOnlyRunsOnStandby());
+
+        onReplica("SELECT pg_wal_replay_resume()");
+        awaitTrue(() -> {
+            monitor.check();
+            return monitor.isHealthy("replica-1");
+        });
+        assertTrue(readOnlyRunsOnStandby());
+    }
+
+    @Test
+    void ownWrites_AreReadFromPrimaryWithinWindow() throws Exception {
+        authenticate("writer@test.com");
+        saveVenue();
+
+        assertFalse(readOnlyRunsOnStandby());
+
+        authenticate("someone-else@test.com");
+        assertTrue(readOnlyRunsOnStandby());
+
+        authenticate("writer@test.com");
+        awaitTrue(this::readOnlyRunsOnStandby);
+    }
+
+    private boolean readOnlyRunsOnStandby() {
+        final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return Boolean.TRUE.equals(readOnly.execute(
+                status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private boolean readWriteRunsOnStandby() {
+        return Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(
+                status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private void saveVenue() {
+        venueRepository.save(Venue.builder()
+                .name("Replica Hall " + UUID.randomUUID())
+                .address("1 Standby Street")
+                .capacity(100)
+                .build());
+    }
+
+    private static void authenticate(final String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, AuthorityUtils.createAuthorityList("ROLE_CUSTOMER")));
+    }
+
+    private static void onReplica(final String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(replicaUrl(), "test", "test");
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://" + REPLICA.getHost() + ":" + REPLICA.getMappedPort(5432) + "/test";
+    }
+
+    private static void awaitTrue(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 15_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met within 15 s");
+            }
+            Thread.sleep(100);
+        }
+    }
+}
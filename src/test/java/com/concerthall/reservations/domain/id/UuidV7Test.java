@@ -0,0 +1,47 @@
+package com.concerthall.reservations.domain.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void generate_SetsVersionVariantAndTimestamp() {
+        final long now = System.currentTimeMillis();
+        final UUID uuid = UuidV7.generate(now);
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(UuidV7.timestampMillis(uuid) >= now);
+    }
+
+    @Test
+    void generate_IsStrictlyIncreasingInByteOrderWithinOneMillisecond() {
+        final long now = System.currentTimeMillis() + 60_000;
+        byte[] previous = bytes(UuidV7.generate(now));
+        // More than the 12-bit counter, so the timestamp has to carry
+        for (int i = 0; i < 10_000; i++) {
+            final byte[] next = bytes(UuidV7.generate(now));
+            assertTrue(Arrays.compareUnsigned(previous, next) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void timestampMillis_RejectsRandomUuid() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampMillis(UUID.randomUUID()));
+    }
+
+    // Postgres orders uuid values by their 16 bytes, unsigned
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
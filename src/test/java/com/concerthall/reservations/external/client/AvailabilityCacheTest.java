@@ -0,0 +1,113 @@
+package com.concerthall.reservations.external.client;
+
+import com.concerthall.reservations.external.model.ExternalAvailabilityResponse;
+import com.concerthall.reservations.external.model.ExternalReservationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private AvailabilityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // 30s TTL from 500 seats down to none at 20 seats, sold out kept for 60s
+        cache = new AvailabilityCache(30, 60, 20, 500, now::get);
+    }
+
+    @Test
+    void ttl_ShrinksWithRemainingInventory() {
+        assertEquals(TimeUnit.SECONDS.toNanos(30), cache.ttlNanos(5000, "AVAILABLE"));
+        assertEquals(TimeUnit.SECONDS.toNanos(15), cache.ttlNanos(260, "AVAILABLE"));
+        assertEquals(0, cache.ttlNanos(20, "AVAILABLE"));
+        assertEquals(TimeUnit.SECONDS.toNanos(60), cache.ttlNanos(0, "SOLD_OUT"));
+    }
+
+    @Test
+    void get_ExpiresAfterTtl() {
+        cache.put("evt-1", availability(5000, "AVAILABLE"));
+
+        advanceSeconds(29);
+        assertEquals(5000L, cache.get("evt-1").orElseThrow().getAvailableTickets());
+
+        advanceSeconds(1);
+        assertTrue(cache.get("evt-1").isEmpty());
+    }
+
+    @Test
+    void put_NearSelloutIsNotCached() {
+        cache.put("evt-1", availability(15, "AVAILABLE"));
+
+        assertTrue(cache.get("evt-1").isEmpty());
+    }
+
+    @Test
+    void put_SoldOutIsAnsweredLocally() {
+        cache.put("evt-1", availability(0, "SOLD_OUT"));
+
+        advanceSeconds(45);
+        assertEquals("SOLD_OUT", cache.get("evt-1").orElseThrow().getStatus());
+    }
+
+    @Test
+    void recordReservationAndCancellation_AdjustCachedCount() {
+        cache.put("evt-1", availability(1000, "AVAILABLE"));
+
+        cache.recordReservation(reservation("res-1", "evt-1", 2));
+        assertEquals(998L, cache.get("evt-1").orElseThrow().getAvailableTickets());
+
+        cache.recordCancellation("res-1");
+        assertEquals(1000L, cache.get("evt-1").orElseThrow().getAvailableTickets());
+
+        // Seats are only given back once
+        cache.recordCancellation("res-1");
+        assertEquals(1000L, cache.get("evt-1").orElseThrow().getAvailableTickets());
+    }
+
+    @Test
+    void recordReservation_DropsEntryReachingSelloutThreshold() {
+        cache.put("evt-1", availability(22, "AVAILABLE"));
+
+        cache.recordReservation(reservation("res-1", "evt-1", 2));
+
+        assertTrue(cache.get("evt-1").isEmpty());
+    }
+
+    @Test
+    void recordCancellation_DropsSoldOutEntry() {
+        cache.recordReservation(reservation("res-1", "evt-1", 1));
+        cache.put("evt-1", availability(0, "SOLD_OUT"));
+
+        cache.recordCancellation("res-1");
+
+        assertTrue(cache.get("evt-1").isEmpty());
+    }
+
+    private void advanceSeconds(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private ExternalAvailabilityResponse availability(long available, String status) {
+        return ExternalAvailabilityResponse.builder()
+                .availableTickets(available)
+                .capacity(5000)
+                .status(status)
+                .build();
+    }
+
+    private ExternalReservationResponse reservation(String id, String eventId, int quantity) {
+        return ExternalReservationResponse.builder()
+                .id(id)
+                .eventId(eventId)
+                .quantity(quantity)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build();
+    }
+}
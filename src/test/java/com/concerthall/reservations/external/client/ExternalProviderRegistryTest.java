@@ -0,0 +1,113 @@
+package com.concerthall.reservations.external.client;
+
+import com.concerthall.reservations.domain.ExternalProviderConfig;
+import com.concerthall.reservations.external.config.ExternalProviderClientFactory;
+import com.concerthall.reservations.external.config.ExternalProviderProperties;
+import com.concerthall.reservations.external.exception.ExternalProviderConnectionException;
+import com.concerthall.reservations.repository.ExternalProviderConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExternalProviderRegistryTest {
+
+    @Mock
+    private ExternalProviderConfigRepository configRepository;
+
+    @Mock
+    private ExternalProviderClientFactory clientFactory;
+
+    @Mock
+    private ExternalVenueProviderClient primaryClient;
+
+    @Mock
+    private ExternalVenueProviderClient resellerClient;
+
+    @Mock
+    private ExternalVenueProviderClient reloadedResellerClient;
+
+    private ExternalProviderRegistry registry;
+    private ExternalProviderConfig resellerRow;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ExternalProviderRegistry(configRepository, clientFactory,
+                new ExternalProviderProperties(), primaryClient);
+
+        resellerRow = ExternalProviderConfig.builder()
+                .providerName("Reseller")
+                .apiBaseUrl("https://reseller.example.com")
+                .apiKey("key")
+                .build();
+    }
+
+    @Test
+    void refresh_RegistersTableProvidersNextToPrimary() {
+        when(configRepository.findByEnabledTrue()).thenReturn(List.of(resellerRow));
+        when(clientFactory.createClient(resellerRow)).thenReturn(resellerClient);
+
+        registry.refresh();
+
+        assertEquals(Set.of("ExternalVenues", "Reseller"), registry.getProviderNames());
+        assertSame(resellerClient, registry.getClient("Reseller").orElseThrow());
+        assertSame(primaryClient, registry.getClient("ExternalVenues").orElseThrow());
+    }
+
+    @Test
+    void refresh_KeepsClientWhenRowUnchangedAndRebuildsWhenChanged() {
+        when(configRepository.findByEnabledTrue()).thenReturn(List.of(resellerRow));
+        when(clientFactory.createClient(resellerRow)).thenReturn(resellerClient, reloadedResellerClient);
+
+        registry.refresh();
+        registry.refresh();
+        verify(clientFactory, times(1)).createClient(resellerRow);
+        verify(resellerClient, never()).close();
+
+        resellerRow.setTimeoutSeconds(5);
+        registry.refresh();
+        verify(clientFactory, times(2)).createClient(resellerRow);
+        assertSame(reloadedResellerClient, registry.getClient("Reseller").orElseThrow());
+        verify(resellerClient).close();
+        verify(reloadedResellerClient, never()).close();
+    }
+
+    @Test
+    void refresh_DropsDisabledProviders() {
+        when(configRepository.findByEnabledTrue())
+                .thenReturn(List.of(resellerRow))
+                .thenReturn(List.of());
+        when(clientFactory.createClient(resellerRow)).thenReturn(resellerClient);
+
+        registry.refresh();
+        registry.refresh();
+
+        assertEquals(Set.of("ExternalVenues"), registry.getProviderNames());
+        verify(resellerClient).close();
+        verify(primaryClient, never()).close();
+    }
+
+    @Test
+    void fanOut_MergesResultsAndSkipsFailingProvider() {
+        when(configRepository.findByEnabledTrue()).thenReturn(List.of(resellerRow));
+        when(clientFactory.createClient(resellerRow)).thenReturn(resellerClient);
+        registry.refresh();
+
+        final List<String> results = registry.fanOut((providerName, client) -> {
+            if (client == resellerClient) {
+                throw new ExternalProviderConnectionException("down");
+            }
+            return List.of(providerName + "-1", providerName + "-2");
+        });
+
+        assertEquals(List.of("ExternalVenues-1", "ExternalVenues-2"), results);
+    }
+}
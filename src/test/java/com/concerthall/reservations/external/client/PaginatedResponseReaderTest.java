@@ -0,0 +1,69 @@
+package com.concerthall.reservations.external.client;
+
+import com.concerthall.reservations.external.model.ExternalEventResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginatedResponseReaderTest {
+
+    private final PaginatedResponseReader reader =
+            new PaginatedResponseReader(Jackson2ObjectMapperBuilder.json().build());
+
+    @Test
+    void streamData_DecodesItemsWhenPaginationComesFirst() throws IOException {
+        final String json = """
+                {"pagination":{"page":1,"pageSize":2,"nested":{"ignored":[1,2]}},
+                 "data":[
+                   {"id":"evt-1","name":"Opening Night","eventDateTime":"2026-11-01T20:00:00","unknownField":{"a":1}},
+                   {"id":"evt-2","name":"Matinee","price":{"amount":25.00,"currency":"USD"}}
+                 ]}
+                """;
+
+        final List<ExternalEventResponse> events;
+        try (Stream<ExternalEventResponse> stream = reader.streamData(body(json), ExternalEventResponse.class)) {
+            events = stream.collect(Collectors.toList());
+        }
+
+        assertEquals(2, events.size());
+        assertEquals("evt-1", events.get(0).getId());
+        assertEquals(LocalDateTime.of(2026, 11, 1, 20, 0), events.get(0).getEventDateTime());
+        assertEquals("USD", events.get(1).getPrice().getCurrency());
+    }
+
+    @Test
+    void streamData_IsLazy() throws IOException {
+        final String json = "{\"data\":[{\"id\":\"evt-1\"},{\"id\":\"evt-2\"},not-json]}";
+
+        try (Stream<ExternalEventResponse> stream = reader.streamData(body(json), ExternalEventResponse.class)) {
+            // Malformed tail is never reached when only the first item is consumed
+            assertEquals("evt-1", stream.findFirst().orElseThrow().getId());
+        }
+    }
+
+    @Test
+    void streamData_EmptyWhenDataMissingOrNull() throws IOException {
+        try (Stream<ExternalEventResponse> stream =
+                     reader.streamData(body("{\"pagination\":{}}"), ExternalEventResponse.class)) {
+            assertEquals(0, stream.count());
+        }
+        try (Stream<ExternalEventResponse> stream =
+                     reader.streamData(body("{\"data\":null}"), ExternalEventResponse.class)) {
+            assertEquals(0, stream.count());
+        }
+    }
+
+    private InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
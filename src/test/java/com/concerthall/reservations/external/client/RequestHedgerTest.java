@@ -0,0 +1,98 @@
+package com.concerthall.reservations.external.client;
+
+import com.concerthall.reservations.external.exception.ExternalProviderConnectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestHedgerTest {
+
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        hedger = new RequestHedger("TestProvider", 0.95, 0.05, 20, 64);
+    }
+
+    @Test
+    void execute_NoHedgingWhileLearningLatencies() {
+        assertEquals("ok", hedger.execute(() -> "ok"));
+
+        final RequestHedger.Stats stats = hedger.stats();
+        assertEquals(1, stats.requests());
+        assertEquals(0, stats.hedges());
+        assertEquals(-1, stats.thresholdMillis());
+    }
+
+    @Test
+    void execute_SlowPrimaryIsHedgedAndHedgeWins() {
+        warmUp();
+
+        final String result = hedger.execute(firstCallSlow());
+
+        assertEquals("hedge", result);
+        final RequestHedger.Stats stats = hedger.stats();
+        assertEquals(1, stats.hedges());
+        assertEquals(1, stats.hedgeWins());
+        assertEquals(1.0, stats.winRate());
+    }
+
+    @Test
+    void execute_BudgetExhaustedWaitsForPrimary() {
+        warmUp();
+        hedger.execute(firstCallSlow());
+
+        // 34 requests * 5% budget leaves no room for a second hedge
+        final String result = hedger.execute(firstCallSlow());
+
+        assertEquals("primary", result);
+        assertEquals(1, hedger.stats().hedges());
+    }
+
+    @Test
+    void execute_BothAttemptsFailReportsProviderError() {
+        warmUp();
+
+        final ExternalProviderConnectionException error = assertThrows(
+                ExternalProviderConnectionException.class,
+                () -> hedger.execute(() -> {
+                    sleep(100);
+                    throw new ExternalProviderConnectionException("down");
+                })
+        );
+        assertEquals("down", error.getMessage());
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 32; i++) {
+            hedger.execute(() -> "warm");
+        }
+        assertEquals(20, hedger.stats().thresholdMillis());
+    }
+
+    /**
+     * First invocation stalls, any later one answers immediately
+     */
+    private Supplier<String> firstCallSlow() {
+        final AtomicInteger calls = new AtomicInteger();
+        return () -> {
+            if (calls.getAndIncrement() == 0) {
+                sleep(500);
+                return "primary";
+            }
+            return "hedge";
+        };
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
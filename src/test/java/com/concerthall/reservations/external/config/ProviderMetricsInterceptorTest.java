@@ -0,0 +1,52 @@
+package com.concerthall.reservations.external.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ProviderMetricsInterceptor interceptor = new ProviderMetricsInterceptor("ExternalVenues", registry);
+
+    @Test
+    void intercept_TagsUriTemplateWithoutIds() throws IOException {
+        call(HttpMethod.GET, "https://api.example.com/v1/events/evt-123/availability", HttpStatus.OK);
+        call(HttpMethod.GET, "https://api.example.com/v1/events/evt-456/availability", HttpStatus.OK);
+
+        final Timer timer = registry.get("external.provider.requests")
+                .tag("provider", "ExternalVenues")
+                .tag("uri", "/events/{id}/availability")
+                .tag("outcome", "SUCCESS")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void intercept_RecordsServerErrors() throws IOException {
+        call(HttpMethod.DELETE, "https://api.example.com/v1/reservations/res-1", HttpStatus.SERVICE_UNAVAILABLE);
+
+        final Timer timer = registry.get("external.provider.requests")
+                .tag("method", "DELETE")
+                .tag("uri", "/reservations/{id}")
+                .tag("status", "503")
+                .tag("outcome", "SERVER_ERROR")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    private void call(HttpMethod method, String url, HttpStatus status) throws IOException {
+        final ClientHttpRequestExecution execution = (request, body) -> new MockClientHttpResponse(new byte[0], status);
+        interceptor.intercept(new MockClientHttpRequest(method, URI.create(url)), new byte[0], execution);
+    }
+}
@@ -0,0 +1,275 @@
+package com.concerthall.reservations.load;
+
+import com.concerthall.reservations.cache.CacheRegions;
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.service.EventService;
+import com.concerthall.reservations.support.SqlStatementRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import org.hibernate.jpa.SpecHints;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Listing traffic with and without the second-level cache: mostly single-event views,
+ * with every fifth request listing all published events. The uncached run sets the
+ * entity manager's cache retrieve and store modes to BYPASS, so both runs share one
+ * application context and data set.
+ * Database load is reported as SQL statements per request.
+ * <p>
+ * Excluded from the default build. Requires Docker. Run with:
+ * ./mvnw test -Dtest=ListingCacheLoadTest -Dload.requests=50000 -Dload.events=200
+ * <p>
+ * Tunables (system properties): load.requests, load.venues, load.events, load.concurrency, load.report
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "external-provider.venue-api.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.concerthall.reservations=WARN",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.concerthall.reservations.support.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+class ListingCacheLoadTest {
+
+    private static final String POSTGRES_IMAGE = "postgres:16-alpine";
+    private static final List<String> REGIONS = List.of(
+            CacheRegions.VENUES, CacheRegions.EVENTS, CacheRegions.EVENT_QUERIES);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(POSTGRES_IMAGE);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    private final int requests = Integer.getInteger("load.requests", 10_000);
+    private final int venues = Integer.getInteger("load.venues", 10);
+    private final int events = Integer.getInteger("load.events", 20);
+    private final int concurrency = Integer.getInteger("load.concurrency", 16);
+    private final Path reportPath = Path.of(System.getProperty("load.report", "target/listing-cache-report.json"));
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    record LatencySummary(double p50, double p99, double p999, double max) {
+    }
+
+    record RegionHits(long hits, long misses, double hitRatio) {
+    }
+
+    record RunResult(
+            String cache,
+            int requests,
+            long durationMs,
+            double requestsPerSecond,
+            long statements,
+            double statementsPerRequest,
+            LatencySummary eventMs,
+            LatencySummary listingMs,
+            Map<String, RegionHits> regions
+    ) {
+    }
+
+    record Report(
+            LocalDateTime generatedAt,
+            String database,
+            int requests,
+            int venues,
+            int events,
+            int concurrency,
+            List<RunResult> runs
+    ) {
+    }
+
+    @Test
+    void secondLevelCache_ReducesStatementsPerRequest() throws Exception {
+        final List<UUID> eventIds = createEvents();
+
+        // Uncached first so the cached run cannot profit from a warmer database
+        final RunResult uncached = run("off", false, eventIds);
+        final RunResult cached = run("on", true, eventIds);
+
+        writeReport(new Report(LocalDateTime.now(), POSTGRES_IMAGE, requests, venues, events, concurrency,
+                List.of(uncached, cached)));
+
+        assertTrue(cached.statementsPerRequest() < uncached.statementsPerRequest(),
+                "cached run issued " + cached.statementsPerRequest() + " statements per request, uncached "
+                        + uncached.statementsPerRequest());
+    }
+
+    private RunResult run(final String name, final boolean cached, final List<UUID> eventIds) throws Exception {
+        final Map<String, long[]> before = cacheGets();
+        final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        final long[] eventLatencies = new long[requests - (requests + 4) / 5];
+        final long[] listingLatencies = new long[(requests + 4) / 5];
+        final AtomicLong statements = new AtomicLong();
+
+        final long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+            for (int i = 0; i < requests; i++) {
+                final int index = i;
+                executor.submit(() -> {
+                    SqlStatementRecorder.reset();
+                    final long began = System.nanoTime();
+                    readOnly.executeWithoutResult(status -> {
+                        if (!cached) {
+                            // Session.setCacheMode is not enough: find() resets it from these properties
+                            entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+                            entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+                        }
+                        if (index % 5 == 0) {
+                            eventService.getAllEvents("listing@test.com", true);
+                        } else {
+                            eventService.getEventById(eventIds.get(index % eventIds.size()));
+                        }
+                    });
+                    final long elapsed = System.nanoTime() - began;
+                    if (index % 5 == 0) {
+                        listingLatencies[index / 5] = elapsed;
+                    } else {
+                        eventLatencies[index - index / 5 - 1] = elapsed;
+                    }
+                    statements.addAndGet(SqlStatementRecorder.statements().size());
+                });
+            }
+        }
+        final long durationNanos = System.nanoTime() - start;
+
+        final Map<String, long[]> after = cacheGets();
+        final Map<String, RegionHits> regions = new TreeMap<>();
+        for (String region : REGIONS) {
+            final long hits = after.get(region)[0] - before.get(region)[0];
+            final long misses = after.get(region)[1] - before.get(region)[1];
+            regions.put(region, new RegionHits(hits, misses, hits + misses == 0 ? 0 : (double) hits / (hits + misses)));
+        }
+        return new RunResult(name, requests, TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                requests / (durationNanos / 1e9), statements.get(), (double) statements.get() / requests,
+                summarize(eventLatencies), summarize(listingLatencies), regions);
+    }
+
+    private Map<String, long[]> cacheGets() {
+        final Map<String, long[]> gets = new TreeMap<>();
+        for (String region : REGIONS) {
+            gets.put(region, new long[]{cacheGets(region, "hit"), cacheGets(region, "miss")});
+        }
+        return gets;
+    }
+
+    private long cacheGets(final String region, final String result) {
+        final FunctionCounter counter = meterRegistry.find("cache.gets")
+                .tags("cache", region, "result", result)
+                .functionCounter();
+        return counter == null ? 0 : (long) counter.count();
+    }
+
+    private List<UUID> createEvents() {
+        final List<Venue> venueList = new ArrayList<>();
+        for (int v = 0; v < venues; v++) {
+            venueList.add(venueRepository.save(Venue.builder()
+                    .name("Listing Hall " + v)
+                    .address(v + " Cache Lane")
+                    .capacity(1000)
+                    .build()));
+        }
+        final List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < events; i++) {
+            ids.add(eventRepository.save(Event.builder()
+                    .name("Listing event " + i)
+                    .eventDateTime(LocalDateTime.now().plusDays(10 + i))
+                    .capacity(1000)
+                    .price(BigDecimal.valueOf(45))
+                    .status(EventStatus.PUBLISHED)
+                    .venue(venueList.get(i % venues))
+                    .build()).getId());
+        }
+        return ids;
+    }
+
+    private static LatencySummary summarize(final long[] latencies) {
+        final long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return new LatencySummary(
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.99),
+                percentileMillis(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentileMillis(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private void writeReport(final Report report) throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        objectMapper.writeValue(reportPath.toFile(), report);
+    }
+}
@@ -0,0 +1,377 @@
+package com.concerthall.reservations.load;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.TicketRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.service.JwtService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * On-sale load test: many customers race for tickets through the real HTTP stack against
+ * a throwaway Postgres, then the report is written and the inventory invariants checked.
+ * <p>
+ * Excluded from the default build. Requires Docker. Run with:
+ * ./mvnw test -Dtest=OnSaleLoadTest -Dload.customers=5000 -Dload.capacities=100,1000,10000
+ * <p>
+ * Tunables (system properties): load.customers, load.capacities, load.concurrency, load.report
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "external-provider.venue-api.enabled=false",
+                "spring.jpa.show-sql=false",
+                "logging.level.com.concerthall.reservations=WARN",
+                "logging.level.org.springframework.security=WARN",
+                "spring.datasource.hikari.maximum-pool-size=20"
+        }
+)
+@ActiveProfiles("test")
+class OnSaleLoadTest {
+
+    private static final String POSTGRES_IMAGE = "postgres:16-alpine";
+    private static final long LOCK_SAMPLE_INTERVAL_MS = 10;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(POSTGRES_IMAGE);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    private final int customers = Integer.getInteger("load.customers", 2000);
+    private final int concurrency = Integer.getInteger("load.concurrency", 256);
+    private final List<Integer> capacities = Arrays.stream(System.getProperty("load.capacities", "100,1000,5000")
+                    .split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .collect(Collectors.toList());
+    private final Path reportPath = Path.of(System.getProperty("load.report", "target/load-test-report.json"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    record LatencySummary(double p50, double p99, double p999, double max) {
+    }
+
+    record LockWaitSummary(long estimatedTotalMs, int maxConcurrentWaiters) {
+    }
+
+    record ScenarioResult(
+            int eventCapacity,
+            int requests,
+            long durationMs,
+            double throughputPerSecond,
+            LatencySummary latencyMs,
+            Map<Integer, Long> statusCounts,
+            long transportErrors,
+            LockWaitSummary lockWait,
+            long ticketsSold,
+            long expectedSold,
+            boolean oversold,
+            boolean undersold,
+            long duplicateHolders
+    ) {
+    }
+
+    record Report(
+            LocalDateTime generatedAt,
+            String database,
+            int customers,
+            int concurrency,
+            int availableProcessors,
+            List<ScenarioResult> scenarios
+    ) {
+    }
+
+    @Test
+    void onSale_NoOversellOrUndersellUnderContention() throws Exception {
+        final List<String> tokens = registerCustomers();
+        final Venue venue = venueRepository.save(Venue.builder()
+                .name("Load Test Arena")
+                .address("1 Benchmark Way")
+                .capacity(capacities.stream().max(Integer::compare).orElse(1))
+                .build());
+
+        final List<ScenarioResult> results = new ArrayList<>();
+        for (int capacity : capacities) {
+            results.add(runScenario(venue, capacity, tokens));
+        }
+
+        final Report report = new Report(LocalDateTime.now(), POSTGRES_IMAGE, customers, concurrency,
+                Runtime.getRuntime().availableProcessors(), results);
+        writeReport(report);
+
+        for (ScenarioResult result : results) {
+            assertFalse(result.oversold(), "Oversold event with capacity " + result.eventCapacity());
+            assertFalse(result.undersold(), "Undersold event with capacity " + result.eventCapacity());
+            assertEquals(0, result.duplicateHolders(), "Customer holds several tickets for one event");
+            assertEquals(0, result.transportErrors());
+            assertTrue(result.statusCounts().keySet().stream().noneMatch(status -> status >= 500),
+                    "Server errors during on-sale: " + result.statusCounts());
+        }
+    }
+
+    /**
+     * Insert customers with one JDBC batch and mint their tokens directly,
+     * so set-up cost is not dominated by per-user BCrypt hashing
+     */
+    private List<String> registerCustomers() {
+        final String passwordHash = passwordEncoder.encode("load-test-password");
+        final List<String> emails = IntStream.range(0, customers)
+                .mapToObj(i -> "load-customer-" + i + "@test.com")
+                .collect(Collectors.toList());
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, email, password, role, is_removable) VALUES (?, ?, ?, 'CUSTOMER', true)",
+                emails,
+                1000,
+                (statement, email) -> {
+                    statement.setObject(1, UUID.randomUUID());
+                    statement.setString(2, email);
+                    statement.setString(3, passwordHash);
+                }
+        );
+
+        final List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER"));
+        return emails.stream()
+                .map(email -> jwtService.generateToken(new User(email, passwordHash, authorities)))
+                .collect(Collectors.toList());
+    }
+
+    private ScenarioResult runScenario(Venue venue, int capacity, List<String> tokens) throws Exception {
+        final Event event = eventRepository.save(Event.builder()
+                .name("On-sale capacity " + capacity)
+                .description("Load test event")
+                .eventDateTime(LocalDateTime.now().plusDays(30))
+                .capacity(capacity)
+                .price(BigDecimal.valueOf(50))
+                .status(EventStatus.PUBLISHED)
+                .venue(venue)
+                .build());
+
+        final List<String> shuffled = new ArrayList<>(tokens);
+        Collections.shuffle(shuffled);
+
+        final String body = "{\"eventId\":\"" + event.getId() + "\"}";
+        final URI uri = URI.create("http://localhost:" + port + "/api/tickets/reserve");
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        final long[] latencies = new long[shuffled.size()];
+        final int[] statuses = new int[shuffled.size()];
+        final Semaphore inFlight = new Semaphore(concurrency);
+
+        final LockWaitSampler lockSampler = new LockWaitSampler();
+        final Thread samplerThread = Thread.ofPlatform().daemon().start(lockSampler);
+
+        final long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < shuffled.size(); i++) {
+                final int index = i;
+                final HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .header("Authorization", "Bearer " + shuffled.get(i))
+                        .timeout(Duration.ofSeconds(60))
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+
+                executor.submit(() -> {
+                    inFlight.acquireUninterruptibly();
+                    final long sent = System.nanoTime();
+                    try {
+                        statuses[index] = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        statuses[index] = -1;
+                    } finally {
+                        latencies[index] = System.nanoTime() - sent;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        final long durationNanos = System.nanoTime() - start;
+
+        lockSampler.stop();
+        samplerThread.join();
+
+        return summarize(event, capacity, latencies, statuses, durationNanos, lockSampler);
+    }
+
+    private ScenarioResult summarize(
+            Event event,
+            int capacity,
+            long[] latencies,
+            int[] statuses,
+            long durationNanos,
+            LockWaitSampler lockSampler
+    ) {
+        final long sold = ticketRepository.countByEventIdAndStatusIn(
+                event.getId(), List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID));
+        final long expected = Math.min(capacity, latencies.length);
+        final Long duplicateHolders = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM (
+                    SELECT user_id FROM tickets
+                    WHERE event_id = ? AND status IN ('PENDING_PAYMENT', 'PAID')
+                    GROUP BY user_id HAVING count(*) > 1
+                ) duplicates
+                """, Long.class, event.getId());
+
+        final Map<Integer, Long> statusCounts = Arrays.stream(statuses)
+                .filter(status -> status > 0)
+                .boxed()
+                .collect(Collectors.groupingBy(status -> status, TreeMap::new, Collectors.counting()));
+        final long transportErrors = Arrays.stream(statuses).filter(status -> status <= 0).count();
+
+        final long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+
+        return new ScenarioResult(
+                capacity,
+                latencies.length,
+                TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                latencies.length / (durationNanos / 1e9),
+                new LatencySummary(
+                        percentileMillis(sorted, 0.50),
+                        percentileMillis(sorted, 0.99),
+                        percentileMillis(sorted, 0.999),
+                        sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6),
+                statusCounts,
+                transportErrors,
+                new LockWaitSummary(lockSampler.estimatedWaitMillis(), lockSampler.maxWaiters()),
+                sold,
+                expected,
+                sold > capacity,
+                sold < expected,
+                duplicateHolders != null ? duplicateHolders : 0
+        );
+    }
+
+    private double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private void writeReport(Report report) throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        objectMapper.writeValue(reportPath.toFile(), report);
+    }
+
+    /**
+     * Samples backends waiting on heavyweight locks (the event row lock) over its own connection,
+     * so it neither competes for nor skews the application's pool.
+     * Total wait is estimated as waiters x sampling interval.
+     */
+    private static class LockWaitSampler implements Runnable {
+
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private long waiterSamples;
+        private int maxWaiters;
+
+        @Override
+        public void run() {
+            try (Connection connection = DriverManager.getConnection(
+                    POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+                 Statement statement = connection.createStatement()) {
+
+                while (running.get()) {
+                    try (ResultSet rs = statement.executeQuery(
+                            "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'")) {
+                        rs.next();
+                        final int waiters = rs.getInt(1);
+                        waiterSamples += waiters;
+                        maxWaiters = Math.max(maxWaiters, waiters);
+                    }
+                    Thread.sleep(LOCK_SAMPLE_INTERVAL_MS);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Lock wait sampling failed", e);
+            }
+        }
+
+        void stop() {
+            running.set(false);
+        }
+
+        long estimatedWaitMillis() {
+            return waiterSamples * LOCK_SAMPLE_INTERVAL_MS;
+        }
+
+        int maxWaiters() {
+            return maxWaiters;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.concerthall.reservations.load;
+
+import com.concerthall.reservations.domain.id.UuidV7;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Insert throughput and index size of the tickets table with random (v4) versus
+ * time-ordered (v7) primary keys. Each variant fills its own copy of the migrated tickets
+ * table ({@code LIKE tickets INCLUDING ALL}) through batched JDBC inserts from several writers.
+ * ticket_number is sequential in both runs, so the primary key is the only difference.
+ * <p>
+ * Batches default to 10 rows to stay close to the reservation path (one ticket per
+ * transaction). With large batches from many writers, v7 keys reach the right edge of the
+ * index out of order. Those pages split in the middle and most of the density gain is lost.
+ * <p>
+ * Excluded from the default build. Requires Docker and, at the default size, ~4 GB of disk. Run with:
+ * ./mvnw test -Dtest=TicketKeyOrderLoadTest -Dkeyorder.rows=10000000
+ * <p>
+ * Tunables (system properties): keyorder.rows, keyorder.writers, keyorder.batch, keyorder.report
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TicketKeyOrderLoadTest {
+
+    private static final String POSTGRES_IMAGE = "postgres:16-alpine";
+    private static final int SEGMENTS = 10;
+    private static final int EVENTS = 2000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(POSTGRES_IMAGE)
+            // Larger WAL keeps checkpoints from dominating either run
+            .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "max_wal_size=8GB");
+
+    private final long rows = Long.getLong("keyorder.rows", 10_000_000L);
+    private final int writers = Integer.getInteger("keyorder.writers", 8);
+    private final int batchSize = Integer.getInteger("keyorder.batch", 10);
+    private final Path reportPath = Path.of(System.getProperty("keyorder.report", "target/key-order-report.json"));
+
+    record Segment(long tableRows, double rowsPerSecond) {
+    }
+
+    record IndexSize(String name, long bytes) {
+    }
+
+    record VariantResult(
+            String keys,
+            long rows,
+            long durationMs,
+            double rowsPerSecond,
+            List<Segment> throughputByTableSize,
+            long walBytes,
+            long tableBytes,
+            long primaryKeyBytes,
+            Double primaryKeyLeafDensity,
+            List<IndexSize> indexes
+    ) {
+    }
+
+    record Report(
+            LocalDateTime generatedAt,
+            String database,
+            long rows,
+            int writers,
+            int batchSize,
+            List<VariantResult> variants
+    ) {
+    }
+
+    @Test
+    void timeOrderedKeys_KeepPrimaryKeyCompact() throws Exception {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        final List<VariantResult> results = List.of(
+                runVariant("uuid_v4", UUID::randomUUID),
+                runVariant("uuid_v7", UuidV7::generate));
+
+        writeReport(new Report(LocalDateTime.now(), POSTGRES_IMAGE, rows, writers, batchSize, results));
+
+        final VariantResult random = results.get(0);
+        final VariantResult ordered = results.get(1);
+        assertEquals(rows, random.rows());
+        assertEquals(rows, ordered.rows());
+        assertTrue(ordered.primaryKeyBytes() < random.primaryKeyBytes(),
+                "v7 primary key (" + ordered.primaryKeyBytes() + " bytes) should be smaller than v4 ("
+                        + random.primaryKeyBytes() + " bytes)");
+    }
+
+    private VariantResult runVariant(String name, Supplier<UUID> keys) throws Exception {
+        final String table = "tickets_" + name;
+        final List<UUID> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(UUID.randomUUID());
+        }
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table + " (LIKE tickets INCLUDING ALL)");
+            statement.execute("CHECKPOINT");
+        }
+        final String walBefore = queryString("SELECT pg_current_wal_lsn()::text");
+
+        final AtomicLong claimed = new AtomicLong();
+        final AtomicLong inserted = new AtomicLong();
+        final AtomicLongArray segmentReachedAt = new AtomicLongArray(SEGMENTS);
+        final long segmentRows = Math.max(1, rows / SEGMENTS);
+        final long started = System.nanoTime();
+
+        final ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(pool.submit(() -> {
+                    writeBatches(table, keys, events, claimed, inserted, segmentReachedAt, segmentRows, started);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        final long durationNanos = System.nanoTime() - started;
+
+        final long walBytes = queryLong("SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '" + walBefore + "')::bigint");
+        final List<IndexSize> indexes = indexSizes(table);
+        final String primaryKey = table + "_pkey";
+        final VariantResult result = new VariantResult(
+                name,
+                inserted.get(),
+                durationNanos / 1_000_000,
+                inserted.get() / (durationNanos / 1e9),
+                segments(segmentReachedAt, segmentRows),
+                walBytes,
+                queryLong("SELECT pg_table_size('" + table + "')"),
+                indexes.stream().filter(i -> i.name().equals(primaryKey)).mapToLong(IndexSize::bytes).sum(),
+                leafDensity(primaryKey),
+                indexes);
+
+        // Free the disk before the next variant
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + table);
+        }
+        return result;
+    }
+
+    private void writeBatches(
+            String table,
+            Supplier<UUID> keys,
+            List<UUID> events,
+            AtomicLong claimed,
+            AtomicLong inserted,
+            AtomicLongArray segmentReachedAt,
+            long segmentRows,
+            long started
+    ) throws SQLException {
+        final String sql = "INSERT INTO " + table
+                + " (id, ticket_number, user_id, event_id, price, status, reserved_at, updated_at, event_date_time)"
+                + " VALUES (?, ?, ?, ?, ?, 'PAID', ?, ?, ?)";
+        try (Connection connection = connect(); PreparedStatement insert = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            final BigDecimal price = new BigDecimal("49.90");
+            final Timestamp eventDate = Timestamp.valueOf(LocalDateTime.now().plusMonths(1));
+            while (true) {
+                final long from = claimed.getAndAdd(batchSize);
+                if (from >= rows) {
+                    return;
+                }
+                final long to = Math.min(rows, from + batchSize);
+                final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (long n = from; n < to; n++) {
+                    insert.setObject(1, keys.get());
+                    insert.setString(2, String.format("TKT-%012d", n));
+                    insert.setObject(3, UUID.randomUUID());
+                    insert.setObject(4, events.get(ThreadLocalRandom.current().nextInt(events.size())));
+                    insert.setBigDecimal(5, price);
+                    insert.setTimestamp(6, now);
+                    insert.setTimestamp(7, now);
+                    insert.setTimestamp(8, eventDate);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+
+                final long done = inserted.addAndGet(to - from);
+                final int segment = (int) Math.min(SEGMENTS - 1, done / segmentRows - 1);
+                if (segment >= 0) {
+                    for (int s = 0; s <= segment; s++) {
+                        segmentReachedAt.compareAndSet(s, 0, System.nanoTime() - started);
+                    }
+                }
+            }
+        }
+    }
+
+    private List<Segment> segments(AtomicLongArray reachedAt, long segmentRows) {
+        final List<Segment> segments = new ArrayList<>();
+        long previous = 0;
+        for (int s = 0; s < SEGMENTS; s++) {
+            final long at = reachedAt.get(s);
+            if (at == 0) {
+                break;
+            }
+            segments.add(new Segment((s + 1) * segmentRows, segmentRows / ((at - previous) / 1e9)));
+            previous = at;
+        }
+        return segments;
+    }
+
+    private List<IndexSize> indexSizes(String table) throws SQLException {
+        final List<IndexSize> sizes = new ArrayList<>();
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT indexrelid::regclass::text, pg_relation_size(indexrelid) FROM pg_index"
+                             + " WHERE indrelid = '" + table + "'::regclass ORDER BY 1")) {
+            while (rs.next()) {
+                sizes.add(new IndexSize(rs.getString(1), rs.getLong(2)));
+            }
+        }
+        return sizes;
+    }
+
+    // pgstattuple ships with the official image; the report still works without it
+    private Double leafDensity(String index) {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT avg_leaf_density FROM pgstatindex('" + index + "')")) {
+                return rs.next() ? rs.getDouble(1) : null;
+            }
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Connection connection = connect();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        final String url = POSTGRES.getJdbcUrl();
+        return DriverManager.getConnection(
+                url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true",
+                POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+    }
+
+    private void writeReport(Report report) throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        objectMapper.writeValue(reportPath.toFile(), report);
+    }
+}
@@ -0,0 +1,272 @@
+package com.concerthall.reservations.load;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.store.JpaTicketStore;
+import com.concerthall.reservations.store.TicketStore;
+import com.concerthall.reservations.store.TicketStoreProperties;
+import com.concerthall.reservations.store.log.LogTicketStore;
+import com.concerthall.reservations.store.log.TicketReferences;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the ticket stores on the storage half of the reservation path: the duplicate
+ * check, the capacity count and the insert in one transaction, then the payment update in
+ * a second. The event row lock is left out so only the store is measured. Every store
+ * gets the same users, events and order of operations; the log store runs with and
+ * without fsync on every write.
+ * <p>
+ * Excluded from the default build. Requires Docker. Run with:
+ * ./mvnw test -Dtest=TicketStoreLoadTest -Dload.customers=5000 -Dload.events=20
+ * <p>
+ * Tunables (system properties): load.customers, load.events, load.concurrency, load.report
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "external-provider.venue-api.enabled=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.concerthall.reservations=WARN",
+        "spring.datasource.hikari.maximum-pool-size=20"
+})
+@ActiveProfiles("test")
+class TicketStoreLoadTest {
+
+    private static final String POSTGRES_IMAGE = "postgres:16-alpine";
+    private static final List<TicketStatus> SOLD = List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID);
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(POSTGRES_IMAGE);
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    private final int customers = Integer.getInteger("load.customers", 2000);
+    private final int events = Integer.getInteger("load.events", 10);
+    private final int concurrency = Integer.getInteger("load.concurrency", 16);
+    private final Path reportPath = Path.of(System.getProperty("load.report", "target/ticket-store-report.json"));
+
+    @TempDir
+    Path logDirectory;
+
+    @Autowired
+    private JpaTicketStore jpaTicketStore;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    record LatencySummary(double p50, double p99, double p999, double max) {
+    }
+
+    record StoreResult(
+            String store,
+            int operations,
+            long durationMs,
+            double reservationsPerSecond,
+            LatencySummary reserveMs,
+            LatencySummary payMs,
+            LatencySummary myTicketsMs
+    ) {
+    }
+
+    record Report(
+            LocalDateTime generatedAt,
+            String database,
+            int customers,
+            int events,
+            int concurrency,
+            int availableProcessors,
+            List<StoreResult> stores
+    ) {
+    }
+
+    @Test
+    void compareStores() throws Exception {
+        final List<UUID> users = insertCustomers();
+        final List<StoreResult> results = new ArrayList<>();
+
+        results.add(run("jpa", jpaTicketStore, users));
+        for (boolean sync : List.of(true, false)) {
+            final TicketStoreProperties.Log settings = new TicketStoreProperties.Log();
+            settings.setSyncOnWrite(sync);
+            try (LogTicketStore logStore = new LogTicketStore(
+                    logDirectory.resolve("sync-" + sync), settings, TicketReferences.of(entityManager))) {
+                results.add(run(sync ? "log-fsync" : "log-no-fsync", logStore, users));
+            }
+        }
+
+        writeReport(new Report(LocalDateTime.now(), POSTGRES_IMAGE, customers, events, concurrency,
+                Runtime.getRuntime().availableProcessors(), results));
+    }
+
+    private StoreResult run(final String name, final TicketStore store, final List<UUID> users) throws Exception {
+        final List<Event> eventList = createEvents(name);
+        final int operations = customers * eventList.size();
+        final long[] reserve = new long[operations];
+        final long[] pay = new long[operations];
+        final long[] myTickets = new long[operations];
+
+        final long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+            for (int i = 0; i < operations; i++) {
+                final int index = i;
+                executor.submit(() -> {
+                    final UUID userId = users.get(index % customers);
+                    final Event event = eventList.get(index / customers);
+
+                    long began = System.nanoTime();
+                    final UUID ticketId = transactionTemplate.execute(status -> {
+                        if (store.existsForUserAndEvent(userId, event, SOLD)) {
+                            throw new IllegalStateException("Duplicate ticket in load test");
+                        }
+                        store.countByEvent(event, SOLD);
+                        return store.save(Ticket.builder()
+                                .ticketNumber("TKT-LOAD-" + UUID.randomUUID())
+                                .user(entityManager.getReference(User.class, userId))
+                                .event(event)
+                                .price(event.getPrice())
+                                .status(TicketStatus.PENDING_PAYMENT)
+                                .paymentExpiresAt(LocalDateTime.now().plusMinutes(15))
+                                .build()).getId();
+                    });
+                    reserve[index] = System.nanoTime() - began;
+
+                    began = System.nanoTime();
+                    transactionTemplate.executeWithoutResult(status -> {
+                        final Ticket ticket = store.findById(ticketId).orElseThrow();
+                        ticket.setStatus(TicketStatus.PAID);
+                        ticket.setPaymentExpiresAt(null);
+                        store.save(ticket);
+                    });
+                    pay[index] = System.nanoTime() - began;
+
+                    began = System.nanoTime();
+                    transactionTemplate.executeWithoutResult(status -> store.findByUser(userId).size());
+                    myTickets[index] = System.nanoTime() - began;
+                });
+            }
+        }
+        final long durationNanos = System.nanoTime() - start;
+
+        for (Event event : eventList) {
+            assertEquals(customers, store.countByEvent(event, List.of(TicketStatus.PAID)),
+                    name + " lost or duplicated tickets");
+        }
+        return new StoreResult(name, operations, TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                operations / (durationNanos / 1e9), summarize(reserve), summarize(pay), summarize(myTickets));
+    }
+
+    private List<UUID> insertCustomers() {
+        final List<UUID> ids = IntStream.range(0, customers)
+                .mapToObj(i -> UUID.randomUUID())
+                .collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, email, password, role, is_removable) VALUES (?, ?, 'hash', 'CUSTOMER', true)",
+                ids,
+                1000,
+                (statement, id) -> {
+                    statement.setObject(1, id);
+                    statement.setString(2, "store-load-" + id + "@test.com");
+                });
+        return ids;
+    }
+
+    private List<Event> createEvents(final String store) {
+        final Venue venue = venueRepository.save(Venue.builder()
+                .name("Store Load Arena " + store)
+                .address("1 Benchmark Way")
+                .capacity(customers)
+                .build());
+        return IntStream.range(0, events)
+                .mapToObj(i -> eventRepository.save(Event.builder()
+                        .name("Store load " + store + " " + i)
+                        .eventDateTime(LocalDateTime.now().plusDays(30 + i))
+                        .capacity(customers)
+                        .price(BigDecimal.valueOf(50))
+                        .status(EventStatus.PUBLISHED)
+                        .venue(venue)
+                        .build()))
+                .collect(Collectors.toList());
+    }
+
+    private static LatencySummary summarize(final long[] latencies) {
+        final long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return new LatencySummary(
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.99),
+                percentileMillis(sorted, 0.999),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentileMillis(final long[] sorted, final double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private void writeReport(final Report report) throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+
+        if (reportPath.getParent() != null) {
+            Files.createDirectories(reportPath.getParent());
+        }
+        objectMapper.writeValue(reportPath.toFile(), report);
+    }
+}
@@ -0,0 +1,57 @@
+package com.concerthall.reservations.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggerRateLimitTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final LoggerRateLimitTurboFilter filter = new LoggerRateLimitTurboFilter();
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter.addLimit("org.springframework=2");
+        filter.addLimit("org.springframework.security=1");
+    }
+
+    @Test
+    void decide_LongestPrefixLimitApplies() {
+        final Logger security = context.getLogger("org.springframework.security.web.FilterChainProxy");
+
+        assertEquals(FilterReply.NEUTRAL, decide(security, Level.DEBUG));
+        assertEquals(FilterReply.DENY, decide(security, Level.DEBUG));
+    }
+
+    @Test
+    void decide_WarnAndEnabledChecksNeverConsumeSlots() {
+        final Logger web = context.getLogger("org.springframework.web.Servlet");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(web, Level.WARN));
+            assertEquals(FilterReply.NEUTRAL, filter.decide(null, web, Level.DEBUG, null, null, null));
+        }
+        assertEquals(FilterReply.NEUTRAL, decide(web, Level.INFO));
+        assertEquals(FilterReply.NEUTRAL, decide(web, Level.INFO));
+        assertEquals(FilterReply.DENY, decide(web, Level.INFO));
+    }
+
+    @Test
+    void decide_UnlimitedLoggersPass() {
+        final Logger application = context.getLogger("com.concerthall.reservations.service.TicketService");
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(application, Level.INFO));
+        }
+    }
+
+    private FilterReply decide(Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message {}", new Object[]{1}, null);
+    }
+}
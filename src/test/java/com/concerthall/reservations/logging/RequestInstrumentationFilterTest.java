@@ -0,0 +1,68 @@
+package com.concerthall.reservations.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestInstrumentationFilterTest {
+
+    private final RequestLoggingProperties properties = new RequestLoggingProperties();
+    private final RequestInstrumentationFilter filter = new RequestInstrumentationFilter(properties);
+
+    @Test
+    void doFilter_KeepsValidCallerRequestId() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader("X-Request-Id", "abc-123");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final AtomicReference<String> seenInChain = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> seenInChain.set(MDC.get("requestId")));
+
+        assertEquals("abc-123", seenInChain.get());
+        assertEquals("abc-123", response.getHeader("X-Request-Id"));
+        assertNull(MDC.get("requestId"));
+    }
+
+    @Test
+    void doFilter_ReplacesUnsafeRequestId() throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.addHeader("X-Request-Id", "bad id\nforged=line");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> { });
+
+        assertNotEquals("bad id\nforged=line", response.getHeader("X-Request-Id"));
+        assertEquals(36, response.getHeader("X-Request-Id").length());
+    }
+
+    @Test
+    void timings_NestedSpansOfSamePhaseCountOnce() {
+        final RequestTimings timings = RequestTimings.bind();
+        try {
+            final long outer = RequestTimings.begin(RequestTimings.Phase.EXTERNAL);
+            final long inner = RequestTimings.begin(RequestTimings.Phase.EXTERNAL);
+            RequestTimings.end(RequestTimings.Phase.EXTERNAL, inner);
+            RequestTimings.end(RequestTimings.Phase.EXTERNAL, outer);
+
+            final long db = RequestTimings.begin(RequestTimings.Phase.DB);
+            RequestTimings.end(RequestTimings.Phase.DB, db);
+
+            assertEquals(1, timings.count(RequestTimings.Phase.EXTERNAL));
+            assertEquals(1, timings.count(RequestTimings.Phase.DB));
+            assertEquals(0, timings.count(RequestTimings.Phase.SERIALIZATION));
+        } finally {
+            RequestTimings.unbind();
+        }
+    }
+
+    @Test
+    void timings_NoOpWithoutBoundRequest() {
+        final long token = RequestTimings.begin(RequestTimings.Phase.DB);
+        assertDoesNotThrow(() -> RequestTimings.end(RequestTimings.Phase.DB, token));
+    }
+}
@@ -0,0 +1,178 @@
+package com.concerthall.reservations.partitioning;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.dto.response.TicketResponse;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.TicketRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "external-provider.venue-api.enabled=false")
+@ActiveProfiles("test")
+class TicketPartitionServiceTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TicketPartitionService partitionService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User customer;
+    private Venue venue;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tickets_archive");
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getRole() != UserRole.ADMIN)
+                .forEach(userRepository::delete);
+        venueRepository.deleteAll();
+
+        venue = venueRepository.save(Venue.builder()
+                .name("Partition Hall")
+                .address("1 Range Street")
+                .capacity(500)
+                .build());
+        customer = userRepository.save(User.builder()
+                .email("customer@test.com")
+                .password("hash")
+                .role(UserRole.CUSTOMER)
+                .build());
+    }
+
+    @Test
+    void ticketsBeyondHorizon_MoveFromDefaultWhenTheirMonthIsCreated() {
+        final YearMonth farMonth = YearMonth.now().plusMonths(20);
+        final Ticket ticket = saveTicket(saveEvent(farMonth.atDay(10).atTime(20, 0), EventStatus.PUBLISHED));
+        assertEquals("tickets_default", partitionOf("tickets", ticket.getId()));
+
+        final List<YearMonth> created = partitionService.createUpcomingPartitions(farMonth);
+
+        assertTrue(created.contains(farMonth));
+        assertEquals(TicketPartitionService.partitionName(farMonth), partitionOf("tickets", ticket.getId()));
+        assertTrue(partitionService.createUpcomingPartitions(farMonth).isEmpty());
+    }
+
+    @Test
+    void endedMonths_AreArchivedOnlyOnceAllEventsAreOver() {
+        final YearMonth completedMonth = YearMonth.now().minusMonths(8);
+        final YearMonth openMonth = YearMonth.now().minusMonths(7);
+        partitionService.createUpcomingPartitions(completedMonth);
+
+        final Ticket archivedTicket = saveTicket(saveEvent(completedMonth.atDay(5).atTime(19, 0), EventStatus.COMPLETED));
+        final Ticket hotTicket = saveTicket(saveEvent(openMonth.atDay(5).atTime(19, 0), EventStatus.PUBLISHED));
+
+        final List<YearMonth> archived = partitionService.archiveEndedMonths(LocalDate.now());
+
+        assertTrue(archived.contains(completedMonth));
+        assertFalse(archived.contains(openMonth));
+        assertTrue(ticketRepository.findById(archivedTicket.getId()).isEmpty());
+        assertEquals(TicketPartitionService.partitionName(completedMonth),
+                partitionOf("tickets_archive", archivedTicket.getId()));
+        assertTrue(ticketRepository.findById(hotTicket.getId()).isPresent());
+
+        // Past tickets stay visible to their owner, newest event first
+        final List<TicketResponse> myTickets = ticketService.getMyTickets(customer.getEmail());
+        assertEquals(List.of(hotTicket.getId(), archivedTicket.getId()),
+                myTickets.stream().map(TicketResponse::getId).toList());
+        assertEquals("Partition Hall", myTickets.get(1).getVenueName());
+    }
+
+    @Test
+    void eventReschedule_MovesTicketsToTheNewMonth() {
+        final Event event = saveEvent(LocalDateTime.now().plusDays(10), EventStatus.PUBLISHED);
+        final Ticket ticket = saveTicket(event);
+        final LocalDateTime rescheduled = LocalDateTime.now().plusMonths(3);
+
+        transactionTemplate.executeWithoutResult(
+                status -> ticketRepository.updateEventDateTime(event.getId(), rescheduled));
+
+        assertEquals(TicketPartitionService.partitionName(YearMonth.from(rescheduled)),
+                partitionOf("tickets", ticket.getId()));
+    }
+
+    private Event saveEvent(final LocalDateTime dateTime, final EventStatus status) {
+        return eventRepository.save(Event.builder()
+                .name("Partition Event " + dateTime)
+                .eventDateTime(dateTime)
+                .capacity(100)
+                .price(BigDecimal.valueOf(40))
+                .status(status)
+                .venue(venue)
+                .build());
+    }
+
+    private Ticket saveTicket(final Event event) {
+        return ticketRepository.save(Ticket.builder()
+                .ticketNumber("TKT-PART-" + UUID.randomUUID())
+                .user(customer)
+                .event(event)
+                .price(event.getPrice())
+                .status(TicketStatus.PAID)
+                .build());
+    }
+
+    private String partitionOf(final String table, final UUID ticketId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM " + table + " WHERE id = ?", String.class, ticketId);
+    }
+}
@@ -0,0 +1,45 @@
+package com.concerthall.reservations.pricing;
+
+import com.concerthall.reservations.domain.PriceTier;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PriceScheduleTest {
+
+    private static final BigDecimal BASE = new BigDecimal("40.00");
+    private static final LocalDateTime EARLY = LocalDateTime.of(2030, 3, 1, 0, 0);
+    private static final LocalDateTime REGULAR = LocalDateTime.of(2030, 5, 1, 0, 0);
+    private static final LocalDateTime DOOR = LocalDateTime.of(2030, 6, 1, 18, 0);
+
+    @Test
+    void priceAt_LastStartedTierWins() {
+        // Out of order on purpose
+        final PriceSchedule schedule = PriceSchedule.of(List.of(
+                tier(DOOR, "60.00"), tier(EARLY, "30.00"), tier(REGULAR, "45.00")));
+
+        assertEquals(BASE, schedule.priceAt(EARLY.minusSeconds(1), BASE));
+        assertEquals(new BigDecimal("30.00"), schedule.priceAt(EARLY, BASE));
+        assertEquals(new BigDecimal("30.00"), schedule.priceAt(REGULAR.minusNanos(1), BASE));
+        assertEquals(new BigDecimal("45.00"), schedule.priceAt(REGULAR.plusDays(3), BASE));
+        assertEquals(new BigDecimal("60.00"), schedule.priceAt(DOOR, BASE));
+        assertEquals(new BigDecimal("60.00"), schedule.priceAt(DOOR.plusYears(1), BASE));
+    }
+
+    @Test
+    void priceAt_NoTiers_BasePrice() {
+        final PriceSchedule schedule = PriceSchedule.of(List.of());
+
+        assertSame(PriceSchedule.EMPTY, schedule);
+        assertEquals(BASE, schedule.priceAt(DOOR, BASE));
+    }
+
+    private static PriceTier tier(final LocalDateTime effectiveFrom, final String price) {
+        return PriceTier.builder().effectiveFrom(effectiveFrom).price(new BigDecimal(price)).build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.concerthall.reservations.profiling;
+
+import com.concerthall.reservations.dto.response.RecordingStatusResponse;
+import com.concerthall.reservations.exception.RecordingStateException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderServiceTest {
+
+    private final FlightRecorderService service = new FlightRecorderService();
+    private Path file;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (service.current().isPresent()) {
+            file = service.stop();
+        }
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void stop_ReturnsRecordingWithBusinessEvents() throws Exception {
+        final RecordingStatusResponse status = service.start(Duration.ofMinutes(1), 16 * 1024 * 1024);
+        assertEquals("RUNNING", status.getState());
+
+        final ReservationEvent event = new ReservationEvent();
+        event.begin();
+        event.eventId = "event-1";
+        event.outcome = "SUCCESS";
+        event.commit();
+
+        file = service.stop();
+
+        final List<RecordedEvent> reservations = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.concerthall.Reservation"))
+                .toList();
+        assertEquals(1, reservations.size());
+        assertEquals("event-1", reservations.get(0).getString("eventId"));
+        assertTrue(service.current().isEmpty());
+    }
+
+    @Test
+    void start_RejectsSecondRecording() {
+        service.start(Duration.ofMinutes(1), 16 * 1024 * 1024);
+
+        assertThrows(RecordingStateException.class,
+                () -> service.start(Duration.ofMinutes(1), 16 * 1024 * 1024));
+    }
+
+    @Test
+    void stop_WithoutRecordingFails() {
+        assertThrows(RecordingStateException.class, service::stop);
+    }
+}
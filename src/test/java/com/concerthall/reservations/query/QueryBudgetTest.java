@@ -0,0 +1,227 @@
+package com.concerthall.reservations.query;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.dto.request.CartItemRequest;
+import com.concerthall.reservations.dto.request.CartReservationRequest;
+import com.concerthall.reservations.dto.request.ReserveTicketRequest;
+import com.concerthall.reservations.pricing.PriceScheduleIndex;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.TicketRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.service.EventService;
+import com.concerthall.reservations.service.TicketService;
+import com.concerthall.reservations.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.concerthall.reservations.support.QueryBudget.assertQueryCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins the number of SQL statements issued by the main read and reservation paths.
+ * Fixtures hold several events and tickets so per-row queries (N+1) show up in the count.
+ * When a change legitimately alters a budget, update the number and say why in the commit.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "external-provider.venue-api.enabled=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.concerthall.reservations.support.SqlStatementRecorder"
+})
+@ActiveProfiles("test")
+class QueryBudgetTest {
+
+    private static final int EVENTS = 3;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PriceScheduleIndex priceSchedules;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<Event> events;
+    private Event unbookedEvent;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getRole() != UserRole.ADMIN)
+                .forEach(userRepository::delete);
+        venueRepository.deleteAll();
+
+        final Venue venue = venueRepository.save(Venue.builder()
+                .name("Budget Hall")
+                .address("1 Query Street")
+                .capacity(500)
+                .build());
+
+        userRepository.save(User.builder()
+                .email("power@test.com")
+                .password("hash")
+                .role(UserRole.POWER_USER)
+                .assignedVenues(Set.of(venue))
+                .build());
+        final User customer = userRepository.save(User.builder()
+                .email("customer@test.com")
+                .password("hash")
+                .role(UserRole.CUSTOMER)
+                .build());
+
+        events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            final Event event = eventRepository.save(Event.builder()
+                    .name("Budget Event " + i)
+                    .eventDateTime(LocalDateTime.now().plusDays(10 + i))
+                    .capacity(100)
+                    .price(BigDecimal.valueOf(40))
+                    .status(EventStatus.PUBLISHED)
+                    .venue(venue)
+                    .build());
+            events.add(event);
+
+            ticketRepository.save(Ticket.builder()
+                    .ticketNumber("TKT-BUDGET-" + i)
+                    .user(customer)
+                    .event(event)
+                    .price(event.getPrice())
+                    .status(i == 0 ? TicketStatus.PAID : TicketStatus.PENDING_PAYMENT)
+                    .paymentExpiresAt(LocalDateTime.now().plusMinutes(15))
+                    .build());
+        }
+
+        unbookedEvent = eventRepository.save(Event.builder()
+                .name("Budget Event unbooked")
+                .eventDateTime(LocalDateTime.now().plusDays(30))
+                .capacity(100)
+                .price(BigDecimal.valueOf(40))
+                .status(EventStatus.PUBLISHED)
+                .venue(venue)
+                .build());
+    }
+
+    @Test
+    void getAllEvents_CustomerView() {
+        // events + one sold-ticket count per event; the venue comes from the second-level cache
+        final var result = assertQueryCount(5,
+                () -> eventService.getAllEvents("customer@test.com", true));
+        assertEquals(EVENTS + 1, result.size());
+    }
+
+    @Test
+    void getAllEvents_CustomerView_Repeated() {
+        eventService.getAllEvents("customer@test.com", true);
+        // Published events come from the query cache, leaving the sold-ticket counts
+        final var result = assertQueryCount(4,
+                () -> eventService.getAllEvents("customer@test.com", true));
+        assertEquals(EVENTS + 1, result.size());
+    }
+
+    @Test
+    void getAllEvents_PowerUser() {
+        // user with venues + events in those venues + one count per event
+        final var result = assertQueryCount(6,
+                () -> eventService.getAllEvents("power@test.com", false));
+        assertEquals(EVENTS + 1, result.size());
+    }
+
+    @Test
+    void getMyTickets() {
+        // user + hot and archived tickets + their events joined with venues
+        final var result = assertQueryCount(3,
+                () -> ticketService.getMyTickets("customer@test.com"));
+        assertEquals(EVENTS, result.size());
+    }
+
+    @Test
+    void getEventSales() {
+        // user with venues + sold count + paid revenue; the event comes from the second-level cache
+        assertQueryCount(3,
+                () -> eventService.getEventSales(events.get(0).getId(), "power@test.com"));
+    }
+
+    @Test
+    void reserveTicket() {
+        // The event's price tiers are read on its first lookup only
+        priceSchedules.priceAt(unbookedEvent, LocalDateTime.now());
+
+        // user + locked event + duplicate check + sold count + insert; the venue comes from the
+        // second-level cache and the price from the schedule index
+        assertQueryCount(5, () -> ticketService.reserveTicket(
+                ReserveTicketRequest.builder().eventId(unbookedEvent.getId()).build(),
+                "customer@test.com"));
+    }
+
+    @Test
+    void reserveCart() {
+        userRepository.save(User.builder().email("family@test.com").password("hash").role(UserRole.CUSTOMER).build());
+        final List<CartItemRequest> items = events.stream()
+                .map(event -> CartItemRequest.builder().eventId(event.getId()).build())
+                .toList();
+        events.forEach(event -> priceSchedules.priceAt(event, LocalDateTime.now()));
+
+        // user + all events locked at once + one duplicate check + one grouped count + one
+        // batched insert, however many events the cart holds
+        final var cart = assertQueryCount(5, () -> ticketService.reserveCart(
+                CartReservationRequest.builder().items(items).build(),
+                "family@test.com"));
+        assertEquals(EVENTS, cart.getTickets().size());
+    }
+
+    @Test
+    void getAllUsers() {
+        final var result = assertQueryCount(1, () -> userService.getAllUsers());
+        assertEquals(3, result.size());
+    }
+}
@@ -0,0 +1,233 @@
+package com.concerthall.reservations.seating;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.dto.request.CartItemRequest;
+import com.concerthall.reservations.dto.request.CartReservationRequest;
+import com.concerthall.reservations.dto.request.ReserveTicketRequest;
+import com.concerthall.reservations.dto.request.SeatMapRequest;
+import com.concerthall.reservations.dto.request.SeatRowRequest;
+import com.concerthall.reservations.dto.request.SeatSectionRequest;
+import com.concerthall.reservations.dto.response.CartReservationResponse;
+import com.concerthall.reservations.dto.response.SeatAvailabilityResponse;
+import com.concerthall.reservations.dto.response.TicketResponse;
+import com.concerthall.reservations.exception.InsufficientCapacityException;
+import com.concerthall.reservations.exception.SeatUnavailableException;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.TicketRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.service.PaymentExpirationService;
+import com.concerthall.reservations.service.SeatingService;
+import com.concerthall.reservations.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "external-provider.venue-api.enabled=false")
+@ActiveProfiles("test")
+class SeatInventoryTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private SeatingService seatingService;
+
+    @Autowired
+    private PaymentExpirationService paymentExpirationService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Venue venue;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getRole() != UserRole.ADMIN)
+                .forEach(userRepository::delete);
+        venueRepository.deleteAll();
+
+        venue = venueRepository.save(Venue.builder().name("Small Hall").address("1 Row Street").capacity(5).build());
+        // Three seats in the stalls sell before the two on the balcony
+        seatingService.replaceSeatMap(venue.getId(), SeatMapRequest.builder()
+                .sections(List.of(section("Stalls", "A", 3), section("Balcony", "A", 2)))
+                .build());
+        event = eventRepository.save(Event.builder()
+                .name("Quartet")
+                .eventDateTime(LocalDateTime.now().plusDays(30))
+                .capacity(10)
+                .price(new BigDecimal("25.00"))
+                .status(EventStatus.PUBLISHED)
+                .venue(venueRepository.findById(venue.getId()).orElseThrow())
+                .build());
+    }
+
+    @Test
+    void reserve_BestAvailableThenRequestedSeat() {
+        final TicketResponse first = reserve("first@test.com", null, null, null);
+        assertEquals("Stalls", first.getSeatSection());
+        assertEquals("A", first.getSeatRow());
+        assertEquals(1, first.getSeatNumber());
+
+        final TicketResponse balcony = reserve("second@test.com", "Balcony", "A", 2);
+        assertEquals(2, balcony.getSeatNumber());
+        assertThrows(SeatUnavailableException.class, () -> reserve("third@test.com", "Balcony", "A", 2));
+        assertThrows(IllegalArgumentException.class, () -> reserve("third@test.com", "Balcony", "B", 1));
+
+        assertEquals(2, reserve("third@test.com", null, null, null).getSeatNumber());
+
+        final SeatAvailabilityResponse seats = seatingService.getSeatAvailability(event.getId());
+        assertEquals(5, seats.getSeatCount());
+        assertEquals(2, seats.getAvailableSeats());
+        assertArrayEquals(new byte[] {0b1_0011}, Base64.getDecoder().decode(seats.getTaken()));
+    }
+
+    @Test
+    void cancelAndExpiry_ReleaseTheSeat() {
+        final TicketResponse cancelled = reserve("first@test.com", null, null, null);
+        ticketService.cancelTicket(cancelled.getId(), "first@test.com");
+
+        final TicketResponse expiring = reserve("second@test.com", null, null, null);
+        assertEquals(1, expiring.getSeatNumber());
+        final Ticket ticket = ticketRepository.findById(expiring.getId()).orElseThrow();
+        ticket.setPaymentExpiresAt(LocalDateTime.now().minusMinutes(1));
+        ticketRepository.save(ticket);
+        paymentExpirationService.expireUnpaidTickets();
+
+        assertEquals(TicketStatus.CANCELLED, ticketRepository.findById(expiring.getId()).orElseThrow().getStatus());
+        assertEquals(5, seatingService.getSeatAvailability(event.getId()).getAvailableSeats());
+        assertEquals(1, reserve("third@test.com", "Stalls", "A", 1).getSeatNumber());
+    }
+
+    @Test
+    void cancelAfterExpiry_KeepsTheResoldSeat() {
+        final TicketResponse expired = reserve("first@test.com", "Stalls", "A", 1);
+        final Ticket ticket = ticketRepository.findById(expired.getId()).orElseThrow();
+        ticket.setPaymentExpiresAt(LocalDateTime.now().minusMinutes(1));
+        ticketRepository.save(ticket);
+        paymentExpirationService.expireUnpaidTickets();
+        reserve("second@test.com", "Stalls", "A", 1);
+
+        ticketService.cancelTicket(expired.getId(), "first@test.com");
+
+        assertEquals(4, seatingService.getSeatAvailability(event.getId()).getAvailableSeats());
+        assertThrows(SeatUnavailableException.class, () -> reserve("third@test.com", "Stalls", "A", 1));
+    }
+
+    @Test
+    void soldOutSeats_AndSeatMapLockedAfterSales() {
+        for (int i = 0; i < 5; i++) {
+            reserve("fan" + i + "@test.com", null, null, null);
+        }
+        // Capacity allows ten, the seat map only five
+        assertThrows(InsufficientCapacityException.class, () -> reserve("late@test.com", null, null, null));
+
+        assertThrows(IllegalArgumentException.class, () -> seatingService.replaceSeatMap(venue.getId(),
+                SeatMapRequest.builder().sections(List.of(section("Floor", "A", 8))).build()));
+    }
+
+    @Test
+    void cart_FailedItemReleasesSeatsOfTheOthers() {
+        final Event encore = eventRepository.save(Event.builder()
+                .name("Encore")
+                .eventDateTime(LocalDateTime.now().plusDays(31))
+                .capacity(10)
+                .price(new BigDecimal("25.00"))
+                .status(EventStatus.PUBLISHED)
+                .venue(event.getVenue())
+                .build());
+        reserve("first@test.com", "Balcony", "A", 1);
+        userRepository.save(User.builder().email("family@test.com").password("hash").role(UserRole.CUSTOMER).build());
+
+        // The encore seat is claimed first, then the taken one fails the whole cart
+        final CartReservationRequest cart = CartReservationRequest.builder()
+                .items(List.of(
+                        CartItemRequest.builder().eventId(encore.getId()).build(),
+                        CartItemRequest.builder().eventId(event.getId())
+                                .seatSection("Balcony").seatRow("A").seatNumber(1).build()))
+                .build();
+        assertThrows(SeatUnavailableException.class, () -> ticketService.reserveCart(cart, "family@test.com"));
+
+        assertEquals(5, seatingService.getSeatAvailability(encore.getId()).getAvailableSeats());
+        final CartReservationResponse reserved = ticketService.reserveCart(CartReservationRequest.builder()
+                .items(List.of(
+                        CartItemRequest.builder().eventId(encore.getId()).build(),
+                        CartItemRequest.builder().eventId(event.getId()).quantity(2).build()))
+                .build(), "family@test.com");
+        assertEquals(List.of(1, 1, 2), reserved.getTickets().stream().map(TicketResponse::getSeatNumber).toList());
+    }
+
+    @Test
+    void generalAdmission_HasNoSeat() {
+        seatingService.deleteSeatMap(venue.getId());
+
+        assertNull(reserve("first@test.com", null, null, null).getSeatNumber());
+        assertThrows(IllegalArgumentException.class, () -> reserve("second@test.com", "Stalls", "A", 1));
+    }
+
+    private TicketResponse reserve(final String email, final String section, final String row, final Integer number) {
+        if (userRepository.findByEmail(email).isEmpty()) {
+            userRepository.save(User.builder().email(email).password("hash").role(UserRole.CUSTOMER).build());
+        }
+        return ticketService.reserveTicket(ReserveTicketRequest.builder()
+                .eventId(event.getId())
+                .seatSection(section)
+                .seatRow(row)
+                .seatNumber(number)
+                .build(), email);
+    }
+
+    private static SeatSectionRequest section(final String name, final String row, final int seats) {
+        return SeatSectionRequest.builder()
+                .name(name)
+                .rows(List.of(SeatRowRequest.builder().label(row).seats(seats).build()))
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.concerthall.reservations.seating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SeatLayoutTest {
+
+    private final SeatLayout layout = SeatLayout.of(List.of(
+            new SeatLayout.Section("Stalls", List.of(new SeatLayout.Row("A", 10), new SeatLayout.Row("B", 12))),
+            new SeatLayout.Section("Balcony", List.of(new SeatLayout.Row("A", 8)))));
+
+    @Test
+    void seatsAreIndexedInMapOrder() {
+        assertEquals(30, layout.seatCount());
+        assertEquals(0, layout.indexOf("Stalls", "A", 1));
+        assertEquals(10, layout.indexOf("Stalls", "B", 1));
+        assertEquals(21, layout.indexOf("Stalls", "B", 12));
+        // Same row label in another section
+        assertEquals(22, layout.indexOf("Balcony", "A", 1));
+
+        assertEquals(new SeatLayout.Seat("Stalls", "A", 10), layout.seatAt(9));
+        assertEquals(new SeatLayout.Seat("Stalls", "B", 1), layout.seatAt(10));
+        assertEquals(new SeatLayout.Seat("Balcony", "A", 8), layout.seatAt(29));
+        assertThrows(IndexOutOfBoundsException.class, () -> layout.seatAt(30));
+    }
+
+    @Test
+    void unknownSeats() {
+        assertEquals(-1, layout.indexOf("Stalls", "A", 0));
+        assertEquals(-1, layout.indexOf("Stalls", "A", 11));
+        assertEquals(-1, layout.indexOf("Stalls", "C", 1));
+        assertEquals(-1, layout.indexOf("Boxes", "A", 1));
+    }
+
+    @Test
+    void invalidMapsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SeatLayout.of(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> SeatLayout.of(List.of(
+                new SeatLayout.Section("Stalls", List.of(new SeatLayout.Row("A", 5))),
+                new SeatLayout.Section("Stalls", List.of(new SeatLayout.Row("B", 5))))));
+        assertThrows(IllegalArgumentException.class, () -> SeatLayout.of(List.of(
+                new SeatLayout.Section("Stalls", List.of(new SeatLayout.Row("A", 5), new SeatLayout.Row("A", 5))))));
+        assertThrows(IllegalArgumentException.class, () -> SeatLayout.of(List.of(
+                new SeatLayout.Section("Floor", List.of(new SeatLayout.Row("A", SeatLayout.MAX_SEATS + 1))))));
+    }
+
+    @Test
+    void eventSeats_BestAvailableSkipsTakenSeats() {
+        final EventSeats seats = new EventSeats(layout.seatCount(), new byte[] {(byte) 0b0000_0111});
+        assertEquals(3, seats.nextFree(0));
+        assertEquals(27, seats.available());
+
+        seats.take(3);
+        seats.take(5);
+        assertEquals(4, seats.nextFree(0));
+        assertEquals(6, seats.nextFree(5));
+        seats.free(0);
+        // Bit n of byte n / 8, as Postgres get_bit numbers a bytea
+        assertArrayEquals(new byte[] {(byte) 0b0010_1110, 0, 0, 0}, seats.toBytes());
+
+        for (int seat = 0; seat < layout.seatCount(); seat++) {
+            seats.take(seat);
+        }
+        assertEquals(-1, seats.nextFree(0));
+    }
+}
@@ -1,42 +1,58 @@
 package com.concerthall.reservations.service;
 
+import com.concerthall.reservations.admission.AdmissionCodeSigner;
+import com.concerthall.reservations.admission.CheckInRegistry;
+import com.concerthall.reservations.cache.invalidation.CacheInvalidationPublisher;
 import com.concerthall.reservations.domain.Event;
 import com.concerthall.reservations.domain.Ticket;
 import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
 import com.concerthall.reservations.domain.enums.EventStatus;
 import com.concerthall.reservations.domain.enums.TicketStatus;
 import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.dto.request.CartItemRequest;
+import com.concerthall.reservations.dto.request.CartReservationRequest;
 import com.concerthall.reservations.dto.request.ReserveTicketRequest;
+import com.concerthall.reservations.dto.response.CartReservationResponse;
 import com.concerthall.reservations.dto.response.TicketResponse;
 import com.concerthall.reservations.exception.DuplicateTicketException;
 import com.concerthall.reservations.exception.InsufficientCapacityException;
 import com.concerthall.reservations.exception.InvalidEventStateException;
 import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.exception.TicketStateException;
+import com.concerthall.reservations.pricing.PriceScheduleIndex;
 import com.concerthall.reservations.repository.EventRepository;
-import com.concerthall.reservations.repository.TicketRepository;
 import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.seating.SeatInventory;
+import com.concerthall.reservations.store.TicketStore;
+import com.concerthall.reservations.waitlist.WaitlistPromotions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TicketServiceTest {
 
     @Mock
-    private TicketRepository ticketRepository;
+    private TicketStore ticketStore;
 
     @Mock
     private EventRepository eventRepository;
@@ -44,6 +60,28 @@ class TicketServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CacheInvalidationPublisher cacheInvalidation;
+
+    @Mock
+    private PriceScheduleIndex priceSchedules;
+
+    @Mock
+    private SeatInventory seatInventory;
+
+    @Mock
+    private WaitlistPromotions waitlistPromotions;
+
+    @Mock
+    private AdmissionCodeSigner admissionCodes;
+
+    @Mock
+    private CheckInRegistry checkIns;
+
+    // Runs the callbacks of cancelTicket's TransactionTemplate without a database
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private TicketService ticketService;
 
@@ -77,15 +115,131 @@ class TicketServiceTest {
         reserveRequest = ReserveTicketRequest.builder()
                 .eventId(eventId)
                 .build();
+
+        // General admission; a mocked Integer would otherwise come back as seat 0
+        lenient().when(seatInventory.claim(any(), any(), any(), any())).thenReturn(null);
+    }
+
+    @Test
+    void reserveCart_Success() {
+        final Venue venue = Venue.builder().id(UUID.randomUUID()).name("Main Hall").build();
+        testEvent.setVenue(venue);
+        final Event secondEvent = Event.builder()
+                .id(UUID.randomUUID())
+                .name("Second Concert")
+                .eventDateTime(LocalDateTime.now().plusDays(14))
+                .capacity(10)
+                .price(BigDecimal.valueOf(30.00))
+                .status(EventStatus.PUBLISHED)
+                .venue(venue)
+                .build();
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+        when(eventRepository.findAllByIdInWithPessimisticLock(Set.of(testEvent.getId(), secondEvent.getId())))
+                .thenReturn(List.of(testEvent, secondEvent));
+        when(ticketStore.findEventsWithUserTickets(eq(testUser.getId()), any(), any())).thenReturn(Set.of());
+        when(ticketStore.countByEvents(any(), any()))
+                .thenReturn(Map.of(testEvent.getId(), 50L, secondEvent.getId(), 9L));
+        when(priceSchedules.priceAt(any(Event.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, Event.class).getPrice());
+
+        final CartReservationResponse cart = ticketService.reserveCart(CartReservationRequest.builder()
+                .items(List.of(
+                        CartItemRequest.builder().eventId(testEvent.getId()).build(),
+                        CartItemRequest.builder().eventId(secondEvent.getId()).build()))
+                .build(), testUser.getEmail());
+
+        assertEquals(List.of("Test Concert", "Second Concert"),
+                cart.getTickets().stream().map(TicketResponse::getEventName).toList());
+        assertEquals(0, BigDecimal.valueOf(80.00).compareTo(cart.getTotalPrice()));
+        assertEquals(cart.getPaymentExpiresAt(), cart.getTickets().get(1).getPaymentExpiresAt());
+        verify(ticketStore).saveAll(argThat(tickets -> tickets.size() == 2));
+        verify(ticketStore, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    void reserveCart_OneSoldOutEventRejectsTheCart() {
+        final Event soldOut = Event.builder()
+                .id(UUID.randomUUID())
+                .name("Sold Out Concert")
+                .eventDateTime(LocalDateTime.now().plusDays(14))
+                .capacity(10)
+                .status(EventStatus.PUBLISHED)
+                .build();
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+        when(eventRepository.findAllByIdInWithPessimisticLock(any())).thenReturn(List.of(testEvent, soldOut));
+        when(ticketStore.findEventsWithUserTickets(any(), any(), any())).thenReturn(Set.of());
+        when(ticketStore.countByEvents(any(), any()))
+                .thenReturn(Map.of(testEvent.getId(), 50L, soldOut.getId(), 10L));
+
+        final CartReservationRequest request = CartReservationRequest.builder()
+                .items(List.of(
+                        CartItemRequest.builder().eventId(testEvent.getId()).build(),
+                        CartItemRequest.builder().eventId(soldOut.getId()).build()))
+                .build();
+        assertThrows(InsufficientCapacityException.class, () ->
+                ticketService.reserveCart(request, testUser.getEmail()));
+        verify(ticketStore, never()).saveAll(any());
+    }
+
+    @Test
+    void reserveCart_SeveralTicketsForOneEvent() {
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+        when(eventRepository.findAllByIdInWithPessimisticLock(Set.of(testEvent.getId())))
+                .thenReturn(List.of(testEvent));
+        when(ticketStore.findEventsWithUserTickets(any(), any(), any())).thenReturn(Set.of());
+        when(ticketStore.countByEvents(any(), any())).thenReturn(Map.of(testEvent.getId(), 96L));
+        when(priceSchedules.priceAt(any(Event.class), any(LocalDateTime.class))).thenReturn(testEvent.getPrice());
+        testEvent.setVenue(Venue.builder().id(UUID.randomUUID()).name("Main Hall").build());
+
+        final CartReservationResponse cart = ticketService.reserveCart(CartReservationRequest.builder()
+                .items(List.of(
+                        CartItemRequest.builder().eventId(testEvent.getId()).quantity(3).build(),
+                        CartItemRequest.builder().eventId(testEvent.getId()).build()))
+                .build(), testUser.getEmail());
+
+        assertEquals(4, cart.getTickets().size());
+        verify(ticketStore).saveAll(argThat(tickets -> tickets.stream().map(Ticket::getPartyIndex).toList()
+                .equals(List.of(0, 1, 2, 3))));
+        verify(seatInventory, times(4)).claim(testEvent, null, null, null);
+    }
+
+    @Test
+    void reserveCart_QuantityAboveTicketsLeftRejected() {
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+        when(eventRepository.findAllByIdInWithPessimisticLock(any())).thenReturn(List.of(testEvent));
+        when(ticketStore.findEventsWithUserTickets(any(), any(), any())).thenReturn(Set.of());
+        when(ticketStore.countByEvents(any(), any())).thenReturn(Map.of(testEvent.getId(), 98L));
+
+        final CartReservationRequest request = CartReservationRequest.builder()
+                .items(List.of(CartItemRequest.builder().eventId(testEvent.getId()).quantity(3).build()))
+                .build();
+        assertThrows(InsufficientCapacityException.class, () ->
+                ticketService.reserveCart(request, testUser.getEmail()));
+        verify(ticketStore, never()).saveAll(any());
+    }
+
+    @Test
+    void reserveCart_RequestedSeatForSeveralTicketsRejected() {
+        when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
+
+        final CartReservationRequest request = CartReservationRequest.builder()
+                .items(List.of(CartItemRequest.builder()
+                        .eventId(testEvent.getId()).quantity(2).seatSection("Stalls").seatRow("A").seatNumber(1)
+                        .build()))
+                .build();
+        assertThrows(IllegalArgumentException.class, () ->
+                ticketService.reserveCart(request, testUser.getEmail()));
+        verifyNoInteractions(eventRepository);
     }
 
     @Test
     void reserveTicket_Success() {
         when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
         when(eventRepository.findByIdWithPessimisticLock(testEvent.getId())).thenReturn(Optional.of(testEvent));
-        when(ticketRepository.existsByUserIdAndEventIdAndStatus(any(UUID.class), any(UUID.class), any())).thenReturn(false);
-        when(ticketRepository.countByEventIdAndStatus(any(UUID.class), any())).thenReturn(50L);
-        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
+        when(ticketStore.existsForUserAndEvent(any(UUID.class), any(Event.class), any())).thenReturn(false);
+        when(ticketStore.countByEvent(any(Event.class), any())).thenReturn(50L);
+        when(priceSchedules.priceAt(eq(testEvent), any(LocalDateTime.class))).thenReturn(BigDecimal.valueOf(65.00));
+        when(ticketStore.save(any(Ticket.class))).thenAnswer(invocation -> {
             final Ticket ticket = invocation.getArgument(0);
             ticket.setId(UUID.randomUUID());
             return ticket;
@@ -96,7 +250,9 @@ class TicketServiceTest {
         assertNotNull(response);
         assertEquals(testEvent.getName(), response.getEventName());
         assertEquals(testUser.getEmail(), response.getUserEmail());
-        verify(ticketRepository).save(any(Ticket.class));
+        // Charged at the tier in effect, not the event's base price
+        assertEquals(BigDecimal.valueOf(65.00), response.getPrice());
+        verify(ticketStore).save(any(Ticket.class));
     }
 
     @Test
@@ -132,8 +288,8 @@ class TicketServiceTest {
     void reserveTicket_DuplicateTicket() {
         when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
         when(eventRepository.findByIdWithPessimisticLock(testEvent.getId())).thenReturn(Optional.of(testEvent));
-        when(ticketRepository.existsByUserIdAndEventIdAndStatus(
-                testUser.getId(), testEvent.getId(), TicketStatus.RESERVED)).thenReturn(true);
+        when(ticketStore.existsForUserAndEvent(
+                testUser.getId(), testEvent, List.of(TicketStatus.RESERVED))).thenReturn(true);
 
         assertThrows(DuplicateTicketException.class, () ->
                 ticketService.reserveTicket(reserveRequest, testUser.getEmail()));
@@ -143,8 +299,8 @@ class TicketServiceTest {
     void reserveTicket_InsufficientCapacity() {
         when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
         when(eventRepository.findByIdWithPessimisticLock(testEvent.getId())).thenReturn(Optional.of(testEvent));
-        when(ticketRepository.existsByUserIdAndEventIdAndStatus(any(UUID.class), any(UUID.class), any())).thenReturn(false);
-        when(ticketRepository.countByEventIdAndStatus(testEvent.getId(), TicketStatus.RESERVED))
+        when(ticketStore.existsForUserAndEvent(any(UUID.class), any(Event.class), any())).thenReturn(false);
+        when(ticketStore.countByEvent(testEvent, List.of(TicketStatus.RESERVED)))
                 .thenReturn(100L); // Event at capacity
 
         assertThrows(InsufficientCapacityException.class, () ->
@@ -163,13 +319,13 @@ class TicketServiceTest {
                 .status(TicketStatus.RESERVED)
                 .build();
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketStore.findById(ticketId)).thenReturn(Optional.of(ticket));
         when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(ticket);
+        when(ticketStore.save(any(Ticket.class))).thenReturn(ticket);
 
         assertDoesNotThrow(() -> ticketService.cancelTicket(ticketId, testUser.getEmail()));
 
-        verify(ticketRepository).save(argThat(t -> t.getStatus() == TicketStatus.CANCELLED));
+        verify(ticketStore).save(argThat(t -> t.getStatus() == TicketStatus.CANCELLED));
     }
 
     @Test
@@ -189,10 +345,88 @@ class TicketServiceTest {
                 .status(TicketStatus.RESERVED)
                 .build();
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketStore.findById(ticketId)).thenReturn(Optional.of(ticket));
         when(userRepository.findByEmail(testUser.getEmail())).thenReturn(Optional.of(testUser));
 
         assertThrows(ResourceNotFoundException.class, () ->
                 ticketService.cancelTicket(ticketId, testUser.getEmail()));
     }
+
+    @Test
+    void cancelTicket_ExpiredTicketReleasesNothing() {
+        final Ticket ticket = Ticket.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .event(testEvent)
+                .status(TicketStatus.CANCELLED)
+                .seatIndex(7)
+                .build();
+        when(ticketStore.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+        when(userRepository.findByEmailWithVenues(testUser.getEmail())).thenReturn(Optional.of(testUser));
+
+        ticketService.cancelTicket(ticket.getId(), testUser.getEmail());
+
+        verify(seatInventory, never()).release(any());
+        verify(checkIns, never()).revoke(any());
+        verifyNoInteractions(waitlistPromotions);
+    }
+
+    @Test
+    void updatePaymentStatus_FailedPaymentFreesThePlace() {
+        final Ticket ticket = Ticket.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .event(testEvent)
+                .status(TicketStatus.PENDING_PAYMENT)
+                .seatIndex(7)
+                .build();
+        when(ticketStore.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+
+        ticketService.updatePaymentStatus(ticket.getId(), TicketStatus.PAYMENT_FAILED);
+
+        verify(ticketStore).save(argThat(t -> t.getStatus() == TicketStatus.PAYMENT_FAILED));
+        verify(seatInventory).release(ticket);
+        verify(checkIns).revoke(ticket);
+        verify(waitlistPromotions).capacityFreed(testEvent.getId());
+    }
+
+    @Test
+    void updatePaymentStatus_PaidKeepsThePlace() {
+        final Ticket ticket = Ticket.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .event(testEvent)
+                .status(TicketStatus.PENDING_PAYMENT)
+                .paymentExpiresAt(LocalDateTime.now().plusMinutes(10))
+                .build();
+        when(ticketStore.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+
+        when(checkIns.allocateIndex(testEvent.getId())).thenReturn(3);
+
+        ticketService.updatePaymentStatus(ticket.getId(), TicketStatus.PAID);
+
+        assertNull(ticket.getPaymentExpiresAt());
+        assertEquals(3, ticket.getAdmissionIndex());
+        verify(seatInventory, never()).release(any());
+        verifyNoInteractions(waitlistPromotions);
+    }
+
+    @Test
+    void updatePaymentStatus_PaidAfterExpiryRejected() {
+        final Ticket ticket = Ticket.builder()
+                .id(UUID.randomUUID())
+                .user(testUser)
+                .event(testEvent)
+                .status(TicketStatus.CANCELLED)
+                .seatIndex(7)
+                .build();
+        when(ticketStore.findById(ticket.getId())).thenReturn(Optional.of(ticket));
+
+        assertThrows(TicketStateException.class, () ->
+                ticketService.updatePaymentStatus(ticket.getId(), TicketStatus.PAID));
+
+        assertEquals(TicketStatus.CANCELLED, ticket.getStatus());
+        verify(checkIns, never()).allocateIndex(any());
+        verify(ticketStore, never()).save(any());
+    }
 }
@@ -0,0 +1,221 @@
+package com.concerthall.reservations.service.aggregator;
+
+import com.concerthall.reservations.domain.ExternalReservationSaga;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.enums.ExternalReservationSagaStatus;
+import com.concerthall.reservations.domain.enums.ExternalReservationSagaStep;
+import com.concerthall.reservations.dto.response.EventResponse;
+import com.concerthall.reservations.external.client.ExternalVenueProviderClient;
+import com.concerthall.reservations.external.config.ExternalProviderProperties;
+import com.concerthall.reservations.external.exception.ExternalProviderConnectionException;
+import com.concerthall.reservations.external.exception.ExternalProviderException;
+import com.concerthall.reservations.external.model.ExternalAvailabilityResponse;
+import com.concerthall.reservations.external.model.ExternalReservationResponse;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.ExternalReservationSagaRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.store.TicketStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExternalReservationSagaServiceTest {
+
+    @Mock
+    private ExternalReservationSagaRepository sagaRepository;
+
+    @Mock
+    private TicketStore ticketStore;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ExternalVenueProviderClient externalClient;
+
+    @Mock
+    private EventAggregatorService eventAggregator;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private ExternalReservationSagaService sagaService;
+    private ExternalReservationSaga saga;
+
+    @BeforeEach
+    void setUp() {
+        final ExternalProviderProperties properties = new ExternalProviderProperties();
+        properties.getRetry().setBackoffDelay(1L);
+
+        sagaService = new ExternalReservationSagaService(sagaRepository, ticketStore, eventRepository,
+                userRepository, externalClient, eventAggregator, properties, transactionTemplate, executor);
+
+        saga = ExternalReservationSaga.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .customerEmail("customer@example.com")
+                .eventExternalId("ext-1")
+                .status(ExternalReservationSagaStatus.PENDING)
+                .currentStep(ExternalReservationSagaStep.CHECK_AVAILABILITY)
+                .idempotencyKey(UUID.randomUUID().toString())
+                .build();
+
+        when(sagaRepository.acquireLease(eq(saga.getId()), anyList(), any(), any())).thenReturn(1);
+        lenient().when(sagaRepository.renewLease(eq(saga.getId()), anyList(), any(), any())).thenReturn(1);
+        when(sagaRepository.findById(saga.getId())).thenReturn(Optional.of(saga));
+        when(sagaRepository.save(any(ExternalReservationSaga.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void runSaga_SoldOutFailsWithoutReserving() {
+        when(externalClient.checkAvailability("ext-1"))
+                .thenReturn(ExternalAvailabilityResponse.builder().availableTickets(0L).build());
+
+        sagaService.runSaga(saga.getId());
+
+        assertEquals(ExternalReservationSagaStatus.FAILED, saga.getStatus());
+        verify(externalClient, never()).createReservation(any());
+    }
+
+    @Test
+    void runSaga_RetriesTransientFailures() {
+        when(externalClient.checkAvailability("ext-1"))
+                .thenThrow(new ExternalProviderConnectionException("timeout"))
+                .thenReturn(ExternalAvailabilityResponse.builder().availableTickets(10L).build());
+        when(externalClient.createReservation(any()))
+                .thenReturn(ExternalReservationResponse.builder().id("res-1").confirmationCode("CONF-1").build());
+        when(eventAggregator.getEventByExternalId("ext-1")).thenReturn(EventResponse.builder().build());
+        doAnswer(invocation -> {
+            final Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(ticketStore.findByExternalReservationId("res-1"))
+                .thenReturn(Optional.of(Ticket.builder().id(UUID.randomUUID()).build()));
+
+        sagaService.runSaga(saga.getId());
+
+        assertEquals(ExternalReservationSagaStatus.COMPLETED, saga.getStatus());
+        assertNotNull(saga.getTicketId());
+        verify(externalClient, times(2)).checkAvailability("ext-1");
+        verify(externalClient, never()).cancelReservation(any());
+    }
+
+    @Test
+    void runSaga_UnclearReservationFailureStaysResumable() {
+        when(externalClient.checkAvailability("ext-1"))
+                .thenReturn(ExternalAvailabilityResponse.builder().availableTickets(10L).build());
+        when(externalClient.createReservation(any())).thenThrow(new ExternalProviderConnectionException("timeout"));
+
+        sagaService.runSaga(saga.getId());
+
+        assertEquals(ExternalReservationSagaStatus.IN_PROGRESS, saga.getStatus());
+        assertEquals(ExternalReservationSagaStep.CREATE_RESERVATION, saga.getCurrentStep());
+        assertNotNull(saga.getLeaseExpiresAt());
+
+        // Resumed: the same idempotency key returns the reservation the provider did take
+        reset(externalClient);
+        when(externalClient.createReservation(argThat(request ->
+                saga.getIdempotencyKey().equals(request.getIdempotencyKey()))))
+                .thenReturn(ExternalReservationResponse.builder().id("res-1").build());
+        when(eventAggregator.getEventByExternalId("ext-1")).thenReturn(null);
+
+        sagaService.runSaga(saga.getId());
+
+        verify(externalClient, never()).checkAvailability(any());
+        verify(externalClient).cancelReservation("res-1");
+        assertEquals(ExternalReservationSagaStatus.FAILED, saga.getStatus());
+    }
+
+    @Test
+    void runSaga_RejectedReservationFails() {
+        when(externalClient.checkAvailability("ext-1"))
+                .thenReturn(ExternalAvailabilityResponse.builder().availableTickets(10L).build());
+        when(externalClient.createReservation(any()))
+                .thenThrow(new ExternalProviderException("Sold out", "SOLD_OUT"));
+
+        sagaService.runSaga(saga.getId());
+
+        assertEquals(ExternalReservationSagaStatus.FAILED, saga.getStatus());
+        verify(externalClient).createReservation(any());
+        verify(externalClient, never()).cancelReservation(any());
+    }
+
+    @Test
+    void runSaga_RenewsLeaseToCoverEachProviderCall() {
+        when(externalClient.checkAvailability("ext-1"))
+                .thenThrow(new ExternalProviderConnectionException("timeout"))
+                .thenReturn(ExternalAvailabilityResponse.builder().availableTickets(0L).build());
+        final LocalDateTime started = LocalDateTime.now();
+
+        sagaService.runSaga(saga.getId());
+
+        // 3 provider attempts of 30 s connect + 30 s read, 1 ms + 2 ms backoff, then the 120 s lease
+        final ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(sagaRepository, times(2)).renewLease(eq(saga.getId()), anyList(), any(), leaseUntil.capture());
+        assertFalse(leaseUntil.getValue().isBefore(started.plusSeconds(300)));
+    }
+
+    @Test
+    void runSaga_StopsWhenLeaseRanOut() {
+        when(sagaRepository.renewLease(eq(saga.getId()), anyList(), any(), any())).thenReturn(0);
+
+        sagaService.runSaga(saga.getId());
+
+        verifyNoInteractions(externalClient);
+        assertEquals(ExternalReservationSagaStep.CHECK_AVAILABILITY, saga.getCurrentStep());
+        assertNotEquals(ExternalReservationSagaStatus.FAILED, saga.getStatus());
+    }
+
+    @Test
+    void runSaga_CancelsReservationWhenEventLookupFails() {
+        when(externalClient.checkAvailability("ext-1"))
+                .thenReturn(ExternalAvailabilityResponse.builder().availableTickets(10L).build());
+        when(externalClient.createReservation(any()))
+                .thenReturn(ExternalReservationResponse.builder().id("res-1").build());
+        when(eventAggregator.getEventByExternalId("ext-1")).thenReturn(null);
+
+        sagaService.runSaga(saga.getId());
+
+        assertEquals(ExternalReservationSagaStatus.FAILED, saga.getStatus());
+        assertEquals(ExternalReservationSagaStep.CANCEL_RESERVATION, saga.getCurrentStep());
+        verify(externalClient).cancelReservation("res-1");
+    }
+
+    @Test
+    void runSaga_FlagsFailedCompensation() {
+        when(externalClient.checkAvailability("ext-1"))
+                .thenReturn(ExternalAvailabilityResponse.builder().availableTickets(10L).build());
+        when(externalClient.createReservation(any()))
+                .thenReturn(ExternalReservationResponse.builder().id("res-1").build());
+        when(eventAggregator.getEventByExternalId("ext-1")).thenReturn(null);
+        doThrow(new ExternalProviderConnectionException("down")).when(externalClient).cancelReservation("res-1");
+
+        sagaService.runSaga(saga.getId());
+
+        assertEquals(ExternalReservationSagaStatus.COMPENSATION_FAILED, saga.getStatus());
+        verify(externalClient, times(3)).cancelReservation("res-1");
+    }
+}
@@ -0,0 +1,74 @@
+package com.concerthall.reservations.service.checkin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CheckInBatchFormatTest {
+
+    private static final UUID FIRST = UUID.fromString("0190a1b2-0000-7000-8000-000000000001");
+    private static final UUID SECOND = UUID.fromString("0190a1b2-0000-7000-8000-000000000002");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void jsonLines_OneScanPerLine() throws IOException {
+        final List<GateScan> scans = read(CheckInBatchFormat.JSON_LINES, """
+                {"ticketId":"%s","scannedAt":"2030-09-01T19:02:11"}
+
+                {"ticketId":"%s","scannedAt":"2030-09-01T19:02:12.123456789","gate":"north"}
+                """.formatted(FIRST, SECOND).getBytes(StandardCharsets.UTF_8), 10);
+
+        assertEquals(List.of(
+                new GateScan(FIRST, LocalDateTime.of(2030, 9, 1, 19, 2, 11)),
+                new GateScan(SECOND, LocalDateTime.of(2030, 9, 1, 19, 2, 12, 123456000))), scans);
+
+        final IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> read(CheckInBatchFormat.JSON_LINES,
+                        "{\"ticketId\":\"%s\"}".formatted(FIRST).getBytes(StandardCharsets.UTF_8), 10));
+        assertEquals("Line 1: ticketId and scannedAt are required", missing.getMessage());
+    }
+
+    @Test
+    void binary_TwentyFourBytesPerScan() throws IOException {
+        final LocalDateTime scannedAt = LocalDateTime.of(2030, 9, 1, 19, 2, 11);
+        final ByteBuffer payload = ByteBuffer.allocate(2 * CheckInBatchFormat.BINARY_SCAN_BYTES);
+        for (UUID id : List.of(FIRST, SECOND)) {
+            payload.putLong(id.getMostSignificantBits())
+                    .putLong(id.getLeastSignificantBits())
+                    .putLong(scannedAt.atZone(ZoneId.systemDefault()).toEpochSecond());
+        }
+
+        assertEquals(List.of(new GateScan(FIRST, scannedAt), new GateScan(SECOND, scannedAt)),
+                read(CheckInBatchFormat.BINARY, payload.array(), 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> read(CheckInBatchFormat.BINARY, new byte[CheckInBatchFormat.BINARY_SCAN_BYTES + 1], 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> read(CheckInBatchFormat.BINARY, payload.array(), 1));
+    }
+
+    @Test
+    void fromContentType() {
+        assertEquals(CheckInBatchFormat.JSON_LINES, CheckInBatchFormat.fromContentType("application/x-ndjson"));
+        assertEquals(CheckInBatchFormat.BINARY, CheckInBatchFormat.fromContentType("application/octet-stream"));
+        assertThrows(IllegalArgumentException.class, () -> CheckInBatchFormat.fromContentType("text/csv"));
+        assertThrows(IllegalArgumentException.class, () -> CheckInBatchFormat.fromContentType(null));
+    }
+
+    private List<GateScan> read(final CheckInBatchFormat format, final byte[] payload, final int maxScans)
+            throws IOException {
+        return format.read(new ByteArrayInputStream(payload), objectMapper, maxScans);
+    }
+}
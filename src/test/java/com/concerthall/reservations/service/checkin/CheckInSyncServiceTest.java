@@ -0,0 +1,179 @@
+package com.concerthall.reservations.service.checkin;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.dto.request.ReserveTicketRequest;
+import com.concerthall.reservations.dto.response.CheckInBatchResponse;
+import com.concerthall.reservations.dto.response.CheckInConflictResponse;
+import com.concerthall.reservations.dto.response.CheckInTicketsResponse;
+import com.concerthall.reservations.dto.response.TicketResponse;
+import com.concerthall.reservations.exception.VenueAccessDeniedException;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.TicketRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.service.TicketService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "external-provider.venue-api.enabled=false")
+@ActiveProfiles("test")
+class CheckInSyncServiceTest {
+
+    private static final String ADMIN = "admin@concerthall.com";
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private CheckInSyncService checkInSyncService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getRole() != UserRole.ADMIN)
+                .forEach(userRepository::delete);
+        venueRepository.deleteAll();
+
+        final Venue venue = venueRepository.save(
+                Venue.builder().name("Arena").address("3 Gate Road").capacity(100).build());
+        event = eventRepository.save(Event.builder()
+                .name("Tonight")
+                .eventDateTime(LocalDateTime.now().plusHours(2))
+                .capacity(100)
+                .price(new BigDecimal("60.00"))
+                .status(EventStatus.PUBLISHED)
+                .venue(venue)
+                .build());
+    }
+
+    @Test
+    void batch_RecordsFirstScansAndReportsConflicts() throws IOException {
+        final UUID first = paid("first@test.com").getId();
+        final UUID second = paid("second@test.com").getId();
+        final UUID cancelled = paid("cancelled@test.com").getId();
+        ticketService.cancelTicket(cancelled, "cancelled@test.com");
+        final UUID unknown = UUID.randomUUID();
+        final LocalDateTime doors = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        final CheckInBatchResponse batch = sync(
+                scan(first, doors.plusMinutes(1)),
+                scan(first, doors),
+                scan(cancelled, doors),
+                scan(unknown, doors));
+
+        assertEquals(4, batch.getReceived());
+        assertEquals(1, batch.getRecorded());
+        assertEquals(List.of("DOUBLE_SCAN", "NOT_PAID", "UNKNOWN_TICKET"), batch.getConflicts().stream()
+                .map(CheckInConflictResponse::getReason)
+                .toList());
+        assertEquals(doors, batch.getConflicts().get(0).getCheckedInAt());
+        assertEquals("CANCELLED", batch.getConflicts().get(1).getStatus());
+        assertEquals(doors, ticketRepository.findById(first).orElseThrow().getCheckedInAt());
+
+        // Uploaded again after a lost response, and scanned by a second device
+        final CheckInBatchResponse retried = sync(
+                scan(first, doors),
+                scan(second, doors),
+                scan(second, doors));
+        assertEquals(2, retried.getRecorded());
+        assertEquals(List.of("DOUBLE_SCAN"), retried.getConflicts().stream()
+                .map(CheckInConflictResponse::getReason)
+                .toList());
+
+        final CheckInBatchResponse late = sync(scan(first, doors.plusMinutes(5)));
+        assertEquals("ALREADY_CHECKED_IN", late.getConflicts().get(0).getReason());
+        assertEquals(doors, late.getConflicts().get(0).getCheckedInAt());
+    }
+
+    @Test
+    void tickets_FullThenSinceCursor() {
+        final UUID kept = paid("first@test.com").getId();
+        final UUID cancelled = paid("second@test.com").getId();
+
+        final CheckInTicketsResponse full = checkInSyncService.getTickets(event.getId(), null, ADMIN);
+        assertEquals(Set.of(kept, cancelled), Set.copyOf(full.getValid()));
+        assertEquals(List.of(), full.getRevoked());
+
+        ticketService.cancelTicket(cancelled, "second@test.com");
+
+        final CheckInTicketsResponse delta = checkInSyncService.getTickets(event.getId(), full.getCursor(), ADMIN);
+        assertEquals(List.of(cancelled), delta.getRevoked());
+        assertEquals(Set.of(kept), Set.copyOf(delta.getValid()));
+
+        userRepository.save(User.builder()
+                .email("staff@test.com").password("hash").role(UserRole.POWER_USER).build());
+        assertThrows(VenueAccessDeniedException.class,
+                () -> checkInSyncService.getTickets(event.getId(), null, "staff@test.com"));
+    }
+
+    private CheckInBatchResponse sync(final String... lines) throws IOException {
+        final byte[] payload = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return checkInSyncService.recordBatch(
+                event.getId(), new ByteArrayInputStream(payload), CheckInBatchFormat.JSON_LINES, ADMIN);
+    }
+
+    private static String scan(final UUID ticketId, final LocalDateTime scannedAt) {
+        return "{\"ticketId\":\"%s\",\"scannedAt\":\"%s\"}".formatted(ticketId, scannedAt);
+    }
+
+    private TicketResponse paid(final String email) {
+        userRepository.save(User.builder().email(email).password("hash").role(UserRole.CUSTOMER).build());
+        final TicketResponse reserved = ticketService.reserveTicket(
+                ReserveTicketRequest.builder().eventId(event.getId()).build(), email);
+        ticketService.updatePaymentStatus(reserved.getId(), TicketStatus.PAID);
+        return ticketService.getTicketById(reserved.getId(), email);
+    }
+}
@@ -0,0 +1,155 @@
+package com.concerthall.reservations.service.eventimport;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.dto.response.EventImportRowResponse;
+import com.concerthall.reservations.dto.response.EventImportSummaryResponse;
+import com.concerthall.reservations.exception.VenueAccessDeniedException;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.TicketRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.service.EventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "external-provider.venue-api.enabled=false",
+        "events.import.batch-size=2"
+})
+@ActiveProfiles("test")
+class EventImportServiceTest {
+
+    private static final String HEADER = "name,eventDateTime,capacity,price,status,venueId\n";
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private EventImportService eventImportService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Venue assigned;
+    private Venue other;
+
+    @BeforeEach
+    void setUp() {
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getRole() != UserRole.ADMIN)
+                .forEach(userRepository::delete);
+        venueRepository.deleteAll();
+
+        assigned = venueRepository.save(Venue.builder().name("Main Hall").address("1 Season Street").capacity(900).build());
+        other = venueRepository.save(Venue.builder().name("Other Hall").address("2 Season Street").capacity(300).build());
+        userRepository.save(User.builder()
+                .email("power@test.com")
+                .password("hash")
+                .role(UserRole.POWER_USER)
+                .assignedVenues(Set.of(assigned))
+                .build());
+        userRepository.save(User.builder()
+                .email("customer@test.com")
+                .password("hash")
+                .role(UserRole.CUSTOMER)
+                .build());
+    }
+
+    @Test
+    void importEvents_MixedRows() throws Exception {
+        final String csv = HEADER
+                + "Opening Night,2030-09-01T19:30,800,45,PUBLISHED," + assigned.getId() + "\n"
+                + "No Capacity,2030-09-02T19:30,,45,PUBLISHED," + assigned.getId() + "\n"
+                + "Elsewhere,2030-09-03T19:30,100,45,PUBLISHED," + other.getId() + "\n"
+                + "Nowhere,2030-09-04T19:30,100,45,PUBLISHED," + UUID.randomUUID() + "\n"
+                + "Matinee,2030-09-05T14:00,800,30,DRAFT," + assigned.getId() + "\n"
+                + "Closing Night,2030-09-06T19:30,800,55,PUBLISHED," + assigned.getId() + "\n";
+        final List<List<EventImportRowResponse>> batches = new ArrayList<>();
+
+        final EventImportSummaryResponse summary = eventImportService.importEvents(
+                new StringReader(csv), EventImportFormat.CSV, "power@test.com", batches::add);
+
+        assertEquals(3L, summary.getCreated());
+        assertEquals(3L, summary.getRejected());
+        assertEquals(0L, summary.getFailed());
+
+        // A batch closes every two rows, rejected ones included
+        assertEquals(List.of(2, 2, 2), batches.stream().map(List::size).toList());
+        final List<EventImportRowResponse> rows = batches.stream().flatMap(List::stream).toList();
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L), rows.stream().map(EventImportRowResponse::getLine).toList());
+        assertEquals(List.of("CREATED", "REJECTED", "REJECTED", "REJECTED", "CREATED", "CREATED"),
+                rows.stream().map(EventImportRowResponse::getStatus).toList());
+        assertEquals(List.of("capacity: Capacity is required"), rows.get(1).getErrors());
+        assertEquals(List.of("venueId: Access denied to this venue"), rows.get(2).getErrors());
+        assertEquals(List.of("venueId: Venue not found"), rows.get(3).getErrors());
+        assertNull(rows.get(1).getEventId());
+
+        final Event opening = eventRepository.findById(rows.get(0).getEventId()).orElseThrow();
+        assertEquals("Opening Night", opening.getName());
+        assertEquals(assigned.getId(), opening.getVenue().getId());
+        assertEquals(3, eventRepository.count());
+    }
+
+    @Test
+    void importEvents_ShowsUpInCachedListing() throws Exception {
+        // Fill the query cache first; the JDBC inserts must not leave it stale
+        assertEquals(0, eventService.getAllEvents(null, true).size());
+
+        eventImportService.importEvents(new StringReader(
+                        "{\"name\":\"Opening Night\",\"eventDateTime\":\"2030-09-01T19:30:00\",\"capacity\":800,"
+                                + "\"price\":45,\"status\":\"PUBLISHED\",\"venueId\":\"" + assigned.getId() + "\"}\n"),
+                EventImportFormat.JSON_LINES, "power@test.com", rows -> { });
+
+        assertEquals(1, eventService.getAllEvents(null, true).size());
+    }
+
+    @Test
+    void importEvents_CustomerIsDenied() {
+        assertThrows(VenueAccessDeniedException.class, () -> eventImportService.importEvents(
+                new StringReader(HEADER), EventImportFormat.CSV, "customer@test.com", rows -> { }));
+    }
+}
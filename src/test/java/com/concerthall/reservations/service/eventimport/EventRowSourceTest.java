@@ -0,0 +1,111 @@
+package com.concerthall.reservations.service.eventimport;
+
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventRowSourceTest {
+
+    private static final UUID VENUE = UUID.fromString("0190a1b2-0000-7000-8000-000000000001");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void csv_ColumnsInAnyOrderWithQuotedValues() throws IOException {
+        final List<ImportRow> rows = read(EventImportFormat.CSV, """
+                venueId,Name,description,eventDateTime,capacity,price,status
+                %s,Opening Night,"Strings, brass and ""friends""\",2030-09-01T19:30:00,800,45.50,published
+
+                %s,Late Show,"Two
+                lines",2030-09-02T22:00,200,20,DRAFT
+                """.formatted(VENUE, VENUE));
+
+        assertEquals(2, rows.size());
+        final ImportRow first = rows.get(0);
+        assertEquals(2, first.line());
+        assertTrue(first.errors().isEmpty());
+        assertEquals("Opening Night", first.request().getName());
+        assertEquals("Strings, brass and \"friends\"", first.request().getDescription());
+        assertEquals(LocalDateTime.of(2030, 9, 1, 19, 30), first.request().getEventDateTime());
+        assertEquals(800, first.request().getCapacity());
+        assertEquals(new BigDecimal("45.50"), first.request().getPrice());
+        assertEquals(EventStatus.PUBLISHED, first.request().getStatus());
+        assertEquals(VENUE, first.request().getVenueId());
+
+        // The blank line is skipped but still counted
+        assertEquals(4, rows.get(1).line());
+        assertEquals("Two\nlines", rows.get(1).request().getDescription());
+    }
+
+    @Test
+    void csv_BadValuesAreReportedPerRow() throws IOException {
+        final List<ImportRow> rows = read(EventImportFormat.CSV, """
+                name,eventDateTime,capacity,price,status,venueId
+                A,2030-09-01T19:30,lots,10,PUBLISHED,%s
+                B,2030-09-01T19:30,10,10,PUBLISHED
+                C,,10,10,PUBLISHED,%s
+                """.formatted(VENUE, VENUE));
+
+        assertEquals(List.of("capacity: invalid value 'lots'"), rows.get(0).errors());
+        assertNull(rows.get(0).request());
+        assertEquals(List.of("Expected 6 values but found 5"), rows.get(1).errors());
+        // Empty means missing; bean validation reports it later
+        assertTrue(rows.get(2).errors().isEmpty());
+        assertNull(rows.get(2).request().getEventDateTime());
+    }
+
+    @Test
+    void csv_UnknownColumnRejectsTheFile() {
+        assertThrows(IllegalArgumentException.class,
+                () -> read(EventImportFormat.CSV, "name,seats\nA,10\n"));
+    }
+
+    @Test
+    void jsonLines_SkipsBlankLinesAndReportsInvalidJson() throws IOException {
+        final List<ImportRow> rows = read(EventImportFormat.JSON_LINES, """
+                {"name":"Opening Night","eventDateTime":"2030-09-01T19:30:00","capacity":800,"price":45.5,"status":"PUBLISHED","venueId":"%s"}
+
+                {"name":
+                """.formatted(VENUE));
+
+        assertEquals(2, rows.size());
+        assertEquals("Opening Night", rows.get(0).request().getName());
+        assertEquals(VENUE, rows.get(0).request().getVenueId());
+        assertEquals(3, rows.get(1).line());
+        assertNull(rows.get(1).request());
+        assertTrue(rows.get(1).errors().get(0).startsWith("Invalid JSON"));
+    }
+
+    @Test
+    void fromContentType() {
+        assertEquals(EventImportFormat.CSV, EventImportFormat.fromContentType("text/csv; charset=UTF-8"));
+        assertEquals(EventImportFormat.JSON_LINES, EventImportFormat.fromContentType("application/x-ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> EventImportFormat.fromContentType("application/json"));
+        assertThrows(IllegalArgumentException.class, () -> EventImportFormat.fromContentType(null));
+    }
+
+    private List<ImportRow> read(final EventImportFormat format, final String input) throws IOException {
+        final EventRowSource source = format.open(new BufferedReader(new StringReader(input)), objectMapper);
+        final List<ImportRow> rows = new ArrayList<>();
+        ImportRow row;
+        while ((row = source.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,101 @@
+package com.concerthall.reservations.store;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "external-provider.venue-api.enabled=false")
+@ActiveProfiles("test")
+class JpaTicketStoreTest extends TicketStoreConformanceTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private JpaTicketStore ticketStore;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Venue venue;
+
+    @BeforeEach
+    void setUp() {
+        // Every test works on its own users and events, so nothing needs deleting
+        venue = venueRepository.save(Venue.builder()
+                .name("Store Hall " + UUID.randomUUID())
+                .address("1 Conformance Street")
+                .capacity(500)
+                .build());
+    }
+
+    @Override
+    protected TicketStore store() {
+        return ticketStore;
+    }
+
+    @Override
+    protected User newUser() {
+        return userRepository.save(User.builder()
+                .email("store-" + UUID.randomUUID() + "@test.com")
+                .password("hash")
+                .role(UserRole.CUSTOMER)
+                .build());
+    }
+
+    @Override
+    protected Event newEvent(final LocalDateTime eventDateTime) {
+        return eventRepository.save(Event.builder()
+                .name("Store Event " + UUID.randomUUID())
+                .eventDateTime(eventDateTime)
+                .capacity(100)
+                .price(BigDecimal.valueOf(45))
+                .status(EventStatus.PUBLISHED)
+                .venue(venue)
+                .build());
+    }
+
+    @Override
+    protected void rollingBack(final Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> {
+            work.run();
+            status.setRollbackOnly();
+        });
+    }
+}
@@ -0,0 +1,370 @@
+package com.concerthall.reservations.store;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The TicketStore contract. Every implementation runs these tests through a subclass.
+ */
+public abstract class TicketStoreConformanceTest {
+
+    private static final List<TicketStatus> SOLD = List.of(TicketStatus.PENDING_PAYMENT, TicketStatus.PAID);
+
+    protected abstract TicketStore store();
+
+    protected abstract User newUser();
+
+    protected abstract Event newEvent(LocalDateTime eventDateTime);
+
+    /**
+     * Runs the work in a transaction that is rolled back afterwards
+     */
+    protected abstract void rollingBack(Runnable work);
+
+    @Test
+    void save_AssignsIdTimestampsAndEventDate() {
+        final Event event = newEvent(inDays(10));
+
+        final Ticket saved = store().save(ticket(newUser(), event, TicketStatus.PAID));
+
+        assertNotNull(saved.getId());
+        assertEquals(7, saved.getId().version());
+        assertNotNull(saved.getReservedAt());
+        assertNotNull(saved.getUpdatedAt());
+        assertEquals(event.getEventDateTime(), saved.getEventDateTime());
+    }
+
+    @Test
+    void findById_ReturnsSavedTicket() {
+        final User user = newUser();
+        final Event event = newEvent(inDays(10));
+        final Ticket ticket = ticket(user, event, TicketStatus.PENDING_PAYMENT);
+        ticket.setPaymentExpiresAt(LocalDateTime.now().plusMinutes(15).truncatedTo(ChronoUnit.SECONDS));
+        ticket.setExternalReservationId("res-" + UUID.randomUUID());
+        ticket.setExternalConfirmationCode("CONF-1");
+        final UUID id = store().save(ticket).getId();
+
+        final Ticket found = store().findById(id).orElseThrow();
+
+        assertEquals(ticket.getTicketNumber(), found.getTicketNumber());
+        assertEquals(user.getId(), found.getUser().getId());
+        assertEquals(event.getId(), found.getEvent().getId());
+        assertEquals(event.getEventDateTime(), found.getEventDateTime());
+        assertEquals(0, ticket.getPrice().compareTo(found.getPrice()));
+        assertEquals(TicketStatus.PENDING_PAYMENT, found.getStatus());
+        assertEquals(ticket.getPaymentExpiresAt(), found.getPaymentExpiresAt());
+        assertEquals(ticket.getExternalReservationId(), found.getExternalReservationId());
+        assertEquals("CONF-1", found.getExternalConfirmationCode());
+        assertTrue(store().findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void save_ExistingTicket_ReplacesIt() {
+        final Event event = newEvent(inDays(10));
+        final Ticket ticket = store().save(ticket(newUser(), event, TicketStatus.PENDING_PAYMENT));
+
+        final Ticket loaded = store().findById(ticket.getId()).orElseThrow();
+        loaded.setStatus(TicketStatus.PAID);
+        store().save(loaded);
+
+        assertEquals(TicketStatus.PAID, store().findById(ticket.getId()).orElseThrow().getStatus());
+        assertEquals(0, store().countByEvent(event, List.of(TicketStatus.PENDING_PAYMENT)));
+        assertEquals(1, store().countByEvent(event, List.of(TicketStatus.PAID)));
+    }
+
+    @Test
+    void save_SecondActiveTicketForSameEvent_Rejected() {
+        final User user = newUser();
+        final Event event = newEvent(inDays(10));
+        final Ticket first = store().save(ticket(user, event, TicketStatus.PAID));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> store().save(ticket(user, event, TicketStatus.PENDING_PAYMENT)));
+
+        // Cancelled tickets do not count, and other events are unaffected
+        final Ticket cancelled = store().findById(first.getId()).orElseThrow();
+        cancelled.setStatus(TicketStatus.CANCELLED);
+        store().save(cancelled);
+        assertDoesNotThrow(() -> store().save(ticket(user, event, TicketStatus.PENDING_PAYMENT)));
+        assertDoesNotThrow(() -> store().save(ticket(user, newEvent(inDays(10)), TicketStatus.PAID)));
+    }
+
+    @Test
+    void save_PartyTicketsForSameEvent_EachTakesItsOwnIndex() {
+        final User user = newUser();
+        final Event event = newEvent(inDays(10));
+        store().save(ticket(user, event, TicketStatus.PAID));
+        final Ticket second = ticket(user, event, TicketStatus.PAID);
+        second.setPartyIndex(1);
+        store().save(second);
+
+        assertEquals(1, store().findById(second.getId()).orElseThrow().getPartyIndex());
+        assertEquals(2, store().countByEvent(event, List.of(TicketStatus.PAID)));
+        final Ticket sameIndex = ticket(user, event, TicketStatus.PENDING_PAYMENT);
+        sameIndex.setPartyIndex(1);
+        assertThrows(DataIntegrityViolationException.class, () -> store().save(sameIndex));
+    }
+
+    @Test
+    void countByEvent_CountsRequestedStatusesOfThatEvent() {
+        final Event event = newEvent(inDays(20));
+        store().save(ticket(newUser(), event, TicketStatus.PENDING_PAYMENT));
+        store().save(ticket(newUser(), event, TicketStatus.PAID));
+        store().save(ticket(newUser(), event, TicketStatus.PAID));
+        store().save(ticket(newUser(), event, TicketStatus.CANCELLED));
+        store().save(ticket(newUser(), newEvent(inDays(20)), TicketStatus.PAID));
+
+        assertEquals(3, store().countByEvent(event, SOLD));
+        assertEquals(2, store().countByEvent(event, List.of(TicketStatus.PAID)));
+        assertEquals(0, store().countByEvent(newEvent(inDays(20)), SOLD));
+    }
+
+    @Test
+    void countByEvents_CountsEachEventIncludingEmptyOnes() {
+        final Event busy = newEvent(inDays(20));
+        final Event quiet = newEvent(inDays(40));
+        final Event empty = newEvent(inDays(40));
+        store().save(ticket(newUser(), busy, TicketStatus.PENDING_PAYMENT));
+        store().save(ticket(newUser(), busy, TicketStatus.PAID));
+        store().save(ticket(newUser(), quiet, TicketStatus.PAID));
+        store().save(ticket(newUser(), quiet, TicketStatus.CANCELLED));
+
+        assertEquals(Map.of(busy.getId(), 2L, quiet.getId(), 1L, empty.getId(), 0L),
+                store().countByEvents(List.of(busy, quiet, empty), SOLD));
+    }
+
+    @Test
+    void findEventsWithUserTickets_MatchesUserEventsAndStatus() {
+        final User user = newUser();
+        final Event held = newEvent(inDays(10));
+        final Event cancelled = newEvent(inDays(40));
+        final Event notAsked = newEvent(inDays(10));
+        store().save(ticket(user, held, TicketStatus.PAID));
+        store().save(ticket(user, cancelled, TicketStatus.CANCELLED));
+        store().save(ticket(user, notAsked, TicketStatus.PAID));
+        final Event otherUsers = newEvent(inDays(10));
+        store().save(ticket(newUser(), otherUsers, TicketStatus.PAID));
+
+        assertEquals(Set.of(held.getId()),
+                store().findEventsWithUserTickets(user.getId(), List.of(held, cancelled, otherUsers), SOLD));
+    }
+
+    @Test
+    void saveAll_SavesEveryTicket() {
+        final User user = newUser();
+        final Event first = newEvent(inDays(10));
+        final Event second = newEvent(inDays(40));
+
+        final List<Ticket> saved = store().saveAll(List.of(
+                ticket(user, first, TicketStatus.PENDING_PAYMENT),
+                ticket(user, second, TicketStatus.PENDING_PAYMENT)));
+
+        assertEquals(2, saved.size());
+        saved.forEach(ticket -> assertNotNull(ticket.getId()));
+        assertEquals(second.getEventDateTime(), saved.get(1).getEventDateTime());
+        assertEquals(2, store().findByUser(user.getId()).size());
+    }
+
+    @Test
+    void sumPriceByEvent_AddsChargedPricesOfRequestedStatuses() {
+        final Event event = newEvent(inDays(20));
+        final Ticket early = ticket(newUser(), event, TicketStatus.PAID);
+        early.setPrice(new BigDecimal("30.00"));
+        store().save(early);
+        final Ticket late = ticket(newUser(), event, TicketStatus.PAID);
+        late.setPrice(new BigDecimal("45.50"));
+        store().save(late);
+        store().save(ticket(newUser(), event, TicketStatus.PENDING_PAYMENT));
+        store().save(ticket(newUser(), newEvent(inDays(20)), TicketStatus.PAID));
+
+        assertEquals(0, new BigDecimal("75.50").compareTo(store().sumPriceByEvent(event, List.of(TicketStatus.PAID))));
+        assertEquals(0, BigDecimal.ZERO.compareTo(store().sumPriceByEvent(newEvent(inDays(20)), SOLD)));
+    }
+
+    @Test
+    void existsForUserAndEvent_MatchesStatus() {
+        final User user = newUser();
+        final Event event = newEvent(inDays(10));
+        store().save(ticket(user, event, TicketStatus.CANCELLED));
+
+        assertFalse(store().existsForUserAndEvent(user.getId(), event, SOLD));
+        assertTrue(store().existsForUserAndEvent(user.getId(), event, List.of(TicketStatus.CANCELLED)));
+        assertFalse(store().existsForUserAndEvent(newUser().getId(), event, List.of(TicketStatus.CANCELLED)));
+    }
+
+    @Test
+    void findByUser_NewestEventFirst() {
+        final User user = newUser();
+        final Ticket soon = store().save(ticket(user, newEvent(inDays(5)), TicketStatus.PAID));
+        final Ticket later = store().save(ticket(user, newEvent(inDays(50)), TicketStatus.PAID));
+        final Ticket middle = store().save(ticket(user, newEvent(inDays(20)), TicketStatus.CANCELLED));
+        store().save(ticket(newUser(), newEvent(inDays(20)), TicketStatus.PAID));
+
+        final List<UUID> ids = store().findByUser(user.getId()).stream().map(Ticket::getId).toList();
+
+        assertEquals(List.of(later.getId(), middle.getId(), soon.getId()), ids);
+        assertTrue(store().findByUser(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void findByExternalReservationId_FindsTrackingTicket() {
+        final Ticket ticket = ticket(newUser(), newEvent(inDays(10)), TicketStatus.PENDING_PAYMENT);
+        ticket.setExternalReservationId("res-" + UUID.randomUUID());
+        final UUID id = store().save(ticket).getId();
+
+        assertEquals(id, store().findByExternalReservationId(ticket.getExternalReservationId()).orElseThrow().getId());
+        assertTrue(store().findByExternalReservationId("res-unknown").isEmpty());
+    }
+
+    @Test
+    void findExpiredPayments_OnlyPendingPastDeadline() {
+        final Event event = newEvent(inDays(10));
+        final LocalDateTime now = LocalDateTime.now();
+        final Ticket expired = pending(event, now.minusMinutes(1));
+        final Ticket open = pending(event, now.plusMinutes(10));
+        final Ticket paid = ticket(newUser(), event, TicketStatus.PAID);
+        paid.setPaymentExpiresAt(now.minusMinutes(5));
+        store().save(paid);
+
+        final List<UUID> ids = store().findExpiredPayments(now, 100).stream().map(Ticket::getId).toList();
+
+        assertTrue(ids.contains(expired.getId()));
+        assertFalse(ids.contains(open.getId()));
+        assertFalse(ids.contains(paid.getId()));
+
+        final Ticket cancelled = store().findById(expired.getId()).orElseThrow();
+        cancelled.setStatus(TicketStatus.CANCELLED);
+        store().save(cancelled);
+        assertFalse(store().findExpiredPayments(now, 100).stream().anyMatch(t -> t.getId().equals(expired.getId())));
+    }
+
+    @Test
+    void findExpiredPayments_EarliestDeadlinesFirstUpToLimit() {
+        final Event event = newEvent(inDays(10));
+        final LocalDateTime longAgo = LocalDateTime.now().minusYears(1);
+        final Ticket first = pending(event, longAgo);
+        final Ticket second = pending(event, longAgo.plusMinutes(1));
+        pending(event, longAgo.plusMinutes(2));
+        final LocalDateTime at = longAgo.plusMinutes(3);
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                store().findExpiredPayments(at, 2).stream().map(Ticket::getId).toList());
+        assertEquals(3, store().countExpiredPayments(at));
+    }
+
+    @Test
+    void rescheduleEvent_MovesTicketsToNewDate() {
+        final Event event = newEvent(inDays(10));
+        final Ticket first = store().save(ticket(newUser(), event, TicketStatus.PAID));
+        store().save(ticket(newUser(), event, TicketStatus.PENDING_PAYMENT));
+        final Ticket other = store().save(ticket(newUser(), newEvent(inDays(10)), TicketStatus.PAID));
+
+        final LocalDateTime rescheduled = inDays(75);
+        assertEquals(2, store().rescheduleEvent(event.getId(), rescheduled));
+        event.setEventDateTime(rescheduled);
+
+        assertEquals(rescheduled, store().findById(first.getId()).orElseThrow().getEventDateTime());
+        assertNotEquals(rescheduled, store().findById(other.getId()).orElseThrow().getEventDateTime());
+        assertEquals(2, store().countByEvent(event, SOLD));
+    }
+
+    @Test
+    void recordCheckIns_OnlyPaidTicketsOfTheEventNotYetCheckedIn() {
+        final Event event = newEvent(inDays(10));
+        final Ticket paid = admitted(event, TicketStatus.PAID, 0);
+        final Ticket cancelled = admitted(event, TicketStatus.CANCELLED, 1);
+        final Ticket otherEvent = admitted(newEvent(inDays(10)), TicketStatus.PAID, 0);
+        final LocalDateTime doors = inDays(10).minusHours(1);
+
+        assertEquals(Set.of(paid.getId()), store().recordCheckIns(event, Map.of(
+                paid.getId(), doors,
+                cancelled.getId(), doors,
+                otherEvent.getId(), doors,
+                UUID.randomUUID(), doors)));
+        // A second scan does not move the first check-in
+        assertEquals(Set.of(), store().recordCheckIns(event, Map.of(paid.getId(), doors.plusMinutes(5))));
+
+        assertEquals(doors, store().findById(paid.getId()).orElseThrow().getCheckedInAt());
+        assertNull(store().findById(cancelled.getId()).orElseThrow().getCheckedInAt());
+        assertEquals(Set.of(paid.getId(), cancelled.getId()), store().findAdmissions(event, null).stream()
+                .map(Ticket::getId)
+                .collect(Collectors.toSet()));
+        assertEquals(List.of(), store().findAdmissions(event, LocalDateTime.now().plusMinutes(1)));
+    }
+
+    @Test
+    void findByEventAndIds_OnlyTheEventsTickets() {
+        final Event event = newEvent(inDays(10));
+        final Ticket paid = store().save(ticket(newUser(), event, TicketStatus.PAID));
+        final Ticket cancelled = store().save(ticket(newUser(), event, TicketStatus.CANCELLED));
+        final Ticket otherEvent = store().save(ticket(newUser(), newEvent(inDays(10)), TicketStatus.PAID));
+
+        assertEquals(Set.of(paid.getId(), cancelled.getId()), store().findByEventAndIds(
+                        event, List.of(paid.getId(), cancelled.getId(), otherEvent.getId(), UUID.randomUUID()))
+                .stream()
+                .map(Ticket::getId)
+                .collect(Collectors.toSet()));
+        assertEquals(List.of(), store().findByEventAndIds(event, List.of()));
+    }
+
+    @Test
+    void rolledBackTransaction_LeavesNoTrace() {
+        final User user = newUser();
+        final Event event = newEvent(inDays(10));
+        final Ticket existing = store().save(ticket(user, event, TicketStatus.PENDING_PAYMENT));
+        final Ticket[] created = new Ticket[1];
+
+        rollingBack(() -> {
+            created[0] = store().save(ticket(newUser(), event, TicketStatus.PAID));
+            final Ticket paid = store().findById(existing.getId()).orElseThrow();
+            paid.setStatus(TicketStatus.PAID);
+            store().save(paid);
+        });
+
+        assertTrue(store().findById(created[0].getId()).isEmpty());
+        assertEquals(TicketStatus.PENDING_PAYMENT, store().findById(existing.getId()).orElseThrow().getStatus());
+        assertEquals(0, store().countByEvent(event, List.of(TicketStatus.PAID)));
+        assertEquals(1, store().countByEvent(event, List.of(TicketStatus.PENDING_PAYMENT)));
+    }
+
+    protected static LocalDateTime inDays(final int days) {
+        return LocalDateTime.now().plusDays(days).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private Ticket admitted(final Event event, final TicketStatus status, final int admissionIndex) {
+        final Ticket ticket = ticket(newUser(), event, status);
+        ticket.setAdmissionIndex(admissionIndex);
+        return store().save(ticket);
+    }
+
+    private Ticket pending(final Event event, final LocalDateTime expiresAt) {
+        final Ticket ticket = ticket(newUser(), event, TicketStatus.PENDING_PAYMENT);
+        ticket.setPaymentExpiresAt(expiresAt);
+        return store().save(ticket);
+    }
+
+    protected static Ticket ticket(final User user, final Event event, final TicketStatus status) {
+        return Ticket.builder()
+                .ticketNumber("TKT-STORE-" + UUID.randomUUID())
+                .user(user)
+                .event(event)
+                .price(new BigDecimal("45.50"))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,228 @@
+package com.concerthall.reservations.store.log;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.store.TicketStore;
+import com.concerthall.reservations.store.TicketStoreConformanceTest;
+import com.concerthall.reservations.store.TicketStoreProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogTicketStoreTest extends TicketStoreConformanceTest {
+
+    @TempDir
+    Path directory;
+
+    private final Map<UUID, User> users = new ConcurrentHashMap<>();
+    private final Map<UUID, Event> events = new ConcurrentHashMap<>();
+    private final TicketStoreProperties.Log settings = new TicketStoreProperties.Log();
+    private LogTicketStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        settings.setPartitions(4);
+        settings.setSyncOnWrite(false);
+        store = open();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        store.close();
+    }
+
+    @Override
+    protected TicketStore store() {
+        return store;
+    }
+
+    @Override
+    protected User newUser() {
+        final User user = User.builder().id(UUID.randomUUID()).email(UUID.randomUUID() + "@test.com").build();
+        users.put(user.getId(), user);
+        return user;
+    }
+
+    @Override
+    protected Event newEvent(final LocalDateTime eventDateTime) {
+        final Event event = Event.builder().id(UUID.randomUUID()).eventDateTime(eventDateTime).build();
+        events.put(event.getId(), event);
+        return event;
+    }
+
+    @Override
+    protected void rollingBack(final Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reopen_ReplaysLatestState() throws IOException {
+        final User user = newUser();
+        final Event event = newEvent(inDays(10));
+        final Ticket paid = store.save(ticket(user, event, TicketStatus.PENDING_PAYMENT));
+        paid.setStatus(TicketStatus.PAID);
+        store.save(paid);
+        final Ticket pending = ticket(newUser(), event, TicketStatus.PENDING_PAYMENT);
+        pending.setPaymentExpiresAt(LocalDateTime.now().minusMinutes(1));
+        pending.setExternalReservationId("res-replay");
+        pending.setSeatIndex(17);
+        store.save(pending);
+
+        store = reopen();
+
+        assertEquals(TicketStatus.PAID, store.findById(paid.getId()).orElseThrow().getStatus());
+        assertNull(store.findById(paid.getId()).orElseThrow().getSeatIndex());
+        assertEquals(17, store.findById(pending.getId()).orElseThrow().getSeatIndex());
+        assertEquals(List.of(paid.getId()), store.findByUser(user.getId()).stream().map(Ticket::getId).toList());
+        assertEquals(1, store.countByEvent(event, List.of(TicketStatus.PAID)));
+        assertEquals(pending.getId(), store.findByExternalReservationId("res-replay").orElseThrow().getId());
+        assertEquals(List.of(pending.getId()),
+                store.findExpiredPayments(LocalDateTime.now(), 10).stream().map(Ticket::getId).toList());
+    }
+
+    @Test
+    void tornTail_IsTruncatedOnOpen() throws IOException {
+        final Event event = newEvent(inDays(10));
+        final Ticket saved = store.save(ticket(newUser(), event, TicketStatus.PAID));
+        store.close();
+
+        // A crash mid-append leaves a frame header promising more bytes than were written
+        for (Path file : partitionFiles()) {
+            Files.write(file, new byte[]{0, 0, 1, 0, 12, 34, 56, 78, 1, 2, 3}, StandardOpenOption.APPEND);
+        }
+        store = open();
+
+        assertEquals(TicketStatus.PAID, store.findById(saved.getId()).orElseThrow().getStatus());
+        final Ticket next = store.save(ticket(newUser(), event, TicketStatus.PAID));
+        store = reopen();
+        assertTrue(store.findById(next.getId()).isPresent());
+        assertEquals(2, store.countByEvent(event, List.of(TicketStatus.PAID)));
+    }
+
+    @Test
+    void corruptRecord_EndsTheReadableLog() throws IOException {
+        final Event event = newEvent(inDays(10));
+        final Ticket first = store.save(ticket(newUser(), event, TicketStatus.PAID));
+        store.close();
+        final Path file = partitionFiles().stream().filter(this::nonEmpty).findFirst().orElseThrow();
+        final long intact = Files.size(file);
+        store = open();
+        store.save(ticket(newUser(), event, TicketStatus.PAID));
+        store.close();
+
+        // Flip a byte in the second record's payload; its checksum no longer matches
+        final byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) intact + 20] ^= 0x5A;
+        Files.write(file, bytes);
+        store = open();
+
+        assertTrue(store.findById(first.getId()).isPresent());
+        assertEquals(1, store.countByEvent(event, List.of(TicketStatus.PAID)));
+        assertEquals(intact, Files.size(file));
+    }
+
+    @Test
+    void compact_DropsSupersededRecords() throws IOException {
+        settings.setCompactionMinBytes(0L);
+        store = reopen();
+        final Event event = newEvent(inDays(10));
+        final Ticket ticket = store.save(ticket(newUser(), event, TicketStatus.PENDING_PAYMENT));
+        for (int i = 0; i < 20; i++) {
+            ticket.setStatus(i % 2 == 0 ? TicketStatus.PAID : TicketStatus.PENDING_PAYMENT);
+            store.save(ticket);
+        }
+        ticket.setStatus(TicketStatus.PAID);
+        store.save(ticket);
+        final long before = totalBytes();
+
+        store.compact();
+
+        assertTrue(totalBytes() < before / 10, "log should shrink to the single live record");
+        store.save(ticket(newUser(), event, TicketStatus.PENDING_PAYMENT));
+        store = reopen();
+        assertEquals(TicketStatus.PAID, store.findById(ticket.getId()).orElseThrow().getStatus());
+        assertEquals(1, store.countByEvent(event, List.of(TicketStatus.PENDING_PAYMENT)));
+    }
+
+    @Test
+    void secondStoreOnSameDirectory_Rejected() {
+        assertThrows(IllegalStateException.class, this::open);
+    }
+
+    @Test
+    void changedPartitionCount_Rejected() throws IOException {
+        store.close();
+        settings.setPartitions(8);
+
+        assertThrows(IllegalStateException.class, this::open);
+
+        settings.setPartitions(4);
+        store = open();
+    }
+
+    private LogTicketStore open() throws IOException {
+        return new LogTicketStore(directory, settings, new TicketReferences() {
+            @Override
+            public User user(final UUID id) {
+                return users.get(id);
+            }
+
+            @Override
+            public Event event(final UUID id) {
+                return events.get(id);
+            }
+        });
+    }
+
+    private LogTicketStore reopen() throws IOException {
+        store.close();
+        return open();
+    }
+
+    private List<Path> partitionFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private boolean nonEmpty(final Path file) {
+        try {
+            return Files.size(file) > 0;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long totalBytes() throws IOException {
+        long total = 0;
+        for (Path file : partitionFiles()) {
+            total += Files.size(file);
+        }
+        return total;
+    }
+}
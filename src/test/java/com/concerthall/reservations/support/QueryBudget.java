@@ -0,0 +1,40 @@
+package com.concerthall.reservations.support;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertion helpers pinning how many SQL statements a call may issue.
+ * Budgets are exact: fewer queries means the budget should be lowered, more is a regression.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertQueryCount(int expected, Supplier<T> call) {
+        SqlStatementRecorder.reset();
+        final T result = call.get();
+        final List<String> statements = SqlStatementRecorder.statements();
+
+        assertEquals(expected, statements.size(), () -> "Query budget changed, statements issued:\n" + format(statements));
+        return result;
+    }
+
+    public static void assertQueryCount(int expected, Runnable call) {
+        assertQueryCount(expected, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private static String format(List<String> statements) {
+        return IntStream.range(0, statements.size())
+                .mapToObj(i -> (i + 1) + ": " + statements.get(i))
+                .collect(Collectors.joining("\n"));
+    }
+}
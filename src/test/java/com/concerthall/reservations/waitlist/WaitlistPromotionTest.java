@@ -0,0 +1,205 @@
+package com.concerthall.reservations.waitlist;
+
+import com.concerthall.reservations.domain.Event;
+import com.concerthall.reservations.domain.Ticket;
+import com.concerthall.reservations.domain.User;
+import com.concerthall.reservations.domain.Venue;
+import com.concerthall.reservations.domain.enums.EventStatus;
+import com.concerthall.reservations.domain.enums.TicketStatus;
+import com.concerthall.reservations.domain.enums.UserRole;
+import com.concerthall.reservations.dto.request.ReserveTicketRequest;
+import com.concerthall.reservations.dto.response.TicketResponse;
+import com.concerthall.reservations.dto.response.WaitlistPositionResponse;
+import com.concerthall.reservations.exception.DuplicateTicketException;
+import com.concerthall.reservations.exception.ResourceNotFoundException;
+import com.concerthall.reservations.repository.EventRepository;
+import com.concerthall.reservations.repository.TicketRepository;
+import com.concerthall.reservations.repository.UserRepository;
+import com.concerthall.reservations.repository.VenueRepository;
+import com.concerthall.reservations.repository.WaitlistRepository;
+import com.concerthall.reservations.service.PaymentExpirationService;
+import com.concerthall.reservations.service.TicketService;
+import com.concerthall.reservations.service.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Scheduled promotion runs are pushed out; the tests run them explicitly
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "external-provider.venue-api.enabled=false",
+        "waitlist.promotion-interval-ms=3600000",
+        "waitlist.sweep-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class WaitlistPromotionTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private PaymentExpirationService paymentExpirationService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        waitlistRepository.deleteAll();
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.findAll().stream()
+                .filter(user -> user.getRole() != UserRole.ADMIN)
+                .forEach(userRepository::delete);
+        venueRepository.deleteAll();
+
+        final Venue venue = venueRepository.save(
+                Venue.builder().name("Club").address("2 Bass Lane").capacity(2).build());
+        event = eventRepository.save(Event.builder()
+                .name("Sold Out Show")
+                .eventDateTime(LocalDateTime.now().plusDays(30))
+                .capacity(2)
+                .price(new BigDecimal("40.00"))
+                .status(EventStatus.PUBLISHED)
+                .venue(venue)
+                .build());
+        List.of("first@test.com", "second@test.com", "third@test.com", "fourth@test.com").forEach(this::customer);
+    }
+
+    @Test
+    void join_OnlyWhenSoldOut() {
+        reserve("first@test.com");
+        assertThrows(IllegalArgumentException.class, () -> waitlistService.join(event.getId(), "third@test.com"));
+
+        reserve("second@test.com");
+        assertThrows(DuplicateTicketException.class, () -> waitlistService.join(event.getId(), "first@test.com"));
+
+        assertEquals(1, waitlistService.join(event.getId(), "third@test.com").getPosition());
+        assertEquals(2, waitlistService.join(event.getId(), "fourth@test.com").getPosition());
+        // Joining again keeps the place
+        assertEquals(1, waitlistService.join(event.getId(), "third@test.com").getPosition());
+
+        waitlistService.leave(event.getId(), "third@test.com");
+        final WaitlistPositionResponse fourth = waitlistService.getPosition(event.getId(), "fourth@test.com");
+        assertEquals(1, fourth.getPosition());
+        assertEquals(1, fourth.getWaiting());
+        assertThrows(ResourceNotFoundException.class, () -> waitlistService.getPosition(event.getId(), "third@test.com"));
+    }
+
+    @Test
+    void cancellation_PromotesTheFirstInLine() {
+        final TicketResponse first = reserve("first@test.com");
+        reserve("second@test.com");
+        waitlistService.join(event.getId(), "third@test.com");
+        waitlistService.join(event.getId(), "fourth@test.com");
+
+        ticketService.cancelTicket(first.getId(), "first@test.com");
+        waitlistService.promoteWaitlisted();
+
+        assertEquals(TicketStatus.PENDING_PAYMENT, ticketOf("third@test.com").getStatus());
+        assertThrows(ResourceNotFoundException.class, () -> waitlistService.getPosition(event.getId(), "third@test.com"));
+        assertEquals(1, waitlistService.getPosition(event.getId(), "fourth@test.com").getPosition());
+    }
+
+    @Test
+    void expiryAndFailedPayment_PromoteInOneBatchPerRun() {
+        final TicketResponse first = reserve("first@test.com");
+        final TicketResponse second = reserve("second@test.com");
+        waitlistService.join(event.getId(), "third@test.com");
+        waitlistService.join(event.getId(), "fourth@test.com");
+
+        final Ticket expiring = ticketRepository.findById(first.getId()).orElseThrow();
+        expiring.setPaymentExpiresAt(LocalDateTime.now().minusMinutes(1));
+        ticketRepository.save(expiring);
+        paymentExpirationService.expireUnpaidTickets();
+        ticketService.updatePaymentStatus(second.getId(), TicketStatus.PAYMENT_FAILED);
+        waitlistService.promoteWaitlisted();
+
+        assertEquals(TicketStatus.PENDING_PAYMENT, ticketOf("third@test.com").getStatus());
+        assertEquals(TicketStatus.PENDING_PAYMENT, ticketOf("fourth@test.com").getStatus());
+        assertEquals(0, waitlistRepository.countByEventId(event.getId()));
+    }
+
+    @Test
+    void cancellingAnExpiredTicket_FreesNoPlace() {
+        final TicketResponse first = reserve("first@test.com");
+        reserve("second@test.com");
+        final Ticket expiring = ticketRepository.findById(first.getId()).orElseThrow();
+        expiring.setPaymentExpiresAt(LocalDateTime.now().minusMinutes(1));
+        ticketRepository.save(expiring);
+        paymentExpirationService.expireUnpaidTickets();
+        // The freed place is sold before anyone waits for it
+        reserve("third@test.com");
+        waitlistService.join(event.getId(), "fourth@test.com");
+
+        ticketService.cancelTicket(first.getId(), "first@test.com");
+        waitlistService.promoteWaitlisted();
+
+        assertEquals(1, waitlistService.getPosition(event.getId(), "fourth@test.com").getPosition());
+        assertEquals(2, ticketRepository.findAll().stream()
+                .filter(ticket -> ticket.getStatus() == TicketStatus.PENDING_PAYMENT)
+                .count());
+    }
+
+    private TicketResponse reserve(final String email) {
+        return ticketService.reserveTicket(ReserveTicketRequest.builder().eventId(event.getId()).build(), email);
+    }
+
+    private Ticket ticketOf(final String email) {
+        final User user = userRepository.findByEmail(email).orElseThrow();
+        return ticketRepository.findAll().stream()
+                .filter(ticket -> ticket.getUser().getId().equals(user.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void customer(final String email) {
+        userRepository.save(User.builder()
+                .email(email)
+                .password("secret")
+                .role(UserRole.CUSTOMER)
+                .isRemovable(true)
+                .build());
+    }
+}